@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.client;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the client protocol framing done by {@link ClientMessageWriter}
+ * and {@link ClientMessageReader} for a {@code Map.put} request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClientMessageCodecBenchmark {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"64", "1024", "65536"})
+    public int valueSize;
+
+    private final ClientMessageWriter writer = new ClientMessageWriter();
+    private final ClientMessageReader reader = new ClientMessageReader(-1);
+    private ClientMessage message;
+    private ByteBuffer writerDst;
+    private ByteBuffer readerSrc;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        message = MapPutCodec.encodeRequest("map", serializationService.toData("key"),
+                serializationService.toData(new byte[valueSize]), 1, -1);
+        serializationService.dispose();
+
+        writerDst = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        writer.writeTo(writerDst, message);
+        writerDst.flip();
+        readerSrc = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        readerSrc.put(writerDst);
+        readerSrc.flip();
+    }
+
+    @Benchmark
+    public boolean write() {
+        writerDst.clear();
+        return writer.writeTo(writerDst, message);
+    }
+
+    @Benchmark
+    public ClientMessage read() {
+        readerSrc.rewind();
+        reader.readFrom(readerSrc, true);
+        ClientMessage clientMessage = reader.getClientMessage();
+        reader.reset();
+        return clientMessage;
+    }
+}
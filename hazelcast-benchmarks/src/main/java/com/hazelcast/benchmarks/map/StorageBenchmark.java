@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.SimpleRecord;
+import com.hazelcast.map.impl.recordstore.NativeStorageImpl;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.map.impl.recordstore.StorageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Measures {@code put}/{@code get} of the record storage backing a partition
+ * of an {@code IMap}, for the on-heap and the native in-memory formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StorageBenchmark {
+
+    @Param({"BINARY", "NATIVE"})
+    public InMemoryFormat inMemoryFormat;
+
+    @Param({"1024", "131072"})
+    public int entryCount;
+
+    private InternalSerializationService serializationService;
+    private NativeRecordFactory nativeRecordFactory;
+    private Storage<Data, Record> storage;
+    private Data[] keys;
+    private Data value;
+    private int mask;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            nativeRecordFactory = new NativeRecordFactory(serializationService);
+            storage = new NativeStorageImpl(nativeRecordFactory, null, serializationService);
+        } else {
+            storage = new StorageImpl<>(inMemoryFormat, null, serializationService);
+        }
+
+        value = serializationService.toData(new byte[100]);
+        keys = new Data[nextPowerOfTwo(entryCount)];
+        for (int i = 0; i < keys.length; i++) {
+            Data key = serializationService.toData("key-" + (i % entryCount));
+            storage.put(key, newRecord(key));
+            // a copy, so lookups can not take the identity shortcut
+            keys[i] = new HeapData(key.toByteArray());
+        }
+        mask = keys.length - 1;
+    }
+
+    @TearDown
+    public void tearDown() {
+        storage.destroy(false);
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Record get() {
+        return storage.get(nextKey());
+    }
+
+    @Benchmark
+    public void put() {
+        Data key = nextKey();
+        storage.put(key, newRecord(key));
+        if (nativeRecordFactory != null) {
+            // done at the end of every map operation
+            nativeRecordFactory.disposeDeferredBlocks();
+        }
+    }
+
+    private Data nextKey() {
+        return keys[index++ & mask];
+    }
+
+    private Record newRecord(Data key) {
+        if (nativeRecordFactory != null) {
+            return nativeRecordFactory.newRecord(key, value);
+        }
+        return new SimpleRecord<>(value);
+    }
+}
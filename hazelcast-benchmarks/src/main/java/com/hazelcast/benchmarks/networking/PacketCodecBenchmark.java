@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.networking;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.internal.server.tcp.PacketDecoder;
+import com.hazelcast.internal.server.tcp.PacketEncoder;
+import com.hazelcast.internal.util.counters.SwCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the member-to-member packet framing done by {@link PacketEncoder}
+ * and {@link PacketDecoder}, without any socket involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PacketCodecBenchmark {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"64", "1024", "65536"})
+    public int payloadSize;
+
+    private final PacketSource packetSource = new PacketSource();
+    private final PacketEncoder encoder = new PacketEncoder();
+    private Packet packet;
+    private ByteBuffer encoderDst;
+
+    private PacketDecoder decoder;
+    private ByteBuffer decoderSrc;
+    private byte[] encodedPacket;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        packet = new Packet(new byte[payloadSize]);
+
+        encoderDst = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        encoderDst.flip();
+        encoder.src(packetSource);
+        encoder.dst(encoderDst);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        new PacketIOHelper().writeTo(packet, buffer);
+        buffer.flip();
+        encodedPacket = new byte[buffer.remaining()];
+        buffer.get(encodedPacket);
+
+        decoder = new PacketDecoder(null, this::onPacket);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        decoder.setPriorityPacketsRead(SwCounter.newSwCounter());
+        decoderSrc = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        decoder.src(decoderSrc);
+    }
+
+    @Benchmark
+    public Object encode() {
+        packetSource.next = packet;
+        Object status = encoder.onWrite();
+        // pretend the socket took all the bytes
+        encoderDst.position(encoderDst.limit());
+        return status;
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        decoderSrc.put(encodedPacket);
+        return decoder.onRead();
+    }
+
+    private void onPacket(Packet packet) {
+        blackhole.consume(packet);
+    }
+
+    private static final class PacketSource implements Supplier<Packet> {
+        private Packet next;
+
+        @Override
+        public Packet get() {
+            Packet packet = next;
+            next = null;
+            return packet;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.operation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Measures the dispatch overhead of the operation system on a single member:
+ * running a no-op operation in the calling thread through the
+ * {@code OperationRunnerImpl}, and the full round trip of invoking it on a
+ * partition thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OperationRunnerBenchmark {
+
+    private HazelcastInstance instance;
+    private NodeEngineImpl nodeEngine;
+    private OperationServiceImpl operationService;
+    private int partitionCount;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.setClusterName("operation-runner-benchmark");
+        config.setProperty(ClusterProperty.PHONE_HOME_ENABLED.getName(), "false");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+
+        instance = Hazelcast.newHazelcastInstance(config);
+        nodeEngine = ((HazelcastInstanceProxy) instance).getOriginal().node.getNodeEngine();
+        operationService = nodeEngine.getOperationService();
+        partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        // make sure the partitions are assigned before measuring
+        nodeEngine.getPartitionService().firstArrangement();
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Object runInCallingThread() {
+        NoOpOperation op = new NoOpOperation();
+        op.setNodeEngine(nodeEngine);
+        op.setOperationResponseHandler(createEmptyResponseHandler());
+        operationService.run(op);
+        return op;
+    }
+
+    @Benchmark
+    public Object invokeOnPartition(ThreadState state) {
+        return operationService.invokeOnPartition(null, new NoOpOperation(), state.nextPartitionId(partitionCount)).join();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int partitionId;
+
+        int nextPartitionId(int partitionCount) {
+            partitionId = (partitionId + 1) % partitionCount;
+            return partitionId;
+        }
+    }
+
+    /**
+     * Does nothing, so only the cost of the operation system is measured.
+     */
+    public static class NoOpOperation extends Operation {
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public Object getResponse() {
+            return Boolean.TRUE;
+        }
+    }
+}
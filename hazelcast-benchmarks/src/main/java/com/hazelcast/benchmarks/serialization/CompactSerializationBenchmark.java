@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write and read paths of the {@code CompactStreamSerializer},
+ * both with an explicit {@link CompactSerializer} and with the reflective one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CompactSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean explicitSerializer;
+
+    private InternalSerializationService serializationService;
+    private Employee employee;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        CompactSerializationConfig compactConfig = new CompactSerializationConfig();
+        if (explicitSerializer) {
+            compactConfig.addSerializer(new EmployeeSerializer());
+        }
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(new InMemorySchemaService())
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactConfig))
+                .build();
+
+        employee = new Employee(42L, "John Doe", 37, 125_000.5, true, new int[]{5, 4, 5, 3, 5});
+        data = serializationService.toData(employee);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data write() {
+        return serializationService.toData(employee);
+    }
+
+    @Benchmark
+    public Object read() {
+        return serializationService.toObject(data);
+    }
+
+    /**
+     * Not {@link java.io.Serializable}, so the reflective compact
+     * serializer is used when no explicit one is registered.
+     */
+    public static final class Employee {
+        private long id;
+        private String name;
+        private int age;
+        private double salary;
+        private boolean active;
+        private int[] ratings;
+
+        public Employee() {
+        }
+
+        Employee(long id, String name, int age, double salary, boolean active, int[] ratings) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.active = active;
+            this.ratings = ratings;
+        }
+    }
+
+    static final class EmployeeSerializer implements CompactSerializer<Employee> {
+
+        @Nonnull
+        @Override
+        public Employee read(@Nonnull CompactReader reader) {
+            return new Employee(reader.readInt64("id"), reader.readString("name"), reader.readInt32("age"),
+                    reader.readFloat64("salary"), reader.readBoolean("active"), reader.readArrayOfInt32("ratings"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull Employee employee) {
+            writer.writeInt64("id", employee.id);
+            writer.writeString("name", employee.name);
+            writer.writeInt32("age", employee.age);
+            writer.writeFloat64("salary", employee.salary);
+            writer.writeBoolean("active", employee.active);
+            writer.writeArrayOfInt32("ratings", employee.ratings);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "employee";
+        }
+
+        @Nonnull
+        @Override
+        public Class<Employee> getCompactClass() {
+            return Employee.class;
+        }
+    }
+
+    /**
+     * Keeps the schemas locally, there is no cluster to replicate them to.
+     */
+    private static final class InMemorySchemaService implements SchemaService {
+        private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+        @Override
+        public Schema get(long schemaId) {
+            return schemas.get(schemaId);
+        }
+
+        @Override
+        public void put(Schema schema) {
+            schemas.putIfAbsent(schema.getSchemaId(), schema);
+        }
+
+        @Override
+        public void putLocal(Schema schema) {
+            put(schema);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code toData}/{@code toObject} of the default serialization
+ * service for the most common kinds of values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationServiceBenchmark {
+
+    @Param({"LONG", "STRING", "BYTE_ARRAY", "LIST", "MAP"})
+    public ValueType valueType;
+
+    private InternalSerializationService serializationService;
+    private Object value;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        value = valueType.create();
+        data = serializationService.toData(value);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(value);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    public enum ValueType {
+        LONG {
+            @Override
+            Object create() {
+                return 123456789L;
+            }
+        },
+        STRING {
+            @Override
+            Object create() {
+                return "hazelcast-benchmark-value-".repeat(4);
+            }
+        },
+        BYTE_ARRAY {
+            @Override
+            Object create() {
+                return new byte[1024];
+            }
+        },
+        LIST {
+            @Override
+            Object create() {
+                List<Integer> list = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    list.add(i);
+                }
+                return list;
+            }
+        },
+        MAP {
+            @Override
+            Object create() {
+                Map<String, Integer> map = new HashMap<>();
+                for (int i = 0; i < 32; i++) {
+                    map.put("key-" + i, i);
+                }
+                return map;
+            }
+        };
+
+        abstract Object create();
+    }
+}
@@ -25,6 +25,7 @@ import com.hazelcast.function.SupplierEx;
 import com.hazelcast.function.ToLongFunctionEx;
 import com.hazelcast.internal.util.MutableByte;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Util;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.core.DAG;
 import com.hazelcast.jet.core.Edge;
@@ -37,6 +38,8 @@ import com.hazelcast.jet.core.TimestampKind;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.impl.processor.GroupP;
+import com.hazelcast.jet.impl.processor.SortP;
 import com.hazelcast.jet.pipeline.ServiceFactories;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.HazelcastPhysicalScan;
@@ -50,6 +53,7 @@ import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
 import com.hazelcast.jet.sql.impl.opt.WatermarkKeysAssigner;
 import com.hazelcast.jet.sql.impl.opt.WatermarkThrottlingFrameSizeCalculator;
+import com.hazelcast.jet.sql.impl.processors.CalcP;
 import com.hazelcast.jet.sql.impl.processors.LateItemsDropP;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
 import com.hazelcast.jet.sql.impl.processors.StreamToStreamJoinP.StreamToStreamJoinProcessorSupplier;
@@ -85,11 +89,10 @@ import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.core.Vertex.LOCAL_PARALLELISM_USE_DEFAULT;
 import static com.hazelcast.jet.core.processor.Processors.flatMapUsingServiceP;
 import static com.hazelcast.jet.core.processor.Processors.mapP;
-import static com.hazelcast.jet.core.processor.Processors.mapUsingServiceP;
-import static com.hazelcast.jet.core.processor.Processors.sortP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.convenientSourceP;
 import static com.hazelcast.jet.sql.impl.connector.HazelcastRexNode.wrap;
 import static com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil.getJetSqlConnector;
+import static com.hazelcast.jet.sql.impl.opt.OptUtils.isBounded;
 import static com.hazelcast.jet.sql.impl.processors.RootResultConsumerSink.rootResultConsumerSink;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
@@ -281,24 +284,12 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         dagBuildContext.setRel(rel);
         List<Expression<?>> projection = dagBuildContext.convertProjection(wrap(rel.projection()));
 
-        Vertex vertex;
-        boolean projectionsCooperative = projection.stream().allMatch(Expression::isCooperative);
-        if (program.getCondition() != null) {
-            Expression<Boolean> filterExpr = dagBuildContext.convertFilter(wrap(rel.filter()));
-            assert filterExpr != null;
-            vertex = dag.newUniqueVertex("Calc", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.calcFn(projection, filterExpr, ExpressionEvalContext.from(ctx)))
-                            .setCooperative(projectionsCooperative && filterExpr.isCooperative()),
-                    (Function<JetSqlRow, JetSqlRow> calcFn, JetSqlRow row) -> calcFn.apply(row)));
-        } else {
-            vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                    ServiceFactories.nonSharedService(ctx ->
-                                    ExpressionUtil.projectionFn(projection, ExpressionEvalContext.from(ctx)))
-                            .setCooperative(projectionsCooperative),
-                    (Function<JetSqlRow, JetSqlRow> projectionFn, JetSqlRow row) -> projectionFn.apply(row)
-            ));
-        }
+        Expression<Boolean> filterExpr = program.getCondition() != null
+                ? dagBuildContext.convertFilter(wrap(rel.filter()))
+                : null;
+        assert program.getCondition() == null || filterExpr != null;
+        SupplierEx<Processor> calcPSupplier = () -> new CalcP(filterExpr, projection);
+        Vertex vertex = dag.newUniqueVertex(filterExpr != null ? "Calc" : "Project", calcPSupplier);
         connectInputPreserveCollation(rel, vertex);
         return vertex;
     }
@@ -308,9 +299,10 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
         ComparatorEx<?> comparator = ExpressionUtil.comparisonFn(rel.getCollations());
 
         // Use 2-Phase sort for maximum parallelism
-        // First, construct processors for local sorting
+        // First, construct processors for local sorting, spilling to disk when they reach
+        // the maxProcessorAccumulatedRecords limit
         Vertex sortVertex = dag.newUniqueVertex("Sort",
-                ProcessorMetaSupplier.of(sortP(comparator)));
+                ProcessorMetaSupplier.of(SortP.spillingSupplier(comparator)));
         connectInput(rel.getInput(), sortVertex, null);
 
         // Then, combine the locally sorted inputs while preserving the ordering
@@ -380,7 +372,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "AggregateByKey",
-                Processors.aggregateByKeyP(singletonList(groupKeyFn), aggregateOperation, (key, value) -> value)
+                GroupP.spillingSupplier(singletonList(groupKeyFn), aggregateOperation, (key, value) -> value)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.distributed().partitioned(groupKeyFn));
         return vertex;
@@ -393,7 +385,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "AccumulateByKey",
-                Processors.accumulateByKeyP(singletonList(groupKeyFn), aggregateOperation)
+                GroupP.spillingSupplier(singletonList(groupKeyFn), aggregateOperation.withIdentityFinish(), Util::entry)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.partitioned(groupKeyFn));
         return vertex;
@@ -405,7 +397,7 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
 
         Vertex vertex = dag.newUniqueVertex(
                 "CombineByKey",
-                Processors.combineByKeyP(aggregateOperation, (key, value) -> value)
+                GroupP.spillingCombineSupplier(aggregateOperation, (key, value) -> value)
         );
         connectInput(rel.getInput(), vertex, edge -> edge.distributed().partitioned(entryKey()));
         return vertex;
@@ -529,12 +521,17 @@ public class CreateTopLevelDagVisitor extends CreateDagVisitorBase<Vertex> {
     @Override
     public Vertex onHashJoin(JoinHashPhysicalRel rel) {
         JetJoinInfo joinInfo = rel.joinInfo(dagBuildContext.getParameterMetadata());
+        // Spilled left rows are joined when the left input completes. For an
+        // equi-join, both inputs are partitioned by the join key, so each
+        // processor only spills its own partitions of the hash table.
+        boolean spillable = joinInfo.isEquiJoin() && isBounded(rel.getLeft());
 
         Vertex joinVertex = dag.newUniqueVertex(
                 "Hash Join",
                 SqlHashJoinP.supplier(
                         joinInfo,
-                        rel.getRight().getRowType().getFieldCount()
+                        rel.getRight().getRowType().getFieldCount(),
+                        spillable
                 )
         );
         connectJoinInput(joinInfo, rel.getLeft(), rel.getRight(), joinVertex);
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Inbox;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.sql.impl.InternalSqlService;
+import com.hazelcast.sql.impl.SqlServiceImpl;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.batch.BatchEvaluator;
+import com.hazelcast.sql.impl.expression.compile.ExpressionCompiler;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+
+/**
+ * Processor evaluating an optional filter and a projection on SQL rows.
+ * Instead of evaluating the expressions item by item, it drains up to
+ * {@value #MAX_BATCH_SIZE} rows from the inbox and evaluates them as a batch
+ * with a {@link BatchEvaluator}. The expressions are compiled with the
+ * {@link ExpressionCompiler}, reusing the classes cached by the SQL service.
+ * SQL engine-specific private API.
+ */
+public class CalcP extends AbstractProcessor {
+
+    static final int MAX_BATCH_SIZE = 1024;
+
+    private final Expression<Boolean> predicate;
+    private final List<Expression<?>> projection;
+
+    private final JetSqlRow[] input = new JetSqlRow[MAX_BATCH_SIZE];
+    private final JetSqlRow[] output = new JetSqlRow[MAX_BATCH_SIZE];
+    private BatchEvaluator evaluator;
+    private int outputSize;
+    private int outputPosition;
+
+    public CalcP(@Nullable Expression<Boolean> predicate, @Nonnull List<Expression<?>> projection) {
+        this.predicate = predicate;
+        this.projection = projection;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) throws Exception {
+        InternalSqlService sqlService = getNodeEngine(context.hazelcastInstance()).getSqlService();
+        evaluator = sqlService instanceof SqlServiceImpl sqlServiceImpl
+                ? new BatchEvaluator(predicate, projection, ExpressionEvalContext.from(context),
+                        sqlServiceImpl.getCompiledExpressionCache()::get)
+                : new BatchEvaluator(predicate, projection, ExpressionEvalContext.from(context),
+                        ExpressionCompiler::compile);
+        super.init(context);
+    }
+
+    @Override
+    public void process(int ordinal, @Nonnull Inbox inbox) {
+        while (emitOutput()) {
+            int size = 0;
+            for (Object item; size < MAX_BATCH_SIZE && (item = inbox.poll()) != null; ) {
+                input[size++] = (JetSqlRow) item;
+            }
+            if (size == 0) {
+                return;
+            }
+            outputSize = evaluator.evaluate(input, size, output);
+            outputPosition = 0;
+            for (int i = 0; i < size; i++) {
+                input[i] = null;
+            }
+        }
+    }
+
+    // The rows of the last batch have to be emitted before anything else:
+    // watermarks, snapshot barriers or the completion of the output.
+
+    @Override
+    public boolean tryProcess() {
+        return emitOutput();
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        return emitOutput() && super.tryProcessWatermark(watermark);
+    }
+
+    @Override
+    public boolean saveToSnapshot() {
+        return emitOutput();
+    }
+
+    @Override
+    public boolean complete() {
+        return emitOutput();
+    }
+
+    /**
+     * Emits the rows of the last evaluated batch.
+     *
+     * @return {@code true} if all of them were emitted
+     */
+    private boolean emitOutput() {
+        for (; outputPosition < outputSize; outputPosition++) {
+            if (!tryEmit(output[outputPosition])) {
+                return false;
+            }
+            output[outputPosition] = null;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        if (predicate != null && !predicate.isCooperative()) {
+            return false;
+        }
+        for (Expression<?> expression : projection) {
+            if (!expression.isCooperative()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean closeIsCooperative() {
+        return true;
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.jet.sql.impl.processors;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.Traversers;
 import com.hazelcast.jet.core.AbstractProcessor;
@@ -25,6 +26,8 @@ import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.util.SpillFile;
+import com.hazelcast.jet.impl.util.SpillPartitions;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.ObjectArrayKey;
@@ -36,25 +39,62 @@ import com.hazelcast.sql.impl.row.JetSqlRow;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+/**
+ * Hash join processor. The right input (ordinal 1) is collected into a hash
+ * table, then the rows of the left input (ordinal 0) are joined with it.
+ * <p>
+ * For an equi-join both inputs are partitioned by the join key, so each
+ * processor only holds its share of the right input. If spilling is enabled
+ * and the hash table reaches {@link Context#maxProcessorAccumulatedRecords()},
+ * the processor switches to a grace hash join over {@link SpillPartitions} of
+ * the join keys: the largest partition still in memory is written to a
+ * {@link SpillFile}, together with its later right rows. Left rows of the
+ * spilled partitions go to their probe files and are joined in the {@code
+ * complete} phase, one partition at a time. A partition whose right rows
+ * reach the limit again while they're loaded is {@linkplain
+ * SpillPartitions#split split} and spilled the same way, its parts are
+ * joined before the next partition.
+ */
 public class SqlHashJoinP extends AbstractProcessor {
 
+    private static final String SPILL_FILE_PREFIX = "hazelcast-sql-join-";
+
     private final JetJoinInfo joinInfo;
     private final int rightInputColumnCount;
+    private final boolean spillEnabled;
 
     private ExpressionEvalContext evalContext;
     private Multimap<ObjectArrayKey, JetSqlRow> hashMap;
     private FlatMapper<JetSqlRow, JetSqlRow> flatMapper;
     private long maxItemsInHashTable;
+    private Path spillDirectory;
+
+    // the partitions the rows are spilled to, of the inputs or of the loaded partition
+    private SpillPartitions spillPartitions;
+    // the partitions whose spilled partitions are yet to be joined, the
+    // first one is the parent of the partition being joined
+    private final Deque<SpillPartitions> pendingPartitions = new ArrayDeque<>();
+    private Traverser<JetSqlRow> spilledResultTraverser;
 
     public SqlHashJoinP(JetJoinInfo joinInfo, int rightInputColumnCount) {
+        this(joinInfo, rightInputColumnCount, false);
+    }
+
+    public SqlHashJoinP(JetJoinInfo joinInfo, int rightInputColumnCount, boolean spillEnabled) {
         this.joinInfo = joinInfo;
         this.rightInputColumnCount = rightInputColumnCount;
+        this.spillEnabled = spillEnabled;
     }
 
     @Override
@@ -63,6 +103,9 @@ public class SqlHashJoinP extends AbstractProcessor {
         this.hashMap = LinkedListMultimap.create();
         this.flatMapper = flatMapper(this::join);
         this.maxItemsInHashTable = context.maxProcessorAccumulatedRecords();
+        if (spillEnabled) {
+            this.spillDirectory = SpillFile.spillDirectory(context);
+        }
     }
 
     private Traverser<JetSqlRow> join(JetSqlRow leftRow) {
@@ -85,22 +128,156 @@ public class SqlHashJoinP extends AbstractProcessor {
 
     @Override
     protected boolean tryProcess0(@Nonnull Object item) {
-        return flatMapper.tryProcess((JetSqlRow) item);
+        JetSqlRow leftRow = (JetSqlRow) item;
+        return spillLeftRow(leftRow) || flatMapper.tryProcess(leftRow);
+    }
+
+    private Traverser<JetSqlRow> joinOrSpill(JetSqlRow leftRow) {
+        return spillLeftRow(leftRow) ? Traversers.empty() : join(leftRow);
+    }
+
+    /**
+     * Writes the left row to the probe file of its partition, if the
+     * partition is spilled.
+     *
+     * @return if the row was spilled
+     */
+    private boolean spillLeftRow(JetSqlRow leftRow) {
+        if (spillPartitions == null) {
+            return false;
+        }
+        ObjectArrayKey joinKeys = ObjectArrayKey.project(leftRow, joinInfo.leftEquiJoinIndices());
+        if (spillPartitions.spillFile(joinKeys) == null) {
+            return false;
+        }
+        spillPartitions.probeFile(joinKeys).write(toBytes(leftRow));
+        return true;
     }
 
     @Override
     protected boolean tryProcess1(@Nonnull Object item) {
-        if (hashMap.size() == maxItemsInHashTable) {
-            throw new AccumulationLimitExceededException();
-        }
-        JetSqlRow rightRow = (JetSqlRow) item;
+        addRightRow((JetSqlRow) item);
+        return true;
+    }
+
+    private void addRightRow(JetSqlRow rightRow) {
         ObjectArrayKey joinKeys = ObjectArrayKey.project(rightRow, joinInfo.rightEquiJoinIndices());
         // if there's a null in the key, then `null = null` is UNKNOWN in SQL, ignore such keys
         if (joinKeys.containsNull()) {
-            return true;
+            return;
+        }
+        SpillFile spillFile = spillPartitions != null ? spillPartitions.spillFile(joinKeys) : null;
+        if (spillFile != null) {
+            spillFile.write(toBytes(rightRow));
+            return;
+        }
+        if (hashMap.size() == maxItemsInHashTable) {
+            if (!spillEnabled) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillLargestPartition();
+            // the partition of the row could have been the one spilled
+            addRightRow(rightRow);
+            return;
         }
         hashMap.put(joinKeys, rightRow);
-        return true;
+        if (spillPartitions != null) {
+            spillPartitions.onAdded(joinKeys);
+        }
+    }
+
+    private void spillLargestPartition() {
+        if (spillPartitions == null) {
+            spillPartitions = pendingPartitions.isEmpty()
+                    ? new SpillPartitions(spillDirectory, SPILL_FILE_PREFIX, hashMap.keys())
+                    // the right rows of the loaded partition don't fit in memory
+                    : pendingPartitions.peek().split(hashMap.keys());
+        }
+
+        SpillFile spillFile = spillPartitions.spillLargest();
+        Iterator<Entry<ObjectArrayKey, Collection<JetSqlRow>>> it = hashMap.asMap().entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<ObjectArrayKey, Collection<JetSqlRow>> e = it.next();
+            if (spillPartitions.spillFile(e.getKey()) == spillFile) {
+                for (JetSqlRow row : e.getValue()) {
+                    spillFile.write(toBytes(row));
+                }
+                it.remove();
+            }
+        }
+        getLogger().fine("Spilled " + spillFile.recordCount() + " rows of the hash table to disk");
+    }
+
+    private byte[] toBytes(JetSqlRow row) {
+        return evalContext.getSerializationService().toData(row).toByteArray();
+    }
+
+    private JetSqlRow readRow(SpillFile spillFile) {
+        byte[] record = spillFile.read();
+        return record != null ? evalContext.getSerializationService().toObject(new HeapData(record)) : null;
+    }
+
+    @Override
+    public boolean complete() {
+        if (spilledResultTraverser == null) {
+            if (spillPartitions == null) {
+                return true;
+            }
+            Traverser<Integer> spilledPartitions = this::nextSpilledPartition;
+            spilledResultTraverser = spilledPartitions.flatMap(this::joinSpilledPartition);
+        }
+        return emitFromTraverser(spilledResultTraverser);
+    }
+
+    /**
+     * Returns the next spilled partition of the first pending partitions, or
+     * {@code null} if all were joined. The partitions spilled from the inputs
+     * or from the previous joined partition are joined first.
+     */
+    private Integer nextSpilledPartition() {
+        if (spillPartitions != null) {
+            pendingPartitions.push(spillPartitions);
+            spillPartitions = null;
+        }
+        for (SpillPartitions partitions; (partitions = pendingPartitions.peek()) != null; ) {
+            int partition = partitions.nextSpilled();
+            if (partition >= 0) {
+                return partition;
+            }
+            pendingPartitions.pop().close();
+        }
+        return null;
+    }
+
+    /**
+     * Loads the right rows of the spilled partition into the, now empty,
+     * hash table and returns the traverser of the joined left rows. If the
+     * hash table reaches the limit, the partition is split and spilled again.
+     */
+    private Traverser<JetSqlRow> joinSpilledPartition(int partition) {
+        SpillPartitions partitions = pendingPartitions.element();
+        SpillFile rightSpillFile = partitions.takeSpillFile(partition);
+        SpillFile leftSpillFile = partitions.takeProbeFile(partition);
+
+        hashMap.clear();
+        rightSpillFile.finishWriting();
+        for (JetSqlRow row; (row = readRow(rightSpillFile)) != null; ) {
+            addRightRow(row);
+        }
+        rightSpillFile.close();
+
+        if (leftSpillFile == null) {
+            return Traversers.empty();
+        }
+        leftSpillFile.finishWriting();
+        Traverser<JetSqlRow> leftRows = () -> {
+            JetSqlRow row = readRow(leftSpillFile);
+            if (row == null) {
+                leftSpillFile.close();
+            }
+            return row;
+        };
+        return leftRows.flatMap(this::joinOrSpill);
     }
 
     @Override
@@ -110,24 +287,43 @@ public class SqlHashJoinP extends AbstractProcessor {
 
     @Override
     public boolean isCooperative() {
-        return joinInfo.isCooperative();
+        return joinInfo.isCooperative() && !spillEnabled;
     }
 
     public static HashJoinProcessorSupplier supplier(JetJoinInfo joinInfo, int rightInputColumnCount) {
-        return new HashJoinProcessorSupplier(joinInfo, rightInputColumnCount);
+        return supplier(joinInfo, rightInputColumnCount, false);
+    }
+
+    /**
+     * @param spillable if the processors can spill to disk. Only possible for
+     *                  an equi-join with a bounded left input, the spilled
+     *                  left rows are joined when the input completes
+     */
+    public static HashJoinProcessorSupplier supplier(JetJoinInfo joinInfo, int rightInputColumnCount, boolean spillable) {
+        return new HashJoinProcessorSupplier(joinInfo, rightInputColumnCount, spillable);
     }
 
     private static final class HashJoinProcessorSupplier implements ProcessorSupplier, DataSerializable {
         private JetJoinInfo joinInfo;
         private int rightInputColumnCount;
+        private boolean spillable;
+
+        private transient boolean spillEnabled;
 
         @SuppressWarnings("unused") // for deserialization
         private HashJoinProcessorSupplier() {
         }
 
-        private HashJoinProcessorSupplier(JetJoinInfo joinInfo, int rightInputColumnCount) {
+        private HashJoinProcessorSupplier(JetJoinInfo joinInfo, int rightInputColumnCount, boolean spillable) {
             this.joinInfo = joinInfo;
             this.rightInputColumnCount = rightInputColumnCount;
+            this.spillable = spillable;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            // without a limit there's nothing to spill
+            spillEnabled = spillable && context.maxProcessorAccumulatedRecords() != Long.MAX_VALUE;
         }
 
         @Nonnull
@@ -135,7 +331,7 @@ public class SqlHashJoinP extends AbstractProcessor {
         public Collection<? extends Processor> get(int count) {
             List<SqlHashJoinP> processors = new ArrayList<>(count);
             for (int i = 0; i < count; i++) {
-                processors.add(new SqlHashJoinP(joinInfo, rightInputColumnCount));
+                processors.add(new SqlHashJoinP(joinInfo, rightInputColumnCount, spillEnabled));
             }
             return processors;
         }
@@ -144,17 +340,29 @@ public class SqlHashJoinP extends AbstractProcessor {
         public void writeData(ObjectDataOutput out) throws IOException {
             out.writeObject(joinInfo);
             out.writeInt(rightInputColumnCount);
+            out.writeBoolean(spillable);
         }
 
         @Override
         public void readData(ObjectDataInput in) throws IOException {
             joinInfo = in.readObject();
             rightInputColumnCount = in.readInt();
+            spillable = in.readBoolean();
         }
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillPartitions == null && pendingPartitions.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        if (spillPartitions != null) {
+            spillPartitions.close();
+        }
+        for (SpillPartitions partitions; (partitions = pendingPartitions.poll()) != null; ) {
+            partitions.close();
+        }
     }
 }
@@ -31,6 +31,7 @@ import com.hazelcast.sql.SqlStatement;
 import com.hazelcast.sql.impl.optimizer.OptimizationTask;
 import com.hazelcast.sql.impl.optimizer.PlanKey;
 import com.hazelcast.sql.impl.optimizer.SqlPlan;
+import com.hazelcast.sql.impl.plan.cache.CompiledExpressionCache;
 import com.hazelcast.sql.impl.plan.cache.PlanCache;
 import com.hazelcast.sql.impl.plan.cache.PlanCacheChecker;
 import com.hazelcast.sql.impl.schema.SqlCatalog;
@@ -71,6 +72,7 @@ public class SqlServiceImpl implements InternalSqlService {
     private final NodeEngineImpl nodeEngine;
     private final NodeServiceProviderImpl nodeServiceProvider;
     private final PlanCache planCache = new PlanCache(PLAN_CACHE_SIZE);
+    private final CompiledExpressionCache compiledExpressionCache = new CompiledExpressionCache(PLAN_CACHE_SIZE);
 
     private final long queryTimeout;
 
@@ -129,6 +131,7 @@ public class SqlServiceImpl implements InternalSqlService {
             return;
         }
         planCache.clear();
+        compiledExpressionCache.clear();
     }
 
     @Override
@@ -137,6 +140,7 @@ public class SqlServiceImpl implements InternalSqlService {
             return;
         }
         planCache.clear();
+        compiledExpressionCache.clear();
         if (internalService != null) {
             internalService.shutdown();
         }
@@ -173,6 +177,10 @@ public class SqlServiceImpl implements InternalSqlService {
         return planCache;
     }
 
+    public CompiledExpressionCache getCompiledExpressionCache() {
+        return compiledExpressionCache;
+    }
+
     @Nonnull
     @Override
     public SqlResult execute(@Nonnull SqlStatement statement) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compile.ExpressionEvaluator;
+import com.hazelcast.sql.impl.row.JetSqlRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Evaluates a filter and a projection over batches of rows.
+ * <p>
+ * The filter is evaluated with a {@link BatchPredicate}, producing a selection
+ * vector of the rows that passed. The projection is then evaluated one
+ * expression at a time over all the selected rows, so that the same
+ * expression tree is walked for the whole batch before moving to the next
+ * one, instead of alternating between all of them for every row.
+ * <p>
+ * The expressions are evaluated with the evaluators returned by the {@code
+ * evaluatorFn}, which can be compiled, see {@link
+ * com.hazelcast.sql.impl.expression.compile.ExpressionCompiler}.
+ * <p>
+ * The result is the same as evaluating each row with {@link
+ * com.hazelcast.jet.sql.impl.ExpressionUtil#evaluate(Expression, List,
+ * JetSqlRow, ExpressionEvalContext)}. Not thread-safe.
+ */
+public final class BatchEvaluator {
+
+    private final BatchPredicate predicate;
+    private final ExpressionEvaluator[] projections;
+    private final ExpressionEvalContext context;
+    private final Rows rows = new Rows();
+
+    private int[] selection = new int[0];
+
+    public BatchEvaluator(
+            @Nullable Expression<Boolean> predicate,
+            @Nullable List<Expression<?>> projections,
+            @Nonnull ExpressionEvalContext context
+    ) {
+        this(predicate, projections, context, expression -> expression::evalTop);
+    }
+
+    public BatchEvaluator(
+            @Nullable Expression<Boolean> predicate,
+            @Nullable List<Expression<?>> projections,
+            @Nonnull ExpressionEvalContext context,
+            @Nonnull Function<Expression<?>, ExpressionEvaluator> evaluatorFn
+    ) {
+        this.predicate = predicate == null ? null : BatchPredicates.create(predicate, evaluatorFn);
+        this.projections = projections == null ? null : projections.stream()
+                .map(evaluatorFn)
+                .toArray(ExpressionEvaluator[]::new);
+        this.context = context;
+    }
+
+    /**
+     * Evaluates the rows in {@code input[0..size)} and stores the rows that
+     * passed the filter, projected, at the beginning of the {@code output}
+     * array, which must be at least as long as {@code size}.
+     *
+     * @return the number of rows stored in the {@code output}
+     */
+    public int evaluate(JetSqlRow[] input, int size, JetSqlRow[] output) {
+        rows.reset(input, size);
+        if (selection.length < size) {
+            selection = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            selection[i] = i;
+        }
+
+        int selected = predicate == null ? size : predicate.select(rows, selection, size, context);
+        if (projections == null) {
+            for (int i = 0; i < selected; i++) {
+                output[i] = input[selection[i]];
+            }
+            return selected;
+        }
+
+        InternalSerializationService serializationService = context.getSerializationService();
+        for (int i = 0; i < selected; i++) {
+            output[i] = new JetSqlRow(serializationService, new Object[projections.length]);
+        }
+        for (int column = 0; column < projections.length; column++) {
+            ExpressionEvaluator projection = projections[column];
+            for (int i = 0; i < selected; i++) {
+                output[i].getValues()[column] = projection.eval(rows.getRow(selection[i]), context);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The input rows, each with a single {@link Row} view shared by all the
+     * expressions evaluated on it.
+     */
+    private static final class Rows implements RowBatch {
+        private Row[] rows = new Row[0];
+        private int size;
+
+        void reset(JetSqlRow[] input, int size) {
+            if (rows.length < size) {
+                rows = new Row[size];
+            }
+            for (int i = 0; i < size; i++) {
+                rows[i] = input[i].getRow();
+            }
+            for (int i = size; i < this.size; i++) {
+                rows[i] = null;
+            }
+            this.size = size;
+        }
+
+        @Override
+        public Row getRow(int idx) {
+            return rows[idx];
+        }
+
+        @Override
+        public int getRowCount() {
+            return size;
+        }
+    }
+}
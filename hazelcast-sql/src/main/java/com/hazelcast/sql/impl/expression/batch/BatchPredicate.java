@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.RowBatch;
+
+/**
+ * A predicate evaluated over a batch of rows at once.
+ * <p>
+ * Instead of returning a boolean per row, the predicate narrows down a
+ * selection vector: the array of indexes of the rows in the batch that are
+ * still candidates. This way a conjunction evaluates each of its operands only
+ * on the rows that passed the previous ones, and no {@code Boolean} is boxed.
+ *
+ * @see BatchPredicates
+ */
+public interface BatchPredicate {
+
+    /**
+     * Keeps in the selection only the rows the predicate evaluates to {@code
+     * TRUE} for. The remaining indexes are compacted at the beginning of the
+     * selection array, preserving their order.
+     *
+     * @param batch     the batch of rows
+     * @param selection indexes of the selected rows in the batch, updated in place
+     * @param size      the number of the selected rows
+     * @param context   the expression evaluation context
+     * @return the number of rows that remain selected
+     */
+    int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context);
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.batch;
+
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.compile.ExpressionEvaluator;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.row.RowBatch;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import java.util.function.Function;
+
+/**
+ * Compiles predicate expression trees to {@link BatchPredicate}s.
+ * <p>
+ * The shapes most common in filters get specialized kernels: conjunctions,
+ * comparisons of a column with a constant and null checks of a column.
+ * Comparisons read the column value once and compare it as a primitive
+ * {@code long} or {@code double}, or as a {@code String}, without going
+ * through the generic {@link Comparable} based comparison. Anything else is
+ * evaluated row by row with the given evaluator, so every predicate can be
+ * evaluated in batches.
+ */
+public final class BatchPredicates {
+
+    private static final BatchPredicate NONE = (batch, selection, size, context) -> 0;
+
+    private BatchPredicates() {
+    }
+
+    public static BatchPredicate create(Expression<Boolean> predicate) {
+        return create(predicate, expression -> expression::evalTop);
+    }
+
+    /**
+     * Creates the predicate, evaluating the parts without a specialized
+     * kernel with the evaluators returned by the {@code evaluatorFn}.
+     */
+    @SuppressWarnings("checkstyle:ReturnCount")
+    public static BatchPredicate create(
+            Expression<Boolean> predicate,
+            Function<Expression<?>, ExpressionEvaluator> evaluatorFn
+    ) {
+        if (predicate instanceof AndPredicate andPredicate) {
+            Expression<?>[] operands = andPredicate.operands();
+            BatchPredicate[] kernels = new BatchPredicate[operands.length];
+            for (int i = 0; i < operands.length; i++) {
+                kernels[i] = create(asBoolean(operands[i]), evaluatorFn);
+            }
+            return new And(kernels);
+        }
+
+        if (predicate instanceof ComparisonPredicate comparison) {
+            BatchPredicate kernel = createComparison(comparison);
+            if (kernel != null) {
+                return kernel;
+            }
+        }
+
+        if (predicate instanceof IsNullPredicate isNull && isNull.getOperand() instanceof ColumnExpression<?> column) {
+            return new NullCheck(column.getIndex(), true);
+        }
+
+        if (predicate instanceof IsNotNullPredicate isNotNull && isNotNull.getOperand() instanceof ColumnExpression<?> column) {
+            return new NullCheck(column.getIndex(), false);
+        }
+
+        return new RowByRow(evaluatorFn.apply(predicate));
+    }
+
+    private static BatchPredicate createComparison(ComparisonPredicate comparison) {
+        ComparisonMode mode = comparison.mode();
+        Expression<?> left = comparison.operand1();
+        Expression<?> right = comparison.operand2();
+        if (left instanceof ConstantExpression && right instanceof ColumnExpression) {
+            Expression<?> swap = left;
+            left = right;
+            right = swap;
+            mode = inverse(mode);
+        }
+        if (!(left instanceof ColumnExpression<?> column) || !(right instanceof ConstantExpression<?> constant)) {
+            return null;
+        }
+
+        int index = column.getIndex();
+        Object value = constant.getValue();
+        if (value == null) {
+            // comparison with NULL is never TRUE
+            return NONE;
+        }
+
+        QueryDataTypeFamily family = column.getType().getTypeFamily();
+        if (family.isNumericInteger()) {
+            return new LongComparison(index, mode, ((Number) value).longValue());
+        } else if (family.isNumericApproximate()) {
+            return new DoubleComparison(index, mode, ((Number) value).doubleValue());
+        } else if (family == QueryDataTypeFamily.VARCHAR) {
+            return new StringComparison(index, mode, (String) value);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the mode to use when the operands of the comparison are
+     * swapped, e.g. {@code 5 < a} is the same as {@code a > 5}.
+     */
+    static ComparisonMode inverse(ComparisonMode mode) {
+        switch (mode) {
+            case GREATER_THAN:
+                return ComparisonMode.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL:
+                return ComparisonMode.LESS_THAN_OR_EQUAL;
+            case LESS_THAN:
+                return ComparisonMode.GREATER_THAN;
+            case LESS_THAN_OR_EQUAL:
+                return ComparisonMode.GREATER_THAN_OR_EQUAL;
+            default:
+                return mode;
+        }
+    }
+
+    static boolean matches(ComparisonMode mode, int order) {
+        switch (mode) {
+            case EQUALS:
+                return order == 0;
+            case NOT_EQUALS:
+                return order != 0;
+            case GREATER_THAN:
+                return order > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return order >= 0;
+            case LESS_THAN:
+                return order < 0;
+            case LESS_THAN_OR_EQUAL:
+                return order <= 0;
+            default:
+                throw new IllegalStateException("unexpected comparison mode: " + mode);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<Boolean> asBoolean(Expression<?> expression) {
+        return (Expression<Boolean>) expression;
+    }
+
+    private static final class And implements BatchPredicate {
+        private final BatchPredicate[] operands;
+
+        And(BatchPredicate[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            for (int i = 0; i < operands.length && size > 0; i++) {
+                size = operands[i].select(batch, selection, size, context);
+            }
+            return size;
+        }
+    }
+
+    private static final class NullCheck implements BatchPredicate {
+        private final int index;
+        private final boolean isNull;
+
+        NullCheck(int index, boolean isNull) {
+            this.index = index;
+            this.isNull = isNull;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if ((batch.getRow(row).get(index) == null) == isNull) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    private static final class LongComparison implements BatchPredicate {
+        private final int index;
+        private final ComparisonMode mode;
+        private final long constant;
+
+        LongComparison(int index, ComparisonMode mode, long constant) {
+            this.index = index;
+            this.mode = mode;
+            this.constant = constant;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                Number value = batch.getRow(row).get(index);
+                if (value != null && matches(mode, Long.compare(value.longValue(), constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    private static final class DoubleComparison implements BatchPredicate {
+        private final int index;
+        private final ComparisonMode mode;
+        private final double constant;
+
+        DoubleComparison(int index, ComparisonMode mode, double constant) {
+            this.index = index;
+            this.mode = mode;
+            this.constant = constant;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                Number value = batch.getRow(row).get(index);
+                // Double.compare orders NaN and -0.0 the same way as Double/Float.compareTo
+                if (value != null && matches(mode, Double.compare(value.doubleValue(), constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    private static final class StringComparison implements BatchPredicate {
+        private final int index;
+        private final ComparisonMode mode;
+        private final String constant;
+
+        StringComparison(int index, ComparisonMode mode, String constant) {
+            this.index = index;
+            this.mode = mode;
+            this.constant = constant;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                String value = batch.getRow(row).get(index);
+                if (value != null && matches(mode, value.compareTo(constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    private static final class RowByRow implements BatchPredicate {
+        private final ExpressionEvaluator predicate;
+
+        RowByRow(ExpressionEvaluator predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public int select(RowBatch batch, int[] selection, int size, ExpressionEvalContext context) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if (Boolean.TRUE.equals(predicate.eval(batch.getRow(row), context))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compile;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.expression.VariExpression;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+import org.codehaus.janino.SimpleCompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiles expression trees to Java classes with Janino.
+ * <p>
+ * Every node of the tree is turned into a private method of the generated
+ * class, calling the methods of its operands directly. The tree is therefore
+ * evaluated without the megamorphic {@link Expression#eval} calls of the
+ * interpreter, and the JIT can inline the whole of it.
+ * <p>
+ * The supported nodes are columns, constants, parameters, the boolean
+ * connectives, the IS predicates, comparisons of numeric and VARCHAR
+ * operands and the numeric {@code +}, {@code -} and {@code *} operators. They
+ * are generated to call the same static helpers as the interpreted nodes, so
+ * they behave the same, including the errors. Any other node is kept as is
+ * and called from the generated code. If the tree has nothing to compile,
+ * or compilation fails, the returned evaluator delegates to the interpreter.
+ * <p>
+ * The generated source depends only on the shape of the tree: the constants
+ * and the nodes called from the generated code are passed to the constructor
+ * of the class. Trees differing only in their literals therefore have the
+ * same source and can share the class, see {@link #compile(Expression,
+ * Function)}. Parameters are read from the evaluation context, so a class
+ * compiled for a parameterized query is reused for all the parameter values.
+ */
+public final class ExpressionCompiler {
+
+    private static final ILogger LOGGER = Logger.getLogger(ExpressionCompiler.class);
+    private static final String PACKAGE_NAME = ExpressionCompiler.class.getPackage().getName();
+    private static final String CLASS_NAME = "CompiledExpression";
+
+    private final StringBuilder methods = new StringBuilder();
+    private final List<Object> constants = new ArrayList<>();
+    private final List<Expression<?>> leaves = new ArrayList<>();
+    private int methodCount;
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Returns an evaluator of the given expression, compiled if possible.
+     */
+    public static ExpressionEvaluator compile(Expression<?> expression) {
+        return compile(expression, ExpressionCompiler::compileClass);
+    }
+
+    /**
+     * Returns an evaluator of the given expression, compiled if possible.
+     * The class is obtained by applying the given function to the generated
+     * source, which allows the callers to cache the classes by the source.
+     * The function returns {@code null} if the source can't be compiled.
+     */
+    public static ExpressionEvaluator compile(Expression<?> expression,
+                                              Function<String, Class<? extends ExpressionEvaluator>> classes) {
+        if (!isCompiled(expression)) {
+            return expression::evalTop;
+        }
+
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        String source = compiler.source(expression);
+        Class<? extends ExpressionEvaluator> clazz = classes.apply(source);
+        if (clazz == null) {
+            return expression::evalTop;
+        }
+        try {
+            return clazz.getConstructor(Object[].class, Expression[].class)
+                    .newInstance(compiler.constants.toArray(), compiler.leaves.toArray(new Expression<?>[0]));
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warning("Failed to instantiate the compiled " + expression + ", it will be interpreted", e);
+            return expression::evalTop;
+        }
+    }
+
+    /**
+     * Compiles the source generated for an expression tree, returning
+     * {@code null} if it fails.
+     */
+    public static Class<? extends ExpressionEvaluator> compileClass(String source) {
+        try {
+            SimpleCompiler simpleCompiler = new SimpleCompiler();
+            simpleCompiler.setParentClassLoader(ExpressionCompiler.class.getClassLoader());
+            simpleCompiler.cook(source);
+            return simpleCompiler.getClassLoader().loadClass(PACKAGE_NAME + '.' + CLASS_NAME)
+                    .asSubclass(ExpressionEvaluator.class);
+        } catch (Exception | LinkageError e) {
+            LOGGER.warning("Failed to compile an expression, it will be interpreted. The source was:\n" + source, e);
+            return null;
+        }
+    }
+
+    private String source(Expression<?> expression) {
+        String body = generate(expression);
+        return "package " + PACKAGE_NAME + ";\n"
+                + "\n"
+                + "import com.hazelcast.sql.impl.expression.Expression;\n"
+                + "import com.hazelcast.sql.impl.expression.ExpressionEvalContext;\n"
+                + "import com.hazelcast.sql.impl.expression.predicate.TernaryLogic;\n"
+                + "import com.hazelcast.sql.impl.row.Row;\n"
+                + "import com.hazelcast.sql.impl.type.QueryDataTypeFamily;\n"
+                + "\n"
+                + "public final class " + CLASS_NAME + " implements ExpressionEvaluator {\n"
+                + "    private final Object[] c;\n"
+                + "    private final Expression[] l;\n"
+                + "\n"
+                + "    public " + CLASS_NAME + "(Object[] c, Expression[] l) {\n"
+                + "        this.c = c;\n"
+                + "        this.l = l;\n"
+                + "    }\n"
+                + "\n"
+                + "    public Object eval(Row row, ExpressionEvalContext ctx) {\n"
+                + "        return " + body + ";\n"
+                + "    }\n"
+                + methods
+                + "}\n";
+    }
+
+    /**
+     * Tells whether the node is compiled, as opposed to being called from
+     * the generated code.
+     */
+    @SuppressWarnings("checkstyle:BooleanExpressionComplexity")
+    private static boolean isCompiled(Expression<?> expression) {
+        if (expression instanceof ComparisonPredicate) {
+            return isComparable(((ComparisonPredicate) expression).operand1().getType().getTypeFamily());
+        }
+        if (expression instanceof PlusFunction || expression instanceof MinusFunction
+                || expression instanceof MultiplyFunction) {
+            return expression.getType().getTypeFamily().isNumeric();
+        }
+        return expression instanceof AndPredicate || expression instanceof OrPredicate
+                || expression instanceof NotPredicate
+                || expression instanceof IsNullPredicate || expression instanceof IsNotNullPredicate
+                || expression instanceof IsTruePredicate || expression instanceof IsNotTruePredicate
+                || expression instanceof IsFalsePredicate || expression instanceof IsNotFalsePredicate;
+    }
+
+    private static boolean isComparable(QueryDataTypeFamily family) {
+        return family.isNumericInteger() || family.isNumericApproximate() || family == QueryDataTypeFamily.VARCHAR;
+    }
+
+    /**
+     * Returns a Java expression evaluating the given node.
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:ReturnCount"})
+    private String generate(Expression<?> expression) {
+        if (expression instanceof ConstantExpression) {
+            constants.add(((ConstantExpression<?>) expression).getValue());
+            return "c[" + (constants.size() - 1) + "]";
+        }
+        if (expression instanceof ParameterExpression) {
+            return "ctx.getArgument(" + ((ParameterExpression<?>) expression).getIndex() + ")";
+        }
+        if (expression instanceof ColumnExpression && !expression.getType().getTypeFamily().isObject()) {
+            // columns of the OBJECT type might need to be deserialized, see ColumnExpression
+            return "row.get(" + ((ColumnExpression<?>) expression).getIndex() + ", false)";
+        }
+        if (!isCompiled(expression)) {
+            leaves.add(expression);
+            return "l[" + (leaves.size() - 1) + "].eval(row, ctx)";
+        }
+
+        if (expression instanceof ComparisonPredicate) {
+            return generateComparison((ComparisonPredicate) expression);
+        } else if (expression instanceof PlusFunction) {
+            return generateArithmetic((BiExpression<?>) expression, PlusFunction.class);
+        } else if (expression instanceof MinusFunction) {
+            return generateArithmetic((BiExpression<?>) expression, MinusFunction.class);
+        } else if (expression instanceof MultiplyFunction) {
+            return generateArithmetic((BiExpression<?>) expression, MultiplyFunction.class);
+        } else if (expression instanceof AndPredicate) {
+            return generateConnective((VariExpression<?>) expression, "isFalse", "Boolean.FALSE", "Boolean.TRUE");
+        } else if (expression instanceof OrPredicate) {
+            return generateConnective((VariExpression<?>) expression, "isTrue", "Boolean.TRUE", "Boolean.FALSE");
+        } else if (expression instanceof NotPredicate) {
+            return generateUnary((UniExpression<?>) expression, "TernaryLogic.not((Boolean) v)");
+        } else if (expression instanceof IsNullPredicate) {
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isNull(v))");
+        } else if (expression instanceof IsNotNullPredicate) {
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isNotNull(v))");
+        } else if (expression instanceof IsTruePredicate) {
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isTrue((Boolean) v))");
+        } else if (expression instanceof IsNotTruePredicate) {
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isNotTrue((Boolean) v))");
+        } else if (expression instanceof IsFalsePredicate) {
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isFalse((Boolean) v))");
+        } else {
+            assert expression instanceof IsNotFalsePredicate : expression;
+            return generateUnary((UniExpression<?>) expression, "Boolean.valueOf(TernaryLogic.isNotFalse((Boolean) v))");
+        }
+    }
+
+    private String generateComparison(ComparisonPredicate comparison) {
+        QueryDataTypeFamily family = comparison.operand1().getType().getTypeFamily();
+        String order;
+        if (family.isNumericInteger()) {
+            order = "Long.compare(((Number) left).longValue(), ((Number) right).longValue())";
+        } else if (family.isNumericApproximate()) {
+            order = "Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue())";
+        } else {
+            order = "((String) left).compareTo((String) right)";
+        }
+
+        StringBuilder method = new StringBuilder();
+        String name = beginMethod(method);
+        generateOperands(method, comparison);
+        method.append("        return Boolean.valueOf(").append(order).append(' ')
+                .append(operator(comparison.mode())).append(" 0);\n");
+        endMethod(method);
+        return name;
+    }
+
+    private String generateArithmetic(BiExpression<?> expression, Class<?> functionClass) {
+        StringBuilder method = new StringBuilder();
+        String name = beginMethod(method);
+        generateOperands(method, expression);
+        method.append("        return ").append(functionClass.getName())
+                .append(".evalNumeric((Number) left, (Number) right, QueryDataTypeFamily.")
+                .append(expression.getType().getTypeFamily().name()).append(");\n");
+        endMethod(method);
+        return name;
+    }
+
+    /**
+     * Generates the evaluation of both operands, returning {@code null} if
+     * any of them is {@code null}, in the same order as the interpreter.
+     */
+    private void generateOperands(StringBuilder method, BiExpression<?> expression) {
+        method.append("        Object left = ").append(generate(expression.operand1())).append(";\n")
+                .append("        if (left == null) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        Object right = ").append(generate(expression.operand2())).append(";\n")
+                .append("        if (right == null) {\n")
+                .append("            return null;\n")
+                .append("        }\n");
+    }
+
+    /**
+     * Generates AND or OR, unrolling the loop of {@code TernaryLogic.and()}
+     * or {@code TernaryLogic.or()}.
+     */
+    private String generateConnective(VariExpression<?> expression, String shortCircuitTest, String shortCircuitResult,
+                                      String result) {
+        StringBuilder method = new StringBuilder();
+        String name = beginMethod(method);
+        method.append("        boolean seenUnknown = false;\n")
+                .append("        Boolean v;\n");
+        for (Expression<?> operand : expression.operands()) {
+            method.append("        v = (Boolean) ").append(generate(operand)).append(";\n")
+                    .append("        if (TernaryLogic.").append(shortCircuitTest).append("(v)) {\n")
+                    .append("            return ").append(shortCircuitResult).append(";\n")
+                    .append("        }\n")
+                    .append("        if (TernaryLogic.isNull(v)) {\n")
+                    .append("            seenUnknown = true;\n")
+                    .append("        }\n");
+        }
+        method.append("        if (seenUnknown) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        return ").append(result).append(";\n");
+        endMethod(method);
+        return name;
+    }
+
+    private String generateUnary(UniExpression<?> expression, String result) {
+        StringBuilder method = new StringBuilder();
+        String name = beginMethod(method);
+        method.append("        Object v = ").append(generate(expression.getOperand())).append(";\n")
+                .append("        return ").append(result).append(";\n");
+        endMethod(method);
+        return name;
+    }
+
+    private String beginMethod(StringBuilder method) {
+        String name = "e" + methodCount++;
+        method.append("\n")
+                .append("    private Object ").append(name).append("(Row row, ExpressionEvalContext ctx) {\n");
+        return name + "(row, ctx)";
+    }
+
+    private void endMethod(StringBuilder method) {
+        method.append("    }\n");
+        methods.append(method);
+    }
+
+    private static String operator(ComparisonMode mode) {
+        switch (mode) {
+            case EQUALS:
+                return "==";
+            case NOT_EQUALS:
+                return "!=";
+            case GREATER_THAN:
+                return ">";
+            case GREATER_THAN_OR_EQUAL:
+                return ">=";
+            case LESS_THAN:
+                return "<";
+            case LESS_THAN_OR_EQUAL:
+                return "<=";
+            default:
+                throw new IllegalStateException("unexpected comparison mode: " + mode);
+        }
+    }
+}
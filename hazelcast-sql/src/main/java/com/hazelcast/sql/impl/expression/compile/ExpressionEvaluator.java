@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compile;
+
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+
+/**
+ * Evaluates an expression tree on rows. The result is the same as the one of
+ * {@link Expression#evalTop(Row, ExpressionEvalContext)} of the tree.
+ * <p>
+ * Implementations are either generated by the {@link ExpressionCompiler} or
+ * delegate to the interpreter. They are thread-safe.
+ */
+@FunctionalInterface
+public interface ExpressionEvaluator {
+
+    Object eval(Row row, ExpressionEvalContext context);
+}
@@ -84,7 +84,7 @@ public final class MinusFunction<T> extends BiExpressionWithType<T> {
         return (T) evalNumeric((Number) left, (Number) right, family);
     }
 
-    private static Object evalNumeric(Number left, Number right, QueryDataTypeFamily family) {
+    public static Object evalNumeric(Number left, Number right, QueryDataTypeFamily family) {
         switch (family) {
             case TINYINT:
                 return (byte) (left.byteValue() - right.byteValue());
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.plan.cache;
+
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.compile.ExpressionCompiler;
+import com.hazelcast.sql.impl.expression.compile.ExpressionEvaluator;
+
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for the classes compiled by the {@link ExpressionCompiler}.
+ * <p>
+ * Plans are cached on the member coordinating the query, but their
+ * expressions are evaluated on all the members, so the compiled classes are
+ * cached separately on each member. They are keyed by the generated source,
+ * which depends only on the shape of the expression tree and not on its
+ * literals, so that queries differing only in their literals share a class.
+ */
+public class CompiledExpressionCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> classes = new ConcurrentHashMap<>();
+
+    public CompiledExpressionCache(int maxSize) {
+        assert maxSize > 0;
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns an evaluator of the expression, compiling its class if it is
+     * not cached.
+     */
+    public ExpressionEvaluator get(Expression<?> expression) {
+        return ExpressionCompiler.compile(expression, this::compiledClass);
+    }
+
+    private Class<? extends ExpressionEvaluator> compiledClass(String source) {
+        Entry entry = classes.get(source);
+
+        if (entry == null) {
+            // Compile outside the map, the compilation is too slow to be done under its lock
+            Entry newEntry = new Entry(ExpressionCompiler.compileClass(source));
+            entry = classes.putIfAbsent(source, newEntry);
+
+            if (entry == null) {
+                entry = newEntry;
+
+                shrinkIfNeeded();
+            }
+        }
+
+        entry.onUsed();
+
+        return entry.clazz;
+    }
+
+    public void clear() {
+        classes.clear();
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    private void shrinkIfNeeded() {
+        int oversize = classes.size() - maxSize;
+
+        if (oversize <= 0) {
+            return;
+        }
+
+        // Sort classes according to their last used timestamps
+        TreeMap<Long, String> sorted = new TreeMap<>();
+
+        classes.forEach((source, entry) -> sorted.put(entry.lastUsed, source));
+
+        // Remove oldest classes
+        for (String source : sorted.values()) {
+            if (classes.remove(source) != null) {
+                if (--oversize == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Class<? extends ExpressionEvaluator> clazz;
+        private volatile long lastUsed;
+
+        private Entry(Class<? extends ExpressionEvaluator> clazz) {
+            this.clazz = clazz;
+        }
+
+        private void onUsed() {
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.impl.JetServiceBackend.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.sql.impl.expression.ColumnExpression.create;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+@RunWith(HazelcastSerialClassRunner.class)
+public class CalcPTest extends SqlTestSupport {
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_filterAndProjection_then_rowsFilteredAndProjected() {
+        // WHERE a > 1 AND b IS NOT NULL AND 'c' < c
+        Expression<Boolean> predicate = AndPredicate.create(
+                ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                        ConstantExpression.create(1L, QueryDataType.BIGINT), ComparisonMode.GREATER_THAN),
+                IsNotNullPredicate.create(create(1, QueryDataType.DOUBLE)),
+                ComparisonPredicate.create(ConstantExpression.create("c", QueryDataType.VARCHAR),
+                        create(2, QueryDataType.VARCHAR), ComparisonMode.LESS_THAN));
+        // SELECT c, a + 1
+        List<Expression<?>> projection = asList(
+                create(2, QueryDataType.VARCHAR),
+                PlusFunction.create(create(0, QueryDataType.BIGINT),
+                        ConstantExpression.create(1L, QueryDataType.BIGINT), QueryDataType.BIGINT));
+        SupplierEx<Processor> supplier = () -> new CalcP(predicate, projection);
+
+        TestSupport.verifyProcessor(adaptSupplier(ProcessorSupplier.of(supplier)))
+                .hazelcastInstance(instance())
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .input(asList(
+                        jetRow(1L, 1.0, "d"),
+                        jetRow(2L, 1.0, "d"),
+                        jetRow(3L, null, "d"),
+                        jetRow(4L, 1.0, "b"),
+                        jetRow(5L, 1.0, null),
+                        jetRow(null, 1.0, "d"),
+                        jetRow(6L, Double.NaN, "e")
+                ))
+                .expectOutput(asList(
+                        jetRow("d", 3L),
+                        jetRow("e", 7L)
+                ));
+    }
+
+    @Test
+    public void when_moreRowsThanBatchSize_then_allEmittedInOrder() {
+        Expression<Boolean> predicate = ComparisonPredicate.create(create(0, QueryDataType.INT),
+                ConstantExpression.create(0, QueryDataType.INT), ComparisonMode.NOT_EQUALS);
+        List<Expression<?>> projection = asList(create(0, QueryDataType.INT));
+        SupplierEx<Processor> supplier = () -> new CalcP(predicate, projection);
+
+        List<Object> input = new ArrayList<>();
+        List<Object> output = new ArrayList<>();
+        for (int i = 0; i < 3 * CalcP.MAX_BATCH_SIZE; i++) {
+            input.add(jetRow(i % 3));
+            if (i % 3 != 0) {
+                output.add(jetRow(i % 3));
+            }
+        }
+
+        TestSupport.verifyProcessor(adaptSupplier(ProcessorSupplier.of(supplier)))
+                .hazelcastInstance(instance())
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .input(input)
+                .expectOutput(output);
+    }
+
+    @Test
+    public void when_noFilter_then_rowsProjectedAndWatermarksKeptInOrder() {
+        List<Expression<?>> projection = asList(create(1, QueryDataType.BIGINT), create(0, QueryDataType.BIGINT));
+        SupplierEx<Processor> supplier = () -> new CalcP(null, projection);
+
+        TestSupport.verifyProcessor(adaptSupplier(ProcessorSupplier.of(supplier)))
+                .hazelcastInstance(instance())
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .disableSnapshots()
+                .input(asList(
+                        jetRow(0L, 1L),
+                        wm(1L),
+                        jetRow(1L, 2L)
+                ))
+                .expectOutput(asList(
+                        jetRow(1L, 0L),
+                        wm(1L),
+                        jetRow(2L, 1L)
+                ));
+    }
+}
@@ -18,7 +18,10 @@ package com.hazelcast.jet.sql.impl.processors;
 
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestProcessorContext;
 import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.processor.SpillingProcessorTester;
 import com.hazelcast.jet.sql.SqlTestSupport;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
@@ -31,6 +34,7 @@ import org.apache.calcite.rel.core.JoinRelType;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
@@ -42,6 +46,9 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.apache.calcite.rel.core.JoinRelType.INNER;
 import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 
 public class SqlHashJoinPTest extends SqlTestSupport {
     private static final int LOW_PRIORITY = 10;
@@ -139,6 +146,82 @@ public class SqlHashJoinPTest extends SqlTestSupport {
         );
     }
 
+    @Test
+    public void when_limitReachedWithoutSpilling_then_fail() throws Exception {
+        new SpillingProcessorTester(new SqlHashJoinP(equiJoinInfo(INNER), 2), createContext(3))
+                .assertLimitExceeded(1, asList(jetRow(0, "r"), jetRow(1, "r"), jetRow(2, "r"), jetRow(3, "r")));
+    }
+
+    @Test
+    public void when_limitReachedWithSpilling_then_allRowsJoined() throws Exception {
+        List<JetSqlRow> leftInput = new ArrayList<>();
+        List<JetSqlRow> rightInput = new ArrayList<>();
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rightInput.add(jetRow(i, "right-" + i));
+        }
+        for (int i = 0; i < 1200; i += 2) {
+            leftInput.add(jetRow(i, "left-" + i));
+            expected.add(i < 1000 ? jetRow(i, "left-" + i, i, "right-" + i) : jetRow(i, "left-" + i, null, null));
+        }
+
+        SqlHashJoinP p = new SqlHashJoinP(equiJoinInfo(LEFT), 2, true);
+        assertFalse(p.isCooperative());
+        List<JetSqlRow> output = new SpillingProcessorTester(p, createContext(100))
+                .process(1, rightInput)
+                .process(0, leftInput)
+                .complete();
+
+        assertThat(output).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void when_spilledPartitionExceedsLimit_then_splitAndAllRowsJoined() throws Exception {
+        // far more right rows per partition than the limit
+        List<JetSqlRow> leftInput = new ArrayList<>();
+        List<JetSqlRow> rightInput = new ArrayList<>();
+        List<JetSqlRow> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rightInput.add(jetRow(i, "right-" + i));
+        }
+        for (int i = 0; i < 6000; i += 3) {
+            leftInput.add(jetRow(i, "left-" + i));
+            expected.add(i < 5000 ? jetRow(i, "left-" + i, i, "right-" + i) : jetRow(i, "left-" + i, null, null));
+        }
+
+        List<JetSqlRow> output = new SpillingProcessorTester(new SqlHashJoinP(equiJoinInfo(LEFT), 2, true),
+                createContext(20))
+                .process(1, rightInput)
+                .process(0, leftInput)
+                .complete();
+
+        assertThat(output).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void when_rowsOfOneKeyExceedLimit_then_fail() throws Exception {
+        List<JetSqlRow> rightInput = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rightInput.add(jetRow(1, "right-" + i));
+        }
+
+        SpillingProcessorTester tester = new SpillingProcessorTester(new SqlHashJoinP(equiJoinInfo(INNER), 2, true),
+                createContext(20))
+                .process(1, rightInput)
+                .process(0, singletonList(jetRow(1, "left")));
+        assertThrows(AccumulationLimitExceededException.class, tester::complete);
+    }
+
+    private static JetJoinInfo equiJoinInfo(JoinRelType joinType) {
+        return new JetJoinInfo(joinType, new int[]{0}, new int[]{0}, TRUE_PREDICATE, null);
+    }
+
+    private static TestProcessorContext createContext(long maxItems) {
+        TestProcessorContext context = SpillingProcessorTester.createContext(instance(), maxItems);
+        context.setJobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()));
+        return context;
+    }
+
     private void runTest(
             JoinRelType joinType,
             Expression<Boolean> nonEquiCondition,
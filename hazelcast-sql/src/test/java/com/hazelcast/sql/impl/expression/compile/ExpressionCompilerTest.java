@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.sql.impl.expression.compile;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.ParameterExpression;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.expression.string.UpperFunction;
+import com.hazelcast.sql.impl.plan.cache.CompiledExpressionCache;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.jet.sql.SqlTestSupport.createExpressionEvalContext;
+import static com.hazelcast.sql.impl.expression.ColumnExpression.create;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilerTest {
+
+    private static final List<Row> ROWS = asList(
+            new HeapRow(new Object[]{1L, 1.5, "a"}),
+            new HeapRow(new Object[]{2L, -1.0, "b"}),
+            new HeapRow(new Object[]{3L, null, "c"}),
+            new HeapRow(new Object[]{null, 2.0, null}),
+            new HeapRow(new Object[]{4L, Double.NaN, "D"}),
+            new HeapRow(new Object[]{null, null, null})
+    );
+
+    @Test
+    public void when_predicateCompiled_then_sameResultsAsInterpreted() {
+        // (a > 1 AND b <= 1.5) OR c IS NULL OR NOT (c = 'a') IS TRUE
+        Expression<?> predicate = OrPredicate.create(
+                AndPredicate.create(
+                        ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                                ConstantExpression.create(1L, QueryDataType.BIGINT), ComparisonMode.GREATER_THAN),
+                        ComparisonPredicate.create(create(1, QueryDataType.DOUBLE),
+                                ConstantExpression.create(1.5, QueryDataType.DOUBLE), ComparisonMode.LESS_THAN_OR_EQUAL)),
+                IsNullPredicate.create(create(2, QueryDataType.VARCHAR)),
+                IsTruePredicate.create(NotPredicate.create(ComparisonPredicate.create(create(2, QueryDataType.VARCHAR),
+                        ConstantExpression.create("a", QueryDataType.VARCHAR), ComparisonMode.EQUALS))));
+
+        assertCompiledSameAsInterpreted(predicate, createExpressionEvalContext());
+    }
+
+    @Test
+    public void when_projectionCompiled_then_sameResultsAsInterpreted() {
+        // a * 2 + a, b * b
+        Expression<?> sum = PlusFunction.create(
+                MultiplyFunction.create(create(0, QueryDataType.BIGINT),
+                        ConstantExpression.create(2L, QueryDataType.BIGINT), QueryDataType.BIGINT),
+                create(0, QueryDataType.BIGINT), QueryDataType.BIGINT);
+        Expression<?> square = MultiplyFunction.create(create(1, QueryDataType.DOUBLE),
+                create(1, QueryDataType.DOUBLE), QueryDataType.DOUBLE);
+
+        assertCompiledSameAsInterpreted(sum, createExpressionEvalContext());
+        assertCompiledSameAsInterpreted(square, createExpressionEvalContext());
+    }
+
+    @Test
+    public void when_unsupportedOperand_then_interpretedFromCompiledCode() {
+        // UPPER(c) = 'D'
+        Expression<?> predicate = ComparisonPredicate.create(UpperFunction.create(create(2, QueryDataType.VARCHAR)),
+                ConstantExpression.create("D", QueryDataType.VARCHAR), ComparisonMode.EQUALS);
+
+        assertCompiledSameAsInterpreted(predicate, createExpressionEvalContext());
+    }
+
+    @Test
+    public void when_parameterized_then_argumentsReadFromContext() {
+        // a < ?
+        Expression<?> predicate = ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                ParameterExpression.create(0, QueryDataType.BIGINT), ComparisonMode.LESS_THAN);
+        ExpressionEvaluator evaluator = ExpressionCompiler.compile(predicate);
+
+        assertEquals(Boolean.TRUE, evaluator.eval(ROWS.get(0), createExpressionEvalContext(2L)));
+        assertEquals(Boolean.FALSE, evaluator.eval(ROWS.get(0), createExpressionEvalContext(1L)));
+        assertEquals(null, evaluator.eval(ROWS.get(0), createExpressionEvalContext((Object) null)));
+    }
+
+    @Test
+    public void when_overflow_then_sameErrorAsInterpreted() {
+        Expression<?> sum = PlusFunction.create(create(0, QueryDataType.BIGINT),
+                ConstantExpression.create(Long.MAX_VALUE, QueryDataType.BIGINT), QueryDataType.BIGINT);
+        ExpressionEvaluator evaluator = ExpressionCompiler.compile(sum);
+        ExpressionEvalContext context = createExpressionEvalContext();
+
+        QueryException interpreted = assertThrows(QueryException.class, () -> sum.evalTop(ROWS.get(0), context));
+        QueryException compiled = assertThrows(QueryException.class, () -> evaluator.eval(ROWS.get(0), context));
+        assertEquals(interpreted.getMessage(), compiled.getMessage());
+    }
+
+    @Test
+    public void when_onlyLiteralsDiffer_then_classShared() {
+        CompiledExpressionCache cache = new CompiledExpressionCache(10);
+        ExpressionEvalContext context = createExpressionEvalContext();
+
+        // a > 1, a > 3
+        ExpressionEvaluator evaluator1 = cache.get(ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                ConstantExpression.create(1L, QueryDataType.BIGINT), ComparisonMode.GREATER_THAN));
+        ExpressionEvaluator evaluator3 = cache.get(ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                ConstantExpression.create(3L, QueryDataType.BIGINT), ComparisonMode.GREATER_THAN));
+
+        assertSame(evaluator1.getClass(), evaluator3.getClass());
+        assertEquals(1, cache.size());
+        assertEquals(Boolean.TRUE, evaluator1.eval(ROWS.get(1), context));
+        assertEquals(Boolean.FALSE, evaluator3.eval(ROWS.get(1), context));
+
+        // a < 1 has another shape
+        cache.get(ComparisonPredicate.create(create(0, QueryDataType.BIGINT),
+                ConstantExpression.create(1L, QueryDataType.BIGINT), ComparisonMode.LESS_THAN));
+        assertEquals(2, cache.size());
+    }
+
+    private static void assertCompiledSameAsInterpreted(Expression<?> expression, ExpressionEvalContext context) {
+        ExpressionEvaluator evaluator = ExpressionCompiler.compile(expression);
+        assertTrue(evaluator.getClass().getName(), evaluator.getClass().getSimpleName().startsWith("CompiledExpression"));
+
+        for (Row row : ROWS) {
+            assertEquals(expression.evalTop(row, context), evaluator.eval(row, context));
+        }
+    }
+}
@@ -16,10 +16,15 @@
 
 package com.hazelcast.internal.tpcengine;
 
+import com.hazelcast.internal.tpcengine.iouring.IOUring;
+import com.hazelcast.internal.tpcengine.iouring.IOUringReactorBuilder;
+import com.hazelcast.internal.tpcengine.logging.TpcLogger;
+import com.hazelcast.internal.tpcengine.logging.TpcLoggerLocator;
 import com.hazelcast.internal.tpcengine.nio.NioReactorBuilder;
 
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
+import static java.lang.System.getProperty;
 
 /**
  * The builder for the {@link TpcEngine}.
@@ -27,10 +32,13 @@ import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
 public class TpcEngineBuilder {
 
     public static final String NAME_REACTOR_COUNT = "hazelcast.tpc.reactor.count";
+    public static final String NAME_REACTOR_TYPE = "hazelcast.tpc.reactor.type";
+
+    private static final TpcLogger LOGGER = TpcLoggerLocator.getLogger(TpcEngineBuilder.class);
 
     int reactorCount = Integer.getInteger(NAME_REACTOR_COUNT, Runtime.getRuntime().availableProcessors());
 
-    ReactorBuilder reactorBuilder = new NioReactorBuilder();
+    ReactorBuilder reactorBuilder = newReactorBuilder(ReactorType.fromString(getProperty(NAME_REACTOR_TYPE, "nio")));
 
     /**
      * Sets the ReactorBuilder.
@@ -44,6 +52,20 @@ public class TpcEngineBuilder {
         return this;
     }
 
+    /**
+     * Sets the type of the reactors. When the requested type isn't available on
+     * this system, NIO reactors are used instead.
+     *
+     * @param reactorType the type of the reactors.
+     * @return this
+     * @throws NullPointerException if reactorType is <code>null</code>.
+     * @see #newReactorBuilder(ReactorType)
+     */
+    public TpcEngineBuilder setReactorType(ReactorType reactorType) {
+        this.reactorBuilder = newReactorBuilder(checkNotNull(reactorType, "reactorType"));
+        return this;
+    }
+
     /**
      * Sets the number of reactors.
      *
@@ -66,4 +88,31 @@ public class TpcEngineBuilder {
     public TpcEngine build() {
         return new TpcEngine(this);
     }
+
+    /**
+     * Creates a {@link ReactorBuilder} for the given type.
+     * <p/>
+     * If an io_uring reactor is requested, but io_uring isn't available because of the
+     * OS, the kernel or the native library, it falls back to NIO.
+     *
+     * @param reactorType the type of the reactor.
+     * @return the created ReactorBuilder.
+     * @throws NullPointerException if reactorType is <code>null</code>.
+     * @see IOUring#isAvailable()
+     */
+    public static ReactorBuilder newReactorBuilder(ReactorType reactorType) {
+        switch (checkNotNull(reactorType, "reactorType")) {
+            case NIO:
+                return new NioReactorBuilder();
+            case IOURING:
+                if (IOUring.isAvailable()) {
+                    return new IOUringReactorBuilder();
+                }
+
+                LOGGER.warning("io_uring is not available, falling back to NIO: " + IOUring.unavailabilityCause());
+                return new NioReactorBuilder();
+            default:
+                throw new IllegalArgumentException("Unrecognized reactor type [" + reactorType + ']');
+        }
+    }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.logging.TpcLogger;
+import com.hazelcast.internal.tpcengine.logging.TpcLoggerLocator;
+import com.hazelcast.internal.tpcengine.util.OS;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static com.hazelcast.internal.tpcengine.util.CloseUtil.closeQuietly;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
+import static java.nio.ByteOrder.nativeOrder;
+
+/**
+ * A JNI binding to a single io_uring instance. The binding is implemented by the small
+ * io_uring_helper shared library that is bundled for Linux x86_64. It talks to the kernel
+ * using the raw io_uring syscalls, so there is no dependency on liburing.
+ * <p/>
+ * The prep methods only write a submission queue entry (SQE) into the shared submission
+ * queue; no syscall is made. All prepared entries are submitted in a single batch by
+ * {@link #submit()} or {@link #submitAndWait(long)}. Completions are copied in bulk by
+ * {@link #peekCompletions()} and can then be read using the completion accessors.
+ * <p/>
+ * This class is not thread-safe. It should only be touched by the eventloop thread that
+ * created it.
+ * <p/>
+ * If the {@code hazelcast.tpc.iouring.disabled} system property is set to {@code true},
+ * io_uring is reported as unavailable.
+ */
+@SuppressWarnings({"java:S1181", "checkstyle:MethodCount"})
+public final class IOUring implements AutoCloseable {
+
+    static final int POLLIN = 0x0001;
+    static final int POLLOUT = 0x0004;
+    static final int ECANCELED = 125;
+
+    private static final String IOURING_DISABLED = "hazelcast.tpc.iouring.disabled";
+    private static final String LIB = "lib/linux-x86_64/libio_uring_helper.so";
+    private static final int COMPLETION_SIZE = 16;
+    private static final int OFFSET_RES = 8;
+    private static final int OFFSET_FLAGS = 12;
+    private static final TpcLogger LOGGER = TpcLoggerLocator.getLogger(IOUring.class);
+    private static final Throwable UNAVAILABILITY_CAUSE;
+
+    final int registeredBufferCount;
+    private final long ring;
+    private final ByteBuffer completions;
+    private final long completionsAddress;
+    private final int completionCapacity;
+    private boolean closed;
+
+    /**
+     * Creates a new io_uring instance.
+     *
+     * @param entries               the size of the submission queue. The completion queue is
+     *                              twice as big.
+     * @param registeredBufferCount the number of slots in the table of registered buffers.
+     *                              If the kernel doesn't support sparse buffer tables, no
+     *                              buffers are registered.
+     * @throws IOException if the io_uring instance could not be created.
+     */
+    IOUring(int entries, int registeredBufferCount) throws IOException {
+        ensureAvailable();
+        this.ring = init0(entries);
+        this.completionCapacity = 2 * entries;
+        this.completions = ByteBuffer.allocateDirect(completionCapacity * COMPLETION_SIZE).order(nativeOrder());
+        this.completionsAddress = address0(completions);
+        this.registeredBufferCount = registeredBufferCount > 0 && registerBuffers0(ring, registeredBufferCount)
+                ? registeredBufferCount
+                : 0;
+    }
+
+    /**
+     * Checks if io_uring can be used on this system: the OS is Linux x86_64, the
+     * bundled native library could be loaded and the kernel supports the features
+     * the reactor relies on.
+     *
+     * @return true if available, false otherwise.
+     */
+    public static boolean isAvailable() {
+        return UNAVAILABILITY_CAUSE == null;
+    }
+
+    /**
+     * Returns the reason why io_uring isn't available.
+     *
+     * @return the cause, or <code>null</code> if io_uring is available.
+     */
+    public static Throwable unavailabilityCause() {
+        return UNAVAILABILITY_CAUSE;
+    }
+
+    /**
+     * Throws the {@link #unavailabilityCause()} wrapped in an {@link UnsupportedOperationException}
+     * if io_uring isn't available.
+     */
+    public static void ensureAvailable() {
+        if (UNAVAILABILITY_CAUSE != null) {
+            throw new UnsupportedOperationException("io_uring is not available", UNAVAILABILITY_CAUSE);
+        }
+    }
+
+    /**
+     * Returns the address of the memory of a direct ByteBuffer.
+     *
+     * @param buffer the ByteBuffer.
+     * @return the address.
+     * @throws IllegalArgumentException if the buffer isn't direct.
+     */
+    static long address(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            throw new IllegalArgumentException("Only direct buffers are supported.");
+        }
+        return address0(buffer);
+    }
+
+    /**
+     * Returns the file descriptor of a JDK socket channel.
+     *
+     * @param channel the SocketChannel or ServerSocketChannel.
+     * @return the file descriptor.
+     */
+    static int fd(Channel channel) {
+        return fd0(checkNotNull(channel, "channel"));
+    }
+
+    static int newEventFd() throws IOException {
+        return eventfd0();
+    }
+
+    static void eventFdWrite(int fd) {
+        eventfdWrite0(fd);
+    }
+
+    static void closeFd(int fd) {
+        closeFd0(fd);
+    }
+
+    /**
+     * Registers a buffer in the given slot of the registered buffer table, so it can be
+     * used by {@link #prepReadFixed(int, long, int, int, long)} and
+     * {@link #prepWriteFixed(int, long, int, int, long)}.
+     */
+    void registerBuffer(int index, long address, int length) throws IOException {
+        updateBuffer0(ring, index, address, length);
+    }
+
+    /**
+     * Clears the given slot of the registered buffer table.
+     */
+    void unregisterBuffer(int index) throws IOException {
+        updateBuffer0(ring, index, 0, 0);
+    }
+
+    void prepReadFixed(int fd, long address, int length, int bufferIndex, long userData) throws IOException {
+        prepReadFixed0(ring, fd, address, length, bufferIndex, userData);
+    }
+
+    void prepWriteFixed(int fd, long address, int length, int bufferIndex, long userData) throws IOException {
+        prepWriteFixed0(ring, fd, address, length, bufferIndex, userData);
+    }
+
+    void prepRecv(int fd, long address, int length, long userData) throws IOException {
+        prepRecv0(ring, fd, address, length, userData);
+    }
+
+    void prepSend(int fd, long address, int length, long userData) throws IOException {
+        prepSend0(ring, fd, address, length, userData);
+    }
+
+    void prepRead(int fd, long address, int length, long userData) throws IOException {
+        prepRead0(ring, fd, address, length, userData);
+    }
+
+    void prepPollAdd(int fd, int mask, long userData) throws IOException {
+        prepPollAdd0(ring, fd, mask, userData);
+    }
+
+    void prepCancel(long targetUserData, long userData) throws IOException {
+        prepCancel0(ring, targetUserData, userData);
+    }
+
+    /**
+     * Submits all prepared entries without waiting for completions.
+     *
+     * @return the number of submitted entries.
+     */
+    int submit() throws IOException {
+        return enter0(ring, 0, -1);
+    }
+
+    /**
+     * Submits all prepared entries and waits for at least 1 completion.
+     *
+     * @param timeoutNanos the maximum time to wait. A negative value means waiting
+     *                     without a timeout.
+     * @return the number of submitted entries.
+     */
+    int submitAndWait(long timeoutNanos) throws IOException {
+        return enter0(ring, 1, timeoutNanos);
+    }
+
+    /**
+     * Copies the available completions so that they can be read using
+     * {@link #completionUserData(int)}, {@link #completionResult(int)} and
+     * {@link #completionFlags(int)}. The completions are removed from the
+     * completion queue.
+     *
+     * @return the number of copied completions.
+     */
+    int peekCompletions() {
+        return peek0(ring, completionsAddress, completionCapacity);
+    }
+
+    long completionUserData(int index) {
+        return completions.getLong(index * COMPLETION_SIZE);
+    }
+
+    int completionResult(int index) {
+        return completions.getInt(index * COMPLETION_SIZE + OFFSET_RES);
+    }
+
+    int completionFlags(int index) {
+        return completions.getInt(index * COMPLETION_SIZE + OFFSET_FLAGS);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        exit0(ring);
+    }
+
+    @SuppressWarnings({"java:S5443", "java:S112"})
+    private static String extractBundledLib() throws IOException {
+        InputStream src = null;
+        try {
+            src = IOUring.class.getClassLoader().getResourceAsStream(LIB);
+            if (src == null) {
+                throw new IOException("Resource " + LIB + " not found");
+            }
+            File dest = File.createTempFile("hazelcast-libio-uring-helper-", ".so");
+            dest.deleteOnExit();
+            Files.copy(src, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return dest.getAbsolutePath();
+        } finally {
+            closeQuietly(src);
+        }
+    }
+
+    static {
+        Throwable cause = null;
+        if (Boolean.getBoolean(IOURING_DISABLED)) {
+            cause = new UnsupportedOperationException("io_uring is disabled using " + IOURING_DISABLED);
+        } else if (!OS.isLinux() || !OS.isX86_64()) {
+            cause = new UnsupportedOperationException("io_uring is only supported on Linux x86_64, found ["
+                    + OS.osName() + " " + OS.osArch() + "]");
+        } else {
+            try {
+                System.load(extractBundledLib());
+                probe0();
+            } catch (Throwable t) {
+                cause = t;
+            }
+        }
+
+        if (cause != null) {
+            LOGGER.fine("io_uring is not available", cause);
+        }
+        UNAVAILABILITY_CAUSE = cause;
+    }
+
+    private static native void probe0() throws IOException;
+
+    private static native long init0(int entries) throws IOException;
+
+    private static native void exit0(long ring);
+
+    private static native boolean registerBuffers0(long ring, int count);
+
+    private static native void updateBuffer0(long ring, int index, long address, int length) throws IOException;
+
+    private static native long address0(ByteBuffer buffer);
+
+    private static native int fd0(Object channel);
+
+    private static native int eventfd0() throws IOException;
+
+    private static native void eventfdWrite0(int fd);
+
+    private static native void closeFd0(int fd);
+
+    private static native void prepReadFixed0(long ring, int fd, long address, int length, int bufferIndex, long userData)
+            throws IOException;
+
+    private static native void prepWriteFixed0(long ring, int fd, long address, int length, int bufferIndex, long userData)
+            throws IOException;
+
+    private static native void prepRecv0(long ring, int fd, long address, int length, long userData) throws IOException;
+
+    private static native void prepSend0(long ring, int fd, long address, int length, long userData) throws IOException;
+
+    private static native void prepRead0(long ring, int fd, long address, int length, long userData) throws IOException;
+
+    private static native void prepPollAdd0(long ring, int fd, int mask, long userData) throws IOException;
+
+    private static native void prepCancel0(long ring, long targetUserData, long userData) throws IOException;
+
+    private static native int enter0(long ring, int minComplete, long timeoutNanos) throws IOException;
+
+    private static native int peek0(long ring, long address, int max);
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.net.AcceptRequest;
+import com.hazelcast.internal.tpcengine.net.AsyncServerSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.channels.AlreadyBoundException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnsupportedAddressTypeException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.tpcengine.Reactor.State.TERMINATED;
+import static com.hazelcast.internal.tpcengine.iouring.IOUringEventloop.IGNORED_USER_DATA;
+import static com.hazelcast.internal.tpcengine.util.CloseUtil.closeQuietly;
+import static com.hazelcast.internal.tpcengine.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNegative;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
+
+/**
+ * io_uring implementation of the {@link AsyncServerSocket}.
+ * <p/>
+ * The server socket is a non-blocking JDK {@link ServerSocketChannel}. Instead of submitting
+ * an accept per connection, a poll for readability is submitted; when it completes all pending
+ * connections are accepted and the poll is submitted again.
+ */
+public final class IOUringAsyncServerSocket extends AsyncServerSocket {
+
+    private static final int OP_POLL_ACCEPT = 1;
+
+    private final ServerSocketChannel serverSocketChannel;
+    private final int fd;
+    private final IOUringReactor reactor;
+    private final IOUringEventloop eventloop;
+    private final IOUring ring;
+    private final Thread eventloopThread;
+    private final IOUringAsyncServerSocketOptions options;
+    private final Consumer<AcceptRequest> consumer;
+    private final Handler handler;
+    private final int handlerId;
+    // only accessed from eventloop thread
+    private boolean started;
+    // only accessed from eventloop thread
+    private boolean pollPending;
+    // only accessed from eventloop thread
+    private boolean closing;
+    // only accessed from eventloop thread
+    private boolean released;
+
+    IOUringAsyncServerSocket(IOUringAsyncServerSocketBuilder builder) {
+        this.reactor = builder.reactor;
+        this.eventloop = (IOUringEventloop) reactor.eventloop();
+        this.ring = eventloop.ring;
+        this.consumer = builder.acceptConsumer;
+        this.options = builder.options;
+        this.eventloopThread = reactor.eventloopThread();
+        this.serverSocketChannel = builder.serverSocketChannel;
+        this.fd = IOUring.fd(serverSocketChannel);
+        this.handler = new Handler();
+        this.handlerId = eventloop.register(handler);
+    }
+
+    @Override
+    public AsyncSocketOptions options() {
+        return options;
+    }
+
+    @Override
+    public IOUringReactor getReactor() {
+        return reactor;
+    }
+
+    @Override
+    protected SocketAddress getLocalAddress0() throws IOException {
+        return serverSocketChannel.getLocalAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return serverSocketChannel.socket().getLocalPort();
+    }
+
+    @Override
+    protected void close0() throws IOException {
+        if (Thread.currentThread() == eventloopThread) {
+            handler.closeChannel();
+        } else if (!reactor.offer((Runnable) handler::closeChannel) || reactor.state() == TERMINATED) {
+            // the close task will not run, so the channel is closed directly. The outstanding
+            // poll is cancelled when the handler is closed as part of the eventloop destruction.
+            closeQuietly(serverSocketChannel);
+        }
+    }
+
+    @Override
+    public void bind(SocketAddress localAddress, int backlog) {
+        checkNotNull(localAddress, "localAddress");
+        checkNotNegative(backlog, "backlog");
+
+        try {
+            if (logger.isInfoEnabled()) {
+                logger.info(eventloopThread.getName() + " Binding to " + localAddress);
+            }
+            serverSocketChannel.bind(localAddress, backlog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind to " + localAddress, e);
+        } catch (AlreadyBoundException | UnsupportedAddressTypeException | SecurityException e) {
+            throw new UncheckedIOException(new IOException("Failed to bind to " + localAddress, e));
+        }
+    }
+
+    @SuppressWarnings("java:S1181")
+    @Override
+    public void start() {
+        if (Thread.currentThread() == eventloopThread) {
+            start0();
+        } else {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            reactor.execute(() -> {
+                try {
+                    start0();
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                    throw sneakyThrow(t);
+                }
+            });
+
+            future.join();
+        }
+    }
+
+    private void start0() {
+        if (started) {
+            throw new IllegalStateException(this + " is already started");
+        }
+        started = true;
+
+        try {
+            pollAccept();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info(getLocalAddress() + " started accepting");
+        }
+    }
+
+    private void pollAccept() throws IOException {
+        ring.prepPollAdd(fd, IOUring.POLLIN, IOUringEventloop.userData(handlerId, OP_POLL_ACCEPT));
+        pollPending = true;
+    }
+
+    @SuppressWarnings("java:S1135")
+    private final class Handler implements IOUringHandler {
+
+        @Override
+        public void close(String reason, Throwable cause) {
+            IOUringAsyncServerSocket.this.close(reason, cause);
+            // when the socket was closed from outside the eventloop thread, the close task
+            // may not have run yet; e.g. when the eventloop is being destroyed.
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            if (closing) {
+                return;
+            }
+            closing = true;
+
+            if (pollPending) {
+                try {
+                    ring.prepCancel(IOUringEventloop.userData(handlerId, OP_POLL_ACCEPT), IGNORED_USER_DATA);
+                    // the poll needs to be submitted before the fd is closed and can be reused.
+                    ring.submit();
+                } catch (IOException e) {
+                    logger.fine(e);
+                }
+            }
+            closeQuietly(serverSocketChannel);
+            releaseIfDone();
+        }
+
+        private void releaseIfDone() {
+            if (!released && !pollPending) {
+                released = true;
+                eventloop.deregister(handlerId);
+            }
+        }
+
+        @Override
+        public void handle(int op, int res) throws IOException {
+            pollPending = false;
+            if (closing) {
+                releaseIfDone();
+                return;
+            }
+
+            if (res < 0) {
+                throw new IOException("Failed to poll " + IOUringAsyncServerSocket.this + " for accept, errno=" + -res);
+            }
+
+            for (; ; ) {
+                SocketChannel socketChannel = serverSocketChannel.accept();
+                if (socketChannel == null) {
+                    break;
+                }
+
+                metrics.incAccepted();
+                if (logger.isInfoEnabled()) {
+                    logger.info(IOUringAsyncServerSocket.this + " accepted: " + socketChannel.getRemoteAddress()
+                            + "->" + socketChannel.getLocalAddress());
+                }
+
+                IOUringAcceptRequest acceptRequest = new IOUringAcceptRequest(socketChannel);
+                try {
+                    consumer.accept(acceptRequest);
+                } catch (Throwable t) {
+                    closeQuietly(acceptRequest);
+                    throw sneakyThrow(t);
+                }
+            }
+
+            pollAccept();
+        }
+    }
+}
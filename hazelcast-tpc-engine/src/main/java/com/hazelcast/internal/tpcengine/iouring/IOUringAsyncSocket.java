@@ -0,0 +1,663 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.iobuffer.IOBuffer;
+import com.hazelcast.internal.tpcengine.net.AsyncSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketMetrics;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketOptions;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketReader;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketWriter;
+import com.hazelcast.internal.tpcengine.util.CircularQueue;
+import org.jctools.queues.MpmcArrayQueue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.internal.tpcengine.Reactor.State.TERMINATED;
+import static com.hazelcast.internal.tpcengine.iouring.IOUringEventloop.IGNORED_USER_DATA;
+import static com.hazelcast.internal.tpcengine.iouring.IOUringEventloop.userData;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_RCVBUF;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SO_SNDBUF;
+import static com.hazelcast.internal.tpcengine.util.BufferUtil.compactOrClear;
+import static com.hazelcast.internal.tpcengine.util.CloseUtil.closeQuietly;
+import static com.hazelcast.internal.tpcengine.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNull;
+import static java.lang.Thread.currentThread;
+
+/**
+ * io_uring implementation of the {@link AsyncSocket}.
+ * <p/>
+ * The socket is a non-blocking JDK {@link SocketChannel}; it is only used to create and configure
+ * the socket and to connect. Reads and writes are submitted to the io_uring of the eventloop.
+ * There is at most 1 read and 1 write in flight. The receive and send buffer are registered with
+ * the io_uring if there is a free slot, so the kernel doesn't need to map them on every operation.
+ */
+@SuppressWarnings({"checkstyle:DeclarationOrder", "checkstyle:VisibilityOrder", "checkstyle:MethodCount", "java:S1181"})
+public final class IOUringAsyncSocket extends AsyncSocket {
+
+    private static final int OP_READ = 1;
+    private static final int OP_WRITE = 2;
+    private static final int OP_POLL_CONNECT = 3;
+
+    private final IOUringAsyncSocketOptions options;
+    private final AtomicReference<Thread> flushThread = new AtomicReference<>(currentThread());
+    private final MpmcArrayQueue writeQueue;
+    private final Handler handler;
+    private final SocketChannel socketChannel;
+    private final int fd;
+    private final IOUringReactor reactor;
+    private final IOUringEventloop eventloop;
+    private final IOUring ring;
+    private final Thread eventloopThread;
+    private final AsyncSocketReader reader;
+    private final CircularQueue localTaskQueue;
+    private final AsyncSocketWriter writer;
+
+    // only accessed from eventloop thread
+    private boolean started;
+    // only accessed from eventloop thread
+    private boolean connecting;
+    // only accessed from eventloop thread
+    private boolean established;
+    // only accessed from eventloop thread
+    private boolean readable;
+    private volatile CompletableFuture<Void> connectFuture;
+
+    @SuppressWarnings("checkstyle:executablestatementcount")
+    IOUringAsyncSocket(IOUringAsyncSocketBuilder builder) {
+        super(builder.clientSide);
+
+        assert currentThread() == builder.reactor.eventloopThread();
+
+        try {
+            this.reactor = builder.reactor;
+            this.eventloop = (IOUringEventloop) reactor.eventloop();
+            this.ring = eventloop.ring;
+            this.localTaskQueue = eventloop.localTaskQueue;
+            this.options = builder.options;
+            this.eventloopThread = reactor.eventloopThread();
+            this.socketChannel = builder.socketChannel;
+            this.fd = IOUring.fd(socketChannel);
+            if (!clientSide) {
+                this.localAddress = socketChannel.getLocalAddress();
+                this.remoteAddress = socketChannel.getRemoteAddress();
+            }
+            this.writeQueue = new MpmcArrayQueue<>(builder.writeQueueCapacity);
+            this.handler = new Handler(builder);
+            this.reader = builder.reader;
+            reader.init(this);
+            this.writer = builder.writer;
+            if (writer != null) {
+                writer.init(this, writeQueue);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public AsyncSocketOptions options() {
+        return options;
+    }
+
+    @Override
+    public IOUringReactor reactor() {
+        return reactor;
+    }
+
+    @Override
+    public void setReadable(boolean readable) {
+        if (currentThread() == eventloopThread) {
+            setReadable0(readable);
+        } else {
+            CompletableFuture future = new CompletableFuture();
+            reactor.execute(() -> {
+                try {
+                    setReadable0(readable);
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                    throw sneakyThrow(t);
+                }
+            });
+
+            future.join();
+        }
+    }
+
+    private void setReadable0(boolean readable) {
+        this.readable = readable;
+        try {
+            if (readable) {
+                handler.submitRead();
+            } else {
+                // The read is cancelled right away, so no data is read after this call returns. If the
+                // read completes before the cancel is processed, the data is still passed to the reader.
+                handler.cancelRead();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isReadable() {
+        if (currentThread() == eventloopThread) {
+            return readable;
+        } else {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            reactor.execute(() -> future.complete(readable));
+            return future.join();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (currentThread() == reactor.eventloopThread()) {
+            start0();
+        } else {
+            CompletableFuture future = new CompletableFuture();
+            reactor.execute(() -> {
+                try {
+                    start0();
+                    future.complete(null);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                    throw sneakyThrow(e);
+                }
+            });
+            future.join();
+        }
+    }
+
+    private void start0() {
+        if (started) {
+            throw new IllegalStateException(this + " is already started");
+        }
+        started = true;
+
+        assert flushThread.get() == reactor.eventloopThread();
+
+        if (!clientSide) {
+            // on the server side we immediately start reading and sending.
+            onEstablished();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> connect(SocketAddress address) {
+        checkNotNull(address, "address");
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Connecting to address:" + address);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (currentThread() == eventloopThread) {
+            connect0(address, future);
+        } else {
+            reactor.execute(() -> connect0(address, future));
+        }
+
+        return future;
+    }
+
+    private void connect0(SocketAddress address, CompletableFuture<Void> future) {
+        try {
+            if (!started) {
+                throw new IllegalStateException(this + " can't connect when socket not yet started");
+            }
+
+            if (connecting) {
+                throw new IllegalStateException(this + " is already trying to connect");
+            }
+
+            assert flushThread.get() == reactor.eventloopThread();
+
+            connecting = true;
+            connectFuture = future;
+            if (socketChannel.connect(address)) {
+                // We got lucky, the connection was immediately established which can
+                // happen with local connections.
+                onConnectFinished();
+            } else {
+                handler.pollConnect();
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw sneakyThrow(e);
+        }
+    }
+
+    private void onConnectFinished() throws IOException {
+        assert connecting;
+        assert flushThread.get() == reactor.eventloopThread();
+
+        remoteAddress = socketChannel.getRemoteAddress();
+        localAddress = socketChannel.getLocalAddress();
+        if (logger.isInfoEnabled()) {
+            logger.info("Connection established " + IOUringAsyncSocket.this);
+        }
+
+        onEstablished();
+
+        connectFuture.complete(null);
+        connectFuture = null;
+    }
+
+    private void onEstablished() {
+        established = true;
+        setReadable0(true);
+
+        // From this point on, the socket is willing to send data.
+        resetFlushed();
+    }
+
+    @SuppressWarnings("java:S1135")
+    @Override
+    public void flush() {
+        Thread currentThread = currentThread();
+
+        if (flushThread.get() != null) {
+            // the socket is already flushed, we are done.
+            return;
+        }
+
+        // The socket is not flushed, so we are going to try to flush it.
+        if (!flushThread.compareAndSet(null, currentThread)) {
+            // A different thread triggered a flush, we are done.
+            return;
+        }
+
+        if (currentThread == eventloopThread) {
+            localTaskQueue.add(handler);
+        } else {
+            reactor.offer(handler);
+        }
+    }
+
+    @SuppressWarnings({"java:S3398", "java:S1066"})
+    private void resetFlushed() {
+        flushThread.set(null);
+
+        if (!writeQueue.isEmpty()) {
+            if (flushThread.compareAndSet(null, currentThread())) {
+                reactor.offer(handler);
+            }
+        }
+    }
+
+    @Override
+    public boolean write(Object msg) {
+        checkNotNull(msg, "msg");
+
+        if (writer == null && !(msg instanceof IOBuffer)) {
+            throw new IllegalArgumentException("Message needs to be an IOBuffer if no writer is configured.");
+        }
+
+        if (writeQueue.add(msg)) {
+            return true;
+        } else {
+            // lets trigger a flush since the writeQueue is full.
+            flush();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean writeAndFlush(Object msg) {
+        boolean result = write(msg);
+        flush();
+        return result;
+    }
+
+    @Override
+    public boolean unsafeWriteAndFlush(Object msg) {
+        checkNotNull(msg, "msg");
+
+        if (writer == null && !(msg instanceof IOBuffer)) {
+            throw new IllegalArgumentException(
+                    "Only accepting IOBuffers if writer isn't set.");
+        }
+
+        Thread currentThread = currentThread();
+        if (currentThread != eventloopThread) {
+            throw new IllegalStateException(
+                    "insideWriteAndFlush can only be made from eventloop thread, "
+                            + "found " + currentThread);
+        }
+
+        boolean triggeredFlush;
+
+        Thread currentFlushThread = flushThread.get();
+        if (currentFlushThread == null) {
+            // the socket isn't flushed, lets try to flush it.
+            triggeredFlush = flushThread.compareAndSet(null, currentThread);
+            // At this point we know for sure that the socket was flushed; either
+            // by the current thread or by a different one.
+        } else {
+            // the socket was already flushed
+            triggeredFlush = false;
+        }
+
+        boolean offered = writeQueue.offer(msg);
+
+        if (triggeredFlush && offered) {
+            reactor.execute(handler);
+        }
+
+        return offered;
+    }
+
+    @Override
+    protected void close0() throws IOException {
+        if (currentThread() == eventloopThread) {
+            handler.closeChannel();
+        } else if (!reactor.offer((Runnable) handler::closeChannel) || reactor.state() == TERMINATED) {
+            // the close task will not run, so the channel is closed directly. The outstanding
+            // operations are cancelled when the handler is closed as part of the eventloop destruction.
+            closeQuietly(socketChannel);
+        }
+        super.close0();
+    }
+
+    @SuppressWarnings("java:S125")
+    private final class Handler implements IOUringHandler, Runnable {
+        private final AsyncSocketMetrics metrics = IOUringAsyncSocket.this.metrics;
+        private final int handlerId;
+        private final ByteBuffer rcvBuffer;
+        private final long rcvBufferAddress;
+        private final int rcvBufferIndex;
+        private final ByteBuffer sndBuffer;
+        private final long sndBufferAddress;
+        private final int sndBufferIndex;
+        // the IOBuffer that didn't fit completely in the sndBuffer.
+        private IOBuffer partialBuffer;
+        private boolean readPending;
+        private boolean writePending;
+        private boolean connectPending;
+        private boolean closing;
+        private boolean released;
+
+        private Handler(IOUringAsyncSocketBuilder builder) {
+            this.handlerId = eventloop.register(this);
+            this.rcvBuffer = ByteBuffer.allocateDirect(builder.options.get(SO_RCVBUF));
+            this.rcvBufferAddress = IOUring.address(rcvBuffer);
+            this.rcvBufferIndex = eventloop.registerBuffer(rcvBuffer);
+            this.sndBuffer = ByteBuffer.allocateDirect(builder.options.get(SO_SNDBUF));
+            this.sndBufferAddress = IOUring.address(sndBuffer);
+            this.sndBufferIndex = eventloop.registerBuffer(sndBuffer);
+        }
+
+        @Override
+        public void run() {
+            try {
+                handleWrite();
+            } catch (Throwable e) {
+                close(null, e);
+                throw sneakyThrow(e);
+            }
+        }
+
+        @Override
+        public void close(String reason, Throwable cause) {
+            if (cause instanceof EOFException) {
+                // The stacktrace of an EOFException isn't important. It just means that the
+                // Exception is closed by the remote side.
+                IOUringAsyncSocket.this.close(reason != null ? reason : cause.getMessage(), null);
+            } else {
+                IOUringAsyncSocket.this.close(reason, cause);
+            }
+            // when the socket was closed from outside the eventloop thread, the close task
+            // may not have run yet; e.g. when the eventloop is being destroyed.
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            if (closing) {
+                return;
+            }
+            closing = true;
+
+            try {
+                if (readPending) {
+                    ring.prepCancel(userData(handlerId, OP_READ), IGNORED_USER_DATA);
+                }
+                if (writePending) {
+                    ring.prepCancel(userData(handlerId, OP_WRITE), IGNORED_USER_DATA);
+                }
+                if (connectPending) {
+                    ring.prepCancel(userData(handlerId, OP_POLL_CONNECT), IGNORED_USER_DATA);
+                }
+                // the operations need to be submitted before the fd is closed and can be reused.
+                ring.submit();
+            } catch (IOException e) {
+                logger.fine(e);
+            }
+            closeQuietly(socketChannel);
+
+            CompletableFuture<Void> connectFuture0 = connectFuture;
+            if (connectFuture0 != null) {
+                connectFuture0.completeExceptionally(new IOException(IOUringAsyncSocket.this + " is closed"));
+                connectFuture = null;
+            }
+
+            releaseIfDone();
+        }
+
+        // The buffers can only be released when the kernel is done with them.
+        private void releaseIfDone() {
+            if (released || readPending || writePending || connectPending) {
+                return;
+            }
+            released = true;
+
+            if (rcvBufferIndex != -1) {
+                eventloop.unregisterBuffer(rcvBufferIndex);
+            }
+            if (sndBufferIndex != -1) {
+                eventloop.unregisterBuffer(sndBufferIndex);
+            }
+            if (partialBuffer != null) {
+                partialBuffer.release();
+                partialBuffer = null;
+            }
+            eventloop.deregister(handlerId);
+        }
+
+        @Override
+        public void handle(int op, int res) throws IOException {
+            switch (op) {
+                case OP_READ:
+                    readPending = false;
+                    if (!closing) {
+                        handleRead(res);
+                    }
+                    break;
+                case OP_WRITE:
+                    writePending = false;
+                    if (!closing) {
+                        handleWriteCompletion(res);
+                    }
+                    break;
+                case OP_POLL_CONNECT:
+                    connectPending = false;
+                    if (!closing) {
+                        handleConnect(res);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + op);
+            }
+
+            if (closing) {
+                releaseIfDone();
+            }
+        }
+
+        private void submitRead() throws IOException {
+            if (readPending || closing || !established || !rcvBuffer.hasRemaining()) {
+                return;
+            }
+
+            int position = rcvBuffer.position();
+            long userData = userData(handlerId, OP_READ);
+            if (rcvBufferIndex == -1) {
+                ring.prepRecv(fd, rcvBufferAddress + position, rcvBuffer.remaining(), userData);
+            } else {
+                ring.prepReadFixed(fd, rcvBufferAddress + position, rcvBuffer.remaining(), rcvBufferIndex, userData);
+            }
+            readPending = true;
+        }
+
+        private void cancelRead() throws IOException {
+            if (readPending) {
+                ring.prepCancel(userData(handlerId, OP_READ), IGNORED_USER_DATA);
+                ring.submit();
+            }
+        }
+
+        private void handleRead(int res) throws IOException {
+            // A cancelled read isn't an error; it was cancelled by setReadable(false). The socket
+            // could have been made readable again before the cancellation completed.
+            if (res != -IOUring.ECANCELED) {
+                onRead(res);
+            }
+
+            if (readable) {
+                submitRead();
+            }
+        }
+
+        private void onRead(int res) throws IOException {
+            if (res < 0) {
+                throw new IOException(IOUringAsyncSocket.this + " failed to read, errno=" + -res);
+            } else if (res == 0) {
+                throw new EOFException("Socket closed by peer");
+            }
+
+            metrics.incReadEvents();
+            metrics.incBytesRead(res);
+            rcvBuffer.position(rcvBuffer.position() + res);
+            rcvBuffer.flip();
+            reader.onRead(rcvBuffer);
+            compactOrClear(rcvBuffer);
+        }
+
+        private void handleWrite() throws IOException {
+            if (writePending || closing) {
+                // the completion of the pending write continues with the writing.
+                return;
+            }
+
+            metrics.incWriteEvents();
+
+            if (writer == null) {
+                fillSndBuffer();
+            } else {
+                writer.onWrite(sndBuffer);
+            }
+
+            if (sndBuffer.position() == 0) {
+                // everything got written
+                resetFlushed();
+                return;
+            }
+
+            sndBuffer.flip();
+            long userData = userData(handlerId, OP_WRITE);
+            if (sndBufferIndex == -1) {
+                ring.prepSend(fd, sndBufferAddress, sndBuffer.limit(), userData);
+            } else {
+                ring.prepWriteFixed(fd, sndBufferAddress, sndBuffer.limit(), sndBufferIndex, userData);
+            }
+            writePending = true;
+        }
+
+        // Copies the IOBuffers from the writeQueue into the sndBuffer. The writeQueue is
+        // guaranteed to have only IOBuffers if the writer isn't set.
+        private void fillSndBuffer() {
+            while (sndBuffer.hasRemaining()) {
+                IOBuffer buffer = partialBuffer;
+                if (buffer == null) {
+                    buffer = (IOBuffer) writeQueue.poll();
+                    if (buffer == null) {
+                        break;
+                    }
+                }
+
+                ByteBuffer src = buffer.byteBuffer();
+                if (src.remaining() <= sndBuffer.remaining()) {
+                    sndBuffer.put(src);
+                    buffer.release();
+                    partialBuffer = null;
+                } else {
+                    int limit = src.limit();
+                    src.limit(src.position() + sndBuffer.remaining());
+                    sndBuffer.put(src);
+                    src.limit(limit);
+                    partialBuffer = buffer;
+                }
+            }
+        }
+
+        private void handleWriteCompletion(int res) throws IOException {
+            if (res < 0) {
+                throw new IOException(IOUringAsyncSocket.this + " failed to write, errno=" + -res);
+            }
+
+            metrics.incBytesWritten(res);
+            sndBuffer.position(res);
+            compactOrClear(sndBuffer);
+            handleWrite();
+        }
+
+        private void pollConnect() throws IOException {
+            ring.prepPollAdd(fd, IOUring.POLLOUT, userData(handlerId, OP_POLL_CONNECT));
+            connectPending = true;
+        }
+
+        // Is called when side of the socket that initiates the connect
+        // gets the event that the connection is completed.
+        private void handleConnect(int res) {
+            try {
+                assert flushThread.get() != null;
+
+                if (res < 0) {
+                    throw new IOException(IOUringAsyncSocket.this + " failed to poll for connect, errno=" + -res);
+                }
+
+                if (!socketChannel.finishConnect()) {
+                    throw new IllegalStateException();
+                }
+                onConnectFinished();
+            } catch (Throwable e) {
+                if (connectFuture != null) {
+                    connectFuture.completeExceptionally(e);
+                }
+                throw sneakyThrow(e);
+            }
+        }
+    }
+}
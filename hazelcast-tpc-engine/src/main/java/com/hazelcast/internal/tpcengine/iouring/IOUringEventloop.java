@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.Eventloop;
+import com.hazelcast.internal.tpcengine.Scheduler;
+import com.hazelcast.internal.tpcengine.util.NanoClock;
+import org.jctools.queues.MpmcArrayQueue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * io_uring specific Eventloop implementation.
+ * <p/>
+ * Every handler gets an id. The id and the operation are encoded in the user data of
+ * the submission, so a completion can be dispatched to the handler that submitted it.
+ * Submissions are not made one by one; all operations that are prepared while processing
+ * completions and tasks are submitted in a single batch when the loop enters the io_uring.
+ */
+@SuppressWarnings({"checkstyle:DeclarationOrder", "checkstyle:VisibilityModifier"})
+class IOUringEventloop extends Eventloop {
+
+    /**
+     * The user data for operations whose completion is ignored, e.g. cancellations.
+     */
+    static final long IGNORED_USER_DATA = 0;
+
+    private static final long OP_MASK = 0xFFFFFFFFL;
+    private static final int INITIAL_HANDLER_CAPACITY = 64;
+    private static final int SIZEOF_EVENTFD_VALUE = 8;
+    private static final long DESTROY_TIMEOUT_NANOS = SECONDS.toNanos(5);
+    private static final long DESTROY_WAIT_NANOS = MILLISECONDS.toNanos(10);
+
+    final IOUring ring;
+    final int eventFd;
+    private final ByteBuffer eventFdBuffer = ByteBuffer.allocateDirect(SIZEOF_EVENTFD_VALUE);
+    private final long eventFdAddress = IOUring.address(eventFdBuffer);
+    private final long eventFdUserData;
+    private final int[] freeBufferIndices;
+    private int freeBufferIndexCount;
+    private IOUringHandler[] handlers = new IOUringHandler[INITIAL_HANDLER_CAPACITY];
+    private int[] freeHandlerIds = new int[INITIAL_HANDLER_CAPACITY];
+    private int freeHandlerIdCount;
+    // handler id 0 is never used, so the user data of a handler is never IGNORED_USER_DATA.
+    private int nextHandlerId = 1;
+    private int handlerCount;
+
+    IOUringEventloop(IOUringReactor reactor, IOUringReactorBuilder builder) {
+        super(reactor, builder);
+        try {
+            this.ring = new IOUring(builder.entries, builder.registeredBufferCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            this.eventFd = IOUring.newEventFd();
+        } catch (IOException e) {
+            ring.close();
+            throw new UncheckedIOException(e);
+        }
+
+        this.freeBufferIndices = new int[ring.registeredBufferCount];
+        for (int k = ring.registeredBufferCount - 1; k >= 0; k--) {
+            freeBufferIndices[freeBufferIndexCount++] = k;
+        }
+
+        this.eventFdUserData = userData(register(new EventFdHandler()), 0);
+        try {
+            armEventFd();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates the user data for a submission.
+     *
+     * @param handlerId the id of the handler as returned by {@link #register(IOUringHandler)}.
+     * @param op        the operation; it is passed back to the handler on completion.
+     * @return the user data.
+     */
+    static long userData(int handlerId, int op) {
+        return ((long) handlerId << Integer.SIZE) | (op & OP_MASK);
+    }
+
+    /**
+     * Registers a handler, so that the completions of its operations are dispatched to it.
+     *
+     * @param handler the handler.
+     * @return the id of the handler.
+     */
+    int register(IOUringHandler handler) {
+        int id;
+        if (freeHandlerIdCount > 0) {
+            id = freeHandlerIds[--freeHandlerIdCount];
+        } else {
+            id = nextHandlerId++;
+            if (id == handlers.length) {
+                handlers = Arrays.copyOf(handlers, handlers.length * 2);
+                freeHandlerIds = Arrays.copyOf(freeHandlerIds, handlers.length);
+            }
+        }
+        handlers[id] = handler;
+        handlerCount++;
+        return id;
+    }
+
+    /**
+     * Deregisters a handler. Should only be called when the handler has no
+     * outstanding operations, since the id can be reused directly.
+     *
+     * @param handlerId the id of the handler.
+     */
+    void deregister(int handlerId) {
+        handlers[handlerId] = null;
+        freeHandlerIds[freeHandlerIdCount++] = handlerId;
+        handlerCount--;
+    }
+
+    /**
+     * Registers the buffer in a free slot of the registered buffer table.
+     *
+     * @param buffer the direct buffer to register.
+     * @return the index of the slot, or -1 if the buffer could not be registered.
+     */
+    int registerBuffer(ByteBuffer buffer) {
+        if (freeBufferIndexCount == 0) {
+            return -1;
+        }
+
+        int index = freeBufferIndices[--freeBufferIndexCount];
+        try {
+            ring.registerBuffer(index, IOUring.address(buffer), buffer.capacity());
+            return index;
+        } catch (IOException e) {
+            // e.g. the buffer can't be locked in memory because of RLIMIT_MEMLOCK.
+            freeBufferIndices[freeBufferIndexCount++] = index;
+            if (logger.isFineEnabled()) {
+                logger.fine("Failed to register buffer, falling back to unregistered buffer", e);
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Clears the slot of a buffer registered by {@link #registerBuffer(ByteBuffer)}. Should
+     * only be called when there are no outstanding operations on the buffer.
+     *
+     * @param index the index of the slot.
+     */
+    void unregisterBuffer(int index) {
+        try {
+            ring.unregisterBuffer(index);
+            freeBufferIndices[freeBufferIndexCount++] = index;
+        } catch (IOException e) {
+            // the slot is not reused; the registered buffer will be released with the ring.
+            logger.warning(e);
+        }
+    }
+
+    @SuppressWarnings("java:S3776")
+    @Override
+    protected void run() throws Exception {
+        final NanoClock nanoClock0 = nanoClock;
+        final boolean spin0 = spin;
+        final IOUring ring0 = ring;
+        final AtomicBoolean wakeupNeeded0 = wakeupNeeded;
+        final MpmcArrayQueue externalTaskQueue0 = externalTaskQueue;
+        final Scheduler scheduler0 = scheduler;
+
+        boolean moreWork = false;
+        do {
+            if (spin0 || moreWork) {
+                ring0.submit();
+            } else {
+                wakeupNeeded0.set(true);
+                if (externalTaskQueue0.isEmpty()) {
+                    submitAndWait(nanoClock0);
+                    // we need to update the clock because we could have been blocked for quite
+                    // some time and clock could be very much out of sync.
+                    nanoClock0.update();
+                } else {
+                    ring0.submit();
+                }
+                wakeupNeeded0.set(false);
+            }
+
+            runCompletions();
+
+            moreWork = runExternalTasks();
+            moreWork |= scheduler0.tick();
+            moreWork |= runScheduledTasks();
+            moreWork |= runLocalTasks();
+        } while (!stop);
+    }
+
+    private void submitAndWait(NanoClock nanoClock) throws IOException {
+        if (earliestDeadlineNanos == -1) {
+            ring.submitAndWait(-1);
+        } else {
+            long timeoutNanos = earliestDeadlineNanos - nanoClock.nanoTime();
+            if (timeoutNanos <= 0) {
+                ring.submit();
+            } else {
+                ring.submitAndWait(timeoutNanos);
+            }
+        }
+    }
+
+    private void runCompletions() {
+        final IOUring ring0 = ring;
+        int count;
+        do {
+            count = ring0.peekCompletions();
+            for (int k = 0; k < count; k++) {
+                long userData = ring0.completionUserData(k);
+                if (userData == IGNORED_USER_DATA) {
+                    continue;
+                }
+
+                IOUringHandler handler = handlers[(int) (userData >>> Integer.SIZE)];
+                if (handler == null) {
+                    continue;
+                }
+
+                try {
+                    handler.handle((int) userData, ring0.completionResult(k));
+                } catch (Exception e) {
+                    handler.close(null, e);
+                }
+            }
+        } while (count > 0);
+    }
+
+    @Override
+    protected void destroy() throws Exception {
+        for (IOUringHandler handler : handlers.clone()) {
+            if (handler == null) {
+                continue;
+            }
+
+            try {
+                handler.close(reactor + " is terminating.", null);
+            } catch (Exception e) {
+                logger.fine(e);
+            }
+        }
+
+        // The closed sockets cancel their outstanding operations. Their buffers need to stay
+        // alive until the kernel is done with them, so we wait for the cancellations to complete.
+        long deadlineNanos = System.nanoTime() + DESTROY_TIMEOUT_NANOS;
+        // the read of the eventfd is never deregistered.
+        while (handlerCount > 1 && System.nanoTime() < deadlineNanos) {
+            ring.submitAndWait(DESTROY_WAIT_NANOS);
+            runCompletions();
+        }
+
+        ring.close();
+        IOUring.closeFd(eventFd);
+    }
+
+    /**
+     * Reads the eventfd that is written to by {@link IOUringReactor#wakeup()}.
+     */
+    private final class EventFdHandler implements IOUringHandler {
+
+        @Override
+        public void close(String reason, Throwable cause) {
+            // the eventfd is closed in destroy.
+        }
+
+        @Override
+        public void handle(int op, int res) throws IOException {
+            if (res < 0 && res != -IOUring.ECANCELED) {
+                logger.warning("Failed to read eventfd, errno=" + -res);
+            }
+            armEventFd();
+        }
+    }
+
+    private void armEventFd() throws IOException {
+        ring.prepRead(eventFd, eventFdAddress, SIZEOF_EVENTFD_VALUE, eventFdUserData);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.net.AcceptRequest;
+
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkInstanceOf;
+
+/**
+ * io_uring implementation of the {@link Reactor}.
+ */
+public final class IOUringReactor extends Reactor {
+
+    private final int eventFd;
+
+    IOUringReactor(IOUringReactorBuilder builder) {
+        super(builder);
+        this.eventFd = ((IOUringEventloop) eventloop()).eventFd;
+    }
+
+    @Override
+    public IOUringAsyncSocketBuilder newAsyncSocketBuilder() {
+        verifyRunning();
+
+        return new IOUringAsyncSocketBuilder(this, null);
+    }
+
+    @Override
+    public IOUringAsyncSocketBuilder newAsyncSocketBuilder(AcceptRequest acceptRequest) {
+        verifyRunning();
+
+        IOUringAcceptRequest ioUringAcceptRequest = checkInstanceOf(IOUringAcceptRequest.class, acceptRequest, "acceptRequest");
+        return new IOUringAsyncSocketBuilder(this, ioUringAcceptRequest);
+    }
+
+    @Override
+    public IOUringAsyncServerSocketBuilder newAsyncServerSocketBuilder() {
+        verifyRunning();
+
+        return new IOUringAsyncServerSocketBuilder(this);
+    }
+
+    @Override
+    protected IOUringEventloop newEventloop(ReactorBuilder builder) {
+        return new IOUringEventloop(this, (IOUringReactorBuilder) builder);
+    }
+
+    @Override
+    public void wakeup() {
+        if (spin || Thread.currentThread() == eventloopThread) {
+            return;
+        }
+
+        if (wakeupNeeded.get() && wakeupNeeded.compareAndSet(true, false)) {
+            IOUring.eventFdWrite(eventFd);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.ReactorType;
+
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkNotNegative;
+import static com.hazelcast.internal.tpcengine.util.Preconditions.checkPositive;
+
+/**
+ * A {@link ReactorBuilder} that builds a {@link IOUringReactor}.
+ */
+public class IOUringReactorBuilder extends ReactorBuilder {
+
+    public static final String NAME_IOURING_ENTRIES = "hazelcast.tpc.iouring.entries";
+    public static final String NAME_IOURING_REGISTERED_BUFFERS = "hazelcast.tpc.iouring.registeredBuffers";
+
+    private static final int DEFAULT_ENTRIES = 4096;
+    private static final int DEFAULT_REGISTERED_BUFFERS = 1024;
+
+    int entries = Integer.getInteger(NAME_IOURING_ENTRIES, DEFAULT_ENTRIES);
+    int registeredBufferCount = Integer.getInteger(NAME_IOURING_REGISTERED_BUFFERS, DEFAULT_REGISTERED_BUFFERS);
+
+    /**
+     * Creates a new IOUringReactorBuilder.
+     *
+     * @throws UnsupportedOperationException if io_uring isn't available.
+     * @see IOUring#isAvailable()
+     */
+    public IOUringReactorBuilder() {
+        super(ReactorType.IOURING);
+        IOUring.ensureAvailable();
+    }
+
+    /**
+     * Sets the number of entries of the submission queue. The completion queue is twice as big.
+     * The number is rounded up to the next power of 2 by the kernel.
+     *
+     * @param entries the number of entries.
+     * @throws IllegalArgumentException if entries smaller than 1.
+     */
+    public void setEntries(int entries) {
+        this.entries = checkPositive(entries, "entries");
+    }
+
+    /**
+     * Sets the number of buffers that can be registered with the io_uring. Every socket
+     * registers its receive and its send buffer, so the kernel doesn't need to map them
+     * on every read and write. Sockets that can't get a registered buffer, because the
+     * table is full or the buffer can't be locked in memory, use plain recv/send.
+     * <p/>
+     * A value of 0 disables registered buffers.
+     *
+     * @param registeredBufferCount the number of buffers.
+     * @throws IllegalArgumentException if registeredBufferCount smaller than 0.
+     */
+    public void setRegisteredBufferCount(int registeredBufferCount) {
+        this.registeredBufferCount = checkNotNegative(registeredBufferCount, "registeredBufferCount");
+    }
+
+    @Override
+    public Reactor build() {
+        return new IOUringReactor(this);
+    }
+}
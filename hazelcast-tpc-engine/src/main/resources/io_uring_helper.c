@@ -0,0 +1,452 @@
+#define _GNU_SOURCE
+#include "io_uring_helper.h"
+#include <errno.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <unistd.h>
+#include <sys/eventfd.h>
+#include <sys/mman.h>
+#include <sys/syscall.h>
+#include <sys/uio.h>
+#include <linux/io_uring.h>
+#include <linux/time_types.h>
+
+/*
+ * A minimal io_uring binding that uses the raw syscalls, so there is no dependency on liburing.
+ *
+ * Entries are only made visible to the kernel when the ring is entered, so all entries that
+ * are prepared between 2 calls of enter0 are submitted in a single batch.
+ */
+struct ring {
+    int fd;
+    unsigned flags;
+    unsigned *sq_head;
+    unsigned *sq_tail;
+    unsigned sq_mask;
+    unsigned sq_entries;
+    /* the tail of the prepared entries; is published to sq_tail when entering the ring. */
+    unsigned sqe_tail;
+    struct io_uring_sqe *sqes;
+    unsigned *cq_head;
+    unsigned *cq_tail;
+    unsigned cq_mask;
+    struct io_uring_cqe *cqes;
+    void *sq_ptr;
+    size_t sq_size;
+    void *cq_ptr;
+    size_t cq_size;
+    size_t sqes_size;
+};
+
+static void throw_io_exception(JNIEnv *env, const char *what, int err)
+{
+    char msg[256];
+    jclass cls = (*env)->FindClass(env, "java/io/IOException");
+    if (cls == NULL) {
+        return;
+    }
+    snprintf(msg, sizeof(msg), "%s: %s (errno %d)", what, strerror(err), err);
+    (*env)->ThrowNew(env, cls, msg);
+}
+
+static int sys_io_uring_setup(unsigned entries, struct io_uring_params *params)
+{
+    return (int) syscall(__NR_io_uring_setup, entries, params);
+}
+
+static int sys_io_uring_enter(int fd, unsigned to_submit, unsigned min_complete, unsigned flags, void *arg, size_t size)
+{
+    return (int) syscall(__NR_io_uring_enter, fd, to_submit, min_complete, flags, arg, size);
+}
+
+static int sys_io_uring_register(int fd, unsigned opcode, void *arg, unsigned nr_args)
+{
+    return (int) syscall(__NR_io_uring_register, fd, opcode, arg, nr_args);
+}
+
+static void ring_unmap(struct ring *r)
+{
+    if (r->sqes != NULL && r->sqes != MAP_FAILED) {
+        munmap(r->sqes, r->sqes_size);
+    }
+    if (r->cq_ptr != NULL && r->cq_ptr != MAP_FAILED && r->cq_ptr != r->sq_ptr) {
+        munmap(r->cq_ptr, r->cq_size);
+    }
+    if (r->sq_ptr != NULL && r->sq_ptr != MAP_FAILED) {
+        munmap(r->sq_ptr, r->sq_size);
+    }
+}
+
+/* returns 0 on success or the negated errno. */
+static int ring_setup(unsigned entries, struct ring *r)
+{
+    struct io_uring_params p;
+    int fd;
+
+    memset(&p, 0, sizeof(p));
+    /* the ring is only used by the thread that created it. */
+    p.flags = IORING_SETUP_SUBMIT_ALL | IORING_SETUP_SINGLE_ISSUER | IORING_SETUP_DEFER_TASKRUN;
+    fd = sys_io_uring_setup(entries, &p);
+    if (fd < 0 && errno == EINVAL) {
+        /* kernels before 6.1 don't support these flags. */
+        memset(&p, 0, sizeof(p));
+        fd = sys_io_uring_setup(entries, &p);
+    }
+    if (fd < 0) {
+        return -errno;
+    }
+
+    /* the timeout of enter0 needs IORING_ENTER_EXT_ARG (5.11). */
+    if (!(p.features & IORING_FEAT_EXT_ARG)) {
+        close(fd);
+        return -ENOSYS;
+    }
+
+    memset(r, 0, sizeof(*r));
+    r->fd = fd;
+    r->flags = p.flags;
+    r->sq_size = p.sq_off.array + p.sq_entries * sizeof(unsigned);
+    r->cq_size = p.cq_off.cqes + p.cq_entries * sizeof(struct io_uring_cqe);
+    if (p.features & IORING_FEAT_SINGLE_MMAP) {
+        if (r->cq_size > r->sq_size) {
+            r->sq_size = r->cq_size;
+        }
+        r->cq_size = r->sq_size;
+    }
+
+    r->sq_ptr = mmap(NULL, r->sq_size, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, fd, IORING_OFF_SQ_RING);
+    if (r->sq_ptr == MAP_FAILED) {
+        int err = errno;
+        close(fd);
+        return -err;
+    }
+
+    if (p.features & IORING_FEAT_SINGLE_MMAP) {
+        r->cq_ptr = r->sq_ptr;
+    } else {
+        r->cq_ptr = mmap(NULL, r->cq_size, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, fd, IORING_OFF_CQ_RING);
+        if (r->cq_ptr == MAP_FAILED) {
+            int err = errno;
+            ring_unmap(r);
+            close(fd);
+            return -err;
+        }
+    }
+
+    r->sqes_size = p.sq_entries * sizeof(struct io_uring_sqe);
+    r->sqes = mmap(NULL, r->sqes_size, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, fd, IORING_OFF_SQES);
+    if (r->sqes == MAP_FAILED) {
+        int err = errno;
+        ring_unmap(r);
+        close(fd);
+        return -err;
+    }
+
+    r->sq_head = (unsigned *) ((char *) r->sq_ptr + p.sq_off.head);
+    r->sq_tail = (unsigned *) ((char *) r->sq_ptr + p.sq_off.tail);
+    r->sq_mask = *(unsigned *) ((char *) r->sq_ptr + p.sq_off.ring_mask);
+    r->sq_entries = *(unsigned *) ((char *) r->sq_ptr + p.sq_off.ring_entries);
+    r->cq_head = (unsigned *) ((char *) r->cq_ptr + p.cq_off.head);
+    r->cq_tail = (unsigned *) ((char *) r->cq_ptr + p.cq_off.tail);
+    r->cq_mask = *(unsigned *) ((char *) r->cq_ptr + p.cq_off.ring_mask);
+    r->cqes = (struct io_uring_cqe *) ((char *) r->cq_ptr + p.cq_off.cqes);
+    r->sqe_tail = *r->sq_tail;
+
+    /* the sq array maps 1 on 1 to the sqes, so it only needs to be filled once. */
+    unsigned *sq_array = (unsigned *) ((char *) r->sq_ptr + p.sq_off.array);
+    for (unsigned i = 0; i < r->sq_entries; i++) {
+        sq_array[i] = i;
+    }
+    return 0;
+}
+
+static void ring_exit(struct ring *r)
+{
+    ring_unmap(r);
+    close(r->fd);
+}
+
+/* returns the number of submitted entries or the negated errno. */
+static int ring_enter(struct ring *r, unsigned min_complete, unsigned flags, void *arg, size_t arg_size)
+{
+    /* entries a previous enter didn't consume are still pending, so they are counted from the head. */
+    unsigned to_submit = r->sqe_tail - __atomic_load_n(r->sq_head, __ATOMIC_ACQUIRE);
+    __atomic_store_n(r->sq_tail, r->sqe_tail, __ATOMIC_RELEASE);
+
+    /*
+     * IORING_ENTER_GETEVENTS is always set, because with IORING_SETUP_DEFER_TASKRUN completions
+     * are only posted when the ring is entered for events.
+     */
+    int ret = sys_io_uring_enter(r->fd, to_submit, min_complete, flags | IORING_ENTER_GETEVENTS, arg, arg_size);
+    return ret < 0 ? -errno : ret;
+}
+
+static struct io_uring_sqe *ring_get_sqe(JNIEnv *env, struct ring *r)
+{
+    if (r->sqe_tail - __atomic_load_n(r->sq_head, __ATOMIC_ACQUIRE) >= r->sq_entries) {
+        /* the submission queue is full; submit the pending entries to make space. */
+        int ret = ring_enter(r, 0, 0, NULL, 0);
+        if (ret < 0 && ret != -EINTR && ret != -EAGAIN && ret != -EBUSY) {
+            throw_io_exception(env, "Failed to submit", -ret);
+            return NULL;
+        }
+        if (r->sqe_tail - __atomic_load_n(r->sq_head, __ATOMIC_ACQUIRE) >= r->sq_entries) {
+            throw_io_exception(env, "Submission queue is full", EBUSY);
+            return NULL;
+        }
+    }
+
+    struct io_uring_sqe *sqe = &r->sqes[r->sqe_tail & r->sq_mask];
+    memset(sqe, 0, sizeof(*sqe));
+    r->sqe_tail++;
+    return sqe;
+}
+
+static void prep_rw(JNIEnv *env, jlong ring, int opcode, jint fd, jlong address, jint length, jlong user_data)
+{
+    struct io_uring_sqe *sqe = ring_get_sqe(env, (struct ring *) (intptr_t) ring);
+    if (sqe == NULL) {
+        return;
+    }
+    sqe->opcode = opcode;
+    sqe->fd = fd;
+    sqe->addr = (uint64_t) address;
+    sqe->len = (uint32_t) length;
+    sqe->user_data = (uint64_t) user_data;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_probe0
+  (JNIEnv *env, jclass cls)
+{
+    struct ring r;
+    int ret = ring_setup(2, &r);
+    if (ret < 0) {
+        throw_io_exception(env, "Failed to create io_uring instance", -ret);
+        return;
+    }
+    ring_exit(&r);
+}
+
+JNIEXPORT jlong JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_init0
+  (JNIEnv *env, jclass cls, jint entries)
+{
+    struct ring *r = malloc(sizeof(struct ring));
+    if (r == NULL) {
+        throw_io_exception(env, "Failed to allocate io_uring instance", ENOMEM);
+        return 0;
+    }
+
+    int ret = ring_setup((unsigned) entries, r);
+    if (ret < 0) {
+        free(r);
+        throw_io_exception(env, "Failed to create io_uring instance", -ret);
+        return 0;
+    }
+    return (jlong) (intptr_t) r;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_exit0
+  (JNIEnv *env, jclass cls, jlong ring)
+{
+    struct ring *r = (struct ring *) (intptr_t) ring;
+    ring_exit(r);
+    free(r);
+}
+
+JNIEXPORT jboolean JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_registerBuffers0
+  (JNIEnv *env, jclass cls, jlong ring, jint count)
+{
+    struct ring *r = (struct ring *) (intptr_t) ring;
+    struct io_uring_rsrc_register reg;
+
+    /* a sparse table (5.19) so buffers can be registered one by one as sockets are created. */
+    memset(&reg, 0, sizeof(reg));
+    reg.nr = (uint32_t) count;
+    reg.flags = IORING_RSRC_REGISTER_SPARSE;
+    return sys_io_uring_register(r->fd, IORING_REGISTER_BUFFERS2, &reg, sizeof(reg)) == 0 ? JNI_TRUE : JNI_FALSE;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_updateBuffer0
+  (JNIEnv *env, jclass cls, jlong ring, jint index, jlong address, jint length)
+{
+    struct ring *r = (struct ring *) (intptr_t) ring;
+    struct iovec iov;
+    struct io_uring_rsrc_update2 update;
+
+    /* a NULL address with a 0 length clears the slot. */
+    iov.iov_base = (void *) (intptr_t) address;
+    iov.iov_len = (size_t) length;
+    memset(&update, 0, sizeof(update));
+    update.offset = (uint32_t) index;
+    update.data = (uint64_t) (intptr_t) &iov;
+    update.nr = 1;
+    if (sys_io_uring_register(r->fd, IORING_REGISTER_BUFFERS_UPDATE, &update, sizeof(update)) < 0) {
+        throw_io_exception(env, "Failed to update registered buffer", errno);
+    }
+}
+
+JNIEXPORT jlong JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_address0
+  (JNIEnv *env, jclass cls, jobject buffer)
+{
+    return (jlong) (intptr_t) (*env)->GetDirectBufferAddress(env, buffer);
+}
+
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_fd0
+  (JNIEnv *env, jclass cls, jobject channel)
+{
+    /* SocketChannelImpl and ServerSocketChannelImpl both keep the file descriptor in the fdVal field. */
+    jclass channel_cls = (*env)->GetObjectClass(env, channel);
+    jfieldID fd_field = (*env)->GetFieldID(env, channel_cls, "fdVal", "I");
+    if (fd_field == NULL) {
+        /* a NoSuchFieldError is pending. */
+        return -1;
+    }
+    return (*env)->GetIntField(env, channel, fd_field);
+}
+
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_eventfd0
+  (JNIEnv *env, jclass cls)
+{
+    int fd = eventfd(0, EFD_CLOEXEC);
+    if (fd < 0) {
+        throw_io_exception(env, "Failed to create eventfd", errno);
+    }
+    return fd;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_eventfdWrite0
+  (JNIEnv *env, jclass cls, jint fd)
+{
+    uint64_t value = 1;
+    /* a failure can only mean that the counter overflows, and then a wakeup is pending anyway. */
+    ssize_t ignored = write(fd, &value, sizeof(value));
+    (void) ignored;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_closeFd0
+  (JNIEnv *env, jclass cls, jint fd)
+{
+    close(fd);
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepReadFixed0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jlong address, jint length, jint buffer_index, jlong user_data)
+{
+    struct io_uring_sqe *sqe = ring_get_sqe(env, (struct ring *) (intptr_t) ring);
+    if (sqe == NULL) {
+        return;
+    }
+    sqe->opcode = IORING_OP_READ_FIXED;
+    sqe->fd = fd;
+    sqe->addr = (uint64_t) address;
+    sqe->len = (uint32_t) length;
+    sqe->buf_index = (uint16_t) buffer_index;
+    sqe->user_data = (uint64_t) user_data;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepWriteFixed0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jlong address, jint length, jint buffer_index, jlong user_data)
+{
+    struct io_uring_sqe *sqe = ring_get_sqe(env, (struct ring *) (intptr_t) ring);
+    if (sqe == NULL) {
+        return;
+    }
+    sqe->opcode = IORING_OP_WRITE_FIXED;
+    sqe->fd = fd;
+    sqe->addr = (uint64_t) address;
+    sqe->len = (uint32_t) length;
+    sqe->buf_index = (uint16_t) buffer_index;
+    sqe->user_data = (uint64_t) user_data;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepRecv0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jlong address, jint length, jlong user_data)
+{
+    prep_rw(env, ring, IORING_OP_RECV, fd, address, length, user_data);
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepSend0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jlong address, jint length, jlong user_data)
+{
+    prep_rw(env, ring, IORING_OP_SEND, fd, address, length, user_data);
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepRead0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jlong address, jint length, jlong user_data)
+{
+    prep_rw(env, ring, IORING_OP_READ, fd, address, length, user_data);
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepPollAdd0
+  (JNIEnv *env, jclass cls, jlong ring, jint fd, jint mask, jlong user_data)
+{
+    struct io_uring_sqe *sqe = ring_get_sqe(env, (struct ring *) (intptr_t) ring);
+    if (sqe == NULL) {
+        return;
+    }
+    sqe->opcode = IORING_OP_POLL_ADD;
+    sqe->fd = fd;
+    sqe->poll32_events = (uint32_t) mask;
+    sqe->user_data = (uint64_t) user_data;
+}
+
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepCancel0
+  (JNIEnv *env, jclass cls, jlong ring, jlong target_user_data, jlong user_data)
+{
+    struct io_uring_sqe *sqe = ring_get_sqe(env, (struct ring *) (intptr_t) ring);
+    if (sqe == NULL) {
+        return;
+    }
+    sqe->opcode = IORING_OP_ASYNC_CANCEL;
+    sqe->fd = -1;
+    sqe->addr = (uint64_t) target_user_data;
+    sqe->user_data = (uint64_t) user_data;
+}
+
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_enter0
+  (JNIEnv *env, jclass cls, jlong ring, jint min_complete, jlong timeout_nanos)
+{
+    struct ring *r = (struct ring *) (intptr_t) ring;
+    struct __kernel_timespec ts;
+    struct io_uring_getevents_arg arg;
+    int ret;
+
+    if (min_complete > 0 && timeout_nanos >= 0) {
+        ts.tv_sec = timeout_nanos / 1000000000LL;
+        ts.tv_nsec = timeout_nanos % 1000000000LL;
+        memset(&arg, 0, sizeof(arg));
+        arg.ts = (uint64_t) (intptr_t) &ts;
+        ret = ring_enter(r, (unsigned) min_complete, IORING_ENTER_EXT_ARG, &arg, sizeof(arg));
+    } else {
+        ret = ring_enter(r, (unsigned) min_complete, 0, NULL, 0);
+    }
+
+    if (ret < 0) {
+        if (ret == -EINTR || ret == -ETIME || ret == -EAGAIN || ret == -EBUSY) {
+            /* interrupted, timed out or the completion queue needs to be drained first. */
+            return 0;
+        }
+        throw_io_exception(env, "Failed to enter io_uring", -ret);
+    }
+    return ret;
+}
+
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_peek0
+  (JNIEnv *env, jclass cls, jlong ring, jlong address, jint max)
+{
+    struct ring *r = (struct ring *) (intptr_t) ring;
+    struct io_uring_cqe *dst = (struct io_uring_cqe *) (intptr_t) address;
+    unsigned head = *r->cq_head;
+    unsigned tail = __atomic_load_n(r->cq_tail, __ATOMIC_ACQUIRE);
+    jint count = 0;
+
+    while (head != tail && count < max) {
+        dst[count] = r->cqes[head & r->cq_mask];
+        head++;
+        count++;
+    }
+    __atomic_store_n(r->cq_head, head, __ATOMIC_RELEASE);
+    return count;
+}
@@ -0,0 +1,177 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class com_hazelcast_internal_tpcengine_iouring_IOUring */
+
+#ifndef _Included_com_hazelcast_internal_tpcengine_iouring_IOUring
+#define _Included_com_hazelcast_internal_tpcengine_iouring_IOUring
+#ifdef __cplusplus
+extern "C" {
+#endif
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_POLLIN
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_POLLIN 1L
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_POLLOUT
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_POLLOUT 4L
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_ECANCELED
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_ECANCELED 125L
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_COMPLETION_SIZE
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_COMPLETION_SIZE 16L
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_OFFSET_RES
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_OFFSET_RES 8L
+#undef com_hazelcast_internal_tpcengine_iouring_IOUring_OFFSET_FLAGS
+#define com_hazelcast_internal_tpcengine_iouring_IOUring_OFFSET_FLAGS 12L
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    probe0
+ * Signature: ()V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_probe0
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    init0
+ * Signature: (I)J
+ */
+JNIEXPORT jlong JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_init0
+  (JNIEnv *, jclass, jint);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    exit0
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_exit0
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    registerBuffers0
+ * Signature: (JI)Z
+ */
+JNIEXPORT jboolean JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_registerBuffers0
+  (JNIEnv *, jclass, jlong, jint);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    updateBuffer0
+ * Signature: (JIJI)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_updateBuffer0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    address0
+ * Signature: (Ljava/nio/ByteBuffer;)J
+ */
+JNIEXPORT jlong JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_address0
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    fd0
+ * Signature: (Ljava/lang/Object;)I
+ */
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_fd0
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    eventfd0
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_eventfd0
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    eventfdWrite0
+ * Signature: (I)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_eventfdWrite0
+  (JNIEnv *, jclass, jint);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    closeFd0
+ * Signature: (I)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_closeFd0
+  (JNIEnv *, jclass, jint);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepReadFixed0
+ * Signature: (JIJIIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepReadFixed0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepWriteFixed0
+ * Signature: (JIJIIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepWriteFixed0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepRecv0
+ * Signature: (JIJIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepRecv0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepSend0
+ * Signature: (JIJIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepSend0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepRead0
+ * Signature: (JIJIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepRead0
+  (JNIEnv *, jclass, jlong, jint, jlong, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepPollAdd0
+ * Signature: (JIIJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepPollAdd0
+  (JNIEnv *, jclass, jlong, jint, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    prepCancel0
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_prepCancel0
+  (JNIEnv *, jclass, jlong, jlong, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    enter0
+ * Signature: (JIJ)I
+ */
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_enter0
+  (JNIEnv *, jclass, jlong, jint, jlong);
+
+/*
+ * Class:     com_hazelcast_internal_tpcengine_iouring_IOUring
+ * Method:    peek0
+ * Signature: (JJI)I
+ */
+JNIEXPORT jint JNICALL Java_com_hazelcast_internal_tpcengine_iouring_IOUring_peek0
+  (JNIEnv *, jclass, jlong, jlong, jint);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
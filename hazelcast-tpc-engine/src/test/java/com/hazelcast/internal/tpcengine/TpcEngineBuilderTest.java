@@ -16,12 +16,15 @@
 
 package com.hazelcast.internal.tpcengine;
 
+import com.hazelcast.internal.tpcengine.iouring.IOUring;
+import com.hazelcast.internal.tpcengine.iouring.IOUringReactorBuilder;
 import com.hazelcast.internal.tpcengine.nio.NioReactorBuilder;
 import org.junit.Test;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 public class TpcEngineBuilderTest {
 
@@ -31,6 +34,34 @@ public class TpcEngineBuilderTest {
         assertThrows(NullPointerException.class, () -> builder.setReactorBuilder(null));
     }
 
+    @Test
+    public void test_setReactorTypeWhenNull() {
+        TpcEngineBuilder builder = new TpcEngineBuilder();
+        assertThrows(NullPointerException.class, () -> builder.setReactorType(null));
+    }
+
+    @Test
+    public void test_setReactorType_nio() {
+        TpcEngine engine = new TpcEngineBuilder()
+                .setReactorCount(1)
+                .setReactorType(ReactorType.NIO)
+                .build();
+        assertEquals(ReactorType.NIO, engine.reactorType());
+    }
+
+    @Test
+    public void test_newReactorBuilder_iouring() {
+        ReactorBuilder reactorBuilder = TpcEngineBuilder.newReactorBuilder(ReactorType.IOURING);
+        if (IOUring.isAvailable()) {
+            assertTrue(reactorBuilder instanceof IOUringReactorBuilder);
+            assertEquals(ReactorType.IOURING, reactorBuilder.type);
+        } else {
+            // falls back to NIO
+            assertTrue(reactorBuilder instanceof NioReactorBuilder);
+            assertEquals(ReactorType.NIO, reactorBuilder.type);
+        }
+    }
+
     @Test
     public void test_setReactorCountWhenZero() {
         TpcEngineBuilder builder = new TpcEngineBuilder();
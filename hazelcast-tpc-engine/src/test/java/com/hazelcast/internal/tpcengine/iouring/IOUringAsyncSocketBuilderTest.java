@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.Reactor;
+import com.hazelcast.internal.tpcengine.net.AsyncSocket;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketBuilderTest;
+import com.hazelcast.internal.tpcengine.net.DevNullAsyncSocketReader;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+
+public class IOUringAsyncSocketBuilderTest extends AsyncSocketBuilderTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        assumeTrue(IOUring.isAvailable());
+    }
+
+    @Override
+    public IOUringReactorBuilder newReactorBuilder() {
+        return new IOUringReactorBuilder();
+    }
+
+    @Test
+    public void test_setWriteQueueCapacity_whenNegative() {
+        IOUringReactor reactor = (IOUringReactor) newReactor();
+        IOUringAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.setWriteQueueCapacity(-1));
+    }
+
+    @Test
+    public void test_setWriteQueueCapacity_whenZero() {
+        IOUringReactor reactor = (IOUringReactor) newReactor();
+        IOUringAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.setWriteQueueCapacity(0));
+    }
+
+    @Test
+    public void test_setWriteQueueCapacity_whenAlreadyBuild() {
+        IOUringReactor reactor = (IOUringReactor) newReactor();
+        IOUringAsyncSocketBuilder builder = reactor.newAsyncSocketBuilder();
+        builder.setReader(new DevNullAsyncSocketReader());
+        AsyncSocket socket = builder.build();
+
+        assertThrows(IllegalStateException.class, () -> builder.setWriteQueueCapacity(1024));
+    }
+
+    @Test
+    public void test_setWriteQueueCapacity() {
+        Reactor reactor = newReactor();
+        IOUringAsyncSocketBuilder builder = (IOUringAsyncSocketBuilder) reactor.newAsyncSocketBuilder();
+        builder.setWriteQueueCapacity(16384);
+
+        assertEquals(16384, builder.writeQueueCapacity);
+    }
+}
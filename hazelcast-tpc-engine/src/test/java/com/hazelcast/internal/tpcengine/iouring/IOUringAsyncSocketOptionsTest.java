@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tpcengine.iouring;
+
+import com.hazelcast.internal.tpcengine.ReactorBuilder;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketOptions;
+import com.hazelcast.internal.tpcengine.net.AsyncSocketOptionsTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.SSL_ENGINE_FACTORY;
+import static com.hazelcast.internal.tpcengine.net.AsyncSocketOptions.TLS_EXECUTOR;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+public class IOUringAsyncSocketOptionsTest extends AsyncSocketOptionsTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        assumeTrue(IOUring.isAvailable());
+    }
+
+    @Override
+    public ReactorBuilder newReactorBuilder() {
+        return new IOUringReactorBuilder();
+    }
+
+    // TLS isn't supported by the io_uring sockets.
+    @Test
+    @Override
+    public void test_SSL_ENGINE_FACTORY() {
+        AsyncSocketOptions options = newSocket().options();
+        assertFalse(options.isSupported(SSL_ENGINE_FACTORY));
+        assertFalse(options.set(SSL_ENGINE_FACTORY, new Object()));
+        assertNull(options.get(SSL_ENGINE_FACTORY));
+    }
+
+    @Test
+    @Override
+    public void test_TLS_EXECUTOR() {
+        AsyncSocketOptions options = newSocket().options();
+        ExecutorService tlsExecutor = Executors.newSingleThreadExecutor();
+        try {
+            assertFalse(options.isSupported(TLS_EXECUTOR));
+            assertFalse(options.set(TLS_EXECUTOR, tlsExecutor));
+            assertNull(options.get(TLS_EXECUTOR));
+        } finally {
+            tlsExecutor.shutdown();
+        }
+    }
+}
@@ -58,7 +58,7 @@ public abstract class AsyncSocketOptionsTest {
         terminateAll(reactors);
     }
 
-    private AsyncSocket newSocket() {
+    protected AsyncSocket newSocket() {
         ReactorBuilder reactorBuilder = newReactorBuilder();
         Reactor reactor = reactorBuilder.build();
         reactors.add(reactor);
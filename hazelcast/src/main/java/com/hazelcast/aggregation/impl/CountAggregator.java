@@ -40,6 +40,27 @@ public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long
         count++;
     }
 
+    /**
+     * @return {@code true} if this aggregator counts the accumulated entries
+     * themselves rather than the values of an attribute, {@code false}
+     * otherwise.
+     */
+    public boolean isEntryCount() {
+        return attributePath == null;
+    }
+
+    /**
+     * Accumulates the given number of entries at once, as if {@link
+     * #accumulate} was called for each of them. Valid only if this aggregator
+     * {@link #isEntryCount() counts entries}.
+     *
+     * @param entryCount the number of entries to accumulate.
+     */
+    public void accumulateEntries(long entryCount) {
+        assert isEntryCount();
+        count += entryCount;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         CountAggregator countAggregator = (CountAggregator) aggregator;
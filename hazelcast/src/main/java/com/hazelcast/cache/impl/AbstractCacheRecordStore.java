@@ -40,6 +40,7 @@ import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.iteration.IterationPointer;
@@ -134,6 +135,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final SamplingEvictionStrategy<Data, R, CRM> evictionStrategy;
     protected final EvictionPolicyEvaluator<Data, R> evictionPolicyEvaluator;
+    protected final TinyLfuEvictionPolicyComparator frequencyTracker;
     protected final Map<CacheEventType, Set<CacheEventData>> batchEvent = new EnumMap<>(CacheEventType.class);
     protected final CompositeCacheRSMutationObserver compositeCacheRSMutationObserver;
 
@@ -175,6 +177,8 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         EvictionPolicyComparator evictionPolicyComparator = createEvictionPolicyComparator(evictionConfig);
         evictionPolicyComparator = injectDependencies(evictionPolicyComparator);
         this.evictionPolicyEvaluator = new EvictionPolicyEvaluator<>(evictionPolicyComparator);
+        this.frequencyTracker = evictionPolicyComparator instanceof TinyLfuEvictionPolicyComparator comparator
+                ? comparator : null;
         this.cacheContext = cacheService.getOrCreateCacheContext(cacheNameWithPrefix);
         this.records = createRecordCacheMap();
         this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy());
@@ -400,6 +404,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
             return false;
         }
 
+        if (frequencyTracker != null && (evictionChecker == null || evictionChecker.isEvictionRequired())) {
+            frequencyTracker.ensureCapacity(records.size());
+        }
         boolean evicted = evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         if (isStatisticsEnabled() && evicted && primary) {
             statistics.increaseCacheEvictions(1);
@@ -631,6 +638,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     }
 
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
+        if (frequencyTracker != null) {
+            frequencyTracker.recordAccess(key);
+        }
         record.setLastAccessTime(now);
         record.incrementHits();
         return updateAccessDuration(key, record, expiryPolicy, now);
@@ -714,6 +724,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected R createRecord(Data key, Object value, long expiryTime, long now,
                              boolean disableWriteThrough, int completionId, UUID origin) {
         R record = createRecord(value, now, expiryTime);
+        if (frequencyTracker != null) {
+            frequencyTracker.recordAccess(key);
+        }
         try {
             doPutRecord(key, record, origin, true);
         } catch (Throwable error) {
@@ -85,6 +85,11 @@ public class ClientDelegatingFuture<V> extends DelegatingCompletableFuture<V> {
         this(clientInvocationFuture, serializationService, clientMessageDecoder, null, deserializeResponse);
     }
 
+    @Override
+    public Executor defaultExecutor() {
+        return future.defaultExecutor();
+    }
+
     @Override
     public V getNow(V valueIfAbsent) {
         // if there is an explicit value set, we use that
@@ -109,6 +109,8 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static com.hazelcast.client.config.ClientConnectionStrategyConfig.ReconnectMode.OFF;
@@ -190,10 +192,12 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     private final boolean isTpcAwareClient;
     private final boolean skipMemberListDuringReconnection;
     private final ClientClusterService clientClusterService;
+    private final Lock lifecycleLock = new ReentrantLock();
     private volatile Credentials currentCredentials;
 
-    // following fields are updated inside synchronized(clientStateMutex)
-    private final Object clientStateMutex = new Object();
+    // following fields are updated while holding clientStateLock. A ReentrantLock is used instead of a monitor,
+    // so that a virtual thread blocking inside the critical section doesn't pin its carrier thread.
+    private final Lock clientStateLock = new ReentrantLock();
     private final ConcurrentMap<UUID, TcpClientConnection> activeConnections = new ConcurrentHashMap<>();
     private volatile ClientState clientState = ClientState.INITIAL;
     private volatile boolean connectToClusterTaskSubmitted;
@@ -374,11 +378,16 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                 retryConfig.getJitter(), logger);
     }
 
-    public synchronized void start() {
-        if (!isAlive.compareAndSet(false, true)) {
-            return;
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (!isAlive.compareAndSet(false, true)) {
+                return;
+            }
+            startNetworking();
+        } finally {
+            lifecycleLock.unlock();
         }
-        startNetworking();
     }
 
     public void tryConnectToAllClusterMembers(boolean sync) {
@@ -403,19 +412,24 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
         networking.restart();
     }
 
-    public synchronized void shutdown() {
-        if (!isAlive.compareAndSet(true, false)) {
-            return;
-        }
-        executor.shutdownNow();
-        ClientExecutionServiceImpl.awaitExecutorTermination("cluster", executor, logger);
-        for (ClientConnection connection : activeConnections.values()) {
-            connection.close("Hazelcast client is shutting down", null);
-        }
+    public void shutdown() {
+        lifecycleLock.lock();
+        try {
+            if (!isAlive.compareAndSet(true, false)) {
+                return;
+            }
+            executor.shutdownNow();
+            ClientExecutionServiceImpl.awaitExecutorTermination("cluster", executor, logger);
+            for (ClientConnection connection : activeConnections.values()) {
+                connection.close("Hazelcast client is shutting down", null);
+            }
 
-        stopNetworking();
-        connectionListeners.clear();
-        clusterDiscoveryService.current().destroy();
+            stopNetworking();
+            connectionListeners.clear();
+            clusterDiscoveryService.current().destroy();
+        } finally {
+            lifecycleLock.unlock();
+        }
     }
 
     protected void stopNetworking() {
@@ -433,7 +447,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     }
 
     private void submitConnectToClusterTask() {
-        // called in synchronized(clusterStateMutex)
+        // called while holding clientStateLock
 
         if (connectToClusterTaskSubmitted) {
             return;
@@ -442,7 +456,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
         executor.submit(() -> {
             try {
                 doConnectToCluster();
-                synchronized (clientStateMutex) {
+                clientStateLock.lock();
+                try {
                     connectToClusterTaskSubmitted = false;
                     if (activeConnections.isEmpty()) {
                         if (logger.isFineEnabled()) {
@@ -451,6 +466,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
 
                         submitConnectToClusterTask();
                     }
+                } finally {
+                    clientStateLock.unlock();
                 }
             } catch (Throwable e) {
                 logger.warning("Could not connect to any cluster, shutting down the client", e);
@@ -472,7 +489,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
             return;
         }
 
-        synchronized (clientStateMutex) {
+        clientStateLock.lock();
+        try {
             if (activeConnections.isEmpty()) {
                 clientState = ClientState.SWITCHING_CLUSTER;
             } else {
@@ -480,6 +498,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                 //we don't need to switch cluster anymore.
                 return;
             }
+        } finally {
+            clientStateLock.unlock();
         }
 
         // try the next cluster
@@ -904,7 +924,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
             return;
         }
 
-        synchronized (clientStateMutex) {
+        clientStateLock.lock();
+        try {
             if (activeConnections.remove(memberUuid, connection)) {
                 clientClusterService.getSubsetMembers().onConnectionRemoved(connection);
                 logger.info("Removed connection to endpoint: " + endpoint + ":" + memberUuid + ", connection: " + connection);
@@ -922,6 +943,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                 logger.finest("Destroying a connection, but there is no mapping %s:%s -> %s in the connection map.", endpoint,
                         memberUuid, connection);
             }
+        } finally {
+            clientStateLock.unlock();
         }
     }
 
@@ -1044,7 +1067,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     private TcpClientConnection onAuthenticated(TcpClientConnection connection,
                                                 AuthenticationResponse response,
                                                 boolean switchingToNextCluster) {
-        synchronized (clientStateMutex) {
+        clientStateLock.lock();
+        try {
             checkAuthenticationResponse(connection, response);
             connection.setRemoteAddress(response.getAddress());
             connection.setRemoteUuid(response.getMemberUuid());
@@ -1062,7 +1086,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                 logger.fine("Checking the cluster: " + newClusterId + ", current cluster: " + currentClusterId);
             }
             // `currentClusterId` is `null` only at the start of the client.
-            // It is only set in this method below under `clientStateMutex`.
+            // It is only set in this method below under `clientStateLock`.
             // `currentClusterId` is set by master when a cluster is started.
             // `currentClusterId` is not preserved during HotRestart.
             // In split brain, both sides have the same `currentClusterId`
@@ -1138,10 +1162,12 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                     + ", local address: " + connection.getLocalSocketAddress());
 
             fireConnectionEvent(connection, true);
+        } finally {
+            clientStateLock.unlock();
         }
 
         // It could happen that this connection is already closed and
-        // onConnectionClose() is called even before the synchronized block
+        // onConnectionClose() is called even before the critical section
         // above is executed. In this case, now we have a closed but registered
         // connection. We do a final check here to remove this connection
         // if needed.
@@ -1331,20 +1357,24 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
     }
 
     private void initializeClientOnCluster(@Nonnull UUID targetClusterId) {
-        // submitted inside synchronized(clientStateMutex)
+        // submitted while holding clientStateLock
         try {
-            synchronized (clientStateMutex) {
+            clientStateLock.lock();
+            try {
                 UUID clusterId = clientClusterService.getClusterId();
                 if (!targetClusterId.equals(clusterId)) {
                     logger.warning("Won't send client state to cluster: " + targetClusterId
                             + " Because switched to a new cluster: " + clusterId);
                     return;
                 }
+            } finally {
+                clientStateLock.unlock();
             }
 
             client.sendStateToCluster();
 
-            synchronized (clientStateMutex) {
+            clientStateLock.lock();
+            try {
                 UUID clusterId = clientClusterService.getClusterId();
                 if (targetClusterId.equals(clusterId)) {
                     if (logger.isFineEnabled()) {
@@ -1358,11 +1388,14 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                             + " because current cluster id: " + clusterId + " is different than expected cluster id: "
                             + targetClusterId);
                 }
+            } finally {
+                clientStateLock.unlock();
             }
         } catch (Exception e) {
             String clusterName = clusterDiscoveryService.current().getClusterName();
             logger.warning("Failure during sending state to the cluster.", e);
-            synchronized (clientStateMutex) {
+            clientStateLock.lock();
+            try {
                 UUID clusterId = clientClusterService.getClusterId();
                 if (targetClusterId.equals(clusterId)) {
                     if (logger.isFineEnabled()) {
@@ -1371,6 +1404,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
 
                     executor.execute(() -> initializeClientOnCluster(targetClusterId));
                 }
+            } finally {
+                clientStateLock.unlock();
             }
         }
     }
@@ -149,6 +149,7 @@ import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
 import com.hazelcast.spi.impl.UnmodifiableLazySet;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -170,6 +171,8 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_MAX_BATCH_SIZE;
 import static com.hazelcast.internal.util.CollectionUtil.objectToDataCollection;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
@@ -216,6 +219,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
     private boolean useDefaultReplaceAllOperation;
+    private MapRequestCoalescer requestCoalescer;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -227,6 +231,12 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+
+        HazelcastProperties properties = getClient().getProperties();
+        if (properties.getBoolean(MAP_REQUEST_COALESCING_ENABLED)) {
+            requestCoalescer = new MapRequestCoalescer(getClient(), name,
+                    properties.getInteger(MAP_REQUEST_COALESCING_MAX_BATCH_SIZE));
+        }
     }
 
     @Override
@@ -260,8 +270,16 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return toObject(getInternal(key));
     }
 
+    // used in tests
+    MapRequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     protected Object getInternal(Object key) {
         Data keyData = toData(key);
+        if (requestCoalescer != null) {
+            return requestCoalescer.get(keyData, getContext().getPartitionService().getPartitionId(keyData));
+        }
         ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
         ClientMessage response = invoke(request, keyData);
         return MapGetCodec.decodeResponse(response);
@@ -704,6 +722,10 @@ public class ClientMapProxy<K, V> extends ClientProxy
     protected void setInternal(long ttl, TimeUnit timeunit, Long maxIdle, TimeUnit maxIdleUnit, Object key, Object value) {
         Data keyData = toData(key);
         Data valueData = toData(value);
+        if (requestCoalescer != null && ttl == UNSET && maxIdle == null) {
+            requestCoalescer.set(keyData, valueData, getContext().getPartitionService().getPartitionId(keyData));
+            return;
+        }
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, timeunit);
         ClientMessage request;
         if (maxIdle != null) {
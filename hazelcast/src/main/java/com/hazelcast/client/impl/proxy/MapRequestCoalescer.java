@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutAllCodec;
+import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.ConcurrencyUtil;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.internal.util.ThreadUtil.getThreadId;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Coalesces concurrent single-key {@code get} and {@code set} calls on a map
+ * into batched {@code getAll} and {@code setAll} requests.
+ * <p>
+ * Requests are queued per partition. A call that finds no request in flight
+ * for its partition is sent right away; calls made while a request is in
+ * flight wait for it to complete and are then sent together in a single
+ * message. There is no timed window, so an idle client sees no extra latency,
+ * while under load the batch size adapts to the round-trip time.
+ *
+ * @see com.hazelcast.client.properties.ClientProperty#MAP_REQUEST_COALESCING_ENABLED
+ */
+final class MapRequestCoalescer {
+
+    private final HazelcastClientInstanceImpl client;
+    private final String name;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Integer, Lane> getLanes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Lane> setLanes = new ConcurrentHashMap<>();
+    private final MwCounter sentMessages = newMwCounter();
+    private final MwCounter sentRequests = newMwCounter();
+
+    MapRequestCoalescer(HazelcastClientInstanceImpl client, String name, int maxBatchSize) {
+        this.client = client;
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    Data get(Data key, int partitionId) {
+        Lane lane = getLanes.computeIfAbsent(partitionId, GetLane::new);
+        return (Data) await(lane.offer(key, null));
+    }
+
+    void set(Data key, Data value, int partitionId) {
+        Lane lane = setLanes.computeIfAbsent(partitionId, SetLane::new);
+        await(lane.offer(key, value));
+    }
+
+    /**
+     * @return the number of messages sent so far
+     */
+    long getSentMessageCount() {
+        return sentMessages.get();
+    }
+
+    /**
+     * @return the number of {@code get} and {@code set} calls sent so far,
+     * each message carries one or more of them
+     */
+    long getSentRequestCount() {
+        return sentRequests.get();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private record PendingRequest(Data key, Data value, long threadId, InternalCompletableFuture<Object> future) {
+    }
+
+    /**
+     * Queue of the requests of one kind to a single partition, with at most
+     * one batch in flight at a time.
+     */
+    private abstract class Lane {
+
+        final int partitionId;
+        private final Queue<PendingRequest> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Lane(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        CompletableFuture<Object> offer(Data key, Data value) {
+            PendingRequest request = new PendingRequest(key, value, getThreadId(), new InternalCompletableFuture<>());
+            queue.add(request);
+            trySend();
+            return request.future();
+        }
+
+        /**
+         * Sends the queued requests unless a batch is already in flight. The
+         * thread completing that batch calls this method again, so no request
+         * is left behind in the queue.
+         */
+        private void trySend() {
+            while (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+                List<PendingRequest> batch = drain();
+                if (batch.isEmpty()) {
+                    sending.set(false);
+                    continue;
+                }
+                sentMessages.inc();
+                sentRequests.inc(batch.size());
+                try {
+                    new ClientInvocation(client, encode(batch), name, partitionId)
+                            .invoke()
+                            .whenCompleteAsync((response, t) -> {
+                                try {
+                                    if (t == null) {
+                                        complete(batch, response);
+                                    } else {
+                                        fail(batch, t);
+                                    }
+                                } finally {
+                                    sending.set(false);
+                                    trySend();
+                                }
+                            }, ConcurrencyUtil.getDefaultAsyncExecutor());
+                    return;
+                } catch (Throwable t) {
+                    fail(batch, t);
+                    sending.set(false);
+                }
+            }
+        }
+
+        private List<PendingRequest> drain() {
+            List<PendingRequest> batch = new ArrayList<>();
+            PendingRequest request;
+            while (batch.size() < maxBatchSize && (request = queue.poll()) != null) {
+                batch.add(request);
+            }
+            return batch;
+        }
+
+        private void fail(List<PendingRequest> batch, Throwable t) {
+            for (PendingRequest request : batch) {
+                request.future().completeExceptionally(t);
+            }
+        }
+
+        abstract ClientMessage encode(List<PendingRequest> batch);
+
+        abstract void complete(List<PendingRequest> batch, ClientMessage response);
+    }
+
+    private final class GetLane extends Lane {
+
+        GetLane(int partitionId) {
+            super(partitionId);
+        }
+
+        @Override
+        ClientMessage encode(List<PendingRequest> batch) {
+            if (batch.size() == 1) {
+                PendingRequest request = batch.get(0);
+                return MapGetCodec.encodeRequest(name, request.key(), request.threadId());
+            }
+            List<Data> keys = new ArrayList<>(batch.size());
+            for (PendingRequest request : batch) {
+                keys.add(request.key());
+            }
+            return MapGetAllCodec.encodeRequest(name, keys);
+        }
+
+        @Override
+        void complete(List<PendingRequest> batch, ClientMessage response) {
+            if (batch.size() == 1) {
+                batch.get(0).future().complete(MapGetCodec.decodeResponse(response));
+                return;
+            }
+            List<Map.Entry<Data, Data>> entries = MapGetAllCodec.decodeResponse(response);
+            Map<Data, Data> values = createHashMap(entries.size());
+            for (Map.Entry<Data, Data> entry : entries) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+            for (PendingRequest request : batch) {
+                request.future().complete(values.get(request.key()));
+            }
+        }
+    }
+
+    private final class SetLane extends Lane {
+
+        SetLane(int partitionId) {
+            super(partitionId);
+        }
+
+        @Override
+        ClientMessage encode(List<PendingRequest> batch) {
+            if (batch.size() == 1) {
+                PendingRequest request = batch.get(0);
+                return MapSetCodec.encodeRequest(name, request.key(), request.value(), request.threadId(), UNSET);
+            }
+            List<Map.Entry<Data, Data>> entries = new ArrayList<>(batch.size());
+            for (PendingRequest request : batch) {
+                entries.add(new SimpleEntry<>(request.key(), request.value()));
+            }
+            return MapPutAllCodec.encodeRequest(name, entries, false);
+        }
+
+        @Override
+        void complete(List<PendingRequest> batch, ClientMessage response) {
+            for (PendingRequest request : batch) {
+                request.future().complete(null);
+            }
+        }
+    }
+}
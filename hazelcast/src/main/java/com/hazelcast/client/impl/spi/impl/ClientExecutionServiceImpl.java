@@ -16,16 +16,19 @@
 
 package com.hazelcast.client.impl.spi.impl;
 
+import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.util.executor.LoggingScheduledExecutor;
 import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
+import com.hazelcast.internal.util.executor.VirtualThreadExecutors;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.spi.impl.executionservice.TaskScheduler;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import javax.annotation.Nullable;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -46,6 +49,7 @@ public final class ClientExecutionServiceImpl implements TaskScheduler, StaticMe
 
     private final ILogger logger;
     private final ScheduledExecutorService internalExecutor;
+    private final ExecutorService userCallbackExecutor;
 
     public ClientExecutionServiceImpl(String name, ClassLoader classLoader,
                                       HazelcastProperties properties, LoggingService loggingService) {
@@ -60,6 +64,32 @@ public final class ClientExecutionServiceImpl implements TaskScheduler, StaticMe
             logger.finest(message);
             throw new RejectedExecutionException(message);
         });
+        userCallbackExecutor = newUserCallbackExecutor(properties);
+    }
+
+    private ExecutorService newUserCallbackExecutor(HazelcastProperties properties) {
+        if (!properties.getBoolean(ClientProperty.VIRTUAL_THREAD_CALLBACKS_ENABLED)) {
+            return null;
+        }
+        if (!VirtualThreadExecutors.isSupported()) {
+            logger.warning(ClientProperty.VIRTUAL_THREAD_CALLBACKS_ENABLED.getName()
+                    + " is ignored, virtual threads require Java 21 or later");
+            return null;
+        }
+        return VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Returns the executor that runs user callbacks, such as event listeners and
+     * the async stages of invocation futures, when they are configured to run on
+     * virtual threads.
+     *
+     * @return the executor, or {@code null} if the default executors should be used
+     * @see ClientProperty#VIRTUAL_THREAD_CALLBACKS_ENABLED
+     */
+    @Nullable
+    public ExecutorService getUserCallbackExecutor() {
+        return userCallbackExecutor;
     }
 
     @Override
@@ -83,6 +113,9 @@ public final class ClientExecutionServiceImpl implements TaskScheduler, StaticMe
     }
 
     public void shutdown() {
+        if (userCallbackExecutor != null) {
+            userCallbackExecutor.shutdown();
+        }
         internalExecutor.shutdown();
         awaitExecutorTermination("internal", internalExecutor, logger);
     }
@@ -106,7 +106,8 @@ public class ClientInvocation extends BaseInvocation implements Runnable {
         this.startTimeMillis = System.currentTimeMillis();
         this.retryPauseMillis = invocationService.getInvocationRetryPauseMillis();
         this.callIdSequence = invocationService.getCallIdSequence();
-        this.clientInvocationFuture = new ClientInvocationFuture(this, clientMessage, logger, callIdSequence);
+        this.clientInvocationFuture = new ClientInvocationFuture(this, clientMessage, logger, callIdSequence,
+                executionService instanceof ClientExecutionServiceImpl service ? service.getUserCallbackExecutor() : null);
         this.invocationTimeoutMillis = invocationService.getInvocationTimeoutMillis();
         this.routingMode = invocationService.getRoutingMode();
     }
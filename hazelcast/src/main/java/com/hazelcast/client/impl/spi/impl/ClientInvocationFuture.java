@@ -24,6 +24,7 @@ import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -42,15 +43,34 @@ public class ClientInvocationFuture extends AbstractInvocationFuture<ClientMessa
     private final ClientMessage request;
     private final ClientInvocation invocation;
     private final CallIdSequence callIdSequence;
+    private final Executor callbackExecutor;
 
     public ClientInvocationFuture(ClientInvocation invocation,
                                   ClientMessage request,
                                   ILogger logger,
                                   CallIdSequence callIdSequence) {
+        this(invocation, request, logger, callIdSequence, null);
+    }
+
+    /**
+     * @param callbackExecutor the default executor of the async stages of this future,
+     *                         or {@code null} to use the common default async executor
+     */
+    public ClientInvocationFuture(ClientInvocation invocation,
+                                  ClientMessage request,
+                                  ILogger logger,
+                                  CallIdSequence callIdSequence,
+                                  @Nullable Executor callbackExecutor) {
         super(logger);
         this.request = request;
         this.invocation = invocation;
         this.callIdSequence = callIdSequence;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public Executor defaultExecutor() {
+        return callbackExecutor != null ? callbackExecutor : super.defaultExecutor();
     }
 
     @Override
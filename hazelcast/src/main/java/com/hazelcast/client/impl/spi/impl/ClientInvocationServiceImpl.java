@@ -33,14 +33,13 @@ import com.hazelcast.spi.exception.TargetDisconnectedException;
 import com.hazelcast.spi.impl.executionservice.TaskScheduler;
 import com.hazelcast.spi.impl.sequence.CallIdFactory;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
+import com.hazelcast.spi.impl.sequence.CallIdTable;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import static com.hazelcast.client.properties.ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
@@ -88,8 +87,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
     final ILogger invocationLogger;
     private volatile boolean isShutdown;
 
-    @Probe(name = CLIENT_METRIC_INVOCATIONS_PENDING_CALLS, level = MANDATORY)
-    private final ConcurrentMap<Long, ClientInvocation> invocations = new ConcurrentHashMap<>();
+    private final CallIdTable<ClientInvocation> invocations;
     private final ClientResponseHandlerSupplier responseHandlerSupplier;
     private final long invocationTimeoutMillis;
     private final long invocationRetryPauseMillis;
@@ -112,6 +110,8 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
                 properties.getInteger(MAX_CONCURRENT_INVOCATIONS),
                 properties.getLong(BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS),
                 client.getConcurrencyDetection());
+        this.invocations = new CallIdTable<>(CallIdTable.capacityFor(callIdSequence.getMaxConcurrentInvocations()),
+                invocation -> invocation.getClientMessage().getCorrelationId());
 
         this.operationBackupTimeoutMillis = properties.getInteger(OPERATION_BACKUP_TIMEOUT_MILLIS);
         this.shouldFailOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
@@ -231,7 +231,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
 
     @Override
     public void onConnectionClose(ClientConnection connection) {
-        for (ClientInvocation invocation : invocations.values()) {
+        for (ClientInvocation invocation : invocations) {
             if (invocation.getPermissionToNotifyForDeadConnection(connection)) {
                 Exception ex = new TargetDisconnectedException(connection.getCloseReason(), connection.getCloseCause());
                 invocation.notifyExceptionWithOwnedPermission(ex);
@@ -241,7 +241,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
 
     @Override
     public boolean isConnectionInUse(@Nonnull ClientConnection connection) {
-        for (ClientInvocation invocation : invocations.values()) {
+        for (ClientInvocation invocation : invocations) {
             ClientConnection sentConnection = invocation.getSentConnection();
             if (sentConnection == null) {
                 // not expecting this case and deemed as indeterminate
@@ -317,6 +317,11 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
         return invocations.get(callId);
     }
 
+    @Probe(name = CLIENT_METRIC_INVOCATIONS_PENDING_CALLS, level = MANDATORY)
+    int pendingInvocations() {
+        return invocations.size();
+    }
+
     public boolean isShutdown() {
         return isShutdown;
     }
@@ -325,7 +330,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
         isShutdown = true;
         responseHandlerSupplier.shutdown();
 
-        for (ClientInvocation invocation : invocations.values()) {
+        for (ClientInvocation invocation : invocations) {
             //connection manager and response handler threads are closed at this point.
             invocation.notifyExceptionWithOwnedPermission(new HazelcastClientNotActiveException());
         }
@@ -380,7 +385,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationServiceInter
     private class BackupTimeoutTask implements Runnable {
         @Override
         public void run() {
-            for (ClientInvocation invocation : invocations.values()) {
+            for (ClientInvocation invocation : invocations) {
                 invocation.detectAndHandleBackupTimeout(operationBackupTimeoutMillis);
             }
         }
@@ -88,7 +88,16 @@ public class ClientListenerServiceImpl
         HazelcastProperties properties = client.getProperties();
         int eventQueueCapacity = properties.getInteger(ClientProperty.EVENT_QUEUE_CAPACITY);
         int eventThreadCount = properties.getInteger(ClientProperty.EVENT_THREAD_COUNT);
-        this.eventExecutor = new StripedExecutor(logger, name + ".event", eventThreadCount, eventQueueCapacity, true);
+        ExecutorService userCallbackExecutor = client.getTaskScheduler() instanceof ClientExecutionServiceImpl executionService
+                ? executionService.getUserCallbackExecutor() : null;
+        if (userCallbackExecutor != null) {
+            // the stripes keep the events of a partition in order, while the listeners
+            // run on virtual threads instead of on the event threads
+            this.eventExecutor = new StripedExecutor(logger, name + ".event", eventThreadCount, eventQueueCapacity,
+                    userCallbackExecutor);
+        } else {
+            this.eventExecutor = new StripedExecutor(logger, name + ".event", eventThreadCount, eventQueueCapacity, true);
+        }
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
         ThreadFactory threadFactory = new SingleExecutorThreadFactory(classLoader, name + ".eventRegistration-");
         this.registrationExecutor = Executors.newSingleThreadExecutor(threadFactory);
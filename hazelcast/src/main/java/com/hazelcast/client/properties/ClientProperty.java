@@ -355,6 +355,49 @@ public final class ClientProperty {
     public static final HazelcastProperty CLIENT_CONNECTIVITY_LOGGING_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.client.connectivity.logging.delay.seconds", 10);
 
+    /**
+     * Enables coalescing of concurrent single-key {@code IMap.get(key)} and
+     * {@code IMap.set(key, value)} calls.
+     * <p>
+     * When enabled, the calls made while an earlier call to the same partition
+     * of the same map is still in flight are queued and then sent together as a
+     * single {@code getAll} or {@code setAll} request. A call that finds nothing
+     * in flight is sent right away, so coalescing only kicks in under concurrent
+     * load. {@code put} calls, which have to return the old value, and calls with
+     * a TTL or max idle are never coalesced.
+     * <p>
+     * Batched calls are executed on the member with {@code getAll}/{@code setAll}
+     * semantics, which don't take the calling thread into account. Don't enable
+     * coalescing if you rely on {@code IMap.lock} for the coalesced keys.
+     */
+    public static final HazelcastProperty MAP_REQUEST_COALESCING_ENABLED
+            = new HazelcastProperty("hazelcast.client.map.request.coalescing.enabled", false);
+
+    /**
+     * The maximum number of coalesced calls sent in a single request when
+     * {@link #MAP_REQUEST_COALESCING_ENABLED} is set.
+     */
+    public static final HazelcastProperty MAP_REQUEST_COALESCING_MAX_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.client.map.request.coalescing.max.batch.size", 100);
+
+    /**
+     * Runs user callbacks on virtual threads.
+     * <p>
+     * When enabled, event listeners are invoked on virtual threads instead of
+     * on the {@link #EVENT_THREAD_COUNT} event threads; events that have to be
+     * delivered in order, e.g. the entry events of the same partition, are
+     * still delivered one by one. The async stages of the futures returned by
+     * the client (e.g. {@code whenCompleteAsync} without an explicit executor)
+     * run on virtual threads, too. Callbacks that block, e.g. by calling
+     * other blocking client methods, then don't hold up other callbacks or
+     * exhaust a thread pool.
+     * <p>
+     * Requires Java 21 or later; the property is ignored with a warning on
+     * older runtimes.
+     */
+    public static final HazelcastProperty VIRTUAL_THREAD_CALLBACKS_ENABLED
+            = new HazelcastProperty("hazelcast.client.virtual.thread.callbacks.enabled", false);
+
     private ClientProperty() {
     }
 }
@@ -489,7 +489,8 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        boolean gatheringWriteEnabled = node.getProperties().getBoolean(ClusterProperty.IO_GATHERING_WRITE_ENABLED);
+        return new OutboundHandler[]{new PacketEncoder(gatheringWriteEnabled)};
     }
 
     @Override
@@ -88,6 +88,7 @@ import static com.hazelcast.instance.ProtocolType.MEMBER;
 import static com.hazelcast.instance.ProtocolType.WAN;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMergeTypeProviderHasRequiredTypes;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
 import static com.hazelcast.internal.nio.ClassLoaderUtil.isClassAvailable;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
@@ -112,6 +113,9 @@ public final class ConfigValidator {
             = EnumSet.of(PER_NODE, PER_PARTITION, USED_NATIVE_MEMORY_PERCENTAGE,
             FREE_NATIVE_MEMORY_PERCENTAGE, USED_NATIVE_MEMORY_SIZE, FREE_NATIVE_MEMORY_SIZE);
 
+    private static final Set<MaxSizePolicy> MAP_SUPPORTED_OPEN_SOURCE_NATIVE_MAX_SIZE_POLICIES
+            = EnumSet.of(PER_NODE, PER_PARTITION, USED_NATIVE_MEMORY_SIZE);
+
     private static final Set<MaxSizePolicy> MAP_SUPPORTED_ON_HEAP_MAX_SIZE_POLICIES
             = EnumSet.of(PER_NODE, PER_PARTITION, USED_HEAP_SIZE, USED_HEAP_PERCENTAGE,
             FREE_HEAP_SIZE, FREE_HEAP_PERCENTAGE);
@@ -134,7 +138,7 @@ public final class ConfigValidator {
     public static void checkMapConfig(Config config, MapConfig mapConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        checkNativeMapWhenOpenSource(mapConfig, config.getNativeMemoryConfig());
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
@@ -702,6 +706,31 @@ public final class ConfigValidator {
         }
     }
 
+    /**
+     * Checks preconditions of a {@link InMemoryFormat#NATIVE} map on OS. The open-source
+     * native storage is used only when native memory is explicitly enabled and supports
+     * only entry count and used native memory size based max size policies.
+     *
+     * @param mapConfig          the mapConfig
+     * @param nativeMemoryConfig the nativeMemoryConfig
+     */
+    private static void checkNativeMapWhenOpenSource(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != mapConfig.getInMemoryFormat() || getBuildInfo().isEnterprise()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            checkNotNativeWhenOpenSource(NATIVE);
+        }
+        if (!UNSAFE_AVAILABLE) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format of the map [%s] "
+                    + "requires sun.misc.Unsafe, which is not available on this JVM", mapConfig.getName()));
+        }
+        MaxSizePolicy maxSizePolicy = mapConfig.getEvictionConfig().getMaxSizePolicy();
+        if (!MAP_SUPPORTED_OPEN_SOURCE_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
+            throwNotMatchingMaxSizePolicy(NATIVE, maxSizePolicy, MAP_SUPPORTED_OPEN_SOURCE_NATIVE_MAX_SIZE_POLICIES);
+        }
+    }
+
     /**
      * Throws {@link InvalidConfigurationException} if the given {@link TieredStoreConfig}
      * is enabled and Hazelcast is OS.
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating the access frequencies of keys, used by
+ * {@link TinyLfuEvictionPolicyComparator}.
+ * <p>
+ * The sketch keeps 4-bit counters, sixteen of them packed into a {@code
+ * long}. A key is mapped to four counters, each in a different {@code long}
+ * of the table, and its frequency is the minimum of them. Once the number of
+ * increments reaches ten times the table length, all counters are halved,
+ * so that the sketch forgets stale popularity.
+ * <p>
+ * The sketch is lock-free. An increment racing with another update of the
+ * same {@code long} is dropped instead of being retried: the sketch is
+ * approximate anyway.
+ */
+final class FrequencySketch {
+
+    static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MIN_TABLE_LENGTH = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 22;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final int RESET_CHECK_MASK = 63;
+
+    private final LongAdder additions = new LongAdder();
+    private final AtomicBoolean resetting = new AtomicBoolean();
+
+    private volatile AtomicLongArray table = new AtomicLongArray(MIN_TABLE_LENGTH);
+
+    /**
+     * Grows the sketch to track about {@code maximumSize} keys. Growing
+     * discards the collected frequencies, the sketch never shrinks.
+     *
+     * @param maximumSize the expected number of keys
+     */
+    void ensureCapacity(long maximumSize) {
+        int length = nextPowerOfTwo((int) Math.max(1, Math.min(maximumSize, MAX_TABLE_LENGTH)));
+        if (length > table.length()) {
+            table = new AtomicLongArray(length);
+            additions.reset();
+        }
+    }
+
+    /**
+     * @return the estimated frequency of the key with the given hash, in the
+     * {@code [0, MAX_FREQUENCY]} range
+     */
+    int frequency(int hash) {
+        AtomicLongArray table = this.table;
+        int item = spread(hash);
+        int start = (item & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = (start + i) << 2;
+            int count = (int) ((table.get(indexOf(table, item, i)) >>> shift) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the estimated frequency of the key with the given hash,
+     * unless it already reached {@link #MAX_FREQUENCY}.
+     */
+    void increment(int hash) {
+        AtomicLongArray table = this.table;
+        int item = spread(hash);
+        int start = (item & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(table, indexOf(table, item, i), start + i);
+        }
+        if (added) {
+            additions.increment();
+            // summing the adder is not free, so only some increments check the threshold
+            if ((item & RESET_CHECK_MASK) == 0 && additions.sum() >= (long) SAMPLE_FACTOR * table.length()) {
+                reset(table);
+            }
+        }
+    }
+
+    private static boolean incrementAt(AtomicLongArray table, int index, int counter) {
+        int shift = counter << 2;
+        long mask = (long) MAX_FREQUENCY << shift;
+        long value = table.get(index);
+        if ((value & mask) == mask) {
+            return false;
+        }
+        return table.compareAndSet(index, value, value + (1L << shift));
+    }
+
+    private void reset(AtomicLongArray table) {
+        if (!resetting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long oddCounters = 0;
+            for (int i = 0; i < table.length(); i++) {
+                long value = table.get(i);
+                oddCounters += Long.bitCount(value & ONE_MASK);
+                table.set(i, (value >>> 1) & RESET_MASK);
+            }
+            long halved = (additions.sum() - (oddCounters >>> 2)) >>> 1;
+            additions.reset();
+            additions.add(halved);
+        } finally {
+            resetting.set(false);
+        }
+    }
+
+    private static int indexOf(AtomicLongArray table, int item, int i) {
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += hash >>> 32;
+        return ((int) hash) & (table.length() - 1);
+    }
+
+    /**
+     * Applies a supplemental hash function to defend against poor quality
+     * hash codes.
+     */
+    private static int spread(int hash) {
+        int x = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.SampleableConcurrentHashMap.SamplingEntry;
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+/**
+ * TinyLFU policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * Unlike {@link LFUEvictionPolicyComparator}, which relies on the hit counter
+ * of each record, this comparator estimates the access frequencies of keys
+ * with a count-min sketch with aging. The sketch remembers keys which were
+ * evicted or never cached, so a scan touching many keys once can't push out
+ * the popular entries. Ties are resolved as in {@link
+ * LRUEvictionPolicyComparator}.
+ * <p>
+ * The comparator is stateful: its owner has to report key accesses via
+ * {@link #recordAccess(Object)} and should size the sketch with {@link
+ * #ensureCapacity(long)}. Near Caches also use {@link #admit(Object, Object)}
+ * to only cache a new key when it is more popular than the entry it would
+ * replace. An instance must not be shared among unrelated stores, so it
+ * should be configured by its class name.
+ */
+@SerializableByConvention
+public class TinyLfuEvictionPolicyComparator
+        implements EvictionPolicyComparator<Object, Object, EvictableEntryView<Object, Object>> {
+
+    private final transient FrequencySketch sketch = new FrequencySketch();
+
+    /**
+     * Reports an access of the given key, including lookups of missing keys.
+     *
+     * @param key the accessed key, as stored in the evictable store
+     */
+    public void recordAccess(Object key) {
+        sketch.increment(key.hashCode());
+    }
+
+    /**
+     * Grows the sketch to track about {@code maximumSize} keys.
+     *
+     * @param maximumSize the expected number of entries in the store
+     */
+    public void ensureCapacity(long maximumSize) {
+        sketch.ensureCapacity(maximumSize);
+    }
+
+    /**
+     * Decides whether a new key should replace an existing entry.
+     *
+     * @param candidateKey the key to be admitted
+     * @param victimKey    the key of the entry which would be evicted
+     * @return {@code true} if the candidate is estimated to be accessed more
+     * frequently than the victim
+     */
+    public boolean admit(Object candidateKey, Object victimKey) {
+        return sketch.frequency(candidateKey.hashCode()) > sketch.frequency(victimKey.hashCode());
+    }
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        int result = Integer.compare(frequency(e1), frequency(e2));
+        if (result != 0) {
+            return result;
+        }
+        long time1 = Math.max(e1.getCreationTime(), e1.getLastAccessTime());
+        long time2 = Math.max(e2.getCreationTime(), e2.getLastAccessTime());
+        return Long.compare(time1, time2);
+    }
+
+    private int frequency(EvictableEntryView entryView) {
+        // sampling entries expose the stored key, which avoids deserialization
+        Object key = entryView instanceof SamplingEntry samplingEntry
+                ? samplingEntry.getEntryKey() : entryView.getKey();
+        return sketch.frequency(key.hashCode());
+    }
+
+    private Object readResolve() {
+        // the sketch isn't serialized, a deserialized comparator starts afresh
+        return new TinyLfuEvictionPolicyComparator();
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLfuEvictionPolicyComparator{" + super.toString() + "} ";
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+
+/**
+ * {@link MemoryAllocator} which carves blocks out of native memory pages and keeps
+ * freed blocks on per-size-class free lists for reuse.
+ * <p>
+ * Block sizes are rounded up to the next power of two, starting from {@link #MIN_BLOCK_SIZE}.
+ * Requests larger than the page size bypass the pages and are served by a dedicated
+ * native allocation.
+ * <p>
+ * All the memory owned by an arena can be released at once by {@link #dispose()}, after
+ * which the arena can be used again. This makes it a good fit for data structures whose
+ * lifecycle is bound to a single partition: they can be dropped on migration without
+ * walking their contents.
+ * <p>
+ * The native memory obtained by an arena is reserved from a {@link NativeMemoryBudget},
+ * which may be shared by many arenas to enforce a node-wide capacity.
+ * <p>
+ * Not thread-safe, an arena must be confined to its owner thread.
+ */
+public final class ArenaMemoryAllocator implements MemoryAllocator {
+
+    /**
+     * Default size of the pages small blocks are carved out of.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1 << 16;
+
+    /**
+     * Size of the smallest block served by the arena. Also the alignment of all the blocks.
+     */
+    public static final int MIN_BLOCK_SIZE = 16;
+
+    private static final int MIN_BLOCK_SIZE_SHIFT = 4;
+    private static final int INITIAL_PAGE_TABLE_SIZE = 4;
+
+    private final MemoryAccessor mem = MEM;
+    private final int pageSize;
+    private final NativeMemoryBudget budget;
+    private final long[] freeListHeads;
+    private final Long2LongHashMap largeBlocks = new Long2LongHashMap(0L);
+
+    private long[] pages = new long[INITIAL_PAGE_TABLE_SIZE];
+    private int pageCount;
+    private long pageCursor;
+    private long pageLimit;
+
+    private long usedMemory;
+    private long committedMemory;
+
+    public ArenaMemoryAllocator() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    public ArenaMemoryAllocator(int pageSize) {
+        this(pageSize, NativeMemoryBudget.UNLIMITED);
+    }
+
+    public ArenaMemoryAllocator(NativeMemoryBudget budget) {
+        this(DEFAULT_PAGE_SIZE, budget);
+    }
+
+    public ArenaMemoryAllocator(int pageSize, NativeMemoryBudget budget) {
+        checkState(UNSAFE_AVAILABLE, "ArenaMemoryAllocator requires sun.misc.Unsafe");
+        checkTrue(pageSize >= MIN_BLOCK_SIZE && isPowerOfTwo(pageSize),
+                "Page size must be a power of two not smaller than " + MIN_BLOCK_SIZE + ", but was " + pageSize);
+        this.pageSize = pageSize;
+        this.budget = checkNotNull(budget, "budget");
+        this.freeListHeads = new long[sizeClassOf(pageSize) + 1];
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkPositive("size", size);
+        if (size > pageSize) {
+            return allocateLargeBlock(size);
+        }
+
+        int sizeClass = sizeClassOf(size);
+        long blockSize = blockSizeOf(sizeClass);
+        long address = freeListHeads[sizeClass];
+        if (address != NULL_ADDRESS) {
+            freeListHeads[sizeClass] = mem.getLong(address);
+        } else {
+            address = carveFromPage(blockSize);
+        }
+        UNSAFE.setMemory(address, blockSize, (byte) 0);
+        usedMemory += blockSize;
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        if (currentSize <= pageSize && newSize <= pageSize
+                && sizeClassOf(currentSize) == sizeClassOf(newSize)) {
+            if (newSize > currentSize) {
+                UNSAFE.setMemory(address + currentSize, newSize - currentSize, (byte) 0);
+            }
+            return address;
+        }
+
+        long newAddress = allocate(newSize);
+        UNSAFE.copyMemory(address, newAddress, Math.min(currentSize, newSize));
+        free(address, currentSize);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        if (address == NULL_ADDRESS) {
+            return;
+        }
+        if (size > pageSize) {
+            freeLargeBlock(address, size);
+            return;
+        }
+
+        int sizeClass = sizeClassOf(size);
+        mem.putLong(address, freeListHeads[sizeClass]);
+        freeListHeads[sizeClass] = address;
+        usedMemory -= blockSizeOf(sizeClass);
+    }
+
+    /**
+     * Releases all the native memory owned by this arena. The blocks allocated
+     * before the call become invalid, but the arena itself stays usable.
+     */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < pageCount; i++) {
+            UNSAFE.freeMemory(pages[i]);
+            pages[i] = NULL_ADDRESS;
+        }
+        for (Long2LongHashMap.LongLongCursor cursor = largeBlocks.cursor(); cursor.advance(); ) {
+            UNSAFE.freeMemory(cursor.key());
+        }
+        largeBlocks.clear();
+        budget.release(committedMemory);
+        Arrays.fill(freeListHeads, NULL_ADDRESS);
+        pageCount = 0;
+        pageCursor = NULL_ADDRESS;
+        pageLimit = NULL_ADDRESS;
+        usedMemory = 0;
+        committedMemory = 0;
+    }
+
+    /**
+     * @return the number of bytes in the blocks currently handed out by this arena
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * @return the number of bytes this arena has obtained from the operating system
+     */
+    public long getCommittedMemory() {
+        return committedMemory;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private long carveFromPage(long blockSize) {
+        if (pageLimit - pageCursor < blockSize) {
+            recycleTailOfPage();
+            newPage();
+        }
+        long address = pageCursor;
+        pageCursor += blockSize;
+        return address;
+    }
+
+    /**
+     * Puts the unused tail of the current page on the free lists,
+     * so it is not wasted when a new page is started.
+     */
+    private void recycleTailOfPage() {
+        long remaining = pageLimit - pageCursor;
+        while (remaining >= MIN_BLOCK_SIZE) {
+            int sizeClass = 63 - Long.numberOfLeadingZeros(remaining) - MIN_BLOCK_SIZE_SHIFT;
+            long blockSize = blockSizeOf(sizeClass);
+            mem.putLong(pageCursor, freeListHeads[sizeClass]);
+            freeListHeads[sizeClass] = pageCursor;
+            pageCursor += blockSize;
+            remaining -= blockSize;
+        }
+        pageCursor = pageLimit;
+    }
+
+    private void newPage() {
+        long page = allocateNative(pageSize);
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length << 1);
+        }
+        pages[pageCount++] = page;
+        committedMemory += pageSize;
+        pageCursor = page;
+        pageLimit = page + pageSize;
+    }
+
+    private long allocateLargeBlock(long size) {
+        long address = allocateNative(size);
+        UNSAFE.setMemory(address, size, (byte) 0);
+        largeBlocks.put(address, size);
+        usedMemory += size;
+        committedMemory += size;
+        return address;
+    }
+
+    private void freeLargeBlock(long address, long size) {
+        long removedSize = largeBlocks.remove(address);
+        assert removedSize == size : "Attempted to free " + size + " bytes at " + address
+                + ", but the block has " + removedSize + " bytes";
+        UNSAFE.freeMemory(address);
+        budget.release(size);
+        usedMemory -= size;
+        committedMemory -= size;
+    }
+
+    private long allocateNative(long size) {
+        budget.reserve(size);
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            budget.release(size);
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+        }
+    }
+
+    private static int sizeClassOf(long size) {
+        if (size <= MIN_BLOCK_SIZE) {
+            return 0;
+        }
+        return 64 - Long.numberOfLeadingZeros(size - 1) - MIN_BLOCK_SIZE_SHIFT;
+    }
+
+    private static long blockSizeOf(int sizeClass) {
+        return (long) MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    @Override
+    public String toString() {
+        return "ArenaMemoryAllocator{"
+                + "pageSize=" + pageSize
+                + ", usedMemory=" + usedMemory
+                + ", committedMemory=" + committedMemory
+                + '}';
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * Node-wide upper bound on the native memory obtained by {@link ArenaMemoryAllocator}s.
+ * <p>
+ * Arenas reserve from the budget before they allocate a page or a large block
+ * and give the reservation back when they free it. A reservation that would
+ * exceed the capacity fails with {@link NativeOutOfMemoryError}, which makes the
+ * map operation fall back to forced eviction.
+ * <p>
+ * There is only one budget instance per node, shared by all partition threads.
+ *
+ * @see com.hazelcast.config.NativeMemoryConfig#getCapacity()
+ */
+public final class NativeMemoryBudget {
+
+    /**
+     * Budget which never rejects a reservation.
+     */
+    public static final NativeMemoryBudget UNLIMITED = new NativeMemoryBudget(Long.MAX_VALUE);
+
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+
+    public NativeMemoryBudget(long capacity) {
+        this.capacity = checkPositive("capacity", capacity);
+    }
+
+    /**
+     * Reserves the given number of bytes.
+     *
+     * @param bytes number of bytes to reserve
+     * @throws NativeOutOfMemoryError if the reservation would exceed the capacity
+     */
+    public void reserve(long bytes) {
+        long current;
+        long next;
+        do {
+            current = reserved.get();
+            next = current + bytes;
+            if (next > capacity || next < 0) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory to allocate %s "
+                                + "[capacity=%s, used=%s]. Configure eviction for the NATIVE maps or increase "
+                                + "the capacity in NativeMemoryConfig.", Capacity.toPrettyString(bytes),
+                        Capacity.toPrettyString(capacity), Capacity.toPrettyString(current)));
+            }
+        } while (!reserved.compareAndSet(current, next));
+    }
+
+    /**
+     * Gives back bytes reserved by {@link #reserve(long)}.
+     */
+    public void release(long bytes) {
+        long remaining = reserved.addAndGet(-bytes);
+        assert remaining >= 0 : "Released more native memory than reserved: " + remaining;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getReserved() {
+        return reserved.get();
+    }
+
+    @Override
+    public String toString() {
+        return "NativeMemoryBudget{"
+                + "capacity=" + capacity
+                + ", reserved=" + reserved.get()
+                + '}';
+    }
+}
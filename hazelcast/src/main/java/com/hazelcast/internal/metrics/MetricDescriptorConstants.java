@@ -320,6 +320,12 @@ public final class MetricDescriptorConstants {
     // ===[/NEAR CACHE]=================================================
 
     // ===[NETWORKING]==================================================
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BUFFERS = "pooledBuffers";
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BYTES = "pooledBytes";
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_ACQUIRED = "acquired";
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_ALLOCATED = "allocated";
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_RELEASED = "released";
+    public static final String NETWORKING_METRIC_NIO_BUFFER_POOL_DISCARDED = "discarded";
     public static final String NETWORKING_METRIC_NIO_INBOUND_PIPELINE_BYTES_READ = "bytesRead";
     public static final String NETWORKING_METRIC_NIO_INBOUND_PIPELINE_NORMAL_FRAMES_READ = "normalFramesRead";
     public static final String NETWORKING_METRIC_NIO_INBOUND_PIPELINE_PRIORITY_FRAMES_READ = "priorityFramesRead";
@@ -390,6 +396,8 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT = "drainedBatchCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT = "drainedTaskCount";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
@@ -539,6 +547,7 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
     public static final String TCP_PREFIX_BALANCER = "tcp.balancer";
+    public static final String TCP_PREFIX_BUFFER_POOL = "tcp.bufferPool";
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
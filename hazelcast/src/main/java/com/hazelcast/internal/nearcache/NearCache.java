@@ -58,6 +58,55 @@ public interface NearCache<K, V> extends InitializingObject {
             = new HazelcastProperty(PROP_EXPIRATION_TASK_PERIOD_SECONDS,
             DEFAULT_EXPIRATION_TASK_PERIOD_SECONDS);
 
+    /**
+     * Default minimum serialized size of a value in bytes to compress it
+     * in a compact Near Cache store
+     */
+    int DEFAULT_COMPACT_STORE_COMPRESSION_THRESHOLD = 4096;
+
+    /**
+     * Enables the compact store for Near Caches with BINARY in-memory-format,
+     * which compresses the large values and optionally keeps the values
+     * off-heap.
+     */
+    String PROP_COMPACT_STORE_ENABLED
+            = "hazelcast.internal.nearcache.compact.store.enabled";
+
+    /**
+     * Makes the compact store keep the values in direct memory instead of
+     * on heap.
+     */
+    String PROP_COMPACT_STORE_OFF_HEAP
+            = "hazelcast.internal.nearcache.compact.store.off.heap";
+
+    /**
+     * Minimum serialized size of a value in bytes to compress it in the
+     * compact store, a non-positive value disables the compression.
+     */
+    String PROP_COMPACT_STORE_COMPRESSION_THRESHOLD
+            = "hazelcast.internal.nearcache.compact.store.compression.threshold";
+
+    /**
+     * Maximum number of megabytes the compact store may reserve for the
+     * values before it starts to evict, on top of the max-size of the Near
+     * Cache. A non-positive value disables the limit.
+     */
+    String PROP_COMPACT_STORE_MAX_RESERVED_MB
+            = "hazelcast.internal.nearcache.compact.store.max.reserved.mb";
+
+    HazelcastProperty COMPACT_STORE_ENABLED
+            = new HazelcastProperty(PROP_COMPACT_STORE_ENABLED, false);
+
+    HazelcastProperty COMPACT_STORE_OFF_HEAP
+            = new HazelcastProperty(PROP_COMPACT_STORE_OFF_HEAP, false);
+
+    HazelcastProperty COMPACT_STORE_COMPRESSION_THRESHOLD
+            = new HazelcastProperty(PROP_COMPACT_STORE_COMPRESSION_THRESHOLD,
+            DEFAULT_COMPACT_STORE_COMPRESSION_THRESHOLD);
+
+    HazelcastProperty COMPACT_STORE_MAX_RESERVED_MB
+            = new HazelcastProperty(PROP_COMPACT_STORE_MAX_RESERVED_MB, 0);
+
     /**
      * Indicates how a near cache is updated.
      */
@@ -51,6 +51,18 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
      */
     long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic);
 
+    /**
+     * Decides whether the given key may be cached when caching it requires
+     * the eviction of another entry. Called before the eviction preceding a
+     * reservation.
+     *
+     * @param key the key to be cached
+     * @return {@code true} if the key may be cached, otherwise {@code false}
+     */
+    default boolean admit(K key) {
+        return true;
+    }
+
     /**
      * @see NearCache#tryPublishReserved
      */
@@ -21,6 +21,10 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.record.HeapNearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.record.OffHeapNearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheCompactRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.Data;
@@ -34,8 +38,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.config.NearCacheConfig.DEFAULT_MEMORY_FORMAT;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
 import static com.hazelcast.internal.util.Preconditions.checkInstanceOf;
 import static com.hazelcast.internal.util.Preconditions.checkNotInstanceOf;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
 
 public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
@@ -91,6 +97,11 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         }
         switch (inMemoryFormat) {
             case BINARY:
+                if (properties != null && properties.getBoolean(COMPACT_STORE_ENABLED)) {
+                    long maxReservedBytes = MEGABYTES.toBytes(properties.getLong(COMPACT_STORE_MAX_RESERVED_MB));
+                    return new NearCacheCompactRecordStore<>(name, nearCacheConfig, serializationService, classLoader,
+                            createValueStorage(), maxReservedBytes);
+                }
                 return new NearCacheDataRecordStore<>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<>(name, nearCacheConfig, serializationService, classLoader);
@@ -99,6 +110,13 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         }
     }
 
+    private NearCacheValueStorage createValueStorage() {
+        int compressionThreshold = properties.getInteger(COMPACT_STORE_COMPRESSION_THRESHOLD);
+        return properties.getBoolean(COMPACT_STORE_OFF_HEAP)
+                ? new OffHeapNearCacheValueStorage(compressionThreshold)
+                : new HeapNearCacheValueStorage(compressionThreshold);
+    }
+
     private ScheduledFuture createAndScheduleExpirationTask() {
         if (nearCacheConfig.getMaxIdleSeconds() > 0L
                 || nearCacheConfig.getTimeToLiveSeconds() > 0L) {
@@ -200,6 +218,10 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     @Override
     public long tryReserveForUpdate(K key, Data keyData, UpdateSemantic updateSemantic) {
+        if (!nearCacheRecordStore.admit(key)) {
+            return NOT_RESERVED;
+        }
+
         nearCacheRecordStore.doEviction(false);
 
         return nearCacheRecordStore.tryReserveForUpdate(key, keyData, updateSemantic);
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.nio.IOUtil.compress;
+import static com.hazelcast.internal.nio.IOUtil.decompress;
+
+/**
+ * {@link NearCacheValueStorage} which keeps the values on heap and
+ * compresses the ones whose serialized form is at least {@code
+ * compressionThreshold} bytes long.
+ * <p>
+ * The token of a value is either the value itself or, if the value was
+ * compressed, the compressed byte array.
+ */
+public class HeapNearCacheValueStorage implements NearCacheValueStorage {
+
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final int compressionThreshold;
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    /**
+     * @param compressionThreshold the minimum serialized size of a value to
+     *                             compress it, a non-positive value disables
+     *                             compression
+     */
+    public HeapNearCacheValueStorage(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public Object store(Data value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] compressed = tryCompress(value, compressionThreshold);
+        Object token = compressed != null ? compressed : value;
+        reservedBytes.addAndGet(getFootprint(token));
+        return token;
+    }
+
+    @Override
+    public Data load(Object token) {
+        if (token instanceof byte[] compressed) {
+            return new HeapData(decompress(compressed));
+        }
+        return (Data) token;
+    }
+
+    @Override
+    public void release(Object token) {
+        // the garbage collector takes care of the token itself
+        reservedBytes.addAndGet(-getFootprint(token));
+    }
+
+    @Override
+    public long getFootprint(Object token) {
+        if (token instanceof byte[] compressed) {
+            return ARRAY_HEADER_SIZE_IN_BYTES + compressed.length;
+        }
+        return token == null ? 0 : ((Data) token).getHeapCost();
+    }
+
+    @Override
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    @Override
+    public void dispose() {
+        reservedBytes.set(0);
+    }
+
+    /**
+     * Compresses the serialized form of the given value if it's long enough
+     * and the compression pays off.
+     *
+     * @return the compressed bytes or {@code null} if the value was left
+     * uncompressed
+     */
+    static byte[] tryCompress(Data value, int compressionThreshold) {
+        if (compressionThreshold <= 0 || value.totalSize() < compressionThreshold) {
+            return null;
+        }
+        byte[] bytes = value.toByteArray();
+        byte[] compressed = compress(bytes);
+        return compressed.length < bytes.length ? compressed : null;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Implementation of {@link com.hazelcast.internal.nearcache.NearCacheRecord}
+ * to store {@link Data} type objects in a {@link NearCacheValueStorage}.
+ * <p>
+ * The record only keeps the token of its value. The value is loaded from
+ * the storage on every read and the token is released when the value is
+ * replaced or the record leaves its Near Cache.
+ */
+public class NearCacheCompactRecord extends AbstractNearCacheRecord<Data> {
+
+    private static final AtomicReferenceFieldUpdater<NearCacheCompactRecord, Object> TOKEN =
+            AtomicReferenceFieldUpdater.newUpdater(NearCacheCompactRecord.class, Object.class, "token");
+
+    private final NearCacheValueStorage storage;
+
+    private volatile Object token;
+    private volatile long valueFootprint;
+
+    public NearCacheCompactRecord(NearCacheValueStorage storage, Data value, long creationTime, long expiryTime) {
+        super(null, creationTime, expiryTime);
+        this.storage = storage;
+        this.token = storage.store(value);
+        this.valueFootprint = storage.getFootprint(token);
+    }
+
+    @Override
+    public Data getValue() {
+        return storage.load(token);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        Object newToken = storage.store(value);
+        valueFootprint = storage.getFootprint(newToken);
+        storage.release(TOKEN.getAndSet(this, newToken));
+    }
+
+    /**
+     * @return the number of bytes the value of this record occupies in its
+     * storage, a released record reports the footprint it had before the
+     * release so that it can be subtracted from the owned memory cost
+     */
+    public long getValueFootprint() {
+        return valueFootprint;
+    }
+
+    /**
+     * Releases the value of this record, called when the record leaves its
+     * Near Cache.
+     */
+    public void release() {
+        storage.release(TOKEN.getAndSet(this, null));
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheCompactRecord{" + super.toString() + ", token=" + token + '}';
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+/**
+ * Keeps the values of {@link NearCacheCompactRecord}s outside the records.
+ * <p>
+ * A stored value is represented by an opaque token which is kept by the
+ * record and used to load the value back. Tokens are released exactly once,
+ * when their record drops the value.
+ */
+public interface NearCacheValueStorage {
+
+    /**
+     * Stores the given value.
+     *
+     * @param value the value to store, can be {@code null}
+     * @return the token of the stored value, {@code null} for a {@code null} value
+     */
+    Object store(Data value);
+
+    /**
+     * Loads the value represented by the given token.
+     *
+     * @param token the token returned by {@link #store}, can be {@code null}
+     * @return the loaded value or {@code null} if the token is {@code null}
+     * or was concurrently released
+     */
+    Data load(Object token);
+
+    /**
+     * Releases the resources held by the given token.
+     *
+     * @param token the token to release, can be {@code null}
+     */
+    void release(Object token);
+
+    /**
+     * @param token the token of a stored value
+     * @return the number of bytes the value occupies in this storage
+     */
+    long getFootprint(Object token);
+
+    /**
+     * @return the number of bytes this storage holds for the stored values,
+     * including the space it keeps reserved for the values to come
+     */
+    long getReservedBytes();
+
+    /**
+     * Releases all the resources held by this storage. Tokens issued before
+     * can't be loaded anymore.
+     */
+    void dispose();
+
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.internal.nearcache.impl.record.HeapNearCacheValueStorage.tryCompress;
+import static com.hazelcast.internal.nio.IOUtil.decompress;
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.internal.util.QuickMath.log2;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * {@link NearCacheValueStorage} which keeps the serialized values outside of
+ * the Java heap, in an arena of direct byte buffers, so that large Near
+ * Caches don't add to the garbage collection work. Values whose serialized
+ * form is at least {@code compressionThreshold} bytes long are compressed.
+ * <p>
+ * The arena is a slab allocator: every slab is cut into chunks of a single
+ * power-of-two size and a value takes the smallest chunk it fits into. A
+ * released chunk goes to the free list of its slab and is reused by the next
+ * value of its size, so a long-living value pins only its own chunk. A slab
+ * whose chunks are all free is pooled or freed. Values larger than a slab
+ * get a dedicated buffer.
+ * <p>
+ * Chunks are handed out and released under a lock, the values are copied
+ * outside of it. Loads are lock-free: a token remembers the generation of its
+ * chunk, which is bumped on every release, and a load which observes a
+ * generation change returns {@code null} instead of the bytes of a reused
+ * chunk.
+ */
+public class OffHeapNearCacheValueStorage implements NearCacheValueStorage {
+
+    /**
+     * Default size of a slab in bytes.
+     */
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    static final int MIN_CHUNK_SIZE = 128;
+
+    private static final int MAX_POOLED_SLABS = 4;
+    private static final int SLOT_COST_IN_BYTES = 32;
+
+    private final int slabSize;
+    private final int compressionThreshold;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SizeClass[] sizeClasses;
+    private final Set<Slab> slabs = new HashSet<>();
+    private final ArrayDeque<ByteBuffer> pooledBuffers = new ArrayDeque<>();
+
+    private volatile long reservedBytes;
+
+    /**
+     * @param compressionThreshold the minimum serialized size of a value to
+     *                             compress it, a non-positive value disables
+     *                             compression
+     */
+    public OffHeapNearCacheValueStorage(int compressionThreshold) {
+        this(DEFAULT_SLAB_SIZE, compressionThreshold);
+    }
+
+    OffHeapNearCacheValueStorage(int slabSize, int compressionThreshold) {
+        checkTrue(isPowerOfTwo(slabSize) && slabSize >= MIN_CHUNK_SIZE,
+                "slabSize must be a power of two not smaller than " + MIN_CHUNK_SIZE);
+        this.slabSize = slabSize;
+        this.compressionThreshold = compressionThreshold;
+        this.sizeClasses = new SizeClass[log2(slabSize) - log2(MIN_CHUNK_SIZE) + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    @Override
+    public Object store(Data value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] compressed = tryCompress(value, compressionThreshold);
+        byte[] bytes = compressed != null ? compressed : value.toByteArray();
+
+        Slab slab;
+        int chunk;
+        int generation;
+        lock.lock();
+        try {
+            slab = slabFor(bytes.length);
+            chunk = slab.allocate();
+            generation = slab.generations.get(chunk);
+        } finally {
+            lock.unlock();
+        }
+        // the chunk is not reachable by any other token until it's released
+        slab.buffer.put(slab.offset(chunk), bytes);
+        return new Slot(slab, chunk, generation, bytes.length, compressed != null);
+    }
+
+    @Override
+    public Data load(Object token) {
+        if (token == null) {
+            return null;
+        }
+        Slot slot = (Slot) token;
+        byte[] bytes = slot.slab.read(slot.chunk, slot.generation, slot.length);
+        if (bytes == null) {
+            return null;
+        }
+        return new HeapData(slot.compressed ? decompress(bytes) : bytes);
+    }
+
+    @Override
+    public void release(Object token) {
+        if (token == null) {
+            return;
+        }
+        Slot slot = (Slot) token;
+        Slab slab = slot.slab;
+        lock.lock();
+        try {
+            if (slab.retired || slab.generations.get(slot.chunk) != slot.generation) {
+                // the storage was disposed
+                return;
+            }
+            boolean wasFull = slab.isFull();
+            slab.free(slot.chunk);
+            SizeClass sizeClass = slab.sizeClass;
+            if (slab.live == 0) {
+                if (sizeClass != null && !wasFull) {
+                    sizeClass.slabsWithFreeChunks.remove(slab);
+                }
+                retire(slab);
+            } else if (wasFull) {
+                sizeClass.slabsWithFreeChunks.add(slab);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The footprint is the size of the whole chunk the value occupies.
+     */
+    @Override
+    public long getFootprint(Object token) {
+        return token == null ? 0 : SLOT_COST_IN_BYTES + ((Slot) token).slab.chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The reserved bytes are the capacities of all the slabs, including the
+     * free chunks and the pooled slabs.
+     */
+    @Override
+    public long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    @Override
+    public void dispose() {
+        lock.lock();
+        try {
+            for (Slab slab : slabs) {
+                slab.retired = true;
+            }
+            slabs.clear();
+            for (SizeClass sizeClass : sizeClasses) {
+                sizeClass.slabsWithFreeChunks.clear();
+            }
+            pooledBuffers.clear();
+            reservedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Slab slabFor(int length) {
+        if (length > slabSize) {
+            return newSlab(allocateBuffer(length), length, null);
+        }
+        SizeClass sizeClass = sizeClasses[log2(Math.max(nextPowerOfTwo(length), MIN_CHUNK_SIZE)) - log2(MIN_CHUNK_SIZE)];
+        Slab slab = sizeClass.slabsWithFreeChunks.peek();
+        if (slab == null) {
+            ByteBuffer buffer = pooledBuffers.poll();
+            slab = newSlab(buffer != null ? buffer : allocateBuffer(slabSize), sizeClass.chunkSize, sizeClass);
+            sizeClass.slabsWithFreeChunks.add(slab);
+        }
+        if (slab.live == slab.chunkCount() - 1) {
+            // the chunk allocated next is the last free one
+            sizeClass.slabsWithFreeChunks.poll();
+        }
+        return slab;
+    }
+
+    private ByteBuffer allocateBuffer(int capacity) {
+        reservedBytes += capacity;
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private Slab newSlab(ByteBuffer buffer, int chunkSize, SizeClass sizeClass) {
+        Slab slab = new Slab(buffer, chunkSize, sizeClass);
+        slabs.add(slab);
+        return slab;
+    }
+
+    private void retire(Slab slab) {
+        // a pooled buffer is wrapped in a new slab, the tokens of this one
+        // stay stale forever
+        slab.retired = true;
+        slabs.remove(slab);
+        if (slab.sizeClass != null && pooledBuffers.size() < MAX_POOLED_SLABS) {
+            pooledBuffers.add(slab.buffer);
+        } else {
+            // the direct buffer is freed once it becomes unreachable
+            reservedBytes -= slab.buffer.capacity();
+        }
+    }
+
+    /**
+     * The slabs of a single chunk size.
+     */
+    private static final class SizeClass {
+
+        final int chunkSize;
+        final ArrayDeque<Slab> slabsWithFreeChunks = new ArrayDeque<>();
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * A direct buffer cut into chunks of the same size. The free chunks form
+     * a list linked through their first bytes. Everything but the retired
+     * flag and the generations is guarded by the storage lock.
+     */
+    private static final class Slab {
+
+        private static final int NO_CHUNK = -1;
+
+        final ByteBuffer buffer;
+        final int chunkSize;
+        /**
+         * The size class of the slab, {@code null} for a dedicated buffer of
+         * a value larger than a slab.
+         */
+        final SizeClass sizeClass;
+        final AtomicIntegerArray generations;
+
+        volatile boolean retired;
+        int live;
+        int freeChunk = NO_CHUNK;
+        int unusedChunk;
+
+        Slab(ByteBuffer buffer, int chunkSize, SizeClass sizeClass) {
+            this.buffer = buffer;
+            this.chunkSize = chunkSize;
+            this.sizeClass = sizeClass;
+            this.generations = new AtomicIntegerArray(buffer.capacity() / chunkSize);
+        }
+
+        int chunkCount() {
+            return generations.length();
+        }
+
+        int offset(int chunk) {
+            return chunk * chunkSize;
+        }
+
+        boolean isFull() {
+            return live == chunkCount();
+        }
+
+        int allocate() {
+            int chunk;
+            if (freeChunk != NO_CHUNK) {
+                chunk = freeChunk;
+                freeChunk = buffer.getInt(offset(chunk));
+            } else {
+                chunk = unusedChunk++;
+            }
+            live++;
+            return chunk;
+        }
+
+        void free(int chunk) {
+            generations.incrementAndGet(chunk);
+            // the new generation must be visible before the chunk is overwritten
+            VarHandle.releaseFence();
+            buffer.putInt(offset(chunk), freeChunk);
+            freeChunk = chunk;
+            live--;
+        }
+
+        byte[] read(int chunk, int expectedGeneration, int length) {
+            if (retired || generations.get(chunk) != expectedGeneration) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(offset(chunk), bytes);
+            // the bytes must be read before the generation is checked again
+            VarHandle.acquireFence();
+            return !retired && generations.get(chunk) == expectedGeneration ? bytes : null;
+        }
+    }
+
+    /**
+     * The token of a value stored in a chunk of a slab.
+     */
+    private record Slot(Slab slab, int chunk, int generation, int length, boolean compressed) {
+    }
+
+}
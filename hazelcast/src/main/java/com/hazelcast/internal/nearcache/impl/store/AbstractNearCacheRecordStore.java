@@ -20,8 +20,10 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
@@ -39,6 +41,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator;
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy.SAMPLE_COUNT;
 import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
 import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
 import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.WRITE_UPDATE;
@@ -79,6 +82,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected SamplingEvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
+    protected TinyLfuEvictionPolicyComparator frequencyTracker;
 
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -110,6 +114,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            if (evictionPolicyEvaluator.getEvictionPolicyComparator() instanceof TinyLfuEvictionPolicyComparator comparator) {
+                comparator.ensureCapacity(evictionConfig.getSize());
+                this.frequencyTracker = comparator;
+            }
         }
     }
 
@@ -231,6 +239,9 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         R record = null;
         V value = null;
         try {
+            if (frequencyTracker != null) {
+                frequencyTracker.recordAccess(key);
+            }
             record = getRecord(key);
 
             if (record == null) {
@@ -361,6 +372,20 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return reservationId;
     }
 
+    @Override
+    public boolean admit(K key) {
+        checkAvailable();
+
+        if (frequencyTracker == null
+                || !evictionChecker.isEvictionRequired()
+                || containsRecordKey(key)) {
+            return true;
+        }
+        // the victim is sampled anew by the eviction which follows the admission
+        EvictionCandidate<KS, R> victim = evictionPolicyEvaluator.evaluate(records.sample(SAMPLE_COUNT));
+        return victim == null || frequencyTracker.admit(key, victim.getAccessor());
+    }
+
     protected R publishReservedRecord(K key, V value, R reservedRecord, long reservationId) {
         if (reservedRecord.getReservationId() != reservationId) {
             return reservedRecord;
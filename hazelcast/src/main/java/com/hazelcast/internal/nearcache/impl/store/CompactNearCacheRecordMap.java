@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.nearcache.impl.record.NearCacheCompactRecord;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.function.BiFunction;
+
+/**
+ * {@link HeapNearCacheRecordMap} of {@link NearCacheCompactRecord}s which
+ * releases the value of every record leaving the map.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ */
+@SerializableByConvention
+class CompactNearCacheRecordMap<K> extends HeapNearCacheRecordMap<K, NearCacheCompactRecord> {
+
+    CompactNearCacheRecordMap(SerializationService serializationService, int initialCapacity) {
+        super(serializationService, initialCapacity);
+    }
+
+    @Override
+    public NearCacheCompactRecord put(K key, NearCacheCompactRecord value) {
+        NearCacheCompactRecord oldRecord = super.put(key, value);
+        if (oldRecord != null && oldRecord != value) {
+            oldRecord.release();
+        }
+        return oldRecord;
+    }
+
+    @Override
+    public NearCacheCompactRecord remove(Object key) {
+        NearCacheCompactRecord removedRecord = super.remove(key);
+        if (removedRecord != null) {
+            removedRecord.release();
+        }
+        return removedRecord;
+    }
+
+    @Override
+    public NearCacheCompactRecord applyIfPresent(K key,
+                                                 BiFunction<? super K, ? super NearCacheCompactRecord,
+                                                         ? extends NearCacheCompactRecord> remappingFunction) {
+        return super.applyIfPresent(key, releasing(remappingFunction));
+    }
+
+    @Override
+    public NearCacheCompactRecord apply(K key,
+                                        BiFunction<? super K, ? super NearCacheCompactRecord,
+                                                ? extends NearCacheCompactRecord> remappingFunction) {
+        return super.apply(key, releasing(remappingFunction));
+    }
+
+    @Override
+    public void clear() {
+        // removing the records one by one releases each of them
+        for (K key : keySet()) {
+            remove(key);
+        }
+    }
+
+    private BiFunction<K, NearCacheCompactRecord, NearCacheCompactRecord> releasing(
+            BiFunction<? super K, ? super NearCacheCompactRecord, ? extends NearCacheCompactRecord> remappingFunction) {
+        return (key, existingRecord) -> {
+            NearCacheCompactRecord newRecord = remappingFunction.apply(key, existingRecord);
+            if (existingRecord != null && existingRecord != newRecord) {
+                existingRecord.release();
+            }
+            return newRecord;
+        };
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheCompactRecord;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheValueStorage;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_INTEGER_FIELD_TYPES;
+import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_LONG_FIELD_TYPES;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory-format which keeps the
+ * values in a {@link NearCacheValueStorage}, e.g. compressed or off-heap.
+ * <p>
+ * The records themselves stay on heap, so the sampling eviction and the
+ * invalidation metadata work the same way as in {@link NearCacheDataRecordStore}.
+ * On top of the max-size of the Near Cache, records are evicted while the
+ * value storage reserves more than {@code maxReservedBytes}.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NearCacheCompactRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheCompactRecord> {
+
+    private final NearCacheValueStorage valueStorage;
+    private final long maxReservedBytes;
+
+    /**
+     * @param maxReservedBytes the maximum number of bytes the value storage
+     *                         may reserve before records are evicted, a
+     *                         non-positive value disables the limit
+     */
+    public NearCacheCompactRecordStore(String name,
+                                       NearCacheConfig nearCacheConfig,
+                                       SerializationService serializationService,
+                                       ClassLoader classLoader,
+                                       NearCacheValueStorage valueStorage,
+                                       long maxReservedBytes) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.valueStorage = valueStorage;
+        this.maxReservedBytes = maxReservedBytes;
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        EvictionChecker entryCountChecker = super.createNearCacheEvictionChecker(evictionConfig, nearCacheConfig);
+        if (maxReservedBytes <= 0) {
+            return entryCountChecker;
+        }
+        return () -> entryCountChecker.isEvictionRequired() || valueStorage.getReservedBytes() >= maxReservedBytes;
+    }
+
+    @Override
+    protected HeapNearCacheRecordMap<K, NearCacheCompactRecord> createNearCacheRecordMap(NearCacheConfig nearCacheConfig) {
+        return new CompactNearCacheRecordMap<>(serializationService, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        if (key instanceof Data data) {
+            return
+                    // reference to this key data inside map ("store" field)
+                    REFERENCE_COST_IN_BYTES
+                            // heap cost of this key data
+                            + data.getHeapCost();
+        } else {
+            // memory cost for non-data typed instance is not supported
+            return 0L;
+        }
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheCompactRecord record) {
+        if (record == null) {
+            return 0L;
+        }
+        // reference to this record inside map ("store" field)
+        return REFERENCE_COST_IN_BYTES
+                // reference to unused "value" field
+                + REFERENCE_COST_IN_BYTES
+                // references to "storage" and "token" fields
+                + (2 * REFERENCE_COST_IN_BYTES)
+                // partition Id
+                + (Integer.SIZE / Byte.SIZE)
+                // "uuid" ref size + 2 long in uuid
+                + REFERENCE_COST_IN_BYTES + (2 * (Long.SIZE / Byte.SIZE))
+                // value in the storage
+                + record.getValueFootprint()
+                // "valueFootprint" field
+                + (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_LONG_FIELD_TYPES * (Long.SIZE / Byte.SIZE)
+                + NUMBER_OF_INTEGER_FIELD_TYPES * (Integer.SIZE / Byte.SIZE)
+                + NUMBER_OF_BOOLEAN_FIELD_TYPES;
+    }
+
+    @Override
+    protected NearCacheCompactRecord createRecord(V value) {
+        Data dataValue = toData(value);
+        long creationTime = currentTimeMillis();
+        if (timeToLiveMillis > 0) {
+            return new NearCacheCompactRecord(valueStorage, dataValue, creationTime, creationTime + timeToLiveMillis);
+        } else {
+            return new NearCacheCompactRecord(valueStorage, dataValue, creationTime, TIME_NOT_SET);
+        }
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheCompactRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected V recordToValue(NearCacheCompactRecord record) {
+        if (record.isCachedAsNull()) {
+            return (V) CACHED_AS_NULL;
+        }
+        // the value is null if the record was released after it was read
+        // from the map, the caller sees it as a miss
+        Data value = record.getValue();
+        return value == null ? null : toValue(value);
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        valueStorage.dispose();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * A sequence of {@link ByteBuffer}s, in reading mode, that is written to a
+ * channel with a single gathering write.
+ * <p>
+ * It allows an {@link OutboundHandler} to pass the buffers it already has,
+ * e.g. the byte arrays of the frames, to the channel instead of copying them
+ * into a single buffer first.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class GatheringBuffers {
+
+    private final ByteBuffer[] buffers;
+    private int head;
+    private int tail;
+
+    public GatheringBuffers(int capacity) {
+        this.buffers = new ByteBuffer[capacity];
+    }
+
+    /**
+     * Adds the buffer at the end of the sequence. Empty buffers are ignored.
+     *
+     * @param buffer the buffer, in reading mode. It must not be modified until written.
+     * @throws IllegalStateException if there is no room for the buffer.
+     */
+    public void add(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        if (tail == buffers.length) {
+            throw new IllegalStateException("No room for a buffer in " + this);
+        }
+        buffers[tail++] = buffer;
+    }
+
+    /**
+     * Returns the number of buffers that can still be added.
+     */
+    public int remainingCapacity() {
+        return buffers.length - tail;
+    }
+
+    /**
+     * Checks if there are bytes that have not been written yet.
+     */
+    public boolean hasRemaining() {
+        return head < tail;
+    }
+
+    /**
+     * Writes as many of the remaining bytes as the channel accepts.
+     *
+     * @return the number of bytes written.
+     * @throws IOException if the write fails.
+     */
+    public long writeTo(GatheringByteChannel channel) throws IOException {
+        if (head == tail) {
+            return 0;
+        }
+
+        long written = channel.write(buffers, head, tail - head);
+        while (head < tail && !buffers[head].hasRemaining()) {
+            buffers[head++] = null;
+        }
+        if (head == tail) {
+            head = 0;
+            tail = 0;
+        }
+        return written;
+    }
+
+    @Override
+    public String toString() {
+        return "GatheringBuffers{buffers=" + (tail - head) + ", capacity=" + buffers.length + '}';
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+/**
+ * An {@link OutboundHandler} that can hand over its output as
+ * {@link GatheringBuffers} instead of copying it into its dst
+ * {@link java.nio.ByteBuffer}.
+ * <p>
+ * Only the last handler of a pipeline can do so, since the handlers after it
+ * expect their input in the dst buffer. The pipeline tells the handler whether
+ * it is the last one with {@link #setGathering(boolean)} every time the
+ * handlers change.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables the gathering of the output, if the handler
+     * supports it.
+     *
+     * @param enabled {@code true} if the handler is the last one of the pipeline.
+     * @throws IllegalStateException if the mode can't be changed because
+     *                               output is pending.
+     */
+    void setGathering(boolean enabled);
+
+    /**
+     * Returns the buffers to write to the channel, or {@code null} if the
+     * output is not gathered and is in the dst buffer of the handler.
+     */
+    GatheringBuffers gatheringDst();
+}
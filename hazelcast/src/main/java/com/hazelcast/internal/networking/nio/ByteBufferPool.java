@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_ACQUIRED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_ALLOCATED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_DISCARDED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BUFFERS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_BUFFER_POOL_RELEASED;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A pool of the send and receive buffers of the channels.
+ * <p>
+ * The pipelines borrow the buffer facing the socket only while there is data
+ * in flight, and release it as soon as it is drained, so that idle channels
+ * don't hold on to their buffers. Buffers are pooled by their capacity, which
+ * is determined by the socket buffer sizes of the channels, and by whether
+ * they are direct. Buffers released when the pool already holds
+ * {@code maxPooledBytes} are left to the garbage collector.
+ * <p>
+ * This class is thread-safe; a buffer can be released by a different thread
+ * than the one that acquired it.
+ */
+final class ByteBufferPool {
+
+    private final long maxPooledBytes;
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> heapBuffers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> directBuffers = new ConcurrentHashMap<>();
+
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BUFFERS, level = INFO)
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_POOLED_BYTES, unit = BYTES, level = INFO)
+    private final AtomicLong pooledBytes = new AtomicLong();
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_ACQUIRED)
+    private final MwCounter acquired = newMwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_ALLOCATED)
+    private final MwCounter allocated = newMwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_RELEASED)
+    private final MwCounter released = newMwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_BUFFER_POOL_DISCARDED)
+    private final MwCounter discarded = newMwCounter();
+
+    ByteBufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Acquires a cleared buffer.
+     *
+     * @param capacity the capacity of the buffer.
+     * @param direct   {@code true} for a direct buffer.
+     * @return the buffer, in writing mode.
+     */
+    ByteBuffer acquire(int capacity, boolean direct) {
+        acquired.inc();
+        Queue<ByteBuffer> queue = (direct ? directBuffers : heapBuffers).get(capacity);
+        ByteBuffer buffer = queue == null ? null : queue.poll();
+        if (buffer == null) {
+            allocated.inc();
+            return newByteBuffer(capacity, direct);
+        }
+
+        pooledBuffers.decrementAndGet();
+        pooledBytes.addAndGet(-capacity);
+        return buffer;
+    }
+
+    /**
+     * Releases the buffer to the pool. The buffer must not be used by the
+     * caller afterwards.
+     */
+    void release(ByteBuffer buffer) {
+        released.inc();
+        int capacity = buffer.capacity();
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+            pooledBytes.addAndGet(-capacity);
+            discarded.inc();
+            return;
+        }
+
+        buffer.clear();
+        (buffer.isDirect() ? directBuffers : heapBuffers)
+                .computeIfAbsent(capacity, c -> new ConcurrentLinkedQueue<>())
+                .offer(buffer);
+        pooledBuffers.incrementAndGet();
+    }
+
+    int pooledBuffers() {
+        return pooledBuffers.get();
+    }
+
+    long pooledBytes() {
+        return pooledBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferPool{pooledBuffers=" + pooledBuffers + ", pooledBytes=" + pooledBytes
+                + ", maxPooledBytes=" + maxPooledBytes + '}';
+    }
+}
@@ -57,6 +57,13 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
     private InboundHandler[] handlers = new InboundHandler[0];
     private ByteBuffer receiveBuffer;
 
+    // if not null, the receive buffer is released to this pool when it is drained
+    private final ByteBufferPool bufferPool;
+    // the handler whose src buffer got released to the pool, and the properties of that buffer
+    private InboundHandler bufferlessHandler;
+    private int releasedBufferCapacity;
+    private boolean releasedBufferDirect;
+
     @Probe(name = NETWORKING_METRIC_NIO_INBOUND_PIPELINE_BYTES_READ, unit = BYTES, level = DEBUG)
     private final SwCounter bytesRead = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_INBOUND_PIPELINE_NORMAL_FRAMES_READ, level = DEBUG)
@@ -74,8 +81,10 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
                        NioThread owner,
                        ChannelErrorHandler errorHandler,
                        ILogger logger,
-                       IOBalancer balancer) {
+                       IOBalancer balancer,
+                       ByteBufferPool bufferPool) {
         super(channel, owner, errorHandler, OP_READ, logger, balancer);
+        this.bufferPool = bufferPool;
     }
 
     public long normalFramesRead() {
@@ -111,6 +120,10 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
 
     @Override
     void process() throws Exception {
+        if (bufferlessHandler != null) {
+            restoreReceiveBuffer();
+        }
+
         int readBytes = socketChannel.read(receiveBuffer);
 
         if (readBytes == -1) {
@@ -158,6 +171,10 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
             }
         } while (!cleanPipeline);
 
+        if (bufferPool != null && receiveBuffer != null && receiveBuffer.position() == 0) {
+            releaseReceiveBuffer();
+        }
+
         if (migrationRequested()) {
             startMigration();
             return;
@@ -168,6 +185,43 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         }
     }
 
+    /**
+     * Releases the drained receive buffer to the pool, so that an idle
+     * channel doesn't hold on to it. The buffer is restored before the next
+     * read.
+     */
+    private void releaseReceiveBuffer() {
+        InboundHandler[] localHandlers = handlers;
+        if (localHandlers.length == 0) {
+            return;
+        }
+
+        InboundHandler handler = localHandlers[0];
+        if (handler.src() != receiveBuffer) {
+            return;
+        }
+
+        ByteBuffer buffer = receiveBuffer;
+        releasedBufferCapacity = buffer.capacity();
+        releasedBufferDirect = buffer.isDirect();
+        bufferlessHandler = handler;
+        handler.src(null);
+        receiveBuffer = null;
+        bufferPool.release(buffer);
+    }
+
+    private void restoreReceiveBuffer() {
+        ByteBuffer buffer = bufferPool.acquire(releasedBufferCapacity, releasedBufferDirect);
+        bufferlessHandler.src(buffer);
+        bufferlessHandler = null;
+        receiveBuffer = buffer;
+    }
+
+    // for testing
+    boolean isReceiveBufferReleased() {
+        return bufferlessHandler != null;
+    }
+
     long bytesRead() {
         return bytesRead.get();
     }
@@ -244,6 +298,10 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
     }
 
     private void updatePipeline(InboundHandler[] handlers) {
+        if (bufferlessHandler != null) {
+            // the handlers could expect the buffer of the replaced handler
+            restoreReceiveBuffer();
+        }
         this.handlers = handlers;
         receiveBuffer = handlers.length == 0 ? null : (ByteBuffer) handlers[0].src();
 
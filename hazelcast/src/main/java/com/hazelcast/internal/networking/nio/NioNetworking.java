@@ -55,6 +55,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCR
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCRIMINATOR_THREAD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_BALANCER;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_BUFFER_POOL;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_IN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_OUT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_INPUTTHREAD;
@@ -121,6 +122,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final ByteBufferPool bufferPool;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -153,6 +155,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
         this.concurrencyDetection = ctx.concurrencyDetection;
+        this.bufferPool = ctx.bufferPoolMaxBytes > 0 ? new ByteBufferPool(ctx.bufferPoolMaxBytes) : null;
         // selector mode SELECT_WITH_FIX requires that a single thread
         // accesses a selector & its selectionKeys. Selection key wake-up
         // and write through break this requirement, therefore must be
@@ -334,7 +337,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                bufferPool);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -349,7 +353,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 threads[index],
                 errorHandler,
                 loggingService.getLogger(NioInboundPipeline.class),
-                ioBalancer);
+                ioBalancer,
+                bufferPool);
     }
 
     @Override
@@ -401,6 +406,13 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             context.collect(descriptorBalancer, ioBalancer);
         }
 
+        if (bufferPool != null) {
+            MetricDescriptor descriptorBufferPool = descriptor
+                    .copy()
+                    .withPrefix(TCP_PREFIX_BUFFER_POOL);
+            context.collect(descriptorBufferPool, bufferPool);
+        }
+
         MetricDescriptor descriptorTcp = descriptor
                 .copy()
                 .withPrefix(TCP_PREFIX);
@@ -416,6 +428,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         return selectionKeyWakeupEnabled;
     }
 
+    ByteBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     private class ChannelCloseListenerImpl implements ChannelCloseListener {
         @Override
         public void onClose(Channel channel) {
@@ -504,6 +520,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // the maximum number of bytes of the send and receive buffers pooled while the channels are idle;
+        // 0 disables the pooling, so every channel holds on to its buffers
+        private long bufferPoolMaxBytes;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -521,6 +541,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context bufferPoolMaxBytes(long bufferPoolMaxBytes) {
+            this.bufferPoolMaxBytes = bufferPoolMaxBytes;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
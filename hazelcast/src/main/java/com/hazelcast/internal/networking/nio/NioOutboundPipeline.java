@@ -19,6 +19,8 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringBuffers;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -116,6 +118,14 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // if not null, the last handler gathers its output in these buffers instead of the sendBuffer
+    private GatheringBuffers gatheringSendBuffers;
+    // if not null, the send buffer is released to this pool when it is drained
+    private final ByteBufferPool bufferPool;
+    // the handler whose dst buffer got released to the pool, and the properties of that buffer
+    private OutboundHandler bufferlessHandler;
+    private int releasedBufferCapacity;
+    private boolean releasedBufferDirect;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -142,11 +152,13 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        ByteBufferPool bufferPool) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -305,6 +317,10 @@ public final class NioOutboundPipeline
     public void process() throws Exception {
         processCount.inc();
 
+        if (bufferlessHandler != null) {
+            restoreSendBuffer();
+        }
+
         OutboundHandler[] localHandlers = handlers;
         HandlerStatus pipelineStatus = CLEAN;
         for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
@@ -331,12 +347,16 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (gatheringSendBuffers != null ? gatheringSendBuffers.hasRemaining() : sendBuffer.remaining() > 0) {
             pipelineStatus = DIRTY;
         }
 
         switch (pipelineStatus) {
             case CLEAN:
+                if (bufferPool != null) {
+                    // the pipeline must still be owned by this thread
+                    releaseSendBuffer();
+                }
                 postProcessClean();
                 break;
             case DIRTY:
@@ -437,11 +457,54 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        long written = gatheringSendBuffers != null
+                ? gatheringSendBuffers.writeTo(socketChannel)
+                : socketChannel.write(sendBuffer);
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    /**
+     * Releases the drained send buffer to the pool, so that an idle channel
+     * doesn't hold on to it. The buffer is restored before the next write.
+     */
+    private void releaseSendBuffer() {
+        OutboundHandler[] localHandlers = handlers;
+        if (localHandlers.length == 0) {
+            return;
+        }
+
+        OutboundHandler handler = localHandlers[localHandlers.length - 1];
+        if (handler.dst() != sendBuffer) {
+            return;
+        }
+
+        ByteBuffer buffer = sendBuffer;
+        releasedBufferCapacity = buffer.capacity();
+        releasedBufferDirect = buffer.isDirect();
+        bufferlessHandler = handler;
+        handler.dst(null);
+        sendBuffer = null;
+        bufferPool.release(buffer);
+    }
+
+    private void restoreSendBuffer() {
+        ByteBuffer buffer = bufferPool.acquire(releasedBufferCapacity, releasedBufferDirect);
+        if (gatheringSendBuffers == null) {
+            // the dst buffers are in reading mode, except for the gathering
+            // handlers which keep them in writing mode and write their slices
+            buffer.flip();
+        }
+        bufferlessHandler.dst(buffer);
+        bufferlessHandler = null;
+        sendBuffer = buffer;
+    }
+
+    // for testing
+    boolean isSendBufferReleased() {
+        return bufferlessHandler != null;
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -512,8 +575,22 @@ public final class NioOutboundPipeline
     }
 
     private void updatePipeline(OutboundHandler[] newHandlers) {
+        if (bufferlessHandler != null) {
+            // the handlers could expect the buffer of the replaced handler
+            restoreSendBuffer();
+        }
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.gatheringSendBuffers = null;
+        for (int k = 0; k < newHandlers.length; k++) {
+            if (newHandlers[k] instanceof GatheringOutboundHandler gatheringHandler) {
+                boolean last = k == newHandlers.length - 1;
+                gatheringHandler.setGathering(last);
+                if (last) {
+                    gatheringSendBuffers = gatheringHandler.gatheringDst();
+                }
+            }
+        }
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.internal.services.ServiceNamespace;
+
+import javax.annotation.Nullable;
+
+/**
+ * Contract for {@link FragmentedMigrationAwareService} implementations
+ * which maintain a Merkle tree for each of their replica fragments.
+ * <p>
+ * When a backup replica requests a sync, the leaves of its Merkle trees
+ * are sent along with the {@code PartitionReplicaSyncRequest}. The
+ * partition owner passes them to the service through
+ * {@link PartitionReplicationEvent#getReplicaMerkleTreeLeaves()}, so the
+ * service can replicate only the data behind the leaves that differ
+ * instead of the whole fragment.
+ *
+ * @see com.hazelcast.wan.impl.merkletree.MerkleTree
+ */
+public interface DifferentialReplicationAwareService
+        extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns the hashes of the leaves of the Merkle tree maintained for
+     * the given replica fragment of this member, ordered from the leftmost
+     * leaf. Called on the partition thread.
+     *
+     * @param partitionId the partition ID
+     * @param namespace   the namespace of the replica fragment
+     * @return the leaf hashes, or {@code null} if the fragment has no Merkle
+     * tree or it is not worth syncing differentially, e.g. it is empty
+     */
+    @Nullable
+    int[] getMerkleTreeLeaves(int partitionId, ServiceNamespace namespace);
+}
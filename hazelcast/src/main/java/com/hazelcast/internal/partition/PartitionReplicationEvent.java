@@ -32,6 +32,9 @@ public class PartitionReplicationEvent {
     @Nullable
     private final Address target;
 
+    @Nullable
+    private final int[] replicaMerkleTreeLeaves;
+
     /**
      * Creates a PartitionReplicationEvent
      *
@@ -39,9 +42,24 @@ public class PartitionReplicationEvent {
      * @param replicaIndex the replica index
      */
     public PartitionReplicationEvent(Address target, int partitionId, int replicaIndex) {
+        this(target, partitionId, replicaIndex, null);
+    }
+
+    /**
+     * Creates a PartitionReplicationEvent for a replica which sent the
+     * leaves of its Merkle tree of the replicated fragment
+     *
+     * @param partitionId             the partition ID
+     * @param replicaIndex            the replica index
+     * @param replicaMerkleTreeLeaves the Merkle tree leaves of the replica
+     * @see DifferentialReplicationAwareService
+     */
+    public PartitionReplicationEvent(Address target, int partitionId, int replicaIndex,
+                                     @Nullable int[] replicaMerkleTreeLeaves) {
         this.target = target;
         this.partitionId = partitionId;
         this.replicaIndex = replicaIndex;
+        this.replicaMerkleTreeLeaves = replicaMerkleTreeLeaves;
     }
 
     /**
@@ -66,6 +84,19 @@ public class PartitionReplicationEvent {
         return target;
     }
 
+    /**
+     * Gets the leaves of the Merkle tree the target replica maintains for
+     * the replicated fragment.
+     *
+     * @return the leaf hashes or {@code null} if the replica has to be
+     * fully replicated
+     * @see DifferentialReplicationAwareService#getMerkleTreeLeaves(int, com.hazelcast.internal.services.ServiceNamespace)
+     */
+    @Nullable
+    public int[] getReplicaMerkleTreeLeaves() {
+        return replicaMerkleTreeLeaves;
+    }
+
     @Override
     public String toString() {
         return "PartitionReplicationEvent{partitionId=" + partitionId + ", replicaIndex=" + replicaIndex + '}';
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.partition;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.internal.services.ServiceNamespace;
@@ -48,6 +49,7 @@ public class ReplicaFragmentMigrationState
     private Collection<Operation> migrationOperations;
 
     private transient ChunkSerDeHelper chunkSerDeHelper;
+    private transient volatile int serializedSizeInBytes;
 
     public ReplicaFragmentMigrationState() {
     }
@@ -72,6 +74,14 @@ public class ReplicaFragmentMigrationState
         return migrationOperations;
     }
 
+    /**
+     * @return number of bytes written when this state was last
+     * serialized or {@code 0} if it has not been serialized yet
+     */
+    public int getSerializedSizeInBytes() {
+        return serializedSizeInBytes;
+    }
+
     @Override
     public int getFactoryId() {
         return PartitionDataSerializerHook.F_ID;
@@ -84,6 +94,8 @@ public class ReplicaFragmentMigrationState
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        int startPosition = out instanceof BufferObjectDataOutput bufferedOut ? bufferedOut.position() : -1;
+
         out.writeInt(namespaces.size());
         for (Map.Entry<ServiceNamespace, long[]> e : namespaces.entrySet()) {
             out.writeObject(e.getKey());
@@ -93,6 +105,10 @@ public class ReplicaFragmentMigrationState
         SerializationUtil.writeCollection(migrationOperations, out);
 
         chunkSerDeHelper.writeChunkedOperations(out);
+
+        if (startPosition >= 0) {
+            serializedSizeInBytes = ((BufferObjectDataOutput) out).position() - startPosition;
+        }
     }
 
     @Override
@@ -65,6 +65,11 @@ public interface MigrationManager {
 
     int getMaxTotalChunkedDataInBytes();
 
+    /**
+     * @return the throttle shared by all migrations this member is the source of
+     */
+    MigrationThrottle getMigrationThrottle();
+
     boolean removeFinalizingMigration(MigrationInfo migration);
 
     boolean isFinalizingMigrationRegistered(int partitionId);
@@ -115,6 +115,7 @@ import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_CHUNKED_MAX
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_CHUNKED_MIGRATION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_FRAGMENTED_MIGRATION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_INTERVAL;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_MAX_BYTES_PER_SECOND;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_TIMEOUT;
 
 /**
@@ -160,6 +161,7 @@ public class MigrationManagerImpl implements MigrationManager {
     private final long memberHeartbeatTimeoutMillis;
     private boolean triggerRepartitioningWhenClusterStateAllowsMigration;
     private final int maxParallelMigrations;
+    private final MigrationThrottle migrationThrottle;
     private final AtomicInteger migrationCount = new AtomicInteger();
     private final Set<MigrationInfo> finalizingMigrationsRegistry = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Executor asyncExecutor;
@@ -187,6 +189,8 @@ public class MigrationManagerImpl implements MigrationManager {
         chunkedMigrationEnabled = properties.getBoolean(PARTITION_CHUNKED_MIGRATION_ENABLED);
         maxTotalChunkedDataInBytes = (int) MEGABYTES.toBytes(properties.getInteger(PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB));
         maxParallelMigrations = properties.getInteger(ClusterProperty.PARTITION_MAX_PARALLEL_MIGRATIONS);
+        migrationThrottle = new MigrationThrottle(properties.getLong(PARTITION_MIGRATION_MAX_BYTES_PER_SECOND),
+                () -> node.getClusterService().getSize(DATA_MEMBER_SELECTOR));
         partitionStateManager = partitionService.getPartitionStateManager();
         ILogger migrationThreadLogger = node.getLogger(MigrationThread.class);
         String hzName = nodeEngine.getHazelcastInstance().getName();
@@ -302,7 +306,12 @@ public class MigrationManagerImpl implements MigrationManager {
 
     @Override
     public int getMaxTotalChunkedDataInBytes() {
-        return maxTotalChunkedDataInBytes;
+        return migrationThrottle.capFragmentSize(maxTotalChunkedDataInBytes);
+    }
+
+    @Override
+    public MigrationThrottle getMigrationThrottle() {
+        return migrationThrottle;
     }
 
     @Override
@@ -1442,7 +1451,7 @@ public class MigrationManagerImpl implements MigrationManager {
 
                 List<MigrationInfo> completedMigrations = getCompletedMigrations(migration.getPartitionId());
                 Operation op = new MigrationRequestOperation(migration, completedMigrations, 0,
-                        fragmentedMigrationEnabled, isChunkedMigrationEnabled(), maxTotalChunkedDataInBytes);
+                        fragmentedMigrationEnabled, isChunkedMigrationEnabled(), getMaxTotalChunkedDataInBytes());
                 future = nodeEngine.getOperationService()
                         .createInvocationBuilder(SERVICE_NAME, op, fromMember.getAddress())
                         .setCallTimeout(partitionMigrationTimeout)
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Paces partition migration data sent from this member so that the
+ * whole cluster stays within the configured migration bandwidth.
+ * <p>
+ * The cluster-wide budget is split evenly between the data members. Before
+ * sending a fragment, including the first one of a migration, the source
+ * reserves budget for it and waits until the returned delay has passed.
+ * The size of a fragment is only known once it has been serialized, so the
+ * source reserves an estimate and settles it with the actual size after
+ * the fragment has been sent. All migrations on this member share one
+ * budget, so migrations started in parallel are spread over time instead of
+ * sending their fragments at once. Unused budget does not accumulate into
+ * bursts.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_MIGRATION_MAX_BYTES_PER_SECOND
+ */
+public final class MigrationThrottle {
+
+    /**
+     * Lower bound for the fragment size when the per-member budget is small,
+     * so that low budgets result in longer pauses rather than tiny fragments.
+     */
+    static final int MIN_FRAGMENT_SIZE_IN_BYTES = (int) MEGABYTES.toBytes(1);
+
+    /**
+     * Weight of the most recently sent fragment in the expected fragment size.
+     */
+    private static final int EXPECTED_SIZE_SMOOTHING_DIVISOR = 4;
+
+    private final long maxBytesPerSecond;
+    private final IntSupplier dataMemberCount;
+    private final LongSupplier nanoClock;
+
+    private long nextFragmentAllowedAtNanos;
+    private long expectedFragmentBytes = -1;
+
+    MigrationThrottle(long maxBytesPerSecond, IntSupplier dataMemberCount) {
+        this(maxBytesPerSecond, dataMemberCount, System::nanoTime);
+    }
+
+    MigrationThrottle(long maxBytesPerSecond, IntSupplier dataMemberCount, LongSupplier nanoClock) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.dataMemberCount = dataMemberCount;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean isEnabled() {
+        return maxBytesPerSecond > 0;
+    }
+
+    /**
+     * @return this member's share of the cluster-wide
+     * budget or {@code -1} if throttling is disabled
+     */
+    public long getMemberBytesPerSecond() {
+        if (!isEnabled()) {
+            return -1;
+        }
+        return Math.max(1, maxBytesPerSecond / Math.max(1, dataMemberCount.getAsInt()));
+    }
+
+    /**
+     * Caps the size of a single chunked migration fragment to one second
+     * worth of this member's budget, so that a reservation for a whole
+     * fragment holds back the other migrations for at most a second.
+     *
+     * @param maxFragmentSizeInBytes configured maximum fragment size
+     * @return the fragment size to use
+     */
+    public int capFragmentSize(int maxFragmentSizeInBytes) {
+        if (!isEnabled()) {
+            return maxFragmentSizeInBytes;
+        }
+        long cap = Math.max(MIN_FRAGMENT_SIZE_IN_BYTES, getMemberBytesPerSecond());
+        return (int) Math.min(maxFragmentSizeInBytes, cap);
+    }
+
+    /**
+     * Returns the number of bytes to reserve for a data fragment. Until the
+     * first fragment has been settled this is the {@link #capFragmentSize
+     * capped fragment size}, afterwards a moving average of the sizes of the
+     * recently sent fragments, so that migrations of small partitions do not
+     * hold back each other with reservations they never use.
+     *
+     * @param maxFragmentSizeInBytes configured maximum fragment size
+     * @return the expected size of the next fragment
+     */
+    public synchronized long expectedFragmentSize(int maxFragmentSizeInBytes) {
+        int cap = capFragmentSize(maxFragmentSizeInBytes);
+        return expectedFragmentBytes < 0 ? cap : Math.min(cap, expectedFragmentBytes);
+    }
+
+    /**
+     * Reserves budget for a fragment which is about to be sent. Reserving
+     * {@code 0} bytes only waits until the budget of the fragments sent
+     * earlier has been used up.
+     *
+     * @param bytes the expected size of the fragment
+     * @return nanoseconds to wait before the fragment may be sent
+     */
+    public synchronized long reserve(long bytes) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        long sendAtNanos = Math.max(now, nextFragmentAllowedAtNanos);
+        nextFragmentAllowedAtNanos = sendAtNanos + costNanos(bytes);
+        return sendAtNanos - now;
+    }
+
+    /**
+     * Corrects an earlier {@link #reserve reservation} with the number of
+     * bytes that were actually sent. Unused budget is given back to the
+     * fragments to come, a fragment larger than its reservation delays them.
+     *
+     * @param reservedBytes the number of bytes reserved for the fragment
+     * @param sentBytes     the number of bytes sent, {@code 0} if nothing was sent
+     */
+    public synchronized void settle(long reservedBytes, long sentBytes) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (reservedBytes > 0 && sentBytes > 0) {
+            expectedFragmentBytes = expectedFragmentBytes < 0 ? sentBytes
+                    : expectedFragmentBytes + (sentBytes - expectedFragmentBytes) / EXPECTED_SIZE_SMOOTHING_DIVISOR;
+        }
+        if (reservedBytes == sentBytes) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long correctionNanos = costNanos(sentBytes) - costNanos(reservedBytes);
+        nextFragmentAllowedAtNanos = Math.max(now, nextFragmentAllowedAtNanos + correctionNanos);
+    }
+
+    private long costNanos(long bytes) {
+        return (long) ((double) bytes / getMemberBytesPerSecond() * TimeUnit.SECONDS.toNanos(1));
+    }
+}
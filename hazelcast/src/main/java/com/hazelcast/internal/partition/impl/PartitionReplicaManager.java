@@ -19,6 +19,7 @@ package com.hazelcast.internal.partition.impl;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.partition.DifferentialReplicationAwareService;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.partition.NonFragmentedServiceNamespace;
 import com.hazelcast.internal.partition.PartitionReplica;
@@ -48,8 +49,10 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -59,6 +62,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.PARTITIONS_METRIC_PARTITION_REPLICA_MANAGER_REPLICA_SYNC_SEMAPHORE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.PARTITIONS_METRIC_PARTITION_REPLICA_MANAGER_SYNC_REQUEST_COUNTER;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnPartitionThread;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static java.lang.String.format;
 import static java.util.Collections.newSetFromMap;
@@ -252,13 +256,45 @@ public class PartitionReplicaManager implements PartitionReplicaVersionManager {
         }
         replicaSyncRequestsCounter.inc();
 
+        Map<ServiceNamespace, int[]> merkleTreeLeaves = collectMerkleTreeLeaves(partitionId, namespaces);
         Operation syncRequest = ALLOW_OFFLOAD
-                ? new PartitionReplicaSyncRequestOffloadable(namespaces, partitionId, replicaIndex)
-                : new PartitionReplicaSyncRequest(namespaces, partitionId, replicaIndex);
+                ? new PartitionReplicaSyncRequestOffloadable(namespaces, merkleTreeLeaves, partitionId, replicaIndex)
+                : new PartitionReplicaSyncRequest(namespaces, merkleTreeLeaves, partitionId, replicaIndex);
 
         nodeEngine.getOperationService().send(syncRequest, target.address());
     }
 
+    /**
+     * Collects the Merkle tree leaves of the local replica fragments, so that the
+     * partition owner can replicate only the differing data. The trees are only
+     * safe to read on the partition thread, a full sync is requested otherwise.
+     */
+    private Map<ServiceNamespace, int[]> collectMerkleTreeLeaves(int partitionId,
+                                                                Collection<ServiceNamespace> namespaces) {
+        if (!isRunningOnPartitionThread()) {
+            return Collections.emptyMap();
+        }
+
+        Map<ServiceNamespace, int[]> merkleTreeLeaves = null;
+        Collection<DifferentialReplicationAwareService> services
+                = nodeEngine.getServices(DifferentialReplicationAwareService.class);
+        for (DifferentialReplicationAwareService service : services) {
+            for (ServiceNamespace namespace : namespaces) {
+                if (!service.isKnownServiceNamespace(namespace)) {
+                    continue;
+                }
+                int[] leaves = service.getMerkleTreeLeaves(partitionId, namespace);
+                if (leaves != null) {
+                    if (merkleTreeLeaves == null) {
+                        merkleTreeLeaves = new HashMap<>();
+                    }
+                    merkleTreeLeaves.put(namespace, leaves);
+                }
+            }
+        }
+        return merkleTreeLeaves == null ? Collections.emptyMap() : merkleTreeLeaves;
+    }
+
     private Collection<ServiceNamespace> registerSyncInfoForNamespaces(int partitionId,
                                                                        Collection<ServiceNamespace> requestedNamespaces,
                                                                        int replicaIndex, PartitionReplica target, int permits) {
@@ -32,6 +32,7 @@ import com.hazelcast.internal.partition.ReplicaFragmentMigrationState;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.MigrationInterceptor.MigrationParticipant;
 import com.hazelcast.internal.partition.impl.MigrationManager;
+import com.hazelcast.internal.partition.impl.MigrationThrottle;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.ThreadUtil;
@@ -66,6 +67,7 @@ import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Sent from the master node to the partition owner.
@@ -91,6 +93,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private boolean fragmentedMigrationEnabled;
 
     private transient ServiceNamespacesContext namespacesContext;
+    private transient long reservedFragmentBytes;
     private transient Map<ServiceNamespace, Collection<ChunkSupplier>>
             namespaceToSuppliers = new HashMap<>();
 
@@ -123,9 +126,19 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             try {
                 executeBeforeMigrations();
                 namespacesContext = new ServiceNamespacesContext(nodeEngine, getPartitionReplicationEvent());
-                invokeMigrationOperation(initialReplicaFragmentMigrationState(), true);
+                ReplicaFragmentMigrationState migrationState = initialReplicaFragmentMigrationState();
+                long delayNanos = reserveFragment(true);
+                if (delayNanos > 0) {
+                    nodeEngine.getExecutionService().schedule(ExecutionService.ASYNC_EXECUTOR,
+                            () -> nodeEngine.getOperationService()
+                                    .execute(new InvokeMigrationOps(migrationState, getPartitionId(), true)),
+                            delayNanos, NANOSECONDS);
+                } else {
+                    invokeMigrationOperation(migrationState, true);
+                }
             } catch (Throwable e) {
                 logThrowable(e);
+                settleFragment(0);
                 completeMigration(false);
             }
         }
@@ -172,7 +185,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                 .setResultDeserialized(true)
                 .setCallTimeout(partitionService.getPartitionMigrationTimeout())
                 .invoke()
-                .whenCompleteAsync(new MigrationCallback(), asyncExecutor);
+                .whenCompleteAsync(new MigrationCallback(migrationState), asyncExecutor);
     }
 
     private void trySendNewFragment() {
@@ -194,13 +207,16 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             // migration invocation must always happen on partition thread
             if (migrationState != null) {
                 // migration ops must be serialized and invoked from partition threads
-                getNodeEngine().getOperationService().execute(new InvokeMigrationOps(migrationState, getPartitionId()));
+                getNodeEngine().getOperationService().execute(new InvokeMigrationOps(migrationState, getPartitionId(), false));
             } else {
+                // nothing left to send, give the reserved budget back
+                settleFragment(0);
                 getLogger().finest("All migration fragments done for " + migrationInfo);
                 completeMigration(true);
             }
         } catch (Throwable e) {
             logThrowable(e);
+            settleFragment(0);
             completeMigration(false);
         }
     }
@@ -209,10 +225,12 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
 
         private final ReplicaFragmentMigrationState migrationState;
         private final int partitionId;
+        private final boolean firstFragment;
 
-        InvokeMigrationOps(ReplicaFragmentMigrationState migrationState, int partitionId) {
+        InvokeMigrationOps(ReplicaFragmentMigrationState migrationState, int partitionId, boolean firstFragment) {
             this.migrationState = migrationState;
             this.partitionId = partitionId;
+            this.firstFragment = firstFragment;
         }
 
         @Override
@@ -223,14 +241,50 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         @Override
         public void run() {
             try {
-                invokeMigrationOperation(migrationState, false);
+                invokeMigrationOperation(migrationState, firstFragment);
             } catch (Throwable t) {
                 logThrowable(t);
+                settleFragment(0);
                 completeMigration(false);
             }
         }
     }
 
+    /**
+     * Reserves migration bandwidth for the fragment to be sent next and
+     * returns how long to wait before sending it. The size of a fragment is
+     * only known once it has been serialized, so the expected size is
+     * reserved and settled after the fragment has been sent. The first
+     * fragment is an empty ready-check, it only waits for the fragments of
+     * other migrations sent earlier.
+     */
+    private long reserveFragment(boolean firstFragment) {
+        MigrationThrottle throttle = getMigrationThrottle();
+        reservedFragmentBytes = firstFragment ? 0 : throttle.expectedFragmentSize(maxTotalChunkedDataInBytes);
+        long delayNanos = throttle.reserve(reservedFragmentBytes);
+        if (delayNanos > 0 && getLogger().isFinestEnabled()) {
+            getLogger().finest("Delaying next migration fragment of " + migrationInfo + " by "
+                    + NANOSECONDS.toMillis(delayNanos) + " ms to stay within the migration bandwidth budget");
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Settles the last reservation with the number of bytes actually sent.
+     * Called once the fragment has been acknowledged and when the migration
+     * fails, so that a failed migration does not keep its reservation and
+     * hold back the other migrations. A reservation is settled only once.
+     */
+    private void settleFragment(long sentBytes) {
+        getMigrationThrottle().settle(reservedFragmentBytes, sentBytes);
+        reservedFragmentBytes = 0;
+    }
+
+    private MigrationThrottle getMigrationThrottle() {
+        InternalPartitionServiceImpl partitionService = getService();
+        return partitionService.getMigrationManager().getMigrationThrottle();
+    }
+
     /**
      * Creates an empty {@code ReplicaFragmentMigrationState} to perform a ready-check on destination.
      * That way initial {@code MigrationOperation} will be empty and any failure or retry
@@ -427,26 +481,47 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
      */
     private final class MigrationCallback implements BiConsumer<Object, Throwable> {
 
-        private MigrationCallback() {
+        private final ReplicaFragmentMigrationState migrationState;
+
+        private MigrationCallback(ReplicaFragmentMigrationState migrationState) {
+            this.migrationState = migrationState;
         }
 
         @Override
         public void accept(Object result, Throwable throwable) {
             if (throwable != null) {
                 logThrowable(throwable);
+                settleFragment(getSentBytes());
                 completeMigration(false);
             } else if (Boolean.TRUE.equals(result)) {
+                settleFragment(getSentBytes());
+                long delayNanos = reserveFragment(false);
                 // ASYNC executor is of CONCRETE type (does not share threads with other executors)
                 // and is never used for user-supplied code.
-                getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
-                        MigrationRequestOperation.this::trySendNewFragment);
+                ExecutionService executionService = getNodeEngine().getExecutionService();
+                if (delayNanos > 0) {
+                    executionService.schedule(ExecutionService.ASYNC_EXECUTOR,
+                            MigrationRequestOperation.this::trySendNewFragment, delayNanos, NANOSECONDS);
+                } else {
+                    executionService.submit(ExecutionService.ASYNC_EXECUTOR,
+                            MigrationRequestOperation.this::trySendNewFragment);
+                }
             } else {
                 ILogger logger = getLogger();
                 if (logger.isFineEnabled()) {
                     logger.fine("Received false response from migration destination -> " + migrationInfo);
                 }
+                settleFragment(getSentBytes());
                 completeMigration(false);
             }
         }
+
+        /**
+         * @return the serialized size of the fragment or {@code 0} if it
+         * failed before it was serialized
+         */
+        private int getSentBytes() {
+            return migrationState != null ? migrationState.getSerializedSizeInBytes() : 0;
+        }
     }
 }
@@ -35,6 +35,7 @@ import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationService;
@@ -46,10 +47,13 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 
+import static com.hazelcast.internal.cluster.Versions.V6_0;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.readCollection;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeCollection;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
 
 /**
  * The request sent from a replica to the partition owner to
@@ -61,19 +65,34 @@ import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
  * <li>the maximum number of parallel synchronizations has already been reached</li>
  * </ul>
  * An empty response can be sent if the current replica version is 0.
+ * <p>
+ * The replica may also send the Merkle tree leaves of some of the requested
+ * namespaces, in which case services implementing
+ * {@link com.hazelcast.internal.partition.DifferentialReplicationAwareService}
+ * can replicate only the data that differs.
  */
 public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
-        implements PartitionAwareOperation, MigrationCycleOperation, SelfResponseOperation {
+        implements PartitionAwareOperation, MigrationCycleOperation, SelfResponseOperation, Versioned {
 
     protected volatile Collection<ServiceNamespace> namespaces;
 
+    // namespace -> leaf hashes of the requesting replica's Merkle tree
+    protected volatile Map<ServiceNamespace, int[]> merkleTreeLeaves = Collections.emptyMap();
+
     public PartitionReplicaSyncRequest() {
         namespaces = Collections.emptyList();
     }
 
     public PartitionReplicaSyncRequest(Collection<ServiceNamespace> namespaces,
                                        int partitionId, int replicaIndex) {
+        this(namespaces, Collections.emptyMap(), partitionId, replicaIndex);
+    }
+
+    public PartitionReplicaSyncRequest(Collection<ServiceNamespace> namespaces,
+                                       Map<ServiceNamespace, int[]> merkleTreeLeaves,
+                                       int partitionId, int replicaIndex) {
         this.namespaces = namespaces;
+        this.merkleTreeLeaves = merkleTreeLeaves;
         setPartitionId(partitionId);
         setReplicaIndex(replicaIndex);
     }
@@ -161,10 +180,11 @@ public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
                 if (NonFragmentedServiceNamespace.INSTANCE.equals(namespace)) {
                     operations = createNonFragmentedReplicationOperations(event);
                 } else {
+                    PartitionReplicationEvent fragmentEvent = fragmentReplicationEvent(event, namespace);
                     chunkSuppliers = isChunkedMigrationEnabled()
-                            ? collectChunkSuppliers(event, namespace) : chunkSuppliers;
+                            ? collectChunkSuppliers(fragmentEvent, namespace) : chunkSuppliers;
                     if (isEmpty(chunkSuppliers)) {
-                        operations = createFragmentReplicationOperations(event, namespace);
+                        operations = createFragmentReplicationOperations(fragmentEvent, namespace);
                     }
                 }
 
@@ -182,6 +202,20 @@ public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
         }
     }
 
+    /**
+     * Returns the replication event of the given fragment, carrying
+     * the Merkle tree leaves the replica sent for it if there are any.
+     */
+    protected final PartitionReplicationEvent fragmentReplicationEvent(PartitionReplicationEvent event,
+                                                                       ServiceNamespace namespace) {
+        int[] leaves = merkleTreeLeaves.get(namespace);
+        if (leaves == null) {
+            return event;
+        }
+        return new PartitionReplicationEvent(event.getTarget(), event.getPartitionId(),
+                event.getReplicaIndex(), leaves);
+    }
+
     protected boolean hasRemainingChunksToSend(Collection<ChunkSupplier> chunkSuppliers) {
         if (!isChunkedMigrationEnabled()) {
             return false;
@@ -334,11 +368,35 @@ public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         writeCollection(namespaces, out);
+        writeMerkleTreeLeaves(out);
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         namespaces = readCollection(in);
+        readMerkleTreeLeaves(in);
+    }
+
+    protected final void writeMerkleTreeLeaves(ObjectDataOutput out) throws IOException {
+        if (out.getVersion().isGreaterOrEqual(V6_0)) {
+            out.writeInt(merkleTreeLeaves.size());
+            for (Map.Entry<ServiceNamespace, int[]> entry : merkleTreeLeaves.entrySet()) {
+                out.writeObject(entry.getKey());
+                out.writeIntArray(entry.getValue());
+            }
+        }
+    }
+
+    protected final void readMerkleTreeLeaves(ObjectDataInput in) throws IOException {
+        if (in.getVersion().isGreaterOrEqual(V6_0)) {
+            int size = in.readInt();
+            Map<ServiceNamespace, int[]> leaves = createHashMap(size);
+            for (int i = 0; i < size; i++) {
+                ServiceNamespace namespace = in.readObject();
+                leaves.put(namespace, in.readIntArray());
+            }
+            merkleTreeLeaves = leaves;
+        }
     }
 
     @Override
@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -78,8 +79,15 @@ public final class PartitionReplicaSyncRequestOffloadable
 
     public PartitionReplicaSyncRequestOffloadable(Collection<ServiceNamespace> namespaces,
                                                   int partitionId, int replicaIndex) {
+        this(namespaces, Collections.emptyMap(), partitionId, replicaIndex);
+    }
+
+    public PartitionReplicaSyncRequestOffloadable(Collection<ServiceNamespace> namespaces,
+                                                  Map<ServiceNamespace, int[]> merkleTreeLeaves,
+                                                  int partitionId, int replicaIndex) {
         this.namespaces = Collections.newSetFromMap(new ConcurrentHashMap<>());
         this.namespaces.addAll(namespaces);
+        this.merkleTreeLeaves = merkleTreeLeaves;
         this.partitionId = partitionId;
         setPartitionId(-1);
         setReplicaIndex(replicaIndex);
@@ -119,10 +127,11 @@ public final class PartitionReplicaSyncRequestOffloadable
                 if (NonFragmentedServiceNamespace.INSTANCE.equals(namespace)) {
                     operations = createNonFragmentedReplicationOperations(event);
                 } else {
+                    PartitionReplicationEvent fragmentEvent = fragmentReplicationEvent(event, namespace);
                     chunkSuppliers = isChunkedMigrationEnabled()
-                            ? collectChunkSuppliers(event, namespace) : chunkSuppliers;
+                            ? collectChunkSuppliers(fragmentEvent, namespace) : chunkSuppliers;
                     if (isEmpty(chunkSuppliers)) {
-                        operations = createFragmentReplicationOperationsOffload(event, namespace);
+                        operations = createFragmentReplicationOperationsOffload(fragmentEvent, namespace);
                     }
                 }
                 // operations can be null if await-ing
@@ -267,6 +276,7 @@ public final class PartitionReplicaSyncRequestOffloadable
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         writeCollection(namespaces, out);
         out.writeInt(partitionId);
+        writeMerkleTreeLeaves(out);
     }
 
     @Override
@@ -274,6 +284,7 @@ public final class PartitionReplicaSyncRequestOffloadable
         namespaces = Collections.newSetFromMap(new ConcurrentHashMap<>());
         namespaces.addAll(readCollection(in));
         partitionId = in.readInt();
+        readMerkleTreeLeaves(in);
     }
 
     private boolean trySetMigratingFlag() {
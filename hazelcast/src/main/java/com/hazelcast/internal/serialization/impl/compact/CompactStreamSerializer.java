@@ -220,11 +220,26 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
 
     private CompactSerializableRegistration getOrCreateRegistration(Class clazz) {
         return classToRegistrationMap.computeIfAbsent(clazz, aClass -> {
-            CompactSerializer serializer = javaRecordSerializer.isRecord(aClass) ? javaRecordSerializer : reflectiveSerializer;
+            CompactSerializer serializer = zeroConfigSerializer(aClass);
             return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
         });
     }
 
+    /**
+     * Returns the serializer to use for a class that is Compact serialized
+     * without an explicit serializer. Records are handled by the record
+     * serializer, and every other class gets a serializer specialized for it,
+     * which falls back to the reflective serializer when it can't bind to the
+     * class.
+     */
+    @SuppressWarnings("unchecked")
+    private CompactSerializer zeroConfigSerializer(Class clazz) {
+        if (javaRecordSerializer.isRecord(clazz)) {
+            return javaRecordSerializer;
+        }
+        return new MethodHandleCompactSerializer<>(clazz, this, reflectiveSerializer);
+    }
+
     private CompactSerializableRegistration getOrCreateRegistration(String typeName) {
         CompactSerializableRegistration currentRegistration = typeNameToRegistrationMap.get(typeName);
         if (currentRegistration != null) {
@@ -293,11 +308,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             String typeName = registration.element2;
             CompactSerializer serializer = registration.element3;
             if (serializer == null) {
-                if (javaRecordSerializer.isRecord(clazz)) {
-                    serializer = javaRecordSerializer;
-                } else {
-                    serializer = reflectiveSerializer;
-                }
+                serializer = zeroConfigSerializer(clazz);
             }
             CompactSerializableRegistration serializableRegistration
                     = new CompactSerializableRegistration(clazz, typeName, serializer);
@@ -360,17 +371,10 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                         + "serializable class '" + className + "'.");
             }
 
-            CompactSerializer serializer;
-            if (javaRecordSerializer.isRecord(clazz)) {
-                serializer = javaRecordSerializer;
-            } else {
-                serializer = reflectiveSerializer;
-            }
-
             CompactSerializableRegistration registration = new CompactSerializableRegistration(
                     clazz,
                     className,
-                    serializer
+                    zeroConfigSerializer(clazz)
             );
 
             saveRegistration(registration);
@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriter;
+import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriters;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactUtil.isFieldExist;
+import static com.hazelcast.nio.serialization.FieldKind.BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT16;
+import static com.hazelcast.nio.serialization.FieldKind.INT32;
+import static com.hazelcast.nio.serialization.FieldKind.INT64;
+import static com.hazelcast.nio.serialization.FieldKind.INT8;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT16;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT32;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT64;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT8;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Zero-config Compact serializer specialized for a single class.
+ * <p>
+ * Unlike the {@link ReflectiveCompactSerializer}, which is shared by all the
+ * zero-config classes, an instance is registered per class. On first use it
+ * binds a {@link MethodHandle} to the no-arg constructor and to the getter and
+ * setter of every field, adapted to erased types so they can be invoked
+ * exactly, without boxing the primitive fields. It also remembers which of the
+ * primitive fields exist in the last schema it read, so the schema lookups are
+ * not repeated for every object.
+ * <p>
+ * Classes that can't be handled this way, e.g. the ones without a no-arg
+ * constructor or with inaccessible fields, are delegated to the reflective
+ * serializer, which keeps its current behaviour.
+ *
+ * @param <T> the class this serializer is specialized for
+ */
+final class MethodHandleCompactSerializer<T> implements CompactSerializer<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<T> clazz;
+    private final CompactStreamSerializer compactStreamSerializer;
+    private final ReflectiveCompactSerializer<T> fallback;
+
+    private volatile Accessors accessors;
+    private volatile ReadPlan readPlan;
+
+    MethodHandleCompactSerializer(Class<T> clazz, CompactStreamSerializer compactStreamSerializer,
+                                  ReflectiveCompactSerializer<T> fallback) {
+        this.clazz = clazz;
+        this.compactStreamSerializer = compactStreamSerializer;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull T object) {
+        Accessors accessors = accessors();
+        if (accessors.fieldAccessors == null) {
+            fallback.write(writer, object);
+            return;
+        }
+
+        for (FieldAccessor accessor : accessors.fieldAccessors) {
+            try {
+                accessor.write(writer, object);
+            } catch (Throwable t) {
+                throw new HazelcastSerializationException(t);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public T read(@Nonnull CompactReader reader) {
+        Accessors accessors = accessors();
+        if (accessors.fieldAccessors == null) {
+            return fallback.read(reader);
+        }
+
+        // We always fed DefaultCompactReader to this serializer.
+        Schema schema = ((DefaultCompactReader) reader).getSchema();
+        boolean[] present = readPlan(schema, accessors.fieldAccessors);
+        FieldAccessor[] fieldAccessors = accessors.fieldAccessors;
+        Object object;
+        try {
+            object = accessors.constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new HazelcastSerializationException("Could not construct the class " + clazz, t);
+        }
+        for (int i = 0; i < fieldAccessors.length; i++) {
+            if (present[i]) {
+                try {
+                    fieldAccessors[i].read(reader, schema, object);
+                } catch (Throwable t) {
+                    throw new HazelcastSerializationException(t);
+                }
+            }
+        }
+        return clazz.cast(object);
+    }
+
+    @Nonnull
+    @Override
+    public String getTypeName() {
+        return clazz.getName();
+    }
+
+    @Nonnull
+    @Override
+    public Class<T> getCompactClass() {
+        return clazz;
+    }
+
+    private Accessors accessors() {
+        Accessors accessors = this.accessors;
+        if (accessors == null) {
+            // Racing threads may both bind the handles, which is harmless.
+            accessors = bind();
+            this.accessors = accessors;
+        }
+        return accessors;
+    }
+
+    private boolean[] readPlan(Schema schema, FieldAccessor[] fieldAccessors) {
+        ReadPlan plan = readPlan;
+        if (plan != null && plan.schema == schema) {
+            return plan.present;
+        }
+
+        boolean[] present = new boolean[fieldAccessors.length];
+        for (int i = 0; i < fieldAccessors.length; i++) {
+            present[i] = fieldAccessors[i].isPresentIn(schema);
+        }
+        readPlan = new ReadPlan(schema, present);
+        return present;
+    }
+
+    private Accessors bind() {
+        try {
+            // The top level class might not be Compact serializable, the
+            // reflective serializer reports it the same way on the fallback.
+            CompactUtil.verifyClassIsCompactSerializable(clazz);
+
+            Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            MethodHandle constructorHandle = LOOKUP.unreflectConstructor(constructor).asType(methodType(Object.class));
+
+            List<Field> fields = getAllFields(new ArrayList<>(), clazz);
+            FieldAccessor[] fieldAccessors = new FieldAccessor[fields.size()];
+            for (int i = 0; i < fieldAccessors.length; i++) {
+                fieldAccessors[i] = newFieldAccessor(fields.get(i));
+            }
+            return new Accessors(constructorHandle, fieldAccessors);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // No accessible no-arg constructor, inaccessible fields or unsupported
+            // field types; the reflective serializer knows how to deal with those.
+            return Accessors.UNSUPPORTED;
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:ReturnCount"})
+    private FieldAccessor newFieldAccessor(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        String name = field.getName();
+        MethodHandle getter = LOOKUP.unreflectGetter(field);
+        MethodHandle setter = LOOKUP.unreflectSetter(field);
+
+        if (type == Byte.TYPE) {
+            return new ByteAccessor(name, getter, setter);
+        } else if (type == Character.TYPE) {
+            return new CharAccessor(name, getter, setter);
+        } else if (type == Short.TYPE) {
+            return new ShortAccessor(name, getter, setter);
+        } else if (type == Integer.TYPE) {
+            return new IntAccessor(name, getter, setter);
+        } else if (type == Long.TYPE) {
+            return new LongAccessor(name, getter, setter);
+        } else if (type == Float.TYPE) {
+            return new FloatAccessor(name, getter, setter);
+        } else if (type == Double.TYPE) {
+            return new DoubleAccessor(name, getter, setter);
+        } else if (type == Boolean.TYPE) {
+            return new BooleanAccessor(name, getter, setter);
+        }
+        ValueReaderWriter readerWriter = ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz, type,
+                field.getGenericType(), name);
+        return new ObjectAccessor(name, getter, setter, readerWriter);
+    }
+
+    private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                fields.add(field);
+            }
+        }
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            getAllFields(fields, type.getSuperclass());
+        }
+        return fields;
+    }
+
+    private static final class Accessors {
+        static final Accessors UNSUPPORTED = new Accessors(null, null);
+
+        final MethodHandle constructor;
+        final FieldAccessor[] fieldAccessors;
+
+        Accessors(MethodHandle constructor, FieldAccessor[] fieldAccessors) {
+            this.constructor = constructor;
+            this.fieldAccessors = fieldAccessors;
+        }
+    }
+
+    private static final class ReadPlan {
+        final Schema schema;
+        final boolean[] present;
+
+        ReadPlan(Schema schema, boolean[] present) {
+            this.schema = schema;
+            this.present = present;
+        }
+    }
+
+    private abstract static class FieldAccessor {
+        final String name;
+
+        FieldAccessor(String name) {
+            this.name = name;
+        }
+
+        abstract boolean isPresentIn(Schema schema);
+
+        abstract void read(CompactReader reader, Schema schema, Object o) throws Throwable;
+
+        abstract void write(CompactWriter writer, Object o) throws Throwable;
+    }
+
+    private abstract static class PrimitiveAccessor extends FieldAccessor {
+        final MethodHandle getter;
+        final MethodHandle setter;
+        private final FieldKind kind;
+        private final FieldKind nullableKind;
+
+        PrimitiveAccessor(String name, MethodHandle getter, MethodHandle setter, Class<?> type,
+                          FieldKind kind, FieldKind nullableKind) {
+            super(name);
+            this.getter = getter.asType(methodType(type, Object.class));
+            this.setter = setter.asType(methodType(void.class, Object.class, type));
+            this.kind = kind;
+            this.nullableKind = nullableKind;
+        }
+
+        @Override
+        final boolean isPresentIn(Schema schema) {
+            return isFieldExist(schema, name, kind, nullableKind);
+        }
+    }
+
+    private static final class ByteAccessor extends PrimitiveAccessor {
+        ByteAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, byte.class, INT8, NULLABLE_INT8);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readInt8(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeInt8(name, (byte) getter.invokeExact(o));
+        }
+    }
+
+    private static final class CharAccessor extends PrimitiveAccessor {
+        CharAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, char.class, INT16, NULLABLE_INT16);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, (char) reader.readInt16(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeInt16(name, (short) (char) getter.invokeExact(o));
+        }
+    }
+
+    private static final class ShortAccessor extends PrimitiveAccessor {
+        ShortAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, short.class, INT16, NULLABLE_INT16);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readInt16(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeInt16(name, (short) getter.invokeExact(o));
+        }
+    }
+
+    private static final class IntAccessor extends PrimitiveAccessor {
+        IntAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, int.class, INT32, NULLABLE_INT32);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readInt32(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeInt32(name, (int) getter.invokeExact(o));
+        }
+    }
+
+    private static final class LongAccessor extends PrimitiveAccessor {
+        LongAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, long.class, INT64, NULLABLE_INT64);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readInt64(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeInt64(name, (long) getter.invokeExact(o));
+        }
+    }
+
+    private static final class FloatAccessor extends PrimitiveAccessor {
+        FloatAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, float.class, FLOAT32, NULLABLE_FLOAT32);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readFloat32(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeFloat32(name, (float) getter.invokeExact(o));
+        }
+    }
+
+    private static final class DoubleAccessor extends PrimitiveAccessor {
+        DoubleAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, double.class, FLOAT64, NULLABLE_FLOAT64);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readFloat64(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeFloat64(name, (double) getter.invokeExact(o));
+        }
+    }
+
+    private static final class BooleanAccessor extends PrimitiveAccessor {
+        BooleanAccessor(String name, MethodHandle getter, MethodHandle setter) {
+            super(name, getter, setter, boolean.class, BOOLEAN, NULLABLE_BOOLEAN);
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, reader.readBoolean(name));
+        }
+
+        @Override
+        void write(CompactWriter writer, Object o) throws Throwable {
+            writer.writeBoolean(name, (boolean) getter.invokeExact(o));
+        }
+    }
+
+    /**
+     * Relies on the value reader writers for everything else, so the
+     * supported types stay the same as in the reflective serializer.
+     */
+    private static final class ObjectAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final ValueReaderWriter readerWriter;
+
+        ObjectAccessor(String name, MethodHandle getter, MethodHandle setter, ValueReaderWriter readerWriter) {
+            super(name);
+            this.getter = getter.asType(methodType(Object.class, Object.class));
+            this.setter = setter.asType(methodType(void.class, Object.class, Object.class));
+            this.readerWriter = readerWriter;
+        }
+
+        @Override
+        boolean isPresentIn(Schema schema) {
+            // the value reader writers check the schema themselves
+            return true;
+        }
+
+        @Override
+        void read(CompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, readerWriter.read(reader, schema));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void write(CompactWriter writer, Object o) throws Throwable {
+            readerWriter.write(writer, (Object) getter.invokeExact(o));
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringBuffers;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -36,22 +38,82 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * It makes use of a flyweight to allow the sharing of a packet-instance over
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
+ * <p>
+ * If gathering writes are enabled and the encoder is the last handler of the
+ * pipeline, the payloads of large packets are not copied to the dst buffer.
+ * Only their headers are, and the payloads are passed to the channel as they
+ * are, in {@link GatheringBuffers}, between the slices of the dst buffer.
  *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> implements GatheringOutboundHandler {
+
+    /**
+     * The minimum payload size of a packet to be gathered instead of copied.
+     * Copying smaller payloads is cheaper than an additional buffer for the
+     * channel to write.
+     */
+    static final int GATHERING_WRITE_THRESHOLD = 4096;
+
+    /**
+     * The maximum number of buffers gathered in a single write.
+     */
+    static final int MAX_GATHERED_BUFFERS = 64;
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final boolean gatheringWriteEnabled;
 
     private Packet packet;
+    private boolean packetPartiallyWritten;
+    private GatheringBuffers gatheringDst;
+
+    public PacketEncoder() {
+        this(false);
+    }
+
+    public PacketEncoder(boolean gatheringWriteEnabled) {
+        this.gatheringWriteEnabled = gatheringWriteEnabled;
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void setGathering(boolean enabled) {
+        boolean gathering = enabled && gatheringWriteEnabled;
+        if (gathering == (gatheringDst != null)) {
+            return;
+        }
+
+        boolean pending = gatheringDst != null ? gatheringDst.hasRemaining() : dst.hasRemaining();
+        if (packet != null || pending) {
+            throw new IllegalStateException("Can't change the write mode of " + this + ", there is pending output");
+        }
+
+        if (gathering) {
+            // in the gathering mode the dst buffer is kept in writing mode, only its slices are written
+            dst.clear();
+            gatheringDst = new GatheringBuffers(MAX_GATHERED_BUFFERS);
+        } else {
+            dst.clear();
+            dst.flip();
+            gatheringDst = null;
+        }
+    }
+
+    @Override
+    public GatheringBuffers gatheringDst() {
+        return gatheringDst;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (gatheringDst != null) {
+            return onWriteGathering();
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -76,4 +138,65 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    @SuppressWarnings("checkstyle:NPathComplexity")
+    private HandlerStatus onWriteGathering() {
+        if (!gatheringDst.hasRemaining()) {
+            // all the slices of the dst buffer got written, so it can be reused
+            dst.clear();
+        }
+
+        int sliceStart = dst.position();
+        try {
+            for (; ; ) {
+                if (packet == null) {
+                    packet = src.get();
+
+                    if (packet == null) {
+                        // everything is processed, so we are done
+                        return CLEAN;
+                    }
+                }
+
+                // a packet takes up to 2 buffers, and 1 more is needed for the last slice of the dst buffer
+                if (gatheringDst.remainingCapacity() < 3) {
+                    return DIRTY;
+                }
+
+                if (!packetPartiallyWritten && packet.totalSize() >= GATHERING_WRITE_THRESHOLD) {
+                    if (!PacketIOHelper.writeHeaderTo(packet, dst)) {
+                        return DIRTY;
+                    }
+                    sliceStart = addDstSlice(sliceStart);
+                    gatheringDst.add(ByteBuffer.wrap(packet.toByteArray()));
+                    packet = null;
+                } else if (packetWriter.writeTo(packet, dst)) {
+                    packet = null;
+                    packetPartiallyWritten = false;
+                } else {
+                    // the packet didn't get written completely, so we are done.
+                    packetPartiallyWritten = true;
+                    return DIRTY;
+                }
+            }
+        } finally {
+            addDstSlice(sliceStart);
+        }
+    }
+
+    /**
+     * Adds the bytes of the dst buffer written since the {@code sliceStart}
+     * to the gathered buffers.
+     *
+     * @return the start of the next slice
+     */
+    private int addDstSlice(int sliceStart) {
+        int sliceEnd = dst.position();
+        if (sliceEnd > sliceStart) {
+            ByteBuffer slice = dst.duplicate();
+            slice.position(sliceStart).limit(sliceEnd);
+            gatheringDst.add(slice);
+        }
+        return sliceEnd;
+    }
 }
@@ -319,6 +319,48 @@ public class Object2LongHashMap<K>
         return oldValue;
     }
 
+    /**
+     * Primitive specialised version of {@link Map#putIfAbsent(Object, Object)}. It finds the slot
+     * of the key in a single probe, so it's cheaper than {@link #getValue(Object)} followed by
+     * {@link #put(Object, long)}.
+     *
+     * @param key   for indexing the {@link Map}
+     * @param value to be inserted in the {@link Map} if the key is absent
+     * @return the current value if found otherwise missingValue, after inserting the supplied value
+     */
+    public long putIfAbsent(final K key, final long value)
+    {
+        if (value == missingValue)
+        {
+            throw new IllegalArgumentException("cannot accept missingValue");
+        }
+
+        final int mask = values.length - 1;
+        int index = Hashing.hash(key, mask);
+
+        long oldValue;
+        while (missingValue != (oldValue = values[index]))
+        {
+            if (key.equals(keys[index]))
+            {
+                return oldValue;
+            }
+
+            index = ++index & mask;
+        }
+
+        ++size;
+        keys[index] = key;
+        values[index] = value;
+
+        if (size > resizeThreshold)
+        {
+            increaseCapacity();
+        }
+
+        return missingValue;
+    }
+
     /**
      * {@inheritDoc}
      */
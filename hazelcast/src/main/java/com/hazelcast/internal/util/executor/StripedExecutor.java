@@ -47,6 +47,10 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * If the queue is full and the runnable implements TimeoutRunnable, then a configurable amount of blocking is
  * done on the queue. If the runnable doesn't implement TimeoutRunnable or when the blocking times out,
  * then the task is rejected and a RejectedExecutionException is thrown.
+ * <p>
+ * Instead of private worker-threads, the queues can also be drained by tasks submitted to a given
+ * {@link Executor}, e.g. one that runs each task on a new virtual thread. At most one such task drains a
+ * queue at a time, so the tasks of a stripe are still executed one by one in submission order.
  */
 public final class StripedExecutor implements Executor {
 
@@ -56,6 +60,7 @@ public final class StripedExecutor implements Executor {
     private final ILogger logger;
     private final Worker[] workers;
     private final Random rand = new Random();
+    private final Executor drainExecutor;
     private volatile boolean live = true;
 
     public StripedExecutor(ILogger logger,
@@ -70,12 +75,40 @@ public final class StripedExecutor implements Executor {
                            int threadCount,
                            int queueCapacity,
                            boolean lazyThreads) {
+        this(logger, threadNamePrefix, threadCount, queueCapacity, lazyThreads, null);
+    }
+
+    /**
+     * Creates a StripedExecutor whose queues are drained by tasks submitted to the given executor
+     * instead of by private worker-threads.
+     *
+     * @param logger           the logger
+     * @param threadNamePrefix the name prefix of the stripes, used in log messages
+     * @param stripeCount      the number of stripes
+     * @param queueCapacity    the maximum number of pending tasks over all stripes
+     * @param drainExecutor    the executor that runs the tasks draining the queues
+     */
+    public StripedExecutor(ILogger logger,
+                           String threadNamePrefix,
+                           int stripeCount,
+                           int queueCapacity,
+                           @Nonnull Executor drainExecutor) {
+        this(logger, threadNamePrefix, stripeCount, queueCapacity, true, checkNotNull(drainExecutor, "drainExecutor"));
+    }
+
+    private StripedExecutor(ILogger logger,
+                            String threadNamePrefix,
+                            int threadCount,
+                            int queueCapacity,
+                            boolean lazyThreads,
+                            Executor drainExecutor) {
         checkPositive("threadCount", threadCount);
         checkPositive("queueCapacity", queueCapacity);
 
         this.logger = logger;
         this.size = threadCount;
         this.workers = new Worker[threadCount];
+        this.drainExecutor = drainExecutor;
 
         // `queueCapacity` is the given max capacity for this executor. Each worker in this executor should consume
         // only a portion of that capacity. Otherwise, we will have `threadCount * queueCapacity` instead of
@@ -182,6 +215,8 @@ public final class StripedExecutor implements Executor {
         private final SwCounter processed = SwCounter.newSwCounter();
         private final int queueCapacity;
         private final AtomicBoolean started = new AtomicBoolean();
+        // only used when the queue is drained by the drainExecutor
+        private final AtomicBoolean draining = new AtomicBoolean();
 
         private Worker(String threadNamePrefix, int queueCapacity) {
             super(threadNamePrefix + "-" + THREAD_ID_GENERATOR.incrementAndGet());
@@ -190,7 +225,7 @@ public final class StripedExecutor implements Executor {
         }
 
         private void schedule(Runnable task) {
-            if (!started.get() && started.compareAndSet(false, true)) {
+            if (drainExecutor == null && !started.get() && started.compareAndSet(false, true)) {
                 start();
             }
 
@@ -208,6 +243,37 @@ public final class StripedExecutor implements Executor {
                 currentThread().interrupt();
                 throw new RejectedExecutionException("Thread is interrupted while offering work");
             }
+
+            if (drainExecutor != null) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                drainExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                throw e;
+            }
+        }
+
+        private void drain() {
+            for (; ; ) {
+                Runnable task;
+                while (live && (task = taskQueue.poll()) != null) {
+                    process(task);
+                }
+                draining.set(false);
+                // a task offered after the last poll, but before the flag was cleared,
+                // didn't schedule a drain, so we have to continue with it
+                if (!live || taskQueue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
         }
 
         private long timeoutNanos(Runnable task) {
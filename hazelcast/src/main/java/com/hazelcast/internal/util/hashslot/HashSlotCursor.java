@@ -41,4 +41,18 @@ public interface HashSlotCursor {
      * @return Address of the current slot's value block.
      */
     long valueAddress();
+
+    /**
+     * @return index of the current slot in the backing array.
+     */
+    long slot();
+
+    /**
+     * Positions the cursor just before the given slot, so that the next call to {@link #advance()}
+     * moves it to the first assigned slot at or after {@code slot}. Used to resume an iteration
+     * from a previously observed {@link #slot()}.
+     *
+     * @param slot index of the slot to resume from
+     */
+    void seek(long slot);
 }
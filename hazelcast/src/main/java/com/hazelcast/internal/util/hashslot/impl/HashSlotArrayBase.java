@@ -532,6 +532,16 @@ public abstract class HashSlotArrayBase implements HashSlotArray {
             return valueAddrOfSlot(currentSlot);
         }
 
+        @Override public final long slot() {
+            assertCursorValid();
+            return currentSlot;
+        }
+
+        @Override public final void seek(long slot) {
+            assert slot >= 0 : "Attempted to seek to a negative slot " + slot;
+            currentSlot = slot - 1;
+        }
+
         final void assertCursorValid() {
             assertValid();
             assert currentSlot >= 0 : "Cursor is invalid";
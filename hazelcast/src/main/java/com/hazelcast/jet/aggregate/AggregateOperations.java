@@ -64,6 +64,7 @@ import static com.hazelcast.function.FunctionEx.identity;
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.checkSerializable;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.datamodel.Tuple3.tuple3;
+import static com.hazelcast.jet.impl.aggregate.LongSumAggregateOperation.longSum;
 
 /**
  * Utility class with factory methods for several useful aggregate
@@ -92,12 +93,13 @@ public final class AggregateOperations {
      */
     @Nonnull
     public static <T> AggregateOperation1<T, LongAccumulator, Long> counting() {
-        return AggregateOperation
+        return longSum(AggregateOperation
                 .withCreate(LongAccumulator::new)
                 .andAccumulate((LongAccumulator a, T item) -> a.add(1))
                 .andCombine(LongAccumulator::add)
                 .andDeduct(LongAccumulator::subtractAllowingOverflow)
-                .andExportFinish(LongAccumulator::get);
+                .andExportFinish(LongAccumulator::get),
+                item -> 1L);
     }
 
     /**
@@ -127,12 +129,13 @@ public final class AggregateOperations {
             @Nonnull ToLongFunctionEx<? super T> getLongValueFn
     ) {
         checkSerializable(getLongValueFn, "getLongValueFn");
-        return AggregateOperation
+        return longSum(AggregateOperation
                 .withCreate(LongAccumulator::new)
                 .andAccumulate((LongAccumulator a, T item) -> a.add(getLongValueFn.applyAsLong(item)))
                 .andCombine(LongAccumulator::add)
                 .andDeduct(LongAccumulator::subtract)
-                .andExportFinish(LongAccumulator::get);
+                .andExportFinish(LongAccumulator::get),
+                getLongValueFn);
     }
 
     /**
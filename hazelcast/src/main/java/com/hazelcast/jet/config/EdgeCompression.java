@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.config;
+
+/**
+ * The compression applied to the data of a distributed {@link
+ * com.hazelcast.jet.core.Edge edge} before it is sent over the network, see
+ * {@link EdgeConfig#setCompression(EdgeCompression)}.
+ * <p>
+ * The sender compresses each network packet as a whole. A packet whose size
+ * the compression doesn't reduce is sent uncompressed. Compression trades
+ * CPU time on both members for network bandwidth, it pays off for
+ * network-bound jobs with compressible items.
+ *
+ * @since 6.0
+ */
+public enum EdgeCompression {
+
+    /**
+     * The data is sent uncompressed. This is the default.
+     */
+    NONE,
+
+    /**
+     * The packets are compressed using the LZ4 block format. The compression
+     * ratio is moderate, but it's fast enough to keep up with a 10 Gbit
+     * network on a single core.
+     */
+    LZ4,
+
+    /**
+     * The packets are compressed using {@link java.util.zip.Deflater} at its
+     * fastest level. It achieves a better compression ratio than {@link #LZ4},
+     * at the cost of several times more CPU time.
+     */
+    DEFLATE
+}
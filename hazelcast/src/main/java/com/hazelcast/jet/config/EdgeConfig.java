@@ -16,12 +16,15 @@
 
 package com.hazelcast.jet.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
@@ -31,7 +34,7 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  *
  * @since Jet 3.0
  */
-public class EdgeConfig implements IdentifiedDataSerializable {
+public class EdgeConfig implements IdentifiedDataSerializable, Versioned {
 
     /**
      * The default size of the {@link #setQueueSize(int) concurrent queues}
@@ -52,6 +55,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private int receiveWindowMultiplier = DEFAULT_RECEIVE_WINDOW_MULTIPLIER;
     private int packetSizeLimit = DEFAULT_PACKET_SIZE_LIMIT;
+    private EdgeCompression compression = EdgeCompression.NONE;
 
     /**
      * Sets the capacity of processor-to-processor concurrent queues. The value
@@ -152,6 +156,35 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         return packetSizeLimit;
     }
 
+    /**
+     * Sets the compression of the network packets of a distributed edge.
+     * Compression pays off when the job is limited by the network bandwidth
+     * and the members have spare CPU capacity. The compression ratio
+     * achieved is reported by the {@link
+     * com.hazelcast.jet.core.metrics.MetricNames#DISTRIBUTED_COMPRESSION_RATIO}
+     * metric.
+     * <p>
+     * The default value is {@link EdgeCompression#NONE}. This setting has no
+     * effect on a non-distributed edge.
+     *
+     * @return {@code this} instance for fluent API
+     * @since 6.0
+     */
+    public EdgeConfig setCompression(EdgeCompression compression) {
+        this.compression = checkNotNull(compression, "compression must not be null");
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setCompression(EdgeCompression) compression} of
+     * the network packets.
+     *
+     * @since 6.0
+     */
+    public EdgeCompression getCompression() {
+        return compression;
+    }
+
     @Override
     public int getFactoryId() {
         return JetConfigDataSerializerHook.FACTORY_ID;
@@ -167,6 +200,10 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         out.writeInt(queueSize);
         out.writeInt(receiveWindowMultiplier);
         out.writeInt(packetSizeLimit);
+        // RU_COMPAT_5_5
+        if (out.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            out.writeString(compression.name());
+        }
     }
 
     @Override
@@ -174,6 +211,10 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         queueSize = in.readInt();
         receiveWindowMultiplier = in.readInt();
         packetSizeLimit = in.readInt();
+        // RU_COMPAT_5_5
+        if (in.getVersion().isGreaterOrEqual(Versions.V6_0)) {
+            compression = EdgeCompression.valueOf(in.readString());
+        }
     }
 
     @Override
@@ -193,7 +234,10 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         if (receiveWindowMultiplier != that.receiveWindowMultiplier) {
             return false;
         }
-        return packetSizeLimit == that.packetSizeLimit;
+        if (packetSizeLimit != that.packetSizeLimit) {
+            return false;
+        }
+        return compression == that.compression;
     }
 
     @Override
@@ -201,6 +245,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         int result = queueSize;
         result = 31 * result + receiveWindowMultiplier;
         result = 31 * result + packetSizeLimit;
+        result = 31 * result + compression.hashCode();
         return result;
     }
 
@@ -210,6 +255,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
                + "queueSize=" + queueSize
                + ", receiveWindowMultiplier=" + receiveWindowMultiplier
                + ", packetSizeLimit=" + packetSizeLimit
+               + ", compression=" + compression
                + '}';
     }
 }
@@ -195,6 +195,19 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * The size of the data going out over the network for DISTRIBUTED output
+     * {@link Edge}s after compression, in percent of its uncompressed size.
+     * It's 100 for edges without {@link
+     * com.hazelcast.jet.config.EdgeConfig#setCompression compression}. The
+     * edge can be identified based on the {@link MetricTags#ORDINAL}, {@link
+     * MetricTags#VERTEX} & {@link MetricTags#DESTINATION_ADDRESS} tags of the
+     * metric.
+     *
+     * @since 6.0
+     */
+    public static final String DISTRIBUTED_COMPRESSION_RATIO = "distributedCompressionRatio";
+
     /**
      * {@linkplain JobStatus#getId() Numerical ID} of the job's status.
      *
@@ -54,6 +54,11 @@ public class AggregateDataSerializerHook implements DataSerializerHook {
      */
     public static final int AGGREGATE_OPERATION_3_IMPL = 4;
 
+    /**
+     * Serialization ID of the {@link LongSumAggregateOperation} class.
+     */
+    public static final int LONG_SUM_AGGREGATE_OPERATION = 5;
+
 
     @Override
     public int getFactoryId() {
@@ -68,6 +73,7 @@ public class AggregateDataSerializerHook implements DataSerializerHook {
             case AGGREGATE_OPERATION_1_IMPL -> new AggregateOperation1Impl<>();
             case AGGREGATE_OPERATION_2_IMPL -> new AggregateOperation2Impl<>();
             case AGGREGATE_OPERATION_3_IMPL -> new AggregateOperation3Impl<>();
+            case LONG_SUM_AGGREGATE_OPERATION -> new LongSumAggregateOperation<>();
             default -> throw new IllegalArgumentException("Unknown type id " + typeId);
         };
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.aggregate;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.function.ToLongFunctionEx;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+
+/**
+ * An aggregate operation that sums the {@code long} values extracted from
+ * the items into a {@link LongAccumulator}, such as {@link
+ * com.hazelcast.jet.aggregate.AggregateOperations#counting()} or {@link
+ * com.hazelcast.jet.aggregate.AggregateOperations#summingLong}. It exposes
+ * the value function, so that the grouping processor can keep the sums in a
+ * primitive array instead of an accumulator object per key, see {@link
+ * com.hazelcast.jet.impl.processor.LongSumGroupP}.
+ */
+public class LongSumAggregateOperation<T, R> extends AggregateOperation1Impl<T, LongAccumulator, R> {
+
+    private ToLongFunctionEx<? super T> getLongValueFn;
+
+    public LongSumAggregateOperation() {
+    }
+
+    private LongSumAggregateOperation(
+            @Nonnull AggregateOperation1<T, LongAccumulator, ?> aggrOp,
+            @Nonnull ToLongFunctionEx<? super T> getLongValueFn,
+            @Nonnull FunctionEx<? super LongAccumulator, ? extends R> exportFn,
+            @Nonnull FunctionEx<? super LongAccumulator, ? extends R> finishFn
+    ) {
+        super(aggrOp.createFn(), aggrOp.accumulateFn(), aggrOp.combineFn(), aggrOp.deductFn(), exportFn, finishFn);
+        this.getLongValueFn = getLongValueFn;
+    }
+
+    /**
+     * Wraps the given operation, which must sum the values returned by
+     * {@code getLongValueFn} with {@link LongAccumulator#add(long)}.
+     */
+    @Nonnull
+    public static <T> LongSumAggregateOperation<T, Long> longSum(
+            @Nonnull AggregateOperation1<T, LongAccumulator, Long> aggrOp,
+            @Nonnull ToLongFunctionEx<? super T> getLongValueFn
+    ) {
+        return new LongSumAggregateOperation<>(aggrOp, getLongValueFn, aggrOp.exportFn(), aggrOp.finishFn());
+    }
+
+    /**
+     * Returns the function extracting the value to add from an item.
+     */
+    @Nonnull
+    public ToLongFunctionEx<? super T> getLongValueFn() {
+        return getLongValueFn;
+    }
+
+    @Nonnull @Override
+    public AggregateOperation1<T, LongAccumulator, LongAccumulator> withIdentityFinish() {
+        return new LongSumAggregateOperation<>(this, getLongValueFn, unsupportedExportFn(), FunctionEx.identity());
+    }
+
+    @Nonnull @Override
+    public <R_NEW> AggregateOperation1<T, LongAccumulator, R_NEW> andThen(
+            FunctionEx<? super R, ? extends R_NEW> thenFn
+    ) {
+        return new LongSumAggregateOperation<>(this, getLongValueFn,
+                exportFn().andThen(thenFn), finishFn().andThen(thenFn));
+    }
+
+    @Override
+    public int getClassId() {
+        return AggregateDataSerializerHook.LONG_SUM_AGGREGATE_OPERATION;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeObject(getLongValueFn);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        getLongValueFn = in.readObject();
+    }
+}
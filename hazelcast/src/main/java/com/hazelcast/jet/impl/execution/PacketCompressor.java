@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.config.EdgeCompression;
+import com.hazelcast.jet.impl.util.Lz4Codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+
+/**
+ * Compresses and decompresses the packets of a distributed edge, according
+ * to its {@link EdgeCompression}. The packet header is left as is. It's
+ * followed by the codec used, the uncompressed length of the data and the
+ * compressed data. If the compression doesn't reduce the size, the data is
+ * stored uncompressed.
+ * <p>
+ * An instance isn't thread-safe, each tasklet uses its own.
+ */
+class PacketCompressor {
+
+    private static final byte CODEC_STORED = 0;
+    private static final byte CODEC_LZ4 = 1;
+    private static final byte CODEC_DEFLATE = 2;
+    private static final int COMPRESSION_HEADER_SIZE = BYTE_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    private final EdgeCompression compression;
+
+    private byte[] scratch = new byte[0];
+    private int[] hashTable;
+    private Deflater deflater;
+    private Inflater inflater;
+
+    PacketCompressor(EdgeCompression compression) {
+        this.compression = compression;
+    }
+
+    boolean isEnabled() {
+        return compression != EdgeCompression.NONE;
+    }
+
+    /**
+     * Returns a new packet with the data after {@code dataOffset} compressed.
+     */
+    byte[] compress(byte[] packet, int dataOffset) {
+        int dataLength = packet.length - dataOffset;
+        int compressedLength = switch (compression) {
+            case LZ4 -> compressLz4(packet, dataOffset, dataLength);
+            case DEFLATE -> compressDeflate(packet, dataOffset, dataLength);
+            default -> throw new IllegalStateException("Unexpected compression: " + compression);
+        };
+        byte codec = compression == EdgeCompression.LZ4 ? CODEC_LZ4 : CODEC_DEFLATE;
+        byte[] data = scratch;
+        if (compressedLength < 0 || compressedLength >= dataLength) {
+            codec = CODEC_STORED;
+            data = packet;
+            compressedLength = dataLength;
+        }
+        int compressedDataOffset = dataOffset + COMPRESSION_HEADER_SIZE;
+        byte[] result = new byte[compressedDataOffset + compressedLength];
+        System.arraycopy(packet, 0, result, 0, dataOffset);
+        result[dataOffset] = codec;
+        writeIntB(result, dataOffset + BYTE_SIZE_IN_BYTES, dataLength);
+        System.arraycopy(data, data == packet ? dataOffset : 0, result, compressedDataOffset, compressedLength);
+        return result;
+    }
+
+    private int compressLz4(byte[] src, int offset, int length) {
+        if (hashTable == null) {
+            hashTable = new int[Lz4Codec.HASH_TABLE_SIZE];
+        }
+        ensureScratchCapacity(Lz4Codec.maxCompressedLength(length));
+        return Lz4Codec.compress(src, offset, length, scratch, 0, hashTable);
+    }
+
+    /**
+     * Returns the compressed length or -1, if the compressed data doesn't
+     * fit into {@code length} bytes.
+     */
+    private int compressDeflate(byte[] src, int offset, int length) {
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        ensureScratchCapacity(length);
+        deflater.reset();
+        deflater.setInput(src, offset, length);
+        deflater.finish();
+        int compressedLength = deflater.deflate(scratch, 0, length);
+        return deflater.finished() ? compressedLength : -1;
+    }
+
+    /**
+     * Returns a new packet with the data after {@code dataOffset}
+     * decompressed. The packet header isn't copied.
+     */
+    byte[] decompress(byte[] packet, int dataOffset) {
+        byte codec = packet[dataOffset];
+        int dataLength = readIntB(packet, dataOffset + BYTE_SIZE_IN_BYTES);
+        int compressedDataOffset = dataOffset + COMPRESSION_HEADER_SIZE;
+        int compressedLength = packet.length - compressedDataOffset;
+        byte[] result = new byte[dataOffset + dataLength];
+        switch (codec) {
+            case CODEC_STORED -> System.arraycopy(packet, compressedDataOffset, result, dataOffset, dataLength);
+            case CODEC_LZ4 -> Lz4Codec.decompress(packet, compressedDataOffset, compressedLength,
+                    result, dataOffset, dataLength);
+            case CODEC_DEFLATE -> inflate(packet, compressedDataOffset, compressedLength, result, dataOffset, dataLength);
+            default -> throw new JetException("Unknown packet compression codec: " + codec);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void inflate(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) {
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(src, srcOffset, srcLength);
+        try {
+            int inflatedLength = inflater.inflate(dst, dstOffset, dstLength);
+            if (inflatedLength != dstLength || !inflater.finished()) {
+                throw new JetException("Malformed compressed packet, inflated " + inflatedLength
+                        + " bytes, expected " + dstLength);
+            }
+        } catch (DataFormatException e) {
+            throw new JetException("Malformed compressed packet", e);
+        }
+    }
+
+    private void ensureScratchCapacity(int capacity) {
+        if (scratch.length < capacity) {
+            scratch = new byte[capacity];
+        }
+    }
+
+    void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.RestartableException;
+import com.hazelcast.jet.config.EdgeCompression;
 import com.hazelcast.jet.config.InstanceConfig;
 import com.hazelcast.jet.core.metrics.MetricNames;
 import com.hazelcast.jet.core.metrics.MetricTags;
@@ -96,6 +97,7 @@ public class ReceiverTasklet implements Tasklet {
     private final ArrayDeque<ObjWithPtionIdAndSize> inbox = new ArrayDeque<>();
     private final OutboundCollector collector;
     private final InternalSerializationService serializationService;
+    private final PacketCompressor compressor;
 
     private boolean receptionDone;
 
@@ -124,10 +126,11 @@ public class ReceiverTasklet implements Tasklet {
             OutboundCollector collector, InternalSerializationService serializationService,
             int rwinMultiplier, int flowControlPeriodMs, LoggingService loggingService,
             Address sourceAddress, int ordinal, String destinationVertexName,
-            Connection memberConnection, String jobPrefix
+            Connection memberConnection, String jobPrefix, EdgeCompression compression
     ) {
         this.collector = collector;
         this.serializationService = serializationService;
+        this.compressor = new PacketCompressor(compression);
         this.rwinMultiplier = rwinMultiplier;
         this.flowControlPeriodNs = (double) MILLISECONDS.toNanos(flowControlPeriodMs);
         this.sourceAddressString = sourceAddress.toString();
@@ -300,6 +303,10 @@ public class ReceiverTasklet implements Tasklet {
             long totalBytes = 0;
             long totalItems = 0;
             for (byte[] payload; (payload = incoming.poll()) != null; ) {
+                if (compressor.isEnabled()) {
+                    totalBytes += payload.length;
+                    payload = compressor.decompress(payload, PACKET_HEADER_SIZE);
+                }
                 BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
                 final int itemCount = input.readInt();
                 for (int i = 0; i < itemCount; i++) {
@@ -310,7 +317,9 @@ public class ReceiverTasklet implements Tasklet {
                     inbox.add(new ObjWithPtionIdAndSize(item, partitionId, itemSize));
                 }
                 totalItems += itemCount;
-                totalBytes += input.position();
+                if (!compressor.isEnabled()) {
+                    totalBytes += input.position();
+                }
                 tracker.madeProgress();
             }
             bytesInCounter.inc(totalBytes);
@@ -320,6 +329,11 @@ public class ReceiverTasklet implements Tasklet {
         }
     }
 
+    @Override
+    public void close() {
+        compressor.close();
+    }
+
     public void initIncomingQueue(Queue<byte[]> incomingQueue) {
         incoming = incomingQueue;
     }
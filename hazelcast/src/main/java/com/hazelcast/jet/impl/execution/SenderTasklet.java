@@ -29,6 +29,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.RestartableException;
+import com.hazelcast.jet.config.EdgeCompression;
 import com.hazelcast.jet.core.metrics.MetricNames;
 import com.hazelcast.jet.core.metrics.MetricTags;
 import com.hazelcast.jet.impl.util.ObjectWithPartitionId;
@@ -63,6 +64,7 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    private final PacketCompressor compressor;
 
     /* Used for metrics */
     private final String destinationAddressString;
@@ -75,6 +77,9 @@ public class SenderTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_OUT, unit = ProbeUnit.BYTES)
     private final Counter bytesOutCounter = SwCounter.newSwCounter();
 
+    // the size of the sent packets before compression
+    private final Counter uncompressedBytesOutCounter = SwCounter.newSwCounter();
+
     private boolean instreamExhausted;
     // read and written by Jet thread
     private long sentSeq;
@@ -88,7 +93,7 @@ public class SenderTasklet implements Tasklet {
             NodeEngine nodeEngine,
             Address destinationAddress,
             Connection connection,
-            int destinationVertexId, int packetSizeLimit, long executionId,
+            int destinationVertexId, int packetSizeLimit, EdgeCompression compression, long executionId,
             String sourceVertexName, int sourceOrdinal,
             InternalSerializationService serializationService
     ) {
@@ -97,6 +102,7 @@ public class SenderTasklet implements Tasklet {
         this.sourceVertexName = sourceVertexName;
         this.sourceOrdinalString = "" + sourceOrdinal;
         this.packetSizeLimit = packetSizeLimit;
+        this.compressor = new PacketCompressor(compression);
         // we use Connection directly because we rely on packets not being transparently skipped or reordered
         this.connection = connection;
         this.outputBuffer = serializationService.createObjectDataOutput(BUFFER_INITIAL_SIZE, BUFFER_FIRST_GROWTH_SIZE);
@@ -114,13 +120,30 @@ public class SenderTasklet implements Tasklet {
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
-            if (!connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET))) {
+            byte[] packet = outputBuffer.toByteArray();
+            uncompressedBytesOutCounter.inc(packet.length);
+            if (compressor.isEnabled()) {
+                packet = compressor.compress(packet, bufPosPastHeader);
+            }
+            bytesOutCounter.inc(packet.length);
+            if (!connection.write(new Packet(packet).setPacketType(Packet.Type.JET))) {
                 throw new RestartableException("Connection write failed in " + toString());
             }
         }
         return progTracker.toProgressState();
     }
 
+    @Probe(name = MetricNames.DISTRIBUTED_COMPRESSION_RATIO, unit = ProbeUnit.PERCENT)
+    private long compressionRatio() {
+        long uncompressedBytes = uncompressedBytesOutCounter.get();
+        return uncompressedBytes == 0 ? 100 : bytesOutCounter.get() * 100 / uncompressedBytes;
+    }
+
+    @Override
+    public void close() {
+        compressor.close();
+    }
+
     private void tryFillInbox() {
         if (!inbox.isEmpty()) {
             progTracker.notDone();
@@ -157,7 +180,6 @@ public class SenderTasklet implements Tasklet {
                 outputBuffer.writeInt(itemWithPId.getPartitionId());
             }
             outputBuffer.writeInt(bufPosPastHeader, writtenCount);
-            bytesOutCounter.inc(outputBuffer.position());
             itemsOutCounter.inc(writtenCount);
             return writtenCount > 0;
         } catch (IOException e) {
@@ -695,7 +695,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                     adaptedComparator);
             SenderTasklet t = new SenderTasklet(inboundEdgeStream, nodeEngine, destAddr,
                     memberConnections.get(destAddr),
-                    destVertexId, edge.getConfig().getPacketSizeLimit(), executionId,
+                    destVertexId, edge.getConfig().getPacketSizeLimit(), edge.getConfig().getCompression(), executionId,
                     edge.sourceVertex().name(), edge.sourceOrdinal(), jobSerializationService
             );
             senderMap.computeIfAbsent(destVertexId, xx -> new HashMap<>())
@@ -791,7 +791,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                                 edge.getConfig().getReceiveWindowMultiplier(),
                                 getJetConfig().getFlowControlPeriodMs(),
                                 nodeEngine.getLoggingService(), addr, edge.destOrdinal(), edge.destVertex().name(),
-                                memberConnections.get(addr), jobPrefix);
+                                memberConnections.get(addr), jobPrefix, edge.getConfig().getCompression());
                         addrToTasklet.put(addr, receiverTasklet);
                         tasklets.add(receiverTasklet);
                     }
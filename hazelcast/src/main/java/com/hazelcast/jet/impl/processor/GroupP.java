@@ -16,15 +16,26 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.function.BiFunctionEx;
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.aggregate.LongSumAggregateOperation;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.util.SpillFile;
+import com.hazelcast.jet.impl.util.SpillPartitions;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -41,14 +52,40 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * The number of groups kept in memory is limited by {@link
+ * Processor.Context#maxProcessorAccumulatedRecords()}. When the limit is
+ * reached, the processor either fails, or, if spilling is enabled, runs a
+ * hybrid hash aggregation over {@link SpillPartitions}: the largest key
+ * partition still in memory is spilled to a {@link SpillFile}. Its
+ * accumulators are written out and the later items of the partition are
+ * appended to the file as they are. In the {@code complete} phase, after
+ * the groups in memory are emitted, the spilled partitions are read back and
+ * re-aggregated one at a time. A partition that reaches the limit again
+ * while it's loaded is {@linkplain SpillPartitions#split split} and spilled
+ * the same way, its parts are loaded before the next partition.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
+    private static final String SPILL_FILE_PREFIX = "hazelcast-jet-group-";
+    // tags of the spilled records, the tag of an item is its ordinal
+    private static final byte TAG_KEY = -1;
+    private static final byte TAG_ACC = -2;
+
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
+    private final boolean spillEnabled;
+
+    // the partitions the groups are spilled to, of the input or of the loaded partition
+    private SpillPartitions spillPartitions;
+    // the partitions whose spilled partitions are yet to be loaded, the
+    // first one is the parent of the partition being loaded
+    private final Deque<SpillPartitions> pendingPartitions = new ArrayDeque<>();
+    private InternalSerializationService serializationService;
+    private Path spillDirectory;
 
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
@@ -57,12 +94,22 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
             @Nonnull AggregateOperation<A, R> aggrOp,
             @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        this(groupKeyFns, aggrOp, mapToOutputFn, false);
+    }
+
+    public GroupP(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn,
+            boolean spillEnabled
     ) {
         checkTrue(groupKeyFns.size() == aggrOp.arity(), groupKeyFns.size() + " key functions " +
                 "provided for " + aggrOp.arity() + "-arity aggregate operation");
         this.groupKeyFns = groupKeyFns;
         this.aggrOp = aggrOp;
         this.mapToOutputFn = mapToOutputFn;
+        this.spillEnabled = spillEnabled;
     }
 
     public <T> GroupP(
@@ -73,25 +120,178 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
     }
 
+    /**
+     * Returns a supplier of group processors that spill to disk instead of
+     * failing when they reach the {@code maxProcessorAccumulatedRecords}
+     * limit. If there's no limit, the processors don't spill and stay
+     * cooperative.
+     */
+    @Nonnull
+    public static <K, A, R, OUT> SpillingProcessorSupplier spillingSupplier(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        return new SpillingProcessorSupplier(spillEnabled ->
+                create(groupKeyFns, aggrOp, mapToOutputFn, spillEnabled));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, A, R, OUT> Processor create(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn,
+            boolean spillEnabled
+    ) {
+        if (!spillEnabled && groupKeyFns.size() == 1 && aggrOp instanceof LongSumAggregateOperation) {
+            return new LongSumGroupP<>(groupKeyFns.get(0), (LongSumAggregateOperation<?, R>) aggrOp, mapToOutputFn);
+        }
+        return new GroupP<>(groupKeyFns, aggrOp, mapToOutputFn, spillEnabled);
+    }
+
+    /**
+     * Spilling variant of {@link
+     * com.hazelcast.jet.core.processor.Processors#combineByKeyP}.
+     */
+    @Nonnull
+    public static <K, A, R, OUT> SpillingProcessorSupplier spillingCombineSupplier(
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        return new SpillingProcessorSupplier(spillEnabled -> new GroupP<>(
+                singletonList((FunctionEx<Entry<K, A>, K>) Entry::getKey),
+                aggrOp.withCombiningAccumulateFn(Entry<K, A>::getValue),
+                mapToOutputFn,
+                spillEnabled));
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return !spillEnabled;
+    }
+
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillEnabled) {
+            serializationService = ((InternalProcSupplierCtx) context).serializationService();
+            spillDirectory = SpillFile.spillDirectory(context);
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        accumulate(ordinal, item);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accumulate(int ordinal, Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
+        if (spillPartitions != null) {
+            SpillFile spillFile = spillPartitions.spillFile(key);
+            if (spillFile != null) {
+                spillFile.write(record(ordinal, item));
+                return;
+            }
+        }
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
             if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
+                if (!spillEnabled) {
+                    throw new AccumulationLimitExceededException();
+                }
+                spillLargestPartition();
+                // the partition of the key could have been the one spilled
+                accumulate(ordinal, item);
+                return;
             }
-
-            return aggrOp.createFn().get();
-        });
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+            if (spillPartitions != null) {
+                spillPartitions.onAdded(key);
+            }
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
-        return true;
+    }
+
+    /**
+     * Adds an accumulator read from a spilled partition. Its key isn't in
+     * memory, the accumulators of a partition are spilled only once.
+     */
+    private void addSpilledAcc(K key, A acc) {
+        if (spillPartitions != null) {
+            SpillFile spillFile = spillPartitions.spillFile(key);
+            if (spillFile != null) {
+                spillFile.write(record(TAG_KEY, key));
+                spillFile.write(record(TAG_ACC, acc));
+                return;
+            }
+        }
+        if (keyToAcc.size() == maxEntries) {
+            spillLargestPartition();
+            addSpilledAcc(key, acc);
+            return;
+        }
+        keyToAcc.put(key, acc);
+        if (spillPartitions != null) {
+            spillPartitions.onAdded(key);
+        }
+    }
+
+    private void spillLargestPartition() {
+        if (spillPartitions == null) {
+            spillPartitions = pendingPartitions.isEmpty()
+                    ? new SpillPartitions(spillDirectory, SPILL_FILE_PREFIX, keyToAcc.keySet())
+                    // the loaded partition doesn't fit in memory
+                    : pendingPartitions.peek().split(keyToAcc.keySet());
+        }
+
+        SpillFile spillFile = spillPartitions.spillLargest();
+        for (Iterator<Entry<K, A>> it = keyToAcc.entrySet().iterator(); it.hasNext(); ) {
+            Entry<K, A> e = it.next();
+            if (spillPartitions.spillFile(e.getKey()) == spillFile) {
+                spillFile.write(record(TAG_KEY, e.getKey()));
+                spillFile.write(record(TAG_ACC, e.getValue()));
+                it.remove();
+            }
+        }
+        getLogger().fine("Spilled " + spillFile.recordCount() / 2 + " groups to disk");
+    }
+
+    private byte[] record(int tag, Object value) {
+        byte[] data = serializationService.toData(value).toByteArray();
+        byte[] record = new byte[data.length + 1];
+        record[0] = (byte) tag;
+        System.arraycopy(data, 0, record, 1, data.length);
+        return record;
+    }
+
+    private <T> T recordValue(byte[] record) {
+        return serializationService.toObject(new HeapData(Arrays.copyOfRange(record, 1, record.length)));
+    }
+
+    /**
+     * Re-aggregates the given spilled partition into the, now empty, {@code
+     * keyToAcc} map. The file starts with the accumulators the partition had
+     * when it was spilled, followed by the items received afterwards. If the
+     * map reaches the limit, the partition is split and spilled again.
+     */
+    private void loadSpilledPartition(SpillFile spillFile) {
+        spillFile.finishWriting();
+        K key = null;
+        for (byte[] record; (record = spillFile.read()) != null; ) {
+            byte tag = record[0];
+            if (tag == TAG_KEY) {
+                key = recordValue(record);
+            } else if (tag == TAG_ACC) {
+                addSpilledAcc(key, recordValue(record));
+            } else {
+                accumulate(tag, recordValue(record));
+            }
+        }
+        spillFile.close();
     }
 
     @Override
@@ -106,16 +306,33 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillPartitions == null && pendingPartitions.isEmpty();
     }
 
+    @Override
+    public void close() {
+        if (spillPartitions != null) {
+            spillPartitions.close();
+        }
+        for (SpillPartitions partitions; (partitions = pendingPartitions.poll()) != null; ) {
+            partitions.close();
+        }
+    }
+
+    /**
+     * Traverses the groups in memory and then the spilled partitions, one
+     * partition at a time. The parts of a split partition are traversed
+     * right after the part that stayed in memory.
+     */
     private class ResultTraverser implements Traverser<Entry<K, A>> {
-        private final Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
+        private Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
 
         @Override
         public Entry<K, A> next() {
-            if (!iter.hasNext()) {
-                return null;
+            while (!iter.hasNext()) {
+                if (!loadNextSpilledPartition()) {
+                    return null;
+                }
             }
             try {
                 return iter.next();
@@ -123,5 +340,24 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
                 iter.remove();
             }
         }
+
+        private boolean loadNextSpilledPartition() {
+            // the partitions spilled from the input or from the previous
+            // loaded partition are loaded first
+            if (spillPartitions != null) {
+                pendingPartitions.push(spillPartitions);
+                spillPartitions = null;
+            }
+            for (SpillPartitions partitions; (partitions = pendingPartitions.peek()) != null; ) {
+                int partition = partitions.nextSpilled();
+                if (partition >= 0) {
+                    loadSpilledPartition(partitions.takeSpillFile(partition));
+                    iter = keyToAcc.entrySet().iterator();
+                    return true;
+                }
+                pendingPartitions.pop().close();
+            }
+            return false;
+        }
     }
 }
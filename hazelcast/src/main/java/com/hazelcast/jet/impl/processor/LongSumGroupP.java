@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.aggregate.LongSumAggregateOperation;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Specialization of {@link GroupP} for a single input aggregated with a
+ * {@link LongSumAggregateOperation}, such as {@code counting()}. Instead of
+ * a {@code HashMap} entry and a {@link LongAccumulator} per key, it keeps
+ * the keys in an open-addressing {@link Object2LongHashMap}, mapping them to
+ * an index into a {@code long[]} of the sums. The accumulator is created
+ * only when the group is emitted.
+ * <p>
+ * The processor doesn't spill to disk, {@link GroupP} is used if spilling
+ * is enabled.
+ */
+public class LongSumGroupP<K, R, OUT> extends AbstractProcessor {
+
+    private static final long NO_INDEX = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    // Object2LongHashMap doesn't support null keys
+    private static final Object NULL_KEY = new Object();
+
+    private final Object2LongHashMap<Object> keyToIndex = new Object2LongHashMap<>(NO_INDEX);
+    private final Function<Object, ? extends K> groupKeyFn;
+    private final ToLongFunction<Object> getLongValueFn;
+    private final Function<? super LongAccumulator, ? extends R> finishFn;
+    private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
+
+    private long[] sums = new long[INITIAL_CAPACITY];
+    private long maxEntries;
+    private Traverser<OUT> resultTraverser;
+
+    @SuppressWarnings("unchecked")
+    public LongSumGroupP(
+            @Nonnull FunctionEx<?, ? extends K> groupKeyFn,
+            @Nonnull LongSumAggregateOperation<?, R> aggrOp,
+            @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        this.groupKeyFn = (Function<Object, ? extends K>) groupKeyFn;
+        this.getLongValueFn = (ToLongFunction<Object>) aggrOp.getLongValueFn();
+        this.finishFn = aggrOp.finishFn();
+        this.mapToOutputFn = mapToOutputFn;
+    }
+
+    @Override
+    protected void init(@Nonnull Processor.Context context) throws Exception {
+        maxEntries = context.maxProcessorAccumulatedRecords();
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        K key = groupKeyFn.apply(item);
+        Object mapKey = key != null ? key : NULL_KEY;
+        int size = keyToIndex.size();
+        if (size == maxEntries && keyToIndex.getValue(mapKey) == NO_INDEX) {
+            throw new AccumulationLimitExceededException();
+        }
+        long index = keyToIndex.putIfAbsent(mapKey, size);
+        if (index == NO_INDEX) {
+            index = size;
+            if (size == sums.length) {
+                sums = Arrays.copyOf(sums, size * 2);
+            }
+        }
+        sums[(int) index] = Math.addExact(sums[(int) index], getLongValueFn.applyAsLong(item));
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean complete() {
+        if (resultTraverser == null) {
+            Object2LongHashMap<Object>.EntryIterator iterator = keyToIndex.entrySet().iterator();
+            Traverser<Object> keys = () -> iterator.hasNext() ? iterator.next().getKey() : null;
+            resultTraverser = keys
+                    // reuse null filtering done by map()
+                    .map(key -> mapToOutputFn.apply(
+                            key != NULL_KEY ? (K) key : null,
+                            finishFn.apply(new LongAccumulator(sums[(int) iterator.getLongValue()]))));
+        }
+        return emitFromTraverser(resultTraverser);
+    }
+}
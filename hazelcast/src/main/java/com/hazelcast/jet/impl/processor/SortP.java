@@ -16,51 +16,227 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.function.ComparatorEx;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.util.SpillFile;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+/**
+ * Sorts its input and emits it in the {@code complete} phase.
+ * <p>
+ * The items are kept in a {@link PriorityQueue}, up to {@link
+ * Processor.Context#maxProcessorAccumulatedRecords()} of them. When the limit
+ * is reached, the processor either fails, or, if spilling is enabled, writes
+ * the sorted content of the queue to a temporary {@link SpillFile} (a
+ * <em>run</em>) and continues with an empty queue. In the {@code complete}
+ * phase the runs and the items still in memory are k-way merged. At most
+ * {@value #MAX_MERGE_FAN_IN} sources are merged at once: if there are more
+ * runs, the oldest ones are first merged into longer runs.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    static final int MAX_MERGE_FAN_IN = 16;
+
+    private static final String SPILL_FILE_PREFIX = "hazelcast-jet-sort-";
+
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final Comparator<T> comparator;
+    private final boolean spillEnabled;
+    private final List<SpillFile> runs = new ArrayList<>();
 
+    private Traverser<T> resultTraverser;
+    private InternalSerializationService serializationService;
+    private Path spillDirectory;
     private long maxItems;
 
     public SortP(@Nullable Comparator<T> comparator) {
+        this(comparator, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public SortP(@Nullable Comparator<T> comparator, boolean spillEnabled) {
         this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.spillEnabled = spillEnabled;
+    }
+
+    /**
+     * Returns a supplier of sort processors that spill to disk instead of
+     * failing when they reach the {@code maxProcessorAccumulatedRecords}
+     * limit. If there's no limit, the processors don't spill and stay
+     * cooperative.
+     */
+    @Nonnull
+    public static <T> SpillingProcessorSupplier spillingSupplier(@Nullable ComparatorEx<T> comparator) {
+        return new SpillingProcessorSupplier(spillEnabled -> new SortP<>(comparator, spillEnabled));
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return !spillEnabled;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        if (spillEnabled) {
+            serializationService = ((InternalProcSupplierCtx) context).serializationService();
+            spillDirectory = SpillFile.spillDirectory(context);
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            if (!spillEnabled) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillRun();
         }
 
         priorityQueue.add((T) item);
         return true;
     }
 
+    private void spillRun() {
+        SpillFile run = new SpillFile(spillDirectory, SPILL_FILE_PREFIX);
+        runs.add(run);
+        for (T item; (item = priorityQueue.poll()) != null; ) {
+            run.write(serializationService.toData(item).toByteArray());
+        }
+        run.finishWriting();
+        getLogger().fine("Spilled a sorted run of " + run.recordCount() + " items to disk");
+    }
+
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            if (runs.isEmpty()) {
+                resultTraverser = priorityQueue::poll;
+            } else {
+                // the priority queue is merged with the runs as one more source
+                mergeRuns(MAX_MERGE_FAN_IN - 1);
+                resultTraverser = new MergingTraverser(runs, true);
+            }
+        }
         return emitFromTraverser(resultTraverser);
     }
 
+    /**
+     * Merges the oldest runs into one, {@value #MAX_MERGE_FAN_IN} at a time,
+     * until at most {@code maxRuns} runs remain.
+     */
+    private void mergeRuns(int maxRuns) {
+        while (runs.size() > maxRuns) {
+            List<SpillFile> merged = runs.subList(0, MAX_MERGE_FAN_IN);
+            SpillFile run = new SpillFile(spillDirectory, SPILL_FILE_PREFIX);
+            MergingTraverser traverser = new MergingTraverser(merged, false);
+            for (byte[] record; (record = traverser.nextRecord()) != null; ) {
+                run.write(record);
+            }
+            run.finishWriting();
+            merged.forEach(SpillFile::close);
+            merged.clear();
+            runs.add(run);
+        }
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return runs.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        runs.forEach(SpillFile::close);
+        runs.clear();
+    }
+
+    /**
+     * Merges the given runs and, optionally, the items remaining in the
+     * priority queue. Only the head item of each source is kept in memory.
+     */
+    private final class MergingTraverser implements Traverser<T> {
+
+        private final PriorityQueue<Cursor> cursors;
+
+        MergingTraverser(List<SpillFile> runs, boolean mergePriorityQueue) {
+            cursors = new PriorityQueue<>(runs.size() + 1, (c1, c2) -> comparator.compare(c1.head, c2.head));
+            if (mergePriorityQueue) {
+                addIfNotDone(new Cursor(null));
+            }
+            for (SpillFile run : runs) {
+                addIfNotDone(new Cursor(run));
+            }
+        }
+
+        @Override
+        public T next() {
+            Cursor cursor = cursors.poll();
+            if (cursor == null) {
+                return null;
+            }
+            T item = cursor.head;
+            addIfNotDone(cursor);
+            return item;
+        }
+
+        /**
+         * Returns the serialized form of the next item, without serializing it
+         * again. Only for merging runs without the priority queue.
+         */
+        byte[] nextRecord() {
+            Cursor cursor = cursors.poll();
+            if (cursor == null) {
+                return null;
+            }
+            byte[] record = cursor.record;
+            addIfNotDone(cursor);
+            return record;
+        }
+
+        private void addIfNotDone(Cursor cursor) {
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Iterates a single sorted source, either a run or, if {@code run} is
+     * null, the priority queue.
+     */
+    private final class Cursor {
+        private final SpillFile run;
+        private T head;
+        private byte[] record;
+
+        Cursor(@Nullable SpillFile run) {
+            this.run = run;
+        }
+
+        boolean advance() {
+            if (run == null) {
+                head = priorityQueue.poll();
+                return head != null;
+            }
+            record = run.read();
+            head = record != null ? serializationService.toObject(new HeapData(record)) : null;
+            return head != null;
+        }
     }
 }
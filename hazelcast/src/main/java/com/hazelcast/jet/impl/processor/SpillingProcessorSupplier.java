@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+
+import javax.annotation.Nonnull;
+import java.io.Serial;
+import java.util.Collection;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+
+/**
+ * Supplier of processors that can spill their state to disk when they
+ * reach the {@link Context#maxProcessorAccumulatedRecords()} limit. The
+ * spilling is enabled only if there is a limit, otherwise the processors
+ * keep everything in memory and can stay cooperative.
+ */
+public final class SpillingProcessorSupplier implements ProcessorSupplier {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final FunctionEx<Boolean, ? extends Processor> createFn;
+    private transient boolean spillEnabled;
+
+    /**
+     * @param createFn creates a processor, the argument tells if the
+     *                 processor should spill
+     */
+    public SpillingProcessorSupplier(@Nonnull FunctionEx<Boolean, ? extends Processor> createFn) {
+        this.createFn = createFn;
+    }
+
+    @Override
+    public void init(@Nonnull Context context) {
+        spillEnabled = context.maxProcessorAccumulatedRecords() != Long.MAX_VALUE;
+    }
+
+    @Nonnull
+    @Override
+    public Collection<? extends Processor> get(int count) {
+        return range(0, count)
+                .mapToObj(i -> createFn.apply(spillEnabled))
+                .collect(toList());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.readIntL;
+
+/**
+ * Compressor and decompressor of the <a
+ * href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4
+ * block format</a>.
+ * <p>
+ * The compressor uses a single-probe hash table of the recent positions of
+ * 4-byte sequences, as the "fast" mode of the reference implementation. It
+ * favors speed over the compression ratio.
+ */
+public final class Lz4Codec {
+
+    /**
+     * The size of the hash table expected by {@link #compress}.
+     */
+    public static final int HASH_TABLE_SIZE = 1 << 12;
+
+    private static final int HASH_LOG = 12;
+    private static final int MIN_MATCH = 4;
+    // the last 5 bytes are always literals
+    private static final int LAST_LITERALS = 5;
+    // the last match must start at least 12 bytes before the end of the block
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+    private static final int ML_BITS = 4;
+    private static final int ML_MASK = (1 << ML_BITS) - 1;
+    private static final int RUN_MASK = (1 << ML_BITS) - 1;
+    private static final int SKIP_STRENGTH = 6;
+    private static final int MAX_LENGTH_BYTE = 0xFF;
+
+    private Lz4Codec() {
+    }
+
+    /**
+     * Returns the maximum length of the compressed form of {@code length}
+     * bytes.
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / MAX_LENGTH_BYTE + 16;
+    }
+
+    /**
+     * Compresses {@code srcLen} bytes of {@code src} into {@code dst}, which
+     * must have at least {@link #maxCompressedLength} bytes after {@code
+     * dstOff}.
+     *
+     * @param hashTable a scratch array of {@link #HASH_TABLE_SIZE} elements
+     * @return the length of the compressed data
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int[] hashTable) {
+        final int srcEnd = srcOff + srcLen;
+        // a match must end before matchLimit and start before mfLimit
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        final int mfLimit = srcEnd - MF_LIMIT;
+        int anchor = srcOff;
+        int dPos = dstOff;
+        Arrays.fill(hashTable, -1);
+
+        int sPos = srcOff;
+        while (sPos < mfLimit) {
+            int sequence = readIntL(src, sPos);
+            int hash = hash(sequence);
+            int ref = hashTable[hash];
+            hashTable[hash] = sPos;
+            if (ref < 0 || sPos - ref > MAX_DISTANCE || readIntL(src, ref) != sequence) {
+                // move faster over incompressible data
+                sPos += 1 + ((sPos - anchor) >>> SKIP_STRENGTH);
+                continue;
+            }
+            while (sPos > anchor && ref > srcOff && src[sPos - 1] == src[ref - 1]) {
+                sPos--;
+                ref--;
+            }
+            int matchLen = MIN_MATCH;
+            while (sPos + matchLen < matchLimit && src[sPos + matchLen] == src[ref + matchLen]) {
+                matchLen++;
+            }
+            dPos = writeSequence(src, anchor, sPos - anchor, sPos - ref, matchLen, dst, dPos);
+            sPos += matchLen;
+            anchor = sPos;
+        }
+
+        int literalLen = srcEnd - anchor;
+        int tokenPos = dPos++;
+        dPos = writeLiterals(src, anchor, literalLen, dst, dPos);
+        dst[tokenPos] = (byte) (Math.min(literalLen, RUN_MASK) << ML_BITS);
+        return dPos - dstOff;
+    }
+
+    /**
+     * Decompresses {@code srcLen} bytes of {@code src} into exactly {@code
+     * dstLen} bytes of {@code dst}.
+     *
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        final int srcEnd = srcOff + srcLen;
+        int sPos = srcOff;
+        int dPos = dstOff;
+        try {
+            while (true) {
+                int token = src[sPos++] & 0xFF;
+                int literalLen = token >>> ML_BITS;
+                if (literalLen == RUN_MASK) {
+                    for (int b = MAX_LENGTH_BYTE; b == MAX_LENGTH_BYTE; literalLen += b) {
+                        b = src[sPos++] & 0xFF;
+                    }
+                }
+                System.arraycopy(src, sPos, dst, dPos, literalLen);
+                sPos += literalLen;
+                dPos += literalLen;
+                if (sPos >= srcEnd) {
+                    break;
+                }
+
+                int offset = (src[sPos++] & 0xFF) | (src[sPos++] & 0xFF) << Byte.SIZE;
+                int matchLen = token & ML_MASK;
+                if (matchLen == ML_MASK) {
+                    for (int b = MAX_LENGTH_BYTE; b == MAX_LENGTH_BYTE; matchLen += b) {
+                        b = src[sPos++] & 0xFF;
+                    }
+                }
+                matchLen += MIN_MATCH;
+                int ref = dPos - offset;
+                if (offset == 0 || ref < dstOff) {
+                    throw new IllegalArgumentException("Malformed LZ4 data, invalid offset at " + (sPos - 2));
+                }
+                // the copy must go byte by byte, the match can overlap the output
+                for (int end = dPos + matchLen; dPos < end; ) {
+                    dst[dPos++] = dst[ref++];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed LZ4 data", e);
+        }
+        if (sPos != srcEnd || dPos != dstOff + dstLen) {
+            throw new IllegalArgumentException("Malformed LZ4 data, decompressed " + (dPos - dstOff)
+                    + " bytes, expected " + dstLen);
+        }
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int offset, int matchLen,
+                                     byte[] dst, int dPos) {
+        int tokenPos = dPos++;
+        dPos = writeLiterals(src, literalOff, literalLen, dst, dPos);
+        dst[dPos++] = (byte) offset;
+        dst[dPos++] = (byte) (offset >>> Byte.SIZE);
+        int extraMatchLen = matchLen - MIN_MATCH;
+        if (extraMatchLen >= ML_MASK) {
+            dPos = writeLength(extraMatchLen - ML_MASK, dst, dPos);
+        }
+        dst[tokenPos] = (byte) (Math.min(literalLen, RUN_MASK) << ML_BITS | Math.min(extraMatchLen, ML_MASK));
+        return dPos;
+    }
+
+    private static int writeLiterals(byte[] src, int literalOff, int literalLen, byte[] dst, int dPos) {
+        if (literalLen >= RUN_MASK) {
+            dPos = writeLength(literalLen - RUN_MASK, dst, dPos);
+        }
+        System.arraycopy(src, literalOff, dst, dPos, literalLen);
+        return dPos + literalLen;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dPos) {
+        for (; length >= MAX_LENGTH_BYTE; length -= MAX_LENGTH_BYTE) {
+            dst[dPos++] = (byte) MAX_LENGTH_BYTE;
+        }
+        dst[dPos++] = (byte) length;
+        return dPos;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.core.Processor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A temporary file used by processors to spill the records they can't
+ * keep in memory. The records are opaque byte arrays, usually the
+ * serialized form of the items.
+ * <p>
+ * The file is first written sequentially with {@link #write}, then, after
+ * {@link #finishWriting()}, read back sequentially in the same order with
+ * {@link #read()}. The I/O goes through a {@link FileChannel} and a direct
+ * buffer, which the file holds only while it is being written or read: a
+ * file waiting between {@code finishWriting()} and the first {@code read()}
+ * holds no direct memory. The file is deleted when closed.
+ * <p>
+ * Not thread-safe.
+ */
+public final class SpillFile implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String SUFFIX = ".spill";
+
+    private final Path path;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+
+    private boolean writing = true;
+    private boolean drained;
+    private long recordCount;
+
+    /**
+     * @param directory the directory of the file, or {@code null} for the
+     *                  default temporary-file directory. It is created if it
+     *                  doesn't exist
+     * @param prefix    the prefix of the file name
+     */
+    public SpillFile(@Nullable Path directory, @Nonnull String prefix) {
+        try {
+            if (directory == null) {
+                path = Files.createTempFile(prefix, SUFFIX);
+            } else {
+                Files.createDirectories(directory);
+                path = Files.createTempFile(directory, prefix, SUFFIX);
+            }
+            channel = FileChannel.open(path, READ, WRITE);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Returns the directory configured for the spill files of the processor
+     * with {@link com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY},
+     * or {@code null} for the default temporary-file directory.
+     */
+    @Nullable
+    public static Path spillDirectory(@Nonnull Processor.Context context) {
+        String directory = getNodeEngine(context.hazelcastInstance()).getProperties().getString(JET_SPILL_DIRECTORY);
+        return directory != null ? Paths.get(directory) : null;
+    }
+
+    /**
+     * Appends a record to the file.
+     */
+    public void write(@Nonnull byte[] record) {
+        checkState(writing, "the spill file was already switched to reading");
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        try {
+            if (buffer.remaining() < Integer.BYTES) {
+                flushBuffer();
+            }
+            buffer.putInt(record.length);
+            if (buffer.remaining() >= record.length) {
+                buffer.put(record);
+            } else {
+                flushBuffer();
+                if (record.length <= buffer.capacity()) {
+                    buffer.put(record);
+                } else {
+                    writeFully(ByteBuffer.wrap(record));
+                }
+            }
+            recordCount++;
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Flushes the written records and rewinds the file for reading.
+     */
+    public void finishWriting() {
+        checkState(writing, "the spill file was already switched to reading");
+        try {
+            if (buffer != null) {
+                flushBuffer();
+            }
+            channel.position(0);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+        writing = false;
+        // a new buffer is allocated by the first read
+        buffer = null;
+    }
+
+    /**
+     * Returns the next record or {@code null}, if all records were read.
+     */
+    @Nullable
+    public byte[] read() {
+        checkState(!writing, "the spill file wasn't switched to reading");
+        if (drained) {
+            return null;
+        }
+        if (buffer == null) {
+            // empty buffer in reading mode
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+        }
+        try {
+            if (!fill(Integer.BYTES)) {
+                drained = true;
+                buffer = null;
+                return null;
+            }
+            byte[] record = new byte[buffer.getInt()];
+            int offset = Math.min(buffer.remaining(), record.length);
+            buffer.get(record, 0, offset);
+            if (offset < record.length) {
+                // the buffer is drained, read the rest of the record directly
+                ByteBuffer remainder = ByteBuffer.wrap(record, offset, record.length - offset);
+                while (remainder.hasRemaining()) {
+                    if (channel.read(remainder) < 0) {
+                        throw new IOException("Unexpected end of spill file " + path);
+                    }
+                }
+            }
+            return record;
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Returns the number of records written to the file.
+     */
+    public long recordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        closeResource(channel);
+        deleteQuietly(path.toFile());
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    /**
+     * Makes sure at least the given number of bytes is available in the
+     * buffer. Returns false, if the end of the file is reached before any
+     * byte was read.
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == 0) {
+                    buffer.flip();
+                    return false;
+                }
+                throw new IOException("Unexpected end of spill file " + path);
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
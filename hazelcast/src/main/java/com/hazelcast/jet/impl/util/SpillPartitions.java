@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * The key partitions of a processor that spills to disk with a hybrid hash
+ * algorithm, such as the hash aggregation or the grace hash join.
+ * <p>
+ * The keys are split into {@value #PARTITION_COUNT} partitions by their hash.
+ * When the processor reaches its memory limit, it spills the partition with
+ * the most records in memory, see {@link #spillLargest()}. The {@link
+ * SpillFile} of a spilled partition receives the records the partition held
+ * in memory, followed by its later records. A partition can also have a
+ * probe file, for the records of another input to be processed with the
+ * partition, e.g. the rows to be joined with it. In the {@code complete}
+ * phase the processor loads the spilled partitions one at a time, see {@link
+ * #nextSpilled()}.
+ * <p>
+ * A spilled partition that doesn't fit in memory when loaded, e.g. because
+ * of skewed keys, is split again by the partitions {@link #split} returns,
+ * which use a different hash seed. The processor spills the partitions of
+ * the split the same way and loads them before the next partition of this
+ * instance. A partition is split at most {@value #MAX_LEVEL} times: the
+ * records of keys with the same hash code, e.g. the rows of a single join
+ * key, can't be split, so if there are more of them than the memory limit,
+ * the processor still fails.
+ * <p>
+ * Not thread-safe.
+ */
+public final class SpillPartitions implements Closeable {
+
+    public static final int PARTITION_COUNT = 64;
+
+    /**
+     * The maximum number of times a partition is {@link #split}.
+     */
+    static final int MAX_LEVEL = 8;
+
+    private static final int SEED_INCREMENT = 0x9E3779B9;
+
+    private final Path directory;
+    private final String prefix;
+    private final int level;
+    private final int seed;
+    private final SpillFile[] spillFiles = new SpillFile[PARTITION_COUNT];
+    private final SpillFile[] probeFiles = new SpillFile[PARTITION_COUNT];
+    private final int[] sizes = new int[PARTITION_COUNT];
+    private int nextSpilled;
+
+    /**
+     * @param directory    the directory of the spill files, see {@link
+     *                     SpillFile#spillDirectory}
+     * @param prefix       the prefix of the spill file names
+     * @param inMemoryKeys the keys of the records in memory, once per record
+     */
+    public SpillPartitions(@Nullable Path directory, @Nonnull String prefix, @Nonnull Iterable<?> inMemoryKeys) {
+        this(directory, prefix, 0, inMemoryKeys);
+    }
+
+    private SpillPartitions(@Nullable Path directory, @Nonnull String prefix, int level,
+                            @Nonnull Iterable<?> inMemoryKeys) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.level = level;
+        this.seed = level * SEED_INCREMENT;
+        for (Object key : inMemoryKeys) {
+            sizes[partition(key)]++;
+        }
+    }
+
+    /**
+     * Returns the partitions to split a spilled partition of this instance
+     * into, when it doesn't fit in memory when loaded. The keys are
+     * partitioned with a different hash seed than the one of this instance.
+     *
+     * @param inMemoryKeys the keys of the records of the loaded partition in
+     *                     memory, once per record
+     * @throws AccumulationLimitExceededException if the partition was split
+     *         {@value #MAX_LEVEL} times already
+     */
+    @Nonnull
+    public SpillPartitions split(@Nonnull Iterable<?> inMemoryKeys) {
+        if (level == MAX_LEVEL) {
+            throw new AccumulationLimitExceededException();
+        }
+        return new SpillPartitions(directory, prefix, level + 1, inMemoryKeys);
+    }
+
+    /**
+     * Returns the spill file of the partition of the key, or {@code null} if
+     * the partition is in memory.
+     */
+    @Nullable
+    public SpillFile spillFile(Object key) {
+        return spillFiles[partition(key)];
+    }
+
+    /**
+     * Returns the probe file of the partition of the key, which must be
+     * spilled. The file is created on the first use.
+     */
+    @Nonnull
+    public SpillFile probeFile(Object key) {
+        int partition = partition(key);
+        assert spillFiles[partition] != null : "partition " + partition + " isn't spilled";
+        if (probeFiles[partition] == null) {
+            probeFiles[partition] = new SpillFile(directory, prefix);
+        }
+        return probeFiles[partition];
+    }
+
+    /**
+     * Counts a record of the key added to memory.
+     */
+    public void onAdded(Object key) {
+        sizes[partition(key)]++;
+    }
+
+    /**
+     * Spills the partition with the most records in memory. The caller must
+     * then move the records whose keys have the returned {@link
+     * #spillFile(Object) spill file} from memory to it.
+     *
+     * @return the spill file of the partition
+     */
+    @Nonnull
+    public SpillFile spillLargest() {
+        int largest = -1;
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            if (spillFiles[partition] == null && (largest < 0 || sizes[partition] > sizes[largest])) {
+                largest = partition;
+            }
+        }
+        if (largest < 0) {
+            throw new IllegalStateException("All partitions are spilled");
+        }
+        sizes[largest] = 0;
+        spillFiles[largest] = new SpillFile(directory, prefix);
+        return spillFiles[largest];
+    }
+
+    /**
+     * Returns the next spilled partition to be loaded, or -1 if there's none
+     * left. The files of the partition are to be taken with {@link
+     * #takeSpillFile} and {@link #takeProbeFile}, the caller then closes them.
+     */
+    public int nextSpilled() {
+        while (nextSpilled < PARTITION_COUNT) {
+            int partition = nextSpilled++;
+            if (spillFiles[partition] != null) {
+                return partition;
+            }
+        }
+        return -1;
+    }
+
+    @Nonnull
+    public SpillFile takeSpillFile(int partition) {
+        SpillFile spillFile = spillFiles[partition];
+        spillFiles[partition] = null;
+        return spillFile;
+    }
+
+    @Nullable
+    public SpillFile takeProbeFile(int partition) {
+        SpillFile probeFile = probeFiles[partition];
+        probeFiles[partition] = null;
+        return probeFile;
+    }
+
+    @Override
+    public void close() {
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            if (spillFiles[partition] != null) {
+                spillFiles[partition].close();
+                spillFiles[partition] = null;
+            }
+            if (probeFiles[partition] != null) {
+                probeFiles[partition].close();
+                probeFiles[partition] = null;
+            }
+        }
+    }
+
+    private int partition(Object key) {
+        return MurmurHash3_fmix(Objects.hashCode(key) ^ seed) & (PARTITION_COUNT - 1);
+    }
+}
@@ -42,6 +42,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -215,6 +216,11 @@ public class LocalMapStatsProvider {
             } else {
                 addStatsOfBackupReplica(existingRecordStore, onDemandStats);
             }
+
+            MerkleTree merkleTree = existingRecordStore.getMerkleTree();
+            if (merkleTree != null) {
+                onDemandStats.incrementMerkleTreesCost(merkleTree.footprint());
+            }
         }
         addStructureStats(mapName, onDemandStats);
     }
@@ -21,6 +21,7 @@ import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
 import com.hazelcast.internal.partition.ChunkSupplier;
 import com.hazelcast.internal.partition.ChunkSuppliers;
 import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
+import com.hazelcast.internal.partition.DifferentialReplicationAwareService;
 import com.hazelcast.internal.partition.MigrationEndpoint;
 import com.hazelcast.internal.partition.OffloadedReplicationPreparation;
 import com.hazelcast.internal.partition.PartitionMigrationEvent;
@@ -42,10 +43,15 @@ import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeUtil;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import static com.hazelcast.config.CacheDeserializedValues.NEVER;
@@ -61,7 +67,7 @@ import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.sen
  * @see MapService
  */
 class MapMigrationAwareService
-        implements ChunkedMigrationAwareService, OffloadedReplicationPreparation {
+        implements ChunkedMigrationAwareService, OffloadedReplicationPreparation, DifferentialReplicationAwareService {
 
     protected final PartitionContainer[] containers;
     protected final MapServiceContext mapServiceContext;
@@ -138,8 +144,9 @@ class MapMigrationAwareService
 
         int partitionId = event.getPartitionId();
 
-        Operation operation = new MapReplicationOperation(containers[partitionId],
+        MapReplicationOperation operation = new MapReplicationOperation(containers[partitionId],
                 namespaces, partitionId, event.getReplicaIndex());
+        operation.setMerkleTreeDiffByMapName(getMerkleTreeDiffByMapName(event, namespaces));
         operation.setService(mapServiceContext.getService());
         operation.setNodeEngine(mapServiceContext.getNodeEngine());
 
@@ -149,6 +156,11 @@ class MapMigrationAwareService
     @Override
     public ChunkSupplier newChunkSupplier(PartitionReplicationEvent event,
                                           Collection<ServiceNamespace> namespaces) {
+        if (getMerkleTreeDiffByMapName(event, namespaces) != null) {
+            // the differential replication fits in a single operation
+            return null;
+        }
+
         List<ChunkSupplier> chain = new ArrayList<>(namespaces.size());
         for (ServiceNamespace namespace : namespaces) {
             chain.add(new MapChunkSupplier(mapServiceContext, namespace,
@@ -158,6 +170,60 @@ class MapMigrationAwareService
         return ChunkSuppliers.newChainedChunkSupplier(chain);
     }
 
+    @Override
+    public int[] getMerkleTreeLeaves(int partitionId, ServiceNamespace namespace) {
+        String mapName = ((ObjectNamespace) namespace).getObjectName();
+        RecordStore recordStore = containers[partitionId].getExistingRecordStore(mapName);
+        if (recordStore == null || recordStore.getMerkleTree() == null || recordStore.isEmpty()) {
+            return null;
+        }
+        return MerkleTreeUtil.getLeaves(recordStore.getMerkleTree());
+    }
+
+    /**
+     * Compares the Merkle tree leaves sent by the replica with the local
+     * ones. The replica needs a full sync if it didn't send leaves, the
+     * trees differ in depth or too many leaves differ for a differential
+     * sync to pay off.
+     *
+     * @return the differing leaves of the replicated map as node
+     * order/value pairs, or {@code null} if a full sync is needed
+     */
+    @Nullable
+    private Map<String, int[]> getMerkleTreeDiffByMapName(PartitionReplicationEvent event,
+                                                          Collection<ServiceNamespace> namespaces) {
+        int[] replicaLeaves = event.getReplicaMerkleTreeLeaves();
+        if (replicaLeaves == null || namespaces.size() != 1) {
+            return null;
+        }
+
+        String mapName = ((ObjectNamespace) namespaces.iterator().next()).getObjectName();
+        RecordStore recordStore = containers[event.getPartitionId()].getExistingRecordStore(mapName);
+        MerkleTree merkleTree = recordStore != null ? recordStore.getMerkleTree() : null;
+        if (merkleTree == null) {
+            return null;
+        }
+
+        int[] localLeaves = MerkleTreeUtil.getLeaves(merkleTree);
+        if (localLeaves.length != replicaLeaves.length) {
+            return null;
+        }
+
+        Collection<Integer> diffLeafOrders = MerkleTreeUtil.compareTrees(merkleTree,
+                MerkleTreeUtil.createRemoteMerkleTreeView(replicaLeaves));
+        if (diffLeafOrders.size() > localLeaves.length / 2) {
+            return null;
+        }
+
+        int[] diffOrderValuePairs = new int[diffLeafOrders.size() * 2];
+        int i = 0;
+        for (int leafOrder : diffLeafOrders) {
+            diffOrderValuePairs[i++] = leafOrder;
+            diffOrderValuePairs[i++] = merkleTree.getNodeHash(leafOrder);
+        }
+        return Collections.singletonMap(mapName, diffOrderValuePairs);
+    }
+
     boolean assertAllKnownNamespaces(Collection<ServiceNamespace> namespaces) {
         for (ServiceNamespace namespace : namespaces) {
             assert isKnownServiceNamespace(namespace)
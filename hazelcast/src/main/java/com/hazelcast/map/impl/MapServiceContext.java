@@ -24,6 +24,7 @@ import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -235,6 +236,12 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter();
 
+    /**
+     * @return node-wide budget of the native memory used by
+     * the record stores of {@code NATIVE} in-memory format maps
+     */
+    NativeMemoryBudget getNativeMemoryBudget();
+
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     /**
@@ -19,9 +19,11 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
@@ -109,6 +111,7 @@ import static com.hazelcast.query.impl.predicates.QueryOptimizerFactory.newOptim
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.QUERY_EXECUTOR;
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION;
+import static com.hazelcast.spi.properties.ClusterProperty.GLOBAL_HD_INDEX_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
@@ -143,6 +146,8 @@ class MapServiceContextImpl implements MapServiceContext {
     private final MapClearExpiredRecordsTask clearExpiredRecordsTask;
     private final PartitioningStrategyFactory partitioningStrategyFactory;
     private final NodeWideUsedCapacityCounter nodeWideUsedCapacityCounter;
+    private final NativeMemoryBudget nativeMemoryBudget;
+    private final boolean globalIndexEnabled;
     private final ConstructorFunction<String, MapContainer> mapConstructor;
     private final IndexProvider indexProvider = new DefaultIndexProvider();
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
@@ -182,6 +187,8 @@ class MapServiceContextImpl implements MapServiceContext {
         this.operationProviders = createOperationProviders();
         this.partitioningStrategyFactory = new PartitioningStrategyFactory(nodeEngine.getConfigClassLoader());
         this.nodeWideUsedCapacityCounter = new NodeWideUsedCapacityCounter(nodeEngine.getProperties());
+        this.nativeMemoryBudget = createNativeMemoryBudget(nodeEngine.getConfig().getNativeMemoryConfig());
+        this.globalIndexEnabled = nodeEngine.getProperties().getBoolean(GLOBAL_HD_INDEX_ENABLED);
         this.nodeWideLoadedKeyLimiter = new Semaphore(checkPositive(PROP_LOADED_KEY_LIMITER_PER_NODE,
                 nodeEngine.getProperties().getInteger(LOADED_KEY_LIMITER_PER_NODE)));
         this.logger = nodeEngine.getLogger(getClass());
@@ -930,7 +937,7 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public boolean globalIndexEnabled() {
-        return true;
+        return globalIndexEnabled;
     }
 
     @Override
@@ -940,6 +947,10 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            // records of NativeStorageImpl return on-heap copies of their values
+            return ValueComparatorUtil.getValueComparatorOf(InMemoryFormat.BINARY);
+        }
         return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat);
     }
 
@@ -948,11 +959,33 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideLoadedKeyLimiter;
     }
 
+    @Override
+    public boolean shouldEnableMerkleTree(MapConfig mapConfig) {
+        return Boolean.TRUE.equals(mapConfig.getMerkleTreeConfig().getEnabled());
+    }
+
+    @Override
+    public boolean shouldEnableMerkleTree(MapContainer mapContainer, boolean log) {
+        return shouldEnableMerkleTree(mapContainer.getMapConfig());
+    }
+
     @Override
     public NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter() {
         return nodeWideUsedCapacityCounter;
     }
 
+    @Override
+    public NativeMemoryBudget getNativeMemoryBudget() {
+        return nativeMemoryBudget;
+    }
+
+    private static NativeMemoryBudget createNativeMemoryBudget(NativeMemoryConfig nativeMemoryConfig) {
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            return NativeMemoryBudget.UNLIMITED;
+        }
+        return new NativeMemoryBudget(nativeMemoryConfig.getCapacity().bytes());
+    }
+
     // used only for testing purposes
     PartitioningStrategyFactory getPartitioningStrategyFactory() {
         return partitioningStrategyFactory;
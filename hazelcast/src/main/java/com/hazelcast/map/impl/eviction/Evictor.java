@@ -85,4 +85,13 @@ public interface Evictor {
      */
     boolean checkEvictable(RecordStore recordStore);
 
+    /**
+     * Reports an access of the given key to eviction
+     * policies which track the access frequencies of keys.
+     *
+     * @param dataKey the accessed key
+     */
+    default void recordAccess(Data dataKey) {
+    }
+
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.eviction;
 
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -41,6 +42,7 @@ public class EvictorImpl implements Evictor {
     protected final IPartitionService partitionService;
 
     private final int batchSize;
+    private final TinyLfuEvictionPolicyComparator frequencyTracker;
 
     public EvictorImpl(EvictionPolicyComparator policy,
                        EvictionChecker evictionChecker, int batchSize,
@@ -50,12 +52,18 @@ public class EvictorImpl implements Evictor {
         this.partitionService = checkNotNull(partitionService);
         this.policy = checkNotNull(policy);
         this.batchSize = batchSize;
+        this.frequencyTracker = policy instanceof TinyLfuEvictionPolicyComparator comparator ? comparator : null;
     }
 
     @Override
     public void evict(RecordStore recordStore, Data excludedKey) {
         assertRunningOnPartitionThread();
 
+        if (frequencyTracker != null) {
+            // the comparator is shared by all partitions of the map
+            frequencyTracker.ensureCapacity((long) recordStore.size() * partitionService.getPartitionCount());
+        }
+
         long now = getNow();
         boolean backup = isBackup(recordStore);
         for (int i = 0; i < batchSize; i++) {
@@ -125,6 +133,13 @@ public class EvictorImpl implements Evictor {
         return evictionChecker.checkEvictable(recordStore);
     }
 
+    @Override
+    public void recordAccess(Data dataKey) {
+        if (frequencyTracker != null) {
+            frequencyTracker.recordAccess(dataKey);
+        }
+    }
+
     // Overridden by EE code
     protected Record getRecordFromEntryView(EntryView evictableEntryView) {
         return ((LazyEvictableEntryView) evictableEntryView).getRecord();
@@ -30,6 +30,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Replicates all IMap-states of this partition to a replica partition.
@@ -65,6 +66,17 @@ public class MapReplicationOperation extends Operation
         this.mapNearCacheStateHolder.prepare(container, namespaces);
     }
 
+    /**
+     * Limits the replicated data of the given maps to the
+     * entries under the differing Merkle tree leaves.
+     *
+     * @param merkleTreeDiffByMapName map name to differing Merkle tree
+     *                                node order/value pairs
+     */
+    public void setMerkleTreeDiffByMapName(Map<String, int[]> merkleTreeDiffByMapName) {
+        mapReplicationStateHolder.setMerkleTreeDiffByMapName(merkleTreeDiffByMapName);
+    }
+
     @Override
     public void run() {
         try {
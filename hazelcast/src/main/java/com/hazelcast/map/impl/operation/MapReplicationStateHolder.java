@@ -32,6 +32,7 @@ import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.ThreadUtil;
+import com.hazelcast.internal.util.collection.IntHashSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
@@ -66,6 +67,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import static com.hazelcast.config.MaxSizePolicy.PER_NODE;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.MapUtil.isNullOrEmpty;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.getLeafOrderForHash;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.setOfNodeOrders;
 
 /**
  * Holder for raw IMap key-value pairs and their metadata.
@@ -263,6 +266,33 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
     protected void initializeRecordStore(String mapName, RecordStore recordStore) {
         if (!merkleTreeDiffByMapName.containsKey(mapName)) {
             recordStore.reset();
+        } else {
+            removeDifferingRecords(mapName, recordStore);
+        }
+    }
+
+    /**
+     * Removes the local records under the differing Merkle tree leaves,
+     * they are replaced by the ones sent by the partition owner. This
+     * also removes the records that no longer exist on the owner.
+     */
+    private void removeDifferingRecords(String mapName, RecordStore<Record> recordStore) {
+        IntHashSet diffLeafOrders = setOfNodeOrders(merkleTreeDiffByMapName.get(mapName));
+        if (diffLeafOrders.isEmpty()) {
+            return;
+        }
+
+        int leafLevel = merkleTreeLeafLevel(recordStore);
+        boolean backup = operation.getReplicaIndex() != 0;
+        List<Data> keysToRemove = new ArrayList<>();
+        recordStore.forEach((dataKey, record) -> {
+            if (diffLeafOrders.contains(getLeafOrderForHash(dataKey.hashCode(), leafLevel))) {
+                keysToRemove.add(dataKey);
+            }
+        }, backup, true);
+
+        for (Data dataKey : keysToRemove) {
+            recordStore.removeReplicatedRecord(dataKey, backup);
         }
     }
 
@@ -367,7 +397,38 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
 
     protected void writeDifferentialData(String mapName,
                                          RecordStore<Record> recordStore, ObjectDataOutput out) throws IOException {
-        throw new UnsupportedOperationException();
+        int[] diffNodeOrder = merkleTreeDiffByMapName.get(mapName);
+        out.writeIntArray(diffNodeOrder);
+
+        IntHashSet diffLeafOrders = setOfNodeOrders(diffNodeOrder);
+        int leafLevel = merkleTreeLeafLevel(recordStore);
+        List<Data> keys = new ArrayList<>();
+        List<Record> records = new ArrayList<>();
+        if (!diffLeafOrders.isEmpty()) {
+            recordStore.forEach((dataKey, record) -> {
+                if (diffLeafOrders.contains(getLeafOrderForHash(dataKey.hashCode(), leafLevel))) {
+                    keys.add(dataKey);
+                    records.add(record);
+                }
+            }, operation.getReplicaIndex() != 0, true);
+        }
+
+        SerializationService ss = getSerializationService(recordStore.getMapContainer());
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Data dataKey = keys.get(i);
+            Record record = records.get(i);
+            IOUtil.writeData(out, dataKey);
+            Records.writeRecord(out, record, ss.toData(record.getValue()));
+            Records.writeExpiry(out, recordStore.getExpirySystem().getExpiryMetadata(dataKey));
+        }
+        LocalReplicationStatsImpl replicationStats = statsByMapName.get(mapName);
+        replicationStats.incrementDiffPartitionReplicationCount();
+        replicationStats.incrementDiffPartitionReplicationRecordsCount(keys.size());
+    }
+
+    private static int merkleTreeLeafLevel(RecordStore recordStore) {
+        return recordStore.getMapContainer().getMapConfig().getMerkleTreeConfig().getDepth() - 1;
     }
 
     private void writeRecordStoreData(RecordStore<Record> recordStore, ObjectDataOutput out)
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -38,6 +40,7 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
 import java.util.Collection;
+import java.util.PrimitiveIterator;
 
 import static com.hazelcast.internal.util.SetUtil.singletonPartitionIdSet;
 
@@ -140,6 +143,15 @@ public class QueryRunner {
         // first we optimize the query
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexRegistry);
 
+        // a count over all owned partitions may be answered by the index alone,
+        // the actual partitions may be a copy of a different PartitionIdSet class
+        if (actualPartitions.containsAll(ownedPartitions)) {
+            Result result = runCountUsingGlobalIndexSafely(query, predicate, mapContainer, migrationStamp, actualPartitions);
+            if (result != null) {
+                return result;
+            }
+        }
+
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
         Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
@@ -297,6 +309,55 @@ public class QueryRunner {
         return null;
     }
 
+    /**
+     * Answers a query aggregating with an entry counting {@link
+     * CountAggregator} using the number of entries the global index matches
+     * for the given predicate. The matching entries are neither resolved nor
+     * deserialized.
+     *
+     * @return the result of the query or {@code null} if the query can't be
+     * answered this way.
+     */
+    protected Result runCountUsingGlobalIndexSafely(Query query, Predicate predicate, MapContainer mapContainer,
+                                                    int migrationStamp, PartitionIdSet partitions) {
+        if (!(query.getAggregator() instanceof CountAggregator countAggregator) || !countAggregator.isEntryCount()) {
+            return null;
+        }
+        // the index doesn't know about expiration, entry queries filter the expired entries out
+        if (hasExpirableEntries(query.getMapName(), partitions)) {
+            return null;
+        }
+        if (!validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        IndexRegistry indexRegistry = mapContainer.getGlobalIndexRegistry();
+        if (indexRegistry == null || !indexRegistry.isGlobal()) {
+            return null;
+        }
+        long count = indexRegistry.count(predicate, partitions.size());
+        if (count < 0 || !validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        AggregationResult result = (AggregationResult) populateEmptyResult(query, partitions);
+        Aggregator resultAggregator = result.getAggregator();
+        ((CountAggregator) resultAggregator).accumulateEntries(count);
+        result.setPartitionIds(partitions);
+        return result;
+    }
+
+    private boolean hasExpirableEntries(String mapName, PartitionIdSet partitions) {
+        PrimitiveIterator.OfInt iterator = partitions.intIterator();
+        while (iterator.hasNext()) {
+            RecordStore recordStore = mapServiceContext.getExistingRecordStore(iterator.nextInt(), mapName);
+            if (recordStore != null && recordStore.isExpirable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_BYTE_BASE_OFFSET;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * {@link Record} flyweight over a map entry which is kept in native memory.
+ * <p>
+ * An entry is a single block holding the record metadata and the key blob,
+ * and points to a separate block holding the value blob:
+ * <pre>
+ * +----------------------+---------------------+
+ * | next entry address   | long                |
+ * | value address        | long                |
+ * | key size             | int                 |
+ * | value size           | int                 |
+ * | value capacity       | int                 |
+ * | version              | int                 |
+ * | hits                 | int                 |
+ * | last access time     | int (base stripped) |
+ * | last update time     | int (base stripped) |
+ * | creation time        | int (base stripped) |
+ * | last stored time     | int (base stripped) |
+ * | padding              | int                 |
+ * | key blob             | byte[key size]      |
+ * +----------------------+---------------------+
+ * </pre>
+ * Keeping the value in its own block means an entry never moves when its
+ * value grows, so all flyweights pointing to an entry stay valid until the
+ * entry is removed.
+ * <p>
+ * Like all the records, instances are confined to the partition thread.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class NativeRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = 8;
+    static final int KEY_SIZE_OFFSET = 16;
+    static final int VALUE_SIZE_OFFSET = 20;
+    static final int VALUE_CAPACITY_OFFSET = 24;
+    static final int VERSION_OFFSET = 28;
+    static final int HITS_OFFSET = 32;
+    static final int LAST_ACCESS_TIME_OFFSET = 36;
+    static final int LAST_UPDATE_TIME_OFFSET = 40;
+    static final int CREATION_TIME_OFFSET = 44;
+    static final int LAST_STORED_TIME_OFFSET = 48;
+    static final int KEY_OFFSET = 56;
+
+    private static final MemoryAccessor MEMORY = MEM;
+
+    private final NativeRecordFactory factory;
+    private final long address;
+
+    NativeRecord(NativeRecordFactory factory, long address) {
+        assert address != NULL_ADDRESS : "Attempted to create a NativeRecord for NULL_ADDRESS";
+        this.factory = factory;
+        this.address = address;
+    }
+
+    /**
+     * @return address of the entry block this record is a view of
+     */
+    public long address() {
+        return address;
+    }
+
+    /**
+     * @return the factory which allocated the entry of this record
+     */
+    public NativeRecordFactory factory() {
+        return factory;
+    }
+
+    /**
+     * @return address of the next entry in the same hash bucket
+     * or {@code NULL_ADDRESS} if this is the last one
+     */
+    public long getNextAddress() {
+        return MEMORY.getLong(address + NEXT_OFFSET);
+    }
+
+    public void setNextAddress(long nextAddress) {
+        MEMORY.putLong(address + NEXT_OFFSET, nextAddress);
+    }
+
+    /**
+     * @return an on-heap copy of the key of this entry
+     */
+    public Data getKey() {
+        return new HeapData(copyBlob(address + KEY_OFFSET, keySize()));
+    }
+
+    /**
+     * @return {@code true} if the key blob of this entry is
+     * byte-wise equal to the given key, {@code false} otherwise
+     */
+    public boolean keyEquals(Data key) {
+        byte[] bytes = key.toByteArray();
+        int size = keySize();
+        if (bytes == null || bytes.length != size) {
+            return false;
+        }
+        long keyAddress = address + KEY_OFFSET;
+        int i = 0;
+        for (; i + LONG_SIZE_IN_BYTES <= size; i += LONG_SIZE_IN_BYTES) {
+            if (MEMORY.getLong(keyAddress + i) != MEM.getLong(bytes, ARRAY_BYTE_BASE_OFFSET + i)) {
+                return false;
+            }
+        }
+        for (; i < size; i++) {
+            if (MEMORY.getByte(keyAddress + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an on-heap copy of the value of this entry.
+     */
+    @Override
+    public Data getValue() {
+        long valueAddress = getValueAddress();
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        return new HeapData(copyBlob(valueAddress, getValueSize()));
+    }
+
+    /**
+     * Writes the given value into the value block of this entry. The value is
+     * written in place when it fits into the current block, otherwise a new
+     * block is allocated and the old one is disposed after the current operation.
+     */
+    @Override
+    public void setValue(Data value) {
+        factory.writeValue(this, value);
+    }
+
+    /**
+     * @return the number of native memory bytes used by this entry
+     */
+    @Override
+    public long getCost() {
+        return NativeRecordFactory.entrySize(keySize()) + getValueCapacity();
+    }
+
+    @Override
+    public int getVersion() {
+        return MEMORY.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        MEMORY.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return MEMORY.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        MEMORY.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return MEMORY.getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        MEMORY.putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return MEMORY.getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        MEMORY.putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return MEMORY.getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        MEMORY.putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return MEMORY.getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        MEMORY.putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    int keySize() {
+        return MEMORY.getInt(address + KEY_SIZE_OFFSET);
+    }
+
+    long getValueAddress() {
+        return MEMORY.getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    int getValueSize() {
+        return MEMORY.getInt(address + VALUE_SIZE_OFFSET);
+    }
+
+    int getValueCapacity() {
+        return MEMORY.getInt(address + VALUE_CAPACITY_OFFSET);
+    }
+
+    void setValueBlock(long valueAddress, int valueSize, int valueCapacity) {
+        MEMORY.putLong(address + VALUE_ADDRESS_OFFSET, valueAddress);
+        MEMORY.putInt(address + VALUE_SIZE_OFFSET, valueSize);
+        MEMORY.putInt(address + VALUE_CAPACITY_OFFSET, valueCapacity);
+    }
+
+    private static byte[] copyBlob(long blobAddress, int size) {
+        byte[] bytes = new byte[size];
+        if (size > 0) {
+            MEMORY.copyToByteArray(blobAddress, bytes, 0, size);
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NativeRecord)) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
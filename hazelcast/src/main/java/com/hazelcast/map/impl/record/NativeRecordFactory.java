@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.ArenaMemoryAllocator;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Creates {@link NativeRecord}s for the NATIVE in-memory format. Created for
+ * every partition and owns the {@link ArenaMemoryAllocator} all the entries of
+ * that partition are allocated from, so they can be released in bulk. The
+ * allocator reserves its memory from the node-wide {@link NativeMemoryBudget}.
+ * <p>
+ * Blocks of removed entries and replaced values are not freed immediately,
+ * since flyweights pointing to them may still be in use by the running
+ * operation. They are released by {@link #disposeDeferredBlocks()}.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private static final MemoryAccessor MEMORY = MEM;
+
+    private final SerializationService ss;
+    private final ArenaMemoryAllocator malloc;
+    private final MemoryManager memoryManager;
+    private final Long2LongHashMap deferredBlocks = new Long2LongHashMap(NULL_ADDRESS);
+
+    public NativeRecordFactory(SerializationService ss) {
+        this(ss, new ArenaMemoryAllocator());
+    }
+
+    public NativeRecordFactory(SerializationService ss, NativeMemoryBudget budget) {
+        this(ss, new ArenaMemoryAllocator(budget));
+    }
+
+    public NativeRecordFactory(SerializationService ss, ArenaMemoryAllocator malloc) {
+        this.ss = ss;
+        this.malloc = malloc;
+        this.memoryManager = new MemoryManagerBean(malloc, MEMORY);
+    }
+
+    @Override
+    public NativeRecord newRecord(Data key, Object value) {
+        NativeRecord record = allocateEntry(key);
+        record.setRawCreationTime(UNSET);
+        record.setRawLastAccessTime(UNSET);
+        record.setRawLastUpdateTime(UNSET);
+        record.setRawLastStoredTime(UNSET);
+        writeValue(record, ss.toData(value));
+        return record;
+    }
+
+    /**
+     * Copies the given record, which may be of any kind, into native memory.
+     *
+     * @param key    key of the record
+     * @param record the record to copy
+     * @return the native copy of the record
+     */
+    public NativeRecord copyOf(Data key, Record record) {
+        NativeRecord copy = allocateEntry(key);
+        copy.setVersion(record.getVersion());
+        copy.setHits(Math.max(record.getHits(), 0));
+        copy.setRawCreationTime(record.getRawCreationTime());
+        copy.setRawLastAccessTime(record.getRawLastAccessTime());
+        copy.setRawLastUpdateTime(record.getRawLastUpdateTime());
+        copy.setRawLastStoredTime(record.getRawLastStoredTime());
+        writeValue(copy, ss.toData(record.getValue()));
+        return copy;
+    }
+
+    /**
+     * @return a flyweight over the entry at the given address
+     */
+    public NativeRecord toRecord(long address) {
+        return new NativeRecord(this, address);
+    }
+
+    /**
+     * Schedules the entry of the given record and its value to be
+     * freed on the next call to {@link #disposeDeferredBlocks()}.
+     */
+    public void free(NativeRecord record) {
+        long valueAddress = record.getValueAddress();
+        if (valueAddress != NULL_ADDRESS) {
+            deferredBlocks.put(valueAddress, record.getValueCapacity());
+        }
+        deferredBlocks.put(record.address(), entrySize(record.keySize()));
+    }
+
+    /**
+     * Frees the blocks which were released during the current operation.
+     */
+    public void disposeDeferredBlocks() {
+        if (deferredBlocks.isEmpty()) {
+            return;
+        }
+        for (Long2LongHashMap.LongLongCursor cursor = deferredBlocks.cursor(); cursor.advance(); ) {
+            malloc.free(cursor.key(), cursor.value());
+        }
+        deferredBlocks.clear();
+    }
+
+    /**
+     * Releases all the native memory of the partition at once. All the
+     * records created by this factory become invalid.
+     */
+    public void dispose() {
+        deferredBlocks.clear();
+        malloc.dispose();
+    }
+
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    public ArenaMemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    void writeValue(NativeRecord record, Data value) {
+        long valueAddress = record.getValueAddress();
+        int valueCapacity = record.getValueCapacity();
+        if (value == null) {
+            if (valueAddress != NULL_ADDRESS) {
+                deferredBlocks.put(valueAddress, valueCapacity);
+            }
+            record.setValueBlock(NULL_ADDRESS, 0, 0);
+            return;
+        }
+
+        int valueSize = value.totalSize();
+        if (valueAddress == NULL_ADDRESS || valueSize > valueCapacity) {
+            if (valueAddress != NULL_ADDRESS) {
+                deferredBlocks.put(valueAddress, valueCapacity);
+            }
+            valueCapacity = Math.max(valueSize, ArenaMemoryAllocator.MIN_BLOCK_SIZE);
+            valueAddress = malloc.allocate(valueCapacity);
+        }
+        if (valueSize > 0) {
+            MEMORY.copyFromByteArray(value.toByteArray(), 0, valueAddress, valueSize);
+        }
+        record.setValueBlock(valueAddress, valueSize, valueCapacity);
+    }
+
+    static long entrySize(int keySize) {
+        return KEY_OFFSET + keySize;
+    }
+
+    private NativeRecord allocateEntry(Data key) {
+        int keySize = key.totalSize();
+        long address = malloc.allocate(entrySize(keySize));
+        MEMORY.putInt(address + KEY_SIZE_OFFSET, keySize);
+        if (keySize > 0) {
+            MEMORY.copyFromByteArray(key.toByteArray(), 0, address + KEY_OFFSET, keySize);
+        }
+        return new NativeRecord(this, address);
+    }
+}
@@ -181,6 +181,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
+        mapContainer.getEvictor().recordAccess(dataKey);
         record.onAccess(now);
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
@@ -38,12 +38,15 @@ import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.ArrayMerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import javax.annotation.Nonnull;
 
@@ -68,6 +71,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected RecordFactory recordFactory;
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected MerkleTree merkleTree;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -92,6 +96,8 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
                 return new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
+            case NATIVE:
+                return new NativeRecordFactory(serializationService, mapServiceContext.getNativeMemoryBudget());
             default:
                 throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
         }
@@ -130,12 +136,23 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for merkle tree
+        if (mapServiceContext.shouldEnableMerkleTree(mapContainer, false)) {
+            merkleTree = new ArrayMerkleTree(mapContainer.getMapConfig().getMerkleTreeConfig().getDepth());
+            mutationObserver.add(new MerkleTreeUpdaterMutationObserver<>(merkleTree, serializationService));
+        }
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
         return indexingObserver;
     }
 
+    @Override
+    public MerkleTree getMerkleTree() {
+        return merkleTree;
+    }
+
     @Override
     public InMemoryFormat getInMemoryFormat() {
         return inMemoryFormat;
@@ -175,6 +192,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof NativeRecordFactory nativeRecordFactory) {
+            return new NativeStorageImpl(nativeRecordFactory, getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
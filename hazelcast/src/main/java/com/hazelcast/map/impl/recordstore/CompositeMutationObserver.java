@@ -81,11 +81,11 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onReplicationPutRecord(@Nonnull Data key,
-                                       @Nonnull R record, boolean populateIndex) {
+                                       @Nonnull R record, Object oldValue, boolean populateIndex) {
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
-                mutationObservers.get(i).onReplicationPutRecord(key, record, populateIndex);
+                mutationObservers.get(i).onReplicationPutRecord(key, record, oldValue, populateIndex);
             } catch (Throwable t) {
                 if (throwable == null) {
                     throwable = t;
@@ -245,18 +245,20 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public Record putOrUpdateReplicatedRecord(Data dataKey, Record replicatedRecord,
                                               ExpiryMetadata expiryMetadata,
                                               boolean indexesMustBePopulated, long now) {
+        Object oldValue = null;
         Record newRecord = storage.get(dataKey);
         if (newRecord == null) {
             newRecord = createRecord(dataKey, replicatedRecord != null
                     ? replicatedRecord.getValue() : null, now);
             storage.put(dataKey, newRecord);
         } else {
+            oldValue = newRecord.getValue();
             storage.updateRecordValue(dataKey, newRecord, replicatedRecord.getValue());
         }
 
         Records.copyMetadataFrom(replicatedRecord, newRecord);
         expirySystem.add(dataKey, expiryMetadata, now);
-        mutationObserver.onReplicationPutRecord(dataKey, newRecord, indexesMustBePopulated);
+        mutationObserver.onReplicationPutRecord(dataKey, newRecord, oldValue, indexesMustBePopulated);
 
         return newRecord;
     }
@@ -1065,6 +1067,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (mapDataStore != EMPTY_MAP_DATA_STORE && store) {
             putIntoMapStore(record, key, newValue, ttl, maxIdle, now, transactionId);
         }
+        mapContainer.getEvictor().recordAccess(key);
         putMemory(record, key, oldValue, ttl, maxIdle, expiryTime, now, entryEventType, backup);
         return record;
     }
@@ -56,7 +56,8 @@ public class JsonMetadataMutationObserver implements MutationObserver<Record> {
     }
 
     @Override
-    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record,
+                                       Object oldValue, boolean populateIndex) {
         onPutInternal(key, record);
     }
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps the {@link MerkleTree} of a record store in sync with its
+ * mutations. Values are hashed in their serialized form, so that the
+ * replicas of a partition holding the same entries end up with the same
+ * tree regardless of the in-memory format.
+ *
+ * @param <R> type of records
+ */
+class MerkleTreeUpdaterMutationObserver<R extends Record> implements MutationObserver<R> {
+
+    private final MerkleTree merkleTree;
+    private final SerializationService serializationService;
+
+    MerkleTreeUpdaterMutationObserver(MerkleTree merkleTree, SerializationService serializationService) {
+        this.merkleTree = merkleTree;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, R record, Object oldValue, boolean backup) {
+        // oldValue may come from a map-loader, the record itself is new
+        add(key, record.getValue());
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull R record,
+                                       Object oldValue, boolean populateIndex) {
+        replace(key, oldValue, record.getValue());
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull R record,
+                               Object oldValue, Object newValue, boolean backup) {
+        replace(key, oldValue, record.getValue());
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, R record, boolean backup) {
+        remove(key, record.getValue());
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull R record, boolean backup) {
+        remove(key, record.getValue());
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull R record, boolean backup) {
+        add(key, record.getValue());
+    }
+
+    @Override
+    public void onReset() {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onClear() {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        merkleTree.clear();
+    }
+
+    private void add(Data key, Object value) {
+        if (value != null) {
+            merkleTree.updateAdd(key, toData(value));
+        }
+    }
+
+    private void replace(Data key, Object oldValue, Object newValue) {
+        if (oldValue == null) {
+            add(key, newValue);
+        } else if (newValue == null) {
+            remove(key, oldValue);
+        } else {
+            merkleTree.updateReplace(key, toData(oldValue), toData(newValue));
+        }
+    }
+
+    private void remove(Data key, Object value) {
+        if (value != null) {
+            merkleTree.updateRemove(key, toData(value));
+        }
+    }
+
+    private Data toData(Object value) {
+        return serializationService.toData(value);
+    }
+}
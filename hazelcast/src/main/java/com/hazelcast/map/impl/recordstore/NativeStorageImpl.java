@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.HashSlotArray8byteKey;
+import com.hazelcast.internal.util.hashslot.HashSlotCursor8byteKey;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+
+/**
+ * {@link Storage} for the NATIVE in-memory format which keeps keys, values
+ * and record metadata outside the Java heap.
+ * <p>
+ * Entries are indexed by a {@link HashSlotArray8byteKey} keyed by the 64-bit
+ * hash of the key blob. The slot value is the address of the first entry of a
+ * bucket, entries with colliding hashes are chained through their next-entry
+ * pointer. Records handed out by this storage are {@link NativeRecord}
+ * flyweights over the entries.
+ * <p>
+ * All the native memory, including the hash slot array itself, is allocated
+ * from the per-partition arena of the {@link NativeRecordFactory}, so clearing
+ * or destroying the storage releases it in bulk without visiting the entries.
+ * <p>
+ * Not thread-safe, the storage is confined to its partition thread.
+ */
+public class NativeStorageImpl implements Storage<Data, Record> {
+
+    private final NativeRecordFactory recordFactory;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+    private final MemoryAccessor mem;
+    private final HashSlotArray8byteKey buckets;
+
+    private int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    public NativeStorageImpl(NativeRecordFactory recordFactory, ExpirySystem expirySystem,
+                             SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.mem = recordFactory.getMemoryManager().getAccessor();
+        this.buckets = new HashSlotArray8byteKeyImpl(NULL_ADDRESS, recordFactory.getMemoryManager(), LONG_SIZE_IN_BYTES);
+        this.buckets.gotoNew();
+        this.entryCostEstimator = new NativeMemoryCostEstimator(recordFactory);
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        NativeRecord nativeRecord = toNativeRecord(key, record);
+        SlotAssignmentResult slot = buckets.ensure(key.hash64());
+        long bucketAddress = slot.address();
+        if (slot.isNew()) {
+            nativeRecord.setNextAddress(NULL_ADDRESS);
+            mem.putLong(bucketAddress, nativeRecord.address());
+            size++;
+            return;
+        }
+
+        long previousAddress = NULL_ADDRESS;
+        long entryAddress = mem.getLong(bucketAddress);
+        while (entryAddress != NULL_ADDRESS) {
+            if (entryAddress == nativeRecord.address()) {
+                // already stored
+                return;
+            }
+            NativeRecord existing = recordFactory.toRecord(entryAddress);
+            if (existing.keyEquals(key)) {
+                nativeRecord.setNextAddress(existing.getNextAddress());
+                link(bucketAddress, previousAddress, nativeRecord.address());
+                recordFactory.free(existing);
+                return;
+            }
+            previousAddress = entryAddress;
+            entryAddress = existing.getNextAddress();
+        }
+
+        nativeRecord.setNextAddress(mem.getLong(bucketAddress));
+        mem.putLong(bucketAddress, nativeRecord.address());
+        size++;
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        record.setValue(serializationService.toData(value));
+        return record;
+    }
+
+    @Override
+    public NativeRecord get(Data key) {
+        long bucketAddress = buckets.get(key.hash64());
+        if (bucketAddress == NULL_ADDRESS) {
+            return null;
+        }
+        long entryAddress = mem.getLong(bucketAddress);
+        while (entryAddress != NULL_ADDRESS) {
+            NativeRecord record = recordFactory.toRecord(entryAddress);
+            if (record.keyEquals(key)) {
+                return record;
+            }
+            entryAddress = record.getNextAddress();
+        }
+        return null;
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("NativeStorageImpl#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long hash = dataKey.hash64();
+        long bucketAddress = buckets.get(hash);
+        if (bucketAddress == NULL_ADDRESS) {
+            return;
+        }
+
+        long previousAddress = NULL_ADDRESS;
+        long entryAddress = mem.getLong(bucketAddress);
+        while (entryAddress != NULL_ADDRESS) {
+            NativeRecord entry = recordFactory.toRecord(entryAddress);
+            long nextAddress = entry.getNextAddress();
+            if (entry.keyEquals(dataKey)) {
+                if (previousAddress == NULL_ADDRESS && nextAddress == NULL_ADDRESS) {
+                    buckets.remove(hash);
+                } else {
+                    link(bucketAddress, previousAddress, nextAddress);
+                }
+                recordFactory.free(entry);
+                size--;
+                return;
+            }
+            previousAddress = entryAddress;
+            entryAddress = nextAddress;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        // releases all entries and the slot array in one go
+        recordFactory.dispose();
+        buckets.gotoNew();
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        recordFactory.dispose();
+        buckets.gotoAddress(NULL_ADDRESS);
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        long startSlot = ThreadLocalRandomProvider.get().nextInt((int) Math.min(buckets.capacity(), Integer.MAX_VALUE));
+        BiConsumer<Data, NativeRecord> sampler = (key, record) -> {
+            if (samples.size() < sampleCount) {
+                samples.add(new LazyEvictableEntryView<>(key, record,
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+        };
+        long nextSlot = scan(startSlot, buckets.capacity(), sampleCount, sampler);
+        if (samples.size() < sampleCount && nextSlot < 0) {
+            scan(0, startSlot, sampleCount - samples.size(), sampler);
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                (key, record) -> entries.add(new AbstractMap.SimpleEntry<>(key, record.getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Fetches at least {@code size} entries starting from the slot of the
+     * given {@code pointers}. Like {@link StorageSCHM}, a pointer is added
+     * whenever the slot array was resized during the iteration, so that the
+     * entries which were already observed before the resize can be skipped.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size,
+                                         BiConsumer<Data, NativeRecord> entryConsumer) {
+        long capacity = buckets.capacity();
+        pointers = checkPointers(pointers, (int) capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        IterationPointer[] finalPointers = pointers;
+        long nextSlot = scan(lastPointer.getIndex(), capacity, size, (key, record) -> {
+            if (hasNotBeenObserved(key, finalPointers)) {
+                entryConsumer.accept(key, record);
+            }
+        });
+        lastPointer.setIndex((int) nextSlot);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean resized = lastPointer.getSize() != currentCapacity;
+        // clone pointers to avoid mutating given reference
+        // add new pointer if resize happened during iteration
+        int newLength = !iterationStarted && resized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+
+        // reset last pointer if we haven't started iteration or there was a resize
+        if (iterationStarted || resized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(0, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    /**
+     * Returns {@code true} if the given {@code key} has not been observed with
+     * the iteration state of the {@code pointers} preceding the last one. The
+     * check uses the home slot of the key, since the slot array is scanned
+     * in ascending order.
+     */
+    private static boolean hasNotBeenObserved(Data key, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            // there was no resize yet so we most definitely haven't observed the entry
+            return true;
+        }
+        long hash = fastLongMix(key.hash64());
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            long homeSlot = hash & (pointer.getSize() - 1);
+            if (pointer.getIndex() < 0 || homeSlot < pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits the buckets in the {@code [fromSlot, toSlot)} range until at
+     * least {@code minEntryCount} entries are visited.
+     *
+     * @return the slot to continue the scan from or {@code -1}
+     * if the range has been exhausted
+     */
+    private long scan(long fromSlot, long toSlot, int minEntryCount, BiConsumer<Data, NativeRecord> consumer) {
+        if (fromSlot < 0 || fromSlot >= toSlot) {
+            return -1;
+        }
+        HashSlotCursor8byteKey cursor = buckets.cursor();
+        cursor.seek(fromSlot);
+        int visited = 0;
+        while (visited < minEntryCount) {
+            if (!cursor.advance() || cursor.slot() >= toSlot) {
+                return -1;
+            }
+            long entryAddress = mem.getLong(cursor.valueAddress());
+            while (entryAddress != NULL_ADDRESS) {
+                NativeRecord record = recordFactory.toRecord(entryAddress);
+                consumer.accept(record.getKey(), record);
+                visited++;
+                entryAddress = record.getNextAddress();
+            }
+        }
+        return cursor.slot() + 1 < toSlot ? cursor.slot() + 1 : -1;
+    }
+
+    private NativeRecord toNativeRecord(Data key, Record record) {
+        if (record instanceof NativeRecord nativeRecord && nativeRecord.factory() == recordFactory) {
+            return nativeRecord;
+        }
+        return recordFactory.copyOf(key, record);
+    }
+
+    private void link(long bucketAddress, long previousAddress, long entryAddress) {
+        if (previousAddress == NULL_ADDRESS) {
+            mem.putLong(bucketAddress, entryAddress);
+        } else {
+            recordFactory.toRecord(previousAddress).setNextAddress(entryAddress);
+        }
+    }
+
+    private boolean isLinked(long hash, long address) {
+        long bucketAddress = buckets.get(hash);
+        if (bucketAddress == NULL_ADDRESS) {
+            return false;
+        }
+        long entryAddress = mem.getLong(bucketAddress);
+        while (entryAddress != NULL_ADDRESS) {
+            if (entryAddress == address) {
+                return true;
+            }
+            entryAddress = recordFactory.toRecord(entryAddress).getNextAddress();
+        }
+        return false;
+    }
+
+    /**
+     * Read-only iterator over the entries. The iterator keeps only the
+     * position of the current slot and re-checks that an entry is still
+     * linked before reading it, so it never touches the memory of an entry
+     * which was removed since the previous call. An iteration which spans
+     * a resize of the slot array may miss or repeat some entries.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final HashSlotCursor8byteKey cursor = buckets.cursor();
+        private long nextSlot;
+        private long bucketHash;
+        private long nextEntryAddress = NULL_ADDRESS;
+
+        @Override
+        public boolean hasNext() {
+            if (nextEntryAddress != NULL_ADDRESS && isLinked(bucketHash, nextEntryAddress)) {
+                return true;
+            }
+            nextEntryAddress = NULL_ADDRESS;
+            while (nextSlot >= 0 && nextSlot < buckets.capacity()) {
+                cursor.seek(nextSlot);
+                if (!cursor.advance()) {
+                    nextSlot = -1;
+                    break;
+                }
+                nextSlot = cursor.slot() + 1;
+                bucketHash = cursor.key();
+                nextEntryAddress = mem.getLong(cursor.valueAddress());
+                if (nextEntryAddress != NULL_ADDRESS) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            NativeRecord record = recordFactory.toRecord(nextEntryAddress);
+            nextEntryAddress = record.getNextAddress();
+            return new AbstractMap.SimpleImmutableEntry<>(record.getKey(), record);
+        }
+    }
+
+    /**
+     * Reports the native memory used by the partition arena, which
+     * includes the entries as well as the slot array indexing them.
+     */
+    private static final class NativeMemoryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private final NativeRecordFactory recordFactory;
+
+        NativeMemoryCostEstimator(NativeRecordFactory recordFactory) {
+            this.recordFactory = recordFactory;
+        }
+
+        @Override
+        public long getEstimate() {
+            return recordFactory.getAllocator().getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            // the estimate is maintained by the allocator
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            // the estimate is maintained by the allocator
+        }
+    }
+}
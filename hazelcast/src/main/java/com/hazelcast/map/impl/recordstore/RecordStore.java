@@ -43,6 +43,7 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -664,6 +665,14 @@ public interface RecordStore<R extends Record> {
 
     LocalRecordStoreStatsImpl getLocalRecordStoreStats();
 
+    /**
+     * @return the Merkle tree maintained over the entries of
+     * this record store or {@code null} if it is not enabled
+     * @see com.hazelcast.config.MerkleTreeConfig
+     */
+    @Nullable
+    MerkleTree getMerkleTree();
+
     void setLocalRecordStoreStats(LocalRecordStoreStats stats);
 
     default int beforeOperation() {
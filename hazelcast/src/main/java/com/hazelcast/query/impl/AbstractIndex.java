@@ -174,6 +174,17 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public long count(Predicate predicate) {
+        assert converter != null;
+        long timestamp = stats.makeTimestamp();
+
+        long count = indexStore.count(predicate, converter);
+        stats.onIndexHit(timestamp, count);
+
+        return count;
+    }
+
     @Override
     public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value, boolean descending) {
         if (converter == null) {
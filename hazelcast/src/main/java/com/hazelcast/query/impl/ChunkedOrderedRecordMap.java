@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.query.impl.Numbers.isDoubleRepresentable;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+
+/**
+ * {@link OrderedRecordMap} keeping the keys in a list of sorted chunks.
+ * <p>
+ * Each chunk is an immutable pair of arrays holding up to {@link
+ * #MAX_CHUNK_SIZE} keys and their records. If all the keys of a chunk are
+ * long-representable or double-representable numbers, they are additionally
+ * stored in a primitive array, so lookups probing such a chunk with a number
+ * of the same kind binary search over primitives instead of dereferencing
+ * and comparing boxed keys.
+ * <p>
+ * The writer replaces a modified chunk with an updated copy in place, which
+ * keeps the chunks sorted at any moment, so readers may walk them without any
+ * locking. Splitting, merging, adding and removing chunks publishes a new
+ * chunk list; readers that already hold the previous list keep iterating it,
+ * since it is never modified afterwards.
+ */
+@SuppressWarnings("rawtypes")
+final class ChunkedOrderedRecordMap implements OrderedRecordMap {
+
+    static final int MAX_CHUNK_SIZE = 128;
+
+    private static final AtomicReferenceArray<Chunk> EMPTY = new AtomicReferenceArray<>(0);
+
+    private volatile AtomicReferenceArray<Chunk> chunks = EMPTY;
+
+    @Override
+    public NavigableMap<Data, QueryableEntry> get(Comparable key) {
+        AtomicReferenceArray<Chunk> chunks = this.chunks;
+        if (chunks.length() == 0) {
+            return null;
+        }
+        Chunk chunk = chunks.get(chunkIndex(chunks, key));
+        int index = chunk.search(key);
+        return index >= 0 ? chunk.records[index] : null;
+    }
+
+    @Override
+    public void put(Comparable key, NavigableMap<Data, QueryableEntry> records) {
+        AtomicReferenceArray<Chunk> chunks = this.chunks;
+        if (chunks.length() == 0) {
+            this.chunks = new AtomicReferenceArray<>(new Chunk[]{new Chunk(new Comparable[]{key}, newRecords(records))});
+            return;
+        }
+
+        int chunkIndex = chunkIndex(chunks, key);
+        Chunk chunk = chunks.get(chunkIndex);
+        int index = chunk.search(key);
+        if (index >= 0) {
+            chunks.set(chunkIndex, chunk.withRecords(index, records));
+            return;
+        }
+
+        Chunk updated = chunk.insert(-(index + 1), key, records);
+        if (updated.size() <= MAX_CHUNK_SIZE) {
+            chunks.set(chunkIndex, updated);
+        } else {
+            int half = updated.size() / 2;
+            this.chunks = replace(chunks, chunkIndex, 1, updated.slice(0, half), updated.slice(half, updated.size()));
+        }
+    }
+
+    @Override
+    public void remove(Comparable key) {
+        AtomicReferenceArray<Chunk> chunks = this.chunks;
+        if (chunks.length() == 0) {
+            return;
+        }
+
+        int chunkIndex = chunkIndex(chunks, key);
+        Chunk chunk = chunks.get(chunkIndex);
+        int index = chunk.search(key);
+        if (index < 0) {
+            return;
+        }
+
+        if (chunk.size() == 1) {
+            this.chunks = replace(chunks, chunkIndex, 1);
+            return;
+        }
+
+        Chunk updated = chunk.remove(index);
+        // merge small neighbours to keep the chunks reasonably dense
+        if (chunkIndex + 1 < chunks.length() && updated.size() + chunks.get(chunkIndex + 1).size() <= MAX_CHUNK_SIZE / 2) {
+            this.chunks = replace(chunks, chunkIndex, 2, updated.concat(chunks.get(chunkIndex + 1)));
+        } else if (chunkIndex > 0 && chunks.get(chunkIndex - 1).size() + updated.size() <= MAX_CHUNK_SIZE / 2) {
+            this.chunks = replace(chunks, chunkIndex - 1, 2, chunks.get(chunkIndex - 1).concat(updated));
+        } else {
+            chunks.set(chunkIndex, updated);
+        }
+    }
+
+    @Override
+    public void clear() {
+        chunks = EMPTY;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(boolean descending) {
+        AtomicReferenceArray<Chunk> chunks = this.chunks;
+        if (chunks.length() == 0) {
+            return new EntryIterator(chunks, -1, -1, null, false, descending);
+        }
+        if (descending) {
+            int chunkIndex = chunks.length() - 1;
+            return new EntryIterator(chunks, chunkIndex, chunks.get(chunkIndex).size() - 1, null, false, true);
+        } else {
+            return new EntryIterator(chunks, 0, 0, null, false, false);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        AtomicReferenceArray<Chunk> chunks = this.chunks;
+        if (chunks.length() == 0) {
+            return new EntryIterator(chunks, -1, -1, null, false, descending);
+        }
+
+        if (descending) {
+            int chunkIndex = chunkIndex(chunks, to);
+            int index = chunks.get(chunkIndex).search(to);
+            if (index >= 0) {
+                index = toInclusive ? index : index - 1;
+            } else {
+                index = -(index + 1) - 1;
+            }
+            return new EntryIterator(chunks, chunkIndex, index, from, fromInclusive, true);
+        } else {
+            int chunkIndex = chunkIndex(chunks, from);
+            int index = chunks.get(chunkIndex).search(from);
+            if (index >= 0) {
+                index = fromInclusive ? index : index + 1;
+            } else {
+                index = -(index + 1);
+            }
+            return new EntryIterator(chunks, chunkIndex, index, to, toInclusive, false);
+        }
+    }
+
+    /**
+     * @return the index of the last chunk whose first key is less than or
+     * equal to the given key or {@code 0} if there is no such chunk
+     */
+    private static int chunkIndex(AtomicReferenceArray<Chunk> chunks, Comparable key) {
+        int low = 1;
+        int high = chunks.length() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (SPECIAL_AWARE_COMPARATOR.compare(key, chunks.get(mid).keys[0]) < 0) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private static AtomicReferenceArray<Chunk> replace(AtomicReferenceArray<Chunk> chunks, int from, int count,
+                                                       Chunk... replacement) {
+        int length = chunks.length();
+        Chunk[] result = new Chunk[length - count + replacement.length];
+        for (int i = 0; i < from; i++) {
+            result[i] = chunks.get(i);
+        }
+        System.arraycopy(replacement, 0, result, from, replacement.length);
+        for (int i = from + count; i < length; i++) {
+            result[i - count + replacement.length] = chunks.get(i);
+        }
+        return new AtomicReferenceArray<>(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NavigableMap<Data, QueryableEntry>[] newRecords(NavigableMap<Data, QueryableEntry> records) {
+        NavigableMap<Data, QueryableEntry>[] result = new NavigableMap[1];
+        result[0] = records;
+        return result;
+    }
+
+    /**
+     * Immutable sorted run of keys and their records.
+     */
+    static final class Chunk {
+
+        final Comparable[] keys;
+        final NavigableMap<Data, QueryableEntry>[] records;
+
+        /**
+         * The keys as longs if all of them are long-representable, {@code null}
+         * otherwise.
+         */
+        final long[] longKeys;
+
+        /**
+         * The keys as doubles if all of them are double-representable, {@code
+         * null} otherwise.
+         */
+        final double[] doubleKeys;
+
+        Chunk(Comparable[] keys, NavigableMap<Data, QueryableEntry>[] records) {
+            this(keys, records, toLongKeys(keys), toDoubleKeys(keys));
+        }
+
+        private Chunk(Comparable[] keys, NavigableMap<Data, QueryableEntry>[] records, long[] longKeys,
+                      double[] doubleKeys) {
+            this.keys = keys;
+            this.records = records;
+            this.longKeys = longKeys;
+            this.doubleKeys = doubleKeys;
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        /**
+         * Searches for the given key, see {@link Arrays#binarySearch(Object[],
+         * Object)} for the meaning of the returned value.
+         */
+        int search(Comparable key) {
+            Class<?> keyClass = key.getClass();
+            if (longKeys != null && isLongRepresentable(keyClass)) {
+                return Arrays.binarySearch(longKeys, ((Number) key).longValue());
+            }
+            if (doubleKeys != null && isDoubleRepresentable(keyClass)) {
+                // binarySearch orders doubles the same way as Double.compare
+                return Arrays.binarySearch(doubleKeys, ((Number) key).doubleValue());
+            }
+
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = SPECIAL_AWARE_COMPARATOR.compare(key, keys[mid]);
+                if (order > 0) {
+                    low = mid + 1;
+                } else if (order < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Chunk withRecords(int index, NavigableMap<Data, QueryableEntry> records) {
+            NavigableMap<Data, QueryableEntry>[] newRecords = this.records.clone();
+            newRecords[index] = records;
+            return new Chunk(keys, newRecords, longKeys, doubleKeys);
+        }
+
+        Chunk insert(int index, Comparable key, NavigableMap<Data, QueryableEntry> records) {
+            Comparable[] newKeys = new Comparable[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            newKeys[index] = key;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+
+            NavigableMap<Data, QueryableEntry>[] newRecords = Arrays.copyOf(this.records, keys.length + 1);
+            System.arraycopy(this.records, index, newRecords, index + 1, keys.length - index);
+            newRecords[index] = records;
+            return new Chunk(newKeys, newRecords);
+        }
+
+        Chunk remove(int index) {
+            Comparable[] newKeys = new Comparable[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+
+            NavigableMap<Data, QueryableEntry>[] newRecords = Arrays.copyOf(records, keys.length - 1);
+            System.arraycopy(records, index + 1, newRecords, index, keys.length - index - 1);
+            return new Chunk(newKeys, newRecords);
+        }
+
+        Chunk slice(int from, int to) {
+            return new Chunk(Arrays.copyOfRange(keys, from, to), Arrays.copyOfRange(records, from, to));
+        }
+
+        Chunk concat(Chunk next) {
+            Comparable[] newKeys = Arrays.copyOf(keys, keys.length + next.keys.length);
+            System.arraycopy(next.keys, 0, newKeys, keys.length, next.keys.length);
+
+            NavigableMap<Data, QueryableEntry>[] newRecords = Arrays.copyOf(records, records.length + next.records.length);
+            System.arraycopy(next.records, 0, newRecords, records.length, next.records.length);
+            return new Chunk(newKeys, newRecords);
+        }
+
+        private static long[] toLongKeys(Comparable[] keys) {
+            long[] result = new long[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                if (!isLongRepresentable(keys[i].getClass())) {
+                    return null;
+                }
+                result[i] = ((Number) keys[i]).longValue();
+            }
+            return result;
+        }
+
+        private static double[] toDoubleKeys(Comparable[] keys) {
+            double[] result = new double[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                if (!isDoubleRepresentable(keys[i].getClass())) {
+                    return null;
+                }
+                result[i] = ((Number) keys[i]).doubleValue();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Walks the chunks from the given position until the given bound.
+     */
+    private static final class EntryIterator implements Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> {
+
+        private final AtomicReferenceArray<Chunk> chunks;
+        private final Comparable bound;
+        private final boolean boundInclusive;
+        private final boolean descending;
+
+        private int chunkIndex;
+        private Chunk chunk;
+        private int index;
+        private Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>> next;
+
+        EntryIterator(AtomicReferenceArray<Chunk> chunks, int chunkIndex, int index, Comparable bound,
+                      boolean boundInclusive, boolean descending) {
+            this.chunks = chunks;
+            this.bound = bound;
+            this.boundInclusive = boundInclusive;
+            this.descending = descending;
+            this.chunkIndex = chunkIndex;
+            this.chunk = chunkIndex >= 0 ? chunks.get(chunkIndex) : null;
+            this.index = index;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>> result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            if (chunk == null) {
+                return;
+            }
+
+            if (descending) {
+                while (index < 0) {
+                    if (--chunkIndex < 0) {
+                        chunk = null;
+                        return;
+                    }
+                    chunk = chunks.get(chunkIndex);
+                    index = chunk.size() - 1;
+                }
+            } else {
+                while (index >= chunk.size()) {
+                    if (++chunkIndex >= chunks.length()) {
+                        chunk = null;
+                        return;
+                    }
+                    chunk = chunks.get(chunkIndex);
+                    index = 0;
+                }
+            }
+
+            Comparable key = chunk.keys[index];
+            if (bound != null) {
+                int order = SPECIAL_AWARE_COMPARATOR.compare(key, bound);
+                if (descending ? order < 0 || order == 0 && !boundInclusive : order > 0 || order == 0 && !boundInclusive) {
+                    chunk = null;
+                    return;
+                }
+            }
+
+            next = new AbstractMap.SimpleImmutableEntry<>(key, chunk.records[index]);
+            index += descending ? -1 : 1;
+        }
+    }
+}
@@ -142,6 +142,13 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public long count(Predicate predicate) {
+            long count = delegate.count(predicate);
+            hasQueries = true;
+            return count;
+        }
+
         @Override
         public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value, boolean descending) {
             Iterator<IndexKeyEntries> result = delegate.getSqlRecordIteratorBatch(value, descending);
@@ -130,6 +130,19 @@ public interface Index {
      */
     Set<QueryableEntry> evaluate(Predicate predicate);
 
+    /**
+     * Counts the entries matching the given predicate using this index.
+     *
+     * @param predicate the predicate to count the matching entries of. The
+     *                  predicate is guaranteed to be evaluable by this index
+     *                  ({@code canEvaluate} returned {@code true} for its
+     *                  class).
+     * @return the number of entries matching the given predicate.
+     */
+    default long count(Predicate predicate) {
+        return evaluate(predicate).size();
+    }
+
     /**
      * @param value      value
      * @param descending whether the entries should come in the descending order.
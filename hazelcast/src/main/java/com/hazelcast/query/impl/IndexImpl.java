@@ -23,6 +23,9 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_HASH_PRIMITIVE_STORE;
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_SORTED_CHUNKED_STORE;
+
 /**
  * Provides implementation of on-heap indexes.
  */
@@ -49,9 +52,11 @@ public class IndexImpl extends AbstractIndex {
                                           PerIndexStats stats, String mapName, int ignored) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return new OrderedIndexStore(copyBehavior,
+                        node != null && node.getProperties().getBoolean(INDEX_SORTED_CHUNKED_STORE));
             case HASH:
-                return new UnorderedIndexStore(copyBehavior);
+                return new UnorderedIndexStore(copyBehavior,
+                        node != null && node.getProperties().getBoolean(INDEX_HASH_PRIMITIVE_STORE));
             case BITMAP:
                 return new BitmapIndexStore(config);
             default:
@@ -32,6 +32,7 @@ import com.hazelcast.internal.util.IterableUtil;
 import com.hazelcast.map.impl.operation.steps.engine.Step;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.EvaluatePredicate;
 import com.hazelcast.query.impl.predicates.IndexAwarePredicate;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -484,6 +485,38 @@ public class IndexRegistry {
         }
     }
 
+    /**
+     * Counts the entries matching the given predicate using this indexes
+     * instance without resolving them.
+     * <p>
+     * Only predicates evaluated by a single index are counted. Unlike {@link
+     * #query}, the result filter of this instance is not applied, the caller
+     * is responsible for making sure it would accept all the matching entries.
+     *
+     * @param predicate           the predicate to count the matching entries of.
+     * @param ownedPartitionCount a count of owned partitions a query runs on.
+     *                            Negative value indicates that the value is not defined.
+     * @return the number of matching entries or {@code -1} if the entries
+     * can't be counted using the indexes known to this indexes instance.
+     */
+    public long count(Predicate predicate, int ownedPartitionCount) {
+        if (!haveAtLeastOneIndex() || !(predicate instanceof EvaluatePredicate evaluatePredicate)) {
+            return -1;
+        }
+
+        QueryContext queryContext = queryContextProvider.obtainContextFor(this, ownedPartitionCount);
+        Index index = queryContext.matchIndex(evaluatePredicate.getIndexName(), QueryContext.IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return -1;
+        }
+
+        long count = index.count(evaluatePredicate.getPredicate());
+        stats.incrementQueryCount();
+        stats.incrementIndexedQueryCount();
+        queryContext.applyPerQueryStats();
+        return count;
+    }
+
     public boolean canQueryOverIndex(Predicate predicate) {
         return haveAtLeastOneIndex() && predicate instanceof IndexAwarePredicate;
     }
@@ -137,6 +137,23 @@ public interface IndexStore {
      */
     Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter);
 
+    /**
+     * Counts the entries matching the given predicate using this index store.
+     * <p>
+     * Index stores able to count without resolving the matching entries
+     * override this method, by default the {@link #evaluate} result size is
+     * returned.
+     *
+     * @param predicate the predicate to count the matching entries of. The
+     *                  predicate is guaranteed to be evaluable by this index
+     *                  store ({@code canEvaluate} returned {@code true} for its
+     *                  class).
+     * @return the number of entries matching the given predicate.
+     */
+    default long count(Predicate predicate, TypeConverter converter) {
+        return evaluate(predicate, converter).size();
+    }
+
     /**
      * @param descending whether the entries should come in the descending order.
      *                   {@code true} means a descending order,
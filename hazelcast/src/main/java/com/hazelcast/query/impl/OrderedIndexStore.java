@@ -29,11 +29,11 @@ import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Stream;
 
+import static com.hazelcast.internal.util.IterableUtil.map;
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
 import static java.util.Collections.emptyIterator;
@@ -65,15 +65,25 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         }
     };
 
-    private final ConcurrentSkipListMap<Comparable, NavigableMap<Data, QueryableEntry>> recordMap =
-            new ConcurrentSkipListMap<>(SPECIAL_AWARE_COMPARATOR);
+    private final OrderedRecordMap recordMap;
 
     private final IndexFunctor<Comparable, QueryableEntry> addFunctor;
     private final IndexFunctor<Comparable, Data> removeFunctor;
 
     public OrderedIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, false);
+    }
+
+    /**
+     * @param copyOn  the copy behavior of the store
+     * @param chunked {@code true} to keep the index keys in sorted chunks, see
+     *                {@link ChunkedOrderedRecordMap}, {@code false} to keep
+     *                them in a skip list
+     */
+    public OrderedIndexStore(IndexCopyBehavior copyOn, boolean chunked) {
         super(copyOn, true);
         assert copyOn != null;
+        recordMap = chunked ? new ChunkedOrderedRecordMap() : new SkipListRecordMap();
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
             addFunctor = new CopyOnWriteAddFunctor();
             removeFunctor = new CopyOnWriteRemoveFunctor();
@@ -193,17 +203,13 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
     @Override
     public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
         if (descending) {
-            return recordMap.descendingMap().entrySet()
-                    .stream()
-                    .map((Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
-                            new IndexKeyEntries(es.getKey(), es.getValue().descendingMap().values().iterator()))
-                    .iterator();
+            return map(recordMap.entries(true),
+                    (Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
+                            new IndexKeyEntries(es.getKey(), es.getValue().descendingMap().values().iterator()));
         } else {
-            return recordMap.entrySet()
-                    .stream()
-                    .map((Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
-                            new IndexKeyEntries(es.getKey(), es.getValue().values().iterator()))
-                    .iterator();
+            return map(recordMap.entries(false),
+                    (Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) ->
+                            new IndexKeyEntries(es.getKey(), es.getValue().values().iterator()));
         }
     }
 
@@ -277,24 +283,17 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
             return emptyIterator();
         }
 
-        var subMap = descending
-                ? recordMap.subMap(from, fromInclusive, to, toInclusive).descendingMap()
-                : recordMap.subMap(from, fromInclusive, to, toInclusive);
-
+        var entries = recordMap.entries(from, fromInclusive, to, toInclusive, descending);
 
         var indexKeyForLastEntryKeyData = descending ? to : from;
-        return subMap.entrySet()
-                .stream()
-                .map(
-                        (Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) -> {
-                            var map = descending ? es.getValue().descendingMap() : es.getValue();
-                            if (useCursor && SPECIAL_AWARE_COMPARATOR.compare(indexKeyForLastEntryKeyData, es.getKey()) == 0) {
-                                map = map.tailMap(lastEntryKeyData, false);
-                            }
-                            return new IndexKeyEntries(es.getKey(), map.values().iterator());
-                        }
-                )
-                .iterator();
+        return map(entries,
+                (Entry<Comparable, NavigableMap<Data, QueryableEntry>> es) -> {
+                    var map = descending ? es.getValue().descendingMap() : es.getValue();
+                    if (useCursor && SPECIAL_AWARE_COMPARATOR.compare(indexKeyForLastEntryKeyData, es.getKey()) == 0) {
+                        map = map.tailMap(lastEntryKeyData, false);
+                    }
+                    return new IndexKeyEntries(es.getKey(), map.values().iterator());
+                });
     }
 
 
@@ -356,10 +355,10 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
                 return emptySet();
             }
             MultiResultSet results = createMultiResultSet();
-            SortedMap<Comparable, NavigableMap<Data, QueryableEntry>> subMap =
-                    recordMap.subMap(from, fromInclusive, to, toInclusive);
-            for (Map<Data, QueryableEntry> value : subMap.values()) {
-                copyToMultiResultSet(results, value);
+            Iterator<Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries =
+                    recordMap.entries(from, fromInclusive, to, toInclusive, false);
+            while (entries.hasNext()) {
+                copyToMultiResultSet(results, entries.next().getValue());
             }
             return results;
         } finally {
@@ -377,8 +376,12 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
         @Override
         public Object invoke(Comparable value, QueryableEntry entry) {
-            return recordMap.computeIfAbsent(value, x -> new ConcurrentSkipListMap<>(DATA_COMPARATOR)).put(entry.getKeyData(),
-                    entry);
+            NavigableMap<Data, QueryableEntry> records = recordMap.get(value);
+            if (records == null) {
+                records = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+                recordMap.put(value, records);
+            }
+            return records.put(entry.getKeyData(), entry);
         }
 
     }
@@ -463,6 +466,52 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     }
 
+    /**
+     * {@link OrderedRecordMap} backed by a {@link ConcurrentSkipListMap}.
+     */
+    private static final class SkipListRecordMap implements OrderedRecordMap {
+
+        private final ConcurrentSkipListMap<Comparable, NavigableMap<Data, QueryableEntry>> map =
+                new ConcurrentSkipListMap<>(SPECIAL_AWARE_COMPARATOR);
+
+        @Override
+        public NavigableMap<Data, QueryableEntry> get(Comparable key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(Comparable key, NavigableMap<Data, QueryableEntry> records) {
+            map.put(key, records);
+        }
+
+        @Override
+        public void remove(Comparable key) {
+            map.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(boolean descending) {
+            return (descending ? map.descendingMap() : map).entrySet().iterator();
+        }
+
+        @Override
+        public Iterator<Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(
+                Comparable from,
+                boolean fromInclusive,
+                Comparable to,
+                boolean toInclusive,
+                boolean descending
+        ) {
+            var subMap = map.subMap(from, fromInclusive, to, toInclusive);
+            return (descending ? subMap.descendingMap() : subMap).entrySet().iterator();
+        }
+    }
+
     private static final class IteratorFromBatch implements Iterator<QueryableEntry> {
         private final Iterator<IndexKeyEntries> iterator;
         private Iterator<QueryableEntry> indexKeyIterator;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Sorted mapping of index keys to the records indexed under them, backing
+ * {@link OrderedIndexStore}. Keys are ordered by
+ * {@link OrderedIndexStore#SPECIAL_AWARE_COMPARATOR}.
+ * <p>
+ * All mutations are performed under the write lock of the owning store, so
+ * implementations have to support a single writer running concurrently with
+ * any number of readers. Iterators are weakly consistent.
+ */
+@SuppressWarnings("rawtypes")
+interface OrderedRecordMap {
+
+    /**
+     * @return the records indexed under the given key or {@code null} if
+     * there are none
+     */
+    NavigableMap<Data, QueryableEntry> get(Comparable key);
+
+    /**
+     * Associates the given records with the given key, replacing the
+     * previously associated records, if any.
+     */
+    void put(Comparable key, NavigableMap<Data, QueryableEntry> records);
+
+    /**
+     * Removes the given key and its records, if present.
+     */
+    void remove(Comparable key);
+
+    void clear();
+
+    /**
+     * @return iterator over all the keys and their records
+     */
+    Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(boolean descending);
+
+    /**
+     * @return iterator over the keys between {@code from} and {@code to} and
+     * their records
+     */
+    Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> entries(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    );
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.FlatCompositeIterator;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+import static com.hazelcast.internal.util.IterableUtil.map;
+import static com.hazelcast.query.impl.BaseIndexStore.LOAD_FACTOR;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
+
+/**
+ * {@link UnorderedRecordMap} optimized for high-cardinality attributes.
+ * <p>
+ * Keys which are canonicalized to long-representable numbers are stored
+ * unboxed in an open-addressing {@link LongTable}, all the other keys are
+ * stored in a {@link ConcurrentHashMap}. A key having a single record
+ * references that record directly, a nested map is created only once a
+ * second record is indexed under the same key.
+ */
+@SuppressWarnings("rawtypes")
+final class PrimitiveUnorderedRecordMap implements UnorderedRecordMap {
+
+    private final LongTable longRecords = new LongTable();
+    private final ConcurrentHashMap<Comparable, Object> objectRecords = new ConcurrentHashMap<>();
+    private final boolean copyOnWrite;
+
+    PrimitiveUnorderedRecordMap(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
+    @Override
+    public Map<Data, QueryableEntry> get(Comparable key) {
+        return toRecords(getHolder(key));
+    }
+
+    @Override
+    public Object put(Comparable key, QueryableEntry entry) {
+        Data entryKey = entry.getKeyData();
+        Object holder = getHolder(key);
+        if (holder == null) {
+            setHolder(key, entry);
+            return null;
+        }
+
+        if (holder instanceof QueryableEntry single) {
+            if (single.getKeyData().equals(entryKey)) {
+                setHolder(key, entry);
+                return single;
+            }
+            Map<Data, QueryableEntry> records = copyOnWrite ? new HashMap<>() : new ConcurrentHashMap<>(2, LOAD_FACTOR, 1);
+            records.put(single.getKeyData(), single);
+            records.put(entryKey, entry);
+            setHolder(key, records);
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = asRecords(holder);
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+            Object oldValue = records.put(entryKey, entry);
+            setHolder(key, records);
+            return oldValue;
+        }
+        return records.put(entryKey, entry);
+    }
+
+    @Override
+    public Object remove(Comparable key, Data entryKey) {
+        Object holder = getHolder(key);
+        if (holder == null) {
+            return null;
+        }
+
+        if (holder instanceof QueryableEntry single) {
+            if (single.getKeyData().equals(entryKey)) {
+                removeHolder(key);
+                return single;
+            }
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = asRecords(holder);
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+        }
+        Object oldValue = records.remove(entryKey);
+        if (records.isEmpty()) {
+            removeHolder(key);
+        } else if (records.size() == 1) {
+            setHolder(key, records.values().iterator().next());
+        } else if (copyOnWrite) {
+            setHolder(key, records);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        longRecords.clear();
+        objectRecords.clear();
+    }
+
+    @Override
+    public Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> entries() {
+        Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> longEntries = map(longRecords.iterator(),
+                entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), toRecords(entry.getValue())));
+        Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> objectEntries = map(objectRecords.entrySet().iterator(),
+                entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), toRecords(entry.getValue())));
+        return new FlatCompositeIterator<>(Arrays.asList(longEntries, objectEntries).iterator());
+    }
+
+    private Object getHolder(Comparable key) {
+        if (isLongRepresentable(key.getClass())) {
+            return longRecords.get(((Number) key).longValue());
+        } else {
+            return objectRecords.get(key);
+        }
+    }
+
+    private void setHolder(Comparable key, Object holder) {
+        if (isLongRepresentable(key.getClass())) {
+            longRecords.put(((Number) key).longValue(), holder);
+        } else {
+            objectRecords.put(key, holder);
+        }
+    }
+
+    private void removeHolder(Comparable key) {
+        if (isLongRepresentable(key.getClass())) {
+            longRecords.remove(((Number) key).longValue());
+        } else {
+            objectRecords.remove(key);
+        }
+    }
+
+    private static Map<Data, QueryableEntry> toRecords(Object holder) {
+        if (holder == null) {
+            return null;
+        } else if (holder instanceof QueryableEntry single) {
+            return Collections.singletonMap(single.getKeyData(), single);
+        } else {
+            return asRecords(holder);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Data, QueryableEntry> asRecords(Object holder) {
+        return (Map<Data, QueryableEntry>) holder;
+    }
+
+    /**
+     * Open-addressing hash table from primitive longs to objects supporting
+     * a single writer and concurrent lock-free readers.
+     * <p>
+     * The writer publishes a slot by writing its key first and then its
+     * value with volatile semantics, readers read the value first and then
+     * the key. A slot is never reused for a different key: removed values are
+     * replaced by a tombstone which is dropped only when the table is
+     * rehashed into a new one.
+     */
+    static final class LongTable {
+
+        private static final Object TOMBSTONE = new Object();
+        private static final int MIN_CAPACITY = 16;
+
+        private volatile Table table = new Table(MIN_CAPACITY);
+
+        /**
+         * The number of live mappings, accessed by the writer only.
+         */
+        private int size;
+
+        /**
+         * The number of live and removed mappings, accessed by the writer only.
+         */
+        private int used;
+
+        Object get(long key) {
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            for (int i = index(key, mask); ; i = (i + 1) & mask) {
+                Object value = table.values.get(i);
+                if (value == null) {
+                    return null;
+                }
+                if (table.keys[i] == key) {
+                    return value == TOMBSTONE ? null : value;
+                }
+            }
+        }
+
+        void put(long key, Object value) {
+            assert value != null;
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            for (int i = index(key, mask); ; i = (i + 1) & mask) {
+                Object current = table.values.get(i);
+                if (current == null) {
+                    table.keys[i] = key;
+                    table.values.set(i, value);
+                    size++;
+                    if (++used > table.keys.length * LOAD_FACTOR) {
+                        rehash();
+                    }
+                    return;
+                }
+                if (table.keys[i] == key) {
+                    if (current == TOMBSTONE) {
+                        size++;
+                    }
+                    table.values.set(i, value);
+                    return;
+                }
+            }
+        }
+
+        void remove(long key) {
+            Table table = this.table;
+            int mask = table.keys.length - 1;
+            for (int i = index(key, mask); ; i = (i + 1) & mask) {
+                Object current = table.values.get(i);
+                if (current == null) {
+                    return;
+                }
+                if (table.keys[i] == key) {
+                    if (current != TOMBSTONE) {
+                        table.values.set(i, TOMBSTONE);
+                        size--;
+                    }
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            table = new Table(MIN_CAPACITY);
+            size = 0;
+            used = 0;
+        }
+
+        Iterator<Map.Entry<Long, Object>> iterator() {
+            return new TableIterator(table);
+        }
+
+        private void rehash() {
+            Table table = this.table;
+            int capacity = MIN_CAPACITY;
+            while (capacity * LOAD_FACTOR < size * 2) {
+                capacity <<= 1;
+            }
+
+            Table newTable = new Table(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < table.keys.length; i++) {
+                Object value = table.values.get(i);
+                if (value == null || value == TOMBSTONE) {
+                    continue;
+                }
+                long key = table.keys[i];
+                int index = index(key, mask);
+                while (newTable.values.get(index) != null) {
+                    index = (index + 1) & mask;
+                }
+                newTable.keys[index] = key;
+                newTable.values.set(index, value);
+            }
+            used = size;
+            this.table = newTable;
+        }
+
+        private static int index(long key, int mask) {
+            return (int) fastLongMix(key) & mask;
+        }
+
+        private static final class Table {
+
+            final long[] keys;
+            final AtomicReferenceArray<Object> values;
+
+            Table(int capacity) {
+                keys = new long[capacity];
+                values = new AtomicReferenceArray<>(capacity);
+            }
+        }
+
+        private static final class TableIterator implements Iterator<Map.Entry<Long, Object>> {
+
+            private final Table table;
+            private int index = -1;
+            private Map.Entry<Long, Object> next;
+
+            TableIterator(Table table) {
+                this.table = table;
+                advance();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<Long, Object> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<Long, Object> result = next;
+                advance();
+                return result;
+            }
+
+            private void advance() {
+                next = null;
+                while (++index < table.keys.length) {
+                    Object value = table.values.get(index);
+                    if (value != null && value != TOMBSTONE) {
+                        next = new AbstractMap.SimpleImmutableEntry<>(table.keys[index], value);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
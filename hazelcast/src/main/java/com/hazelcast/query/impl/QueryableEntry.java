@@ -21,6 +21,7 @@ import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.json.Json;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.QueryException;
@@ -28,6 +29,7 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.getters.ReflectionHelper;
 
+import java.io.IOException;
 import java.util.Map;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
@@ -49,6 +51,12 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     protected Record record;
     private transient JsonMetadata metadata;
 
+    // Compact keys and values are queried in place, see compactTarget()
+    private transient Data compactKeyData;
+    private transient InternalGenericRecord compactKeyRecord;
+    private transient Data compactValueData;
+    private transient InternalGenericRecord compactValueRecord;
+
     public Record getRecord() {
         return record;
     }
@@ -106,7 +114,7 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
             attributeName = getAttributeName(isKey, attributeName);
-            Object target = getTargetObject(isKey);
+            Object target = compactTarget(isKey, getTargetObject(isKey));
             Object metadata = getMetadataOrNull(isKey);
             result = extractors.extract(target, attributeName, metadata);
         }
@@ -116,6 +124,36 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         return result;
     }
 
+    /**
+     * Replaces the Compact serialized target with a record reading its fields
+     * directly from the serialized bytes. The record is kept as long as the
+     * target stays the same, so when a predicate, projection or aggregator
+     * extracts several attributes of the same key or value, its header and
+     * schema are read only once and the domain object is never created.
+     */
+    private Object compactTarget(boolean isKey, Object target) {
+        if (!(target instanceof Data data) || !data.isCompact()) {
+            return target;
+        }
+        try {
+            if (isKey) {
+                if (compactKeyData != data) {
+                    compactKeyRecord = serializationService.readAsInternalGenericRecord(data);
+                    compactKeyData = data;
+                }
+                return compactKeyRecord;
+            } else {
+                if (compactValueData != data) {
+                    compactValueRecord = serializationService.readAsInternalGenericRecord(data);
+                    compactValueData = data;
+                }
+                return compactValueRecord;
+            }
+        } catch (IOException e) {
+            throw new QueryException(e);
+        }
+    }
+
     /**
      * Optimized version of the other extractAttributeValueIfAttributeQueryConstant() method that uses getKey() and
      * getValue() calls that may cache their results internally - like in CachedQueryEntry.
@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.internal.util.IterableUtil.map;
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 
 /**
@@ -38,15 +39,27 @@ import static com.hazelcast.query.impl.AbstractIndex.NULL;
 @SuppressWarnings("rawtypes")
 public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
-    private final ConcurrentMap<Comparable, Map<Data, QueryableEntry>> recordMap = new ConcurrentHashMap<>();
+    private final UnorderedRecordMap recordMap;
     private final IndexFunctor<Comparable, QueryableEntry> addFunctor;
     private final IndexFunctor<Comparable, Data> removeFunctor;
 
     private volatile Map<Data, QueryableEntry> recordsWithNullValue;
 
     public UnorderedIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, false);
+    }
+
+    /**
+     * @param copyOn    the copy behavior of the store
+     * @param primitive {@code true} to store the records in a
+     *                  {@link PrimitiveUnorderedRecordMap}, {@code false} to
+     *                  store them in nested concurrent maps
+     */
+    public UnorderedIndexStore(IndexCopyBehavior copyOn, boolean primitive) {
         super(copyOn, true);
-        if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
+        boolean copyOnWrite = copyOn == IndexCopyBehavior.COPY_ON_WRITE;
+        recordMap = primitive ? new PrimitiveUnorderedRecordMap(copyOnWrite) : new NestedMapRecordMap(copyOnWrite);
+        if (copyOnWrite) {
             addFunctor = new CopyOnWriteAddFunctor();
             removeFunctor = new CopyOnWriteRemoveFunctor();
             recordsWithNullValue = Collections.emptyMap();
@@ -141,7 +154,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
     @Override
     public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
-        Iterator<QueryableEntry> iterator = new IndexEntryFlatteningIterator(recordMap.values().iterator());
+        Iterator<QueryableEntry> iterator = new IndexEntryFlatteningIterator(map(recordMap.entries(), Map.Entry::getValue));
         Iterator<QueryableEntry> nullIterator = recordsWithNullValue.values().iterator();
 
         return new FlatCompositeIterator<>(Arrays.asList(nullIterator, iterator).iterator());
@@ -246,7 +259,9 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         takeReadLock();
         try {
             MultiResultSet results = createMultiResultSet();
-            for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+            Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> entries = recordMap.entries();
+            while (entries.hasNext()) {
+                Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry = entries.next();
                 Comparable indexedValue = recordMapEntry.getKey();
                 boolean valid;
                 int result = Comparables.compare(value, indexedValue);
@@ -299,7 +314,9 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
 
             int fromBound = fromInclusive ? 0 : +1;
             int toBound = toInclusive ? 0 : -1;
-            for (Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry : recordMap.entrySet()) {
+            Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> entries = recordMap.entries();
+            while (entries.hasNext()) {
+                Map.Entry<Comparable, Map<Data, QueryableEntry>> recordMapEntry = entries.next();
                 Comparable value = recordMapEntry.getKey();
                 if (Comparables.compare(value, from) >= fromBound && Comparables.compare(value, to) <= toBound) {
                     Map<Data, QueryableEntry> records = recordMapEntry.getValue();
@@ -321,20 +338,13 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
      * @see IndexCopyBehavior
      */
     private class AddFunctor implements IndexFunctor<Comparable, QueryableEntry> {
-        // squid:S3824 ConcurrentHashMap.computeIfAbsent(K, Function<? super K, ? extends V>) locks the map, which *may* have an
-        // effect on throughput such that it's not a direct replacement
-        @SuppressWarnings("squid:S3824")
+
         @Override
         public Object invoke(Comparable value, QueryableEntry entry) {
             if (value == NULL) {
                 return recordsWithNullValue.put(entry.getKeyData(), entry);
             } else {
-                Map<Data, QueryableEntry> records = recordMap.get(value);
-                if (records == null) {
-                    records = new ConcurrentHashMap<>(1, LOAD_FACTOR, 1);
-                    recordMap.put(value, records);
-                }
-                return records.put(entry.getKeyData(), entry);
+                return recordMap.put(value, entry);
             }
         }
 
@@ -356,15 +366,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
                 oldValue = copy.put(entry.getKeyData(), entry);
                 recordsWithNullValue = copy;
             } else {
-                Map<Data, QueryableEntry> records = recordMap.get(value);
-                if (records == null) {
-                    records = new HashMap<>();
-                }
-
-                records = new HashMap<>(records);
-                oldValue = records.put(entry.getKeyData(), entry);
-
-                recordMap.put(value, records);
+                oldValue = recordMap.put(value, entry);
             }
 
             return oldValue;
@@ -386,15 +388,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
             if (value == NULL) {
                 oldValue = recordsWithNullValue.remove(indexKey);
             } else {
-                Map<Data, QueryableEntry> records = recordMap.get(value);
-                if (records != null) {
-                    oldValue = records.remove(indexKey);
-                    if (records.isEmpty()) {
-                        recordMap.remove(value);
-                    }
-                } else {
-                    oldValue = null;
-                }
+                oldValue = recordMap.remove(value, indexKey);
             }
 
             return oldValue;
@@ -418,24 +412,81 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
                 oldValue = copy.remove(indexKey);
                 recordsWithNullValue = copy;
             } else {
-                Map<Data, QueryableEntry> records = recordMap.get(value);
-                if (records != null) {
-                    records = new HashMap<>(records);
-                    oldValue = records.remove(indexKey);
+                oldValue = recordMap.remove(value, indexKey);
+            }
 
-                    if (records.isEmpty()) {
-                        recordMap.remove(value);
-                    } else {
-                        recordMap.put(value, records);
-                    }
-                } else {
-                    oldValue = null;
-                }
+            return oldValue;
+        }
+
+    }
+
+    /**
+     * {@link UnorderedRecordMap} keeping the records of each key in a nested
+     * map, which is modified in place or copied on write depending on the
+     * copy behavior.
+     */
+    private static final class NestedMapRecordMap implements UnorderedRecordMap {
+
+        private final ConcurrentMap<Comparable, Map<Data, QueryableEntry>> map = new ConcurrentHashMap<>();
+        private final boolean copyOnWrite;
+
+        NestedMapRecordMap(boolean copyOnWrite) {
+            this.copyOnWrite = copyOnWrite;
+        }
+
+        @Override
+        public Map<Data, QueryableEntry> get(Comparable key) {
+            return map.get(key);
+        }
+
+        // squid:S3824 ConcurrentHashMap.computeIfAbsent(K, Function<? super K, ? extends V>) locks the map, which *may* have an
+        // effect on throughput such that it's not a direct replacement
+        @SuppressWarnings("squid:S3824")
+        @Override
+        public Object put(Comparable key, QueryableEntry entry) {
+            Map<Data, QueryableEntry> records = map.get(key);
+            if (copyOnWrite) {
+                records = records == null ? new HashMap<>() : new HashMap<>(records);
+                Object oldValue = records.put(entry.getKeyData(), entry);
+                map.put(key, records);
+                return oldValue;
             }
 
+            if (records == null) {
+                records = new ConcurrentHashMap<>(1, LOAD_FACTOR, 1);
+                map.put(key, records);
+            }
+            return records.put(entry.getKeyData(), entry);
+        }
+
+        @Override
+        public Object remove(Comparable key, Data entryKey) {
+            Map<Data, QueryableEntry> records = map.get(key);
+            if (records == null) {
+                return null;
+            }
+
+            if (copyOnWrite) {
+                records = new HashMap<>(records);
+            }
+            Object oldValue = records.remove(entryKey);
+            if (records.isEmpty()) {
+                map.remove(key);
+            } else if (copyOnWrite) {
+                map.put(key, records);
+            }
             return oldValue;
         }
 
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> entries() {
+            return map.entrySet().iterator();
+        }
     }
 
     private Comparable canonicalize(Comparable value) {
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Mapping of canonicalized non-null index keys to the records indexed under
+ * them, backing {@link UnorderedIndexStore}.
+ * <p>
+ * All mutations are performed under the write lock of the owning store, so
+ * implementations have to support a single writer running concurrently with
+ * any number of readers. Iterators are weakly consistent.
+ */
+@SuppressWarnings("rawtypes")
+interface UnorderedRecordMap {
+
+    /**
+     * @return the records indexed under the given key or {@code null} if
+     * there are none
+     */
+    Map<Data, QueryableEntry> get(Comparable key);
+
+    /**
+     * Indexes the given entry under the given key.
+     *
+     * @return the entry previously indexed under the given key with the
+     * same entry key or {@code null} if there was none
+     */
+    Object put(Comparable key, QueryableEntry entry);
+
+    /**
+     * Removes the entry with the given entry key from the given index key.
+     *
+     * @return the removed entry or {@code null} if there was none
+     */
+    Object remove(Comparable key, Data entryKey);
+
+    void clear();
+
+    /**
+     * @return iterator over all the keys and their records
+     */
+    Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> entries();
+}
@@ -19,17 +19,23 @@ package com.hazelcast.query.impl.bitmap;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.predicates.AndPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
 /**
  * Provides indexing and querying capabilities for a single attribute of entries
  * of type {@code E}. Each indexed entry is uniquely identified by its unique
@@ -145,7 +151,8 @@ public final class Bitmap<E> {
      * <p>
      * The following predicates (and combinations of them) are supported:
      * {@link AndPredicate}, {@link OrPredicate}, {@link NotPredicate}, {@link
-     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate}.
+     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate} and
+     * {@link RangePredicate}s.
      *
      * @param predicate the predicate to evaluate.
      * @param converter the converter to use for the predicate arguments
@@ -156,6 +163,28 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
+    /**
+     * Counts the entries matching the given predicate while converting the
+     * predicate arguments using the given converter.
+     * <p>
+     * Only the bit sets are consulted, the matching entries are never
+     * resolved. The supported predicates are the same as for {@link
+     * #evaluate}.
+     *
+     * @param predicate the predicate to evaluate.
+     * @param converter the converter to use for the predicate arguments
+     *                  conversion.
+     * @return the number of entries matching the given predicate.
+     */
+    public long count(Predicate predicate, TypeConverter converter) {
+        AscendingLongIterator iterator = predicateIterator(predicate, converter);
+        long count = 0;
+        while (iterator.advance() != AscendingLongIterator.END) {
+            ++count;
+        }
+        return count;
+    }
+
     @SuppressWarnings("checkstyle:npathcomplexity")
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate andPredicate) {
@@ -198,6 +227,11 @@ public final class Bitmap<E> {
             return BitmapAlgorithms.or(valueIterators(values, converter));
         }
 
+        // must go after EqualPredicate, which is a RangePredicate too
+        if (predicate instanceof RangePredicate rangePredicate) {
+            return rangeIterator(rangePredicate, converter);
+        }
+
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
@@ -214,6 +248,46 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
+    private AscendingLongIterator rangeIterator(RangePredicate predicate, TypeConverter converter) {
+        Comparable from = predicate.getFrom() == null ? null : converter.convert(predicate.getFrom());
+        Comparable to = predicate.getTo() == null ? null : converter.convert(predicate.getTo());
+
+        // Union of the bit sets of all the values falling into the range. The
+        // scan is linear in the number of distinct values, which is expected
+        // to be low for attributes bitmap indexes are used on.
+        List<AscendingLongIterator> iterators = new ArrayList<>();
+        for (Map.Entry<Object, SparseBitSet> entry : bitSets.entrySet()) {
+            Object value = entry.getKey();
+            if (value != NULL && inRange((Comparable) value, from, predicate.isFromInclusive(), to,
+                    predicate.isToInclusive())) {
+                iterators.add(entry.getValue().iterator());
+            }
+        }
+
+        if (iterators.isEmpty()) {
+            return AscendingLongIterator.EMPTY;
+        } else if (iterators.size() == 1) {
+            return iterators.get(0);
+        } else {
+            return BitmapAlgorithms.or(iterators.toArray(new AscendingLongIterator[0]));
+        }
+    }
+
+    private static boolean inRange(Comparable value, Comparable from, boolean fromInclusive, Comparable to,
+                                   boolean toInclusive) {
+        if (from != null) {
+            int order = Comparables.compare(value, from);
+            if (order < 0 || order == 0 && !fromInclusive) {
+                return false;
+            }
+        }
+        if (to != null) {
+            int order = Comparables.compare(value, to);
+            return order < 0 || order == 0 && toInclusive;
+        }
+        return true;
+    }
+
     private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
@@ -21,6 +21,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactInternalGenericRecord;
 import com.hazelcast.query.extractor.ValueExtractor;
 import com.hazelcast.query.impl.DefaultValueCollector;
 
@@ -46,6 +47,9 @@ final class ExtractorGetter extends Getter {
         if (target instanceof Data data) {
             InternalGenericRecord record = serializationService.readAsInternalGenericRecord(data);
             extractionTarget = new GenericRecordQueryReader(record);
+        } else if (target instanceof CompactInternalGenericRecord record) {
+            // Compact data already opened in place by the queryable entry
+            extractionTarget = new GenericRecordQueryReader(record);
         } else {
             extractionTarget = target;
         }
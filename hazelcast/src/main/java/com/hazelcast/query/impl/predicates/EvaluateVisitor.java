@@ -259,4 +259,42 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(BetweenPredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(GreaterLessPredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(BoundedRangePredicate predicate, IndexRegistry indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    private static Predicate visitRange(RangePredicate predicate, IndexRegistry indexes) {
+        // an ordered index answers a range with a single lookup, leave the
+        // predicate to it instead of scanning the bitmap values
+        Index orderedIndex = indexes.matchIndex(predicate.getAttribute(), IndexMatchHint.PREFER_ORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (orderedIndex != null && orderedIndex.isOrdered()) {
+            return predicate;
+        }
+
+        Index index = indexes.matchIndex(predicate.getAttribute(), predicate.getClass(), IndexMatchHint.PREFER_ORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null) {
+            return predicate;
+        }
+
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
 }
@@ -24,12 +24,14 @@ import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.namespace.impl.NodeEngineThreadLocalContext;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.tpc.TpcServerBootstrap;
+import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.concurrent.IdleStrategy;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
@@ -136,7 +138,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         if (tpcServerBootstrap.isEnabled()) {
             this.partitionThreads = initTpcPartitionThreads(tpcServerBootstrap, hzName, nodeExtension, configClassLoader);
         } else {
-            this.partitionThreads = initClassicPartitionThreads(properties, hzName, nodeExtension, configClassLoader);
+            this.partitionThreads = initClassicPartitionThreads(properties, hzName, nodeExtension, configClassLoader,
+                    concurrencyDetection(engine));
         }
         this.priorityThreadCount = properties.getInteger(PRIORITY_GENERIC_OPERATION_THREAD_COUNT);
         this.genericOperationRunners = initGenericOperationRunners(properties, runnerFactory);
@@ -167,8 +170,15 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return operationRunners;
     }
 
+    private static ConcurrencyDetection concurrencyDetection(NodeEngine engine) {
+        return engine instanceof NodeEngineImpl nodeEngine
+                ? nodeEngine.getConcurrencyDetection()
+                : ConcurrencyDetection.createDisabled();
+    }
+
     private PartitionOperationThread[] initClassicPartitionThreads(HazelcastProperties properties, String hzName,
-                                                                   NodeExtension nodeExtension, ClassLoader configClassLoader) {
+                                                                   NodeExtension nodeExtension, ClassLoader configClassLoader,
+                                                                   ConcurrencyDetection concurrencyDetection) {
 
         int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
         if (threadAffinity.isEnabled()) {
@@ -185,7 +195,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
             OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<>());
 
             PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId,
-                    operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader);
+                    operationQueue, logger, nodeExtension, partitionOperationRunners, configClassLoader,
+                    concurrencyDetection);
             partitionThread.setThreadAffinity(threadAffinity);
             threads[threadId] = partitionThread;
             normalQueue.setConsumerThread(partitionThread);
@@ -338,7 +349,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     public int getQueueSize() {
         int size = 0;
         for (PartitionOperationThread partitionThread : partitionThreads) {
-            size += partitionThread.queue.normalSize();
+            size += partitionThread.normalPendingCount();
         }
         size += genericQueue.normalSize();
         return size;
@@ -99,6 +99,13 @@ public interface OperationQueue {
      */
     Object poll();
 
+    /**
+     * Polls a single priority item or null if no priority items available.
+     *
+     * @return the polled priority item or null.
+     */
+    Object pollPriority();
+
     /**
      * Checks if the queue is empty.
      *
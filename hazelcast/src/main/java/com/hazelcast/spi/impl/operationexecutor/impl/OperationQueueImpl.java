@@ -87,6 +87,11 @@ public final class OperationQueueImpl implements OperationQueue {
         }
     }
 
+    @Override
+    public Object pollPriority() {
+        return priorityQueue.poll();
+    }
+
     @Override
     public boolean isEmpty() {
         return normalQueue.isEmpty() && priorityQueue.isEmpty();
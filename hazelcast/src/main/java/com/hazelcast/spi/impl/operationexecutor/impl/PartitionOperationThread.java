@@ -16,23 +16,80 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import com.hazelcast.cluster.Address;
 import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 
 /**
  * An {@link OperationThread} that executes Operations for a particular partition,
  * e.g. a map.get operation.
+ * <p>
+ * When tasks queue up while the thread is busy, it drains them in a single pass
+ * of at most {@link #MAX_BATCH_SIZE} tasks. The tasks of a pass are grouped by
+ * partition so each {@link OperationRunner} gets its tasks back to back, in
+ * their queue order. The responses sent to remote callers during a pass are
+ * held back and transmitted together once the pass is done, and the pass is
+ * reported once to the {@link ConcurrencyDetection} so these responses are
+ * written to the connections in bulk instead of one by one.
+ * <p>
+ * Priority tasks are never grouped: the priority queue is checked before each
+ * task of a pass, just like it is before each single task, and a priority task
+ * drained into a pass runs in its queue position. The tasks of a pass that
+ * didn't run yet are still reported as pending.
  */
 public class PartitionOperationThread extends OperationThread {
 
+    /**
+     * The maximum number of tasks drained in a single pass, so that the
+     * responses held back during the pass don't wait too long.
+     */
+    static final int MAX_BATCH_SIZE = 256;
+
+    private static final int NONE = -1;
+
     OperationRunner[] partitionOperationRunners;
 
+    private final ILogger logger;
+    private final ConcurrencyDetection concurrencyDetection;
+
+    // The state of a drain pass, only accessed by this thread.
+    private final Object[] batch = new Object[MAX_BATCH_SIZE];
+    // the next task of the same partition in the batch, per batch index
+    private final int[] nextOfPartition = new int[MAX_BATCH_SIZE];
+    // the partitions of the batch in the order their first task was drained
+    private final int[] batchPartitions = new int[MAX_BATCH_SIZE];
+    // the first and last task of each partition in the batch, per partition ID
+    private final int[] firstOfPartition;
+    private final int[] lastOfPartition;
+    private final List<DeferredResponse> deferredResponses = new ArrayList<>();
+    private final SwCounter batchPendingCount = newSwCounter();
+    private boolean draining;
+
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT)
+    private final SwCounter drainedBatchCount = newSwCounter();
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT)
+    private final SwCounter drainedTaskCount = newSwCounter();
+
     @SuppressFBWarnings("EI_EXPOSE_REP")
     public PartitionOperationThread(String name,
                                     int threadId,
@@ -41,8 +98,27 @@ public class PartitionOperationThread extends OperationThread {
                                     NodeExtension nodeExtension,
                                     OperationRunner[] partitionOperationRunners,
                                     ClassLoader configClassLoader) {
+        this(name, threadId, queue, logger, nodeExtension, partitionOperationRunners, configClassLoader,
+                ConcurrencyDetection.createDisabled());
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    @SuppressWarnings("java:S107")
+    public PartitionOperationThread(String name,
+                                    int threadId,
+                                    OperationQueue queue,
+                                    ILogger logger,
+                                    NodeExtension nodeExtension,
+                                    OperationRunner[] partitionOperationRunners,
+                                    ClassLoader configClassLoader,
+                                    ConcurrencyDetection concurrencyDetection) {
         super(name, threadId, queue, logger, nodeExtension, false, configClassLoader);
         this.partitionOperationRunners = partitionOperationRunners;
+        this.logger = logger;
+        this.concurrencyDetection = concurrencyDetection;
+        this.firstOfPartition = new int[partitionOperationRunners.length];
+        this.lastOfPartition = new int[partitionOperationRunners.length];
+        Arrays.fill(firstOfPartition, NONE);
     }
 
     /**
@@ -54,6 +130,155 @@ public class PartitionOperationThread extends OperationThread {
         return partitionOperationRunners[partitionId];
     }
 
+    @Override
+    protected void loop() throws Exception {
+        while (!isShutdown()) {
+            Object task;
+            try {
+                task = queue.take(false);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            Object next = queue.poll();
+            if (next == null) {
+                process(task);
+            } else {
+                batch[0] = task;
+                batch[1] = next;
+                drainPass(2);
+            }
+        }
+    }
+
+    /**
+     * Fills up the batch, which already holds {@code size} tasks, from the
+     * queue and processes it.
+     */
+    void drainPass(int size) {
+        Object task;
+        while (size < MAX_BATCH_SIZE && (task = queue.poll()) != null) {
+            batch[size++] = task;
+        }
+
+        drainedBatchCount.inc();
+        drainedTaskCount.inc(size);
+        batchPendingCount.set(size);
+        concurrencyDetection.onDetected();
+        draining = true;
+        try {
+            processBatch(size);
+        } finally {
+            draining = false;
+            flushResponses();
+        }
+    }
+
+    /**
+     * Processes the batch grouped by partition. The tasks not bound to a
+     * partition of this thread are run in their queue position, after the
+     * tasks grouped so far.
+     */
+    private void processBatch(int size) {
+        int partitionCount = 0;
+        for (int i = 0; i < size; i++) {
+            int partitionId = partitionId(batch[i]);
+            if (partitionId == NONE) {
+                processGroups(partitionCount);
+                partitionCount = 0;
+                processBatched(i);
+                continue;
+            }
+
+            nextOfPartition[i] = NONE;
+            if (firstOfPartition[partitionId] == NONE) {
+                firstOfPartition[partitionId] = i;
+                batchPartitions[partitionCount++] = partitionId;
+            } else {
+                nextOfPartition[lastOfPartition[partitionId]] = i;
+            }
+            lastOfPartition[partitionId] = i;
+        }
+        processGroups(partitionCount);
+    }
+
+    private void processGroups(int partitionCount) {
+        for (int k = 0; k < partitionCount; k++) {
+            int partitionId = batchPartitions[k];
+            for (int i = firstOfPartition[partitionId]; i != NONE; i = nextOfPartition[i]) {
+                processBatched(i);
+            }
+            firstOfPartition[partitionId] = NONE;
+        }
+    }
+
+    private void processBatched(int index) {
+        Object priorityTask;
+        while ((priorityTask = queue.pollPriority()) != null) {
+            process(priorityTask);
+        }
+
+        Object task = batch[index];
+        batch[index] = null;
+        batchPendingCount.inc(-1);
+        process(task);
+    }
+
+    private int partitionId(Object task) {
+        int partitionId;
+        if (task.getClass() == Packet.class) {
+            Packet packet = (Packet) task;
+            partitionId = packet.isUrgent() ? NONE : packet.getPartitionId();
+        } else if (task instanceof Operation operation) {
+            partitionId = operation.isUrgent() ? NONE : operation.getPartitionId();
+        } else if (task instanceof PartitionSpecificRunnable runnable) {
+            partitionId = runnable instanceof UrgentSystemOperation ? NONE : runnable.getPartitionId();
+        } else {
+            return NONE;
+        }
+        // invalid partition IDs are left to the regular error handling
+        return partitionId >= 0 && partitionId < firstOfPartition.length ? partitionId : NONE;
+    }
+
+    /**
+     * Holds back a response packet sent by the task running on this thread
+     * until the current drain pass is done.
+     * <p>
+     * Must be called by this thread only.
+     *
+     * @return {@code true} if the response was held back, {@code false} if
+     * there is no drain pass running and the caller should transmit it.
+     */
+    public boolean deferResponse(ServerConnectionManager connectionManager, Address target, Packet packet, int streamId) {
+        if (!draining) {
+            return false;
+        }
+        deferredResponses.add(new DeferredResponse(connectionManager, target, packet, streamId));
+        return true;
+    }
+
+    private void flushResponses() {
+        for (int i = 0; i < deferredResponses.size(); i++) {
+            DeferredResponse response = deferredResponses.get(i);
+            try {
+                if (!response.connectionManager.transmit(response.packet, response.target, response.streamId)) {
+                    logger.warning("Cannot send response to " + response.target);
+                }
+            } catch (Exception e) {
+                logger.warning("Failed to send response to " + response.target, e);
+            }
+        }
+        deferredResponses.clear();
+    }
+
+    long drainedBatchCount() {
+        return drainedBatchCount.get();
+    }
+
+    long drainedTaskCount() {
+        return drainedTaskCount.get();
+    }
+
     @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT)
     int priorityPendingCount() {
         return queue.prioritySize();
@@ -61,6 +286,10 @@ public class PartitionOperationThread extends OperationThread {
 
     @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT)
     int normalPendingCount() {
-        return queue.normalSize();
+        return queue.normalSize() + (int) batchPendingCount.get();
+    }
+
+    private record DeferredResponse(ServerConnectionManager connectionManager, Address target, Packet packet,
+                                    int streamId) {
     }
 }
@@ -76,6 +76,11 @@ public class TpcOperationQueue implements OperationQueue {
         }
     }
 
+    @Override
+    public Object pollPriority() {
+        return priorityQueue.poll();
+    }
+
     @Override
     public boolean isEmpty() {
         return normalQueue.isEmpty() && priorityQueue.isEmpty();
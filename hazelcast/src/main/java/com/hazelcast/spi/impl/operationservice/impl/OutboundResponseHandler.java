@@ -22,6 +22,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.SpiDataSerializerHook;
@@ -216,7 +217,13 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         // a bottleneck.
         // The order of operations is respected, but the order of responses is not respected, e.g.
         // for inbound responses we toss responses in an arbitrary response thread.
-        return connectionManager.transmit(packet, target,  ThreadLocalRandom.current().nextInt());
+        int streamId = ThreadLocalRandom.current().nextInt();
+        // A partition thread draining a batch of operations transmits the responses once the batch is done.
+        if (Thread.currentThread() instanceof PartitionOperationThread partitionThread
+                && partitionThread.deferResponse(connectionManager, target, packet, streamId)) {
+            return true;
+        }
+        return connectionManager.transmit(packet, target, streamId);
     }
 
     private void checkTarget(Address target) {
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.sequence;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A lock-free table of pending calls, indexed by the call IDs handed out by a
+ * {@link CallIdSequence}.
+ * <p>
+ * Call IDs are issued in increasing order and most calls complete long before the
+ * sequence wraps around the table, so every call ID gets its own slot in a ring
+ * of preallocated slots. Registering, looking up and removing a call is a single
+ * CAS or volatile read and, unlike a {@code ConcurrentMap<Long, V>}, does not box
+ * the call ID or allocate a map node.
+ * <p>
+ * A call that is still pending when the sequence comes around to its slot again
+ * (e.g. a blocking operation) keeps the slot; the newer call is then stored in an
+ * overflow map. That map is empty in the common case and is only consulted when it
+ * isn't.
+ * <p>
+ * Since a slot can be reused by a different call, every hit is verified against the
+ * call ID the value reports through the {@code callIdFunction}. The call ID of a value
+ * must not change while it is registered.
+ *
+ * @param <V> the type of the registered calls
+ */
+public final class CallIdTable<V> implements Iterable<V> {
+
+    /**
+     * Capacity used when the number of concurrent calls isn't bounded.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 13;
+
+    /**
+     * Upper bound for the capacity of the table.
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    // consecutive call IDs are spread this many slots apart, so threads registering
+    // calls at the same time don't CAS on the same cache line. Being odd, the stride
+    // still maps any window of 'capacity' consecutive call IDs to distinct slots.
+    private static final int SLOT_STRIDE = 17;
+
+    private final AtomicReferenceArray<V> slots;
+    private final int mask;
+    private final ToLongFunction<V> callIdFunction;
+    private final ConcurrentMap<Long, V> overflow = new ConcurrentHashMap<>();
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * @param capacity       the minimum number of slots; rounded up to a power of two
+     * @param callIdFunction returns the call ID a value is registered with
+     */
+    public CallIdTable(int capacity, ToLongFunction<V> callIdFunction) {
+        checkPositive("capacity", capacity);
+        int length = nextPowerOfTwo(Math.min(capacity, MAX_CAPACITY));
+        this.slots = new AtomicReferenceArray<>(length);
+        this.mask = length - 1;
+        this.callIdFunction = callIdFunction;
+    }
+
+    /**
+     * Returns the capacity for a table that backs a {@link CallIdSequence} with the
+     * given {@link CallIdSequence#getMaxConcurrentInvocations() concurrency limit}.
+     * Twice the limit is used to leave room for urgent calls and retries, which
+     * don't respect the limit.
+     *
+     * @param maxConcurrentInvocations the concurrency limit of the call ID sequence
+     * @return the capacity of the table
+     */
+    public static int capacityFor(int maxConcurrentInvocations) {
+        if (maxConcurrentInvocations == Integer.MAX_VALUE) {
+            return DEFAULT_CAPACITY;
+        }
+        return (int) Math.min(2L * maxConcurrentInvocations, MAX_CAPACITY);
+    }
+
+    /**
+     * Registers a value under the given call ID, replacing any value already
+     * registered under it.
+     *
+     * @param callId the call ID
+     * @param value  the value, whose {@code callIdFunction} must return {@code callId}
+     */
+    public void put(long callId, V value) {
+        int index = index(callId);
+        for (; ; ) {
+            if (slots.compareAndSet(index, null, value)) {
+                size.increment();
+                return;
+            }
+            V current = slots.get(index);
+            if (current == null) {
+                continue;
+            }
+            if (callIdOf(current) != callId) {
+                break;
+            }
+            if (slots.compareAndSet(index, current, value)) {
+                return;
+            }
+        }
+        if (overflow.put(callId, value) == null) {
+            size.increment();
+        }
+    }
+
+    /**
+     * Returns the value registered under the given call ID.
+     *
+     * @param callId the call ID
+     * @return the value, or {@code null} if no value is registered under the call ID
+     */
+    public V get(long callId) {
+        V value = slots.get(index(callId));
+        if (value != null && callIdOf(value) == callId) {
+            return value;
+        }
+        return overflow.isEmpty() ? null : overflow.get(callId);
+    }
+
+    /**
+     * Removes the value registered under the given call ID.
+     *
+     * @param callId the call ID
+     * @return the removed value, or {@code null} if no value was registered under the call ID
+     */
+    public V remove(long callId) {
+        int index = index(callId);
+        V value = slots.get(index);
+        if (value != null && callIdOf(value) == callId && slots.compareAndSet(index, value, null)) {
+            size.decrement();
+            return value;
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        value = overflow.remove(callId);
+        if (value != null) {
+            size.decrement();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of registered values. The result is only an estimate
+     * while values are concurrently added or removed.
+     *
+     * @return the number of registered values
+     */
+    public int size() {
+        return (int) Math.max(0, size.sum());
+    }
+
+    /**
+     * Returns an iterator over the registered values. The iterator is weakly
+     * consistent and supports {@link Iterator#remove()}.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new TableIterator();
+    }
+
+    private long callIdOf(V value) {
+        return callIdFunction.applyAsLong(value);
+    }
+
+    private int index(long callId) {
+        return (int) (callId * SLOT_STRIDE) & mask;
+    }
+
+    private final class TableIterator implements Iterator<V> {
+
+        private final Iterator<V> overflowIterator = overflow.values().iterator();
+        private int nextIndex;
+        private V next;
+        private int lastIndex = -1;
+        private V last;
+
+        TableIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            lastIndex = nextIndex - 1;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (lastIndex < slots.length()) {
+                if (slots.compareAndSet(lastIndex, last, null)) {
+                    size.decrement();
+                }
+            } else if (overflow.remove(callIdOf(last), last)) {
+                size.decrement();
+            }
+            last = null;
+        }
+
+        private void advance() {
+            int length = slots.length();
+            while (nextIndex < length) {
+                V value = slots.get(nextIndex++);
+                if (value != null) {
+                    next = value;
+                    return;
+                }
+            }
+            if (overflowIterator.hasNext()) {
+                nextIndex = length + 1;
+                next = overflowIterator.next();
+                return;
+            }
+            next = null;
+        }
+    }
+}
@@ -151,6 +151,22 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * The maximum size in MB of the socket buffers pooled while the connections
+     * are idle.
+     * <p>
+     * If set, connections borrow their send and receive buffers from a shared
+     * pool only while data is in flight, so idle connections, e.g. of clients,
+     * don't hold on to the buffers. Busy connections then return and borrow
+     * their buffers on every read and write, so the pooling pays off only with
+     * many mostly idle connections.
+     * <p>
+     * The default is 0, which disables the pooling; every connection then keeps
+     * its buffers for its whole life.
+     */
+    public static final HazelcastProperty SOCKET_BUFFER_POOL_SIZE
+            = new HazelcastProperty("hazelcast.socket.buffer.pool.size", 0);
+
     /**
      * Overrides receive buffer size for connections opened by clients.
      * <p>
@@ -363,6 +379,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * Optimization that allows the payloads of large packets sent to other
+     * members to be written to the socket directly, with a gathering write,
+     * instead of being copied to the send buffer first.
+     * <p>
+     * It is only used if the packets are written directly to the socket,
+     * i.e. there is no other handler, like the TLS one, after the packet
+     * encoder.
+     * <p>
+     * It is enabled by default.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_ENABLED
+            = new HazelcastProperty("hazelcast.io.gathering.write", true);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -747,6 +777,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty PARTITION_MAX_PARALLEL_MIGRATIONS
             = new HazelcastProperty("hazelcast.partition.max.parallel.migrations", 10);
 
+    /**
+     * Cluster-wide budget, in bytes per second, for the partition data
+     * transferred by migrations. The budget is split evenly between the
+     * data members. Before sending a migration fragment, a member reserves
+     * its share of the budget for it, so all the migrations it is the
+     * source of, including the parallel ones, stay within that share on
+     * average.
+     * <p>
+     * A fragment can't be split once created, so a fragment larger than the
+     * reservation is sent as a whole and delays the following ones. With
+     * chunked migration, fragments are capped to one second of a member's
+     * share, but at least 1 MB. Replica synchronization uses the same cap,
+     * but it isn't paced.
+     * <p>
+     * Default is {@code 0}, which disables throttling.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_MAX_BYTES_PER_SECOND
+            = new HazelcastProperty("hazelcast.partition.migration.max.bytes.per.second", 0L);
+
     /**
      * Maximum number of anti-entropy partition replications to be executed on a member.
      * By default, equals to {@link #PARTITION_MAX_PARALLEL_MIGRATIONS}.
@@ -1170,6 +1219,43 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Selects the data structure keeping the keys of
+     * {@link com.hazelcast.config.IndexType#SORTED SORTED} indexes.
+     * <p>
+     * By default the keys are kept in a concurrent skip list. When set to
+     * {@code true}, they are kept in a list of sorted copy-on-write chunks
+     * instead, with integral and floating-point keys additionally stored in
+     * primitive arrays. This layout takes less memory per distinct key and
+     * makes range predicates and sorted index scans walk contiguous arrays,
+     * at the cost of copying a chunk of up to 128 keys whenever a key is added
+     * or removed.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty INDEX_SORTED_CHUNKED_STORE
+            = new HazelcastProperty("hazelcast.index.sorted.chunked.store", false);
+
+    /**
+     * Selects the data structure keeping the records of
+     * {@link com.hazelcast.config.IndexType#HASH HASH} indexes.
+     * <p>
+     * By default each distinct attribute value maps to a nested concurrent map
+     * of records. When set to {@code true}, integral attribute values are kept
+     * unboxed in a primitive-keyed hash table and a value indexing a single
+     * record references it directly instead of through a nested map. This
+     * considerably reduces the memory taken by indexes on high-cardinality
+     * attributes, like numeric ids, and speeds up equality lookups on them.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty INDEX_HASH_PRIMITIVE_STORE
+            = new HazelcastProperty("hazelcast.index.hash.primitive.store", false);
+
     /**
      * The number of threads that the client engine has available for processing
      * requests that are related to the query engine.
@@ -1875,6 +1961,19 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The directory where the processors spill the data exceeding their
+     * {@link com.hazelcast.jet.config.JetConfig#setMaxProcessorAccumulatedRecords
+     * maxProcessorAccumulatedRecords} limit, e.g. the sorting, grouping and
+     * SQL hash join processors of batch jobs. The directory is created if it
+     * doesn't exist. If not set, the spill files are created in the directory
+     * given by the {@code java.io.tmpdir} system property.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.dir");
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
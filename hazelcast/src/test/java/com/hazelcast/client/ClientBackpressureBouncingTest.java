@@ -27,6 +27,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastOverloadException;
 import com.hazelcast.internal.util.ThreadLocalRandomProvider;
 import com.hazelcast.map.IMap;
+import com.hazelcast.spi.impl.sequence.CallIdTable;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -42,7 +43,6 @@ import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 
 import java.lang.reflect.Field;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
@@ -131,7 +131,7 @@ public class ClientBackpressureBouncingTest extends HazelcastTestSupport {
 
         private final long warmUpDeadline;
         private final long deadLine;
-        private final ConcurrentMap<Long, ClientInvocation> invocations;
+        private final CallIdTable<ClientInvocation> invocations;
 
         private int maxInvocationCountObserved;
         private int maxInvocationCountObservedDuringWarmup;
@@ -177,13 +177,13 @@ public class ClientBackpressureBouncingTest extends HazelcastTestSupport {
         }
 
         @SuppressWarnings("unchecked")
-        private ConcurrentMap<Long, ClientInvocation> extractInvocations(HazelcastInstance client) {
+        private CallIdTable<ClientInvocation> extractInvocations(HazelcastInstance client) {
             try {
                 HazelcastClientInstanceImpl clientImpl = getHazelcastClientInstanceImpl(client);
                 ClientInvocationService invocationService = clientImpl.getInvocationService();
                 Field invocationsField = ClientInvocationServiceImpl.class.getDeclaredField("invocations");
                 invocationsField.setAccessible(true);
-                return (ConcurrentMap<Long, ClientInvocation>) invocationsField.get(invocationService);
+                return (CallIdTable<ClientInvocation>) invocationsField.get(invocationService);
             } catch (Exception e) {
                 throw rethrow(e);
             }
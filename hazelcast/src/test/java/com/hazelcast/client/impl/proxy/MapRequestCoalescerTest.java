@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.map.AbstractClientMapTest;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionAwareKey;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_MAX_BATCH_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapRequestCoalescerTest extends AbstractClientMapTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int SETS_PER_THREAD = 200;
+    private static final int MAX_BATCH_SIZE = 8;
+
+    @Override
+    protected ClientConfig getClientConfig() {
+        return new ClientConfig()
+                .setProperty(MAP_REQUEST_COALESCING_ENABLED.getName(), "true")
+                .setProperty(MAP_REQUEST_COALESCING_MAX_BATCH_SIZE.getName(), String.valueOf(MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void testSingleSet_isSentAlone() {
+        IMap<String, String> map = client.getMap(randomMapName());
+        MapRequestCoalescer coalescer = ((ClientMapProxy<?, ?>) map).getRequestCoalescer();
+
+        map.set("key", "value");
+
+        assertEquals(1, coalescer.getSentMessageCount());
+        assertEquals(1, coalescer.getSentRequestCount());
+    }
+
+    @Test
+    public void testConcurrentSetsToSamePartition_areBatched() throws Exception {
+        IMap<PartitionAwareKey<Integer, String>, Integer> map = client.getMap(randomMapName());
+        MapRequestCoalescer coalescer = ((ClientMapProxy<?, ?>) map).getRequestCoalescer();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                int offset = t * SETS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + SETS_PER_THREAD; i++) {
+                        map.set(new PartitionAwareKey<>(i, "partition"), i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int setCount = THREAD_COUNT * SETS_PER_THREAD;
+        long messageCount = coalescer.getSentMessageCount();
+        assertEquals(setCount, coalescer.getSentRequestCount());
+        assertTrue("messages: " + messageCount, messageCount < setCount);
+        assertTrue("messages: " + messageCount, messageCount >= setCount / MAX_BATCH_SIZE);
+
+        IMap<PartitionAwareKey<Integer, String>, Integer> memberMap = member1.getMap(map.getName());
+        assertEquals(setCount, memberMap.size());
+        for (int i = 0; i < setCount; i++) {
+            assertEquals(i, (int) memberMap.get(new PartitionAwareKey<>(i, "partition")));
+        }
+    }
+}
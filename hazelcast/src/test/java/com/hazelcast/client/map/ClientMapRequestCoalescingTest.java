@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapStoreAdapter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_ENABLED;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_MAX_BATCH_SIZE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapRequestCoalescingTest extends AbstractClientMapTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int KEYS_PER_THREAD = 500;
+
+    private final CountingMapStore mapStore = new CountingMapStore();
+
+    @Override
+    protected Config getConfig() {
+        Config config = super.getConfig();
+        config.getMapConfig("storeMap")
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setWriteDelaySeconds(0)
+                        .setImplementation(mapStore));
+        return config;
+    }
+
+    @Override
+    protected ClientConfig getClientConfig() {
+        return new ClientConfig()
+                .setProperty(MAP_REQUEST_COALESCING_ENABLED.getName(), "true")
+                .setProperty(MAP_REQUEST_COALESCING_MAX_BATCH_SIZE.getName(), "16");
+    }
+
+    @Test
+    public void testSetAndGet() {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        map.set("key", "value");
+
+        assertEquals("value", map.get("key"));
+        assertEquals("value", member1.getMap(map.getName()).get("key"));
+    }
+
+    @Test
+    public void testGet_whenMissing_thenNull() {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        assertNull(map.get("missing"));
+    }
+
+    @Test
+    public void testPut_returnsOldValue() {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        map.set("key", "value1");
+
+        assertEquals("value1", map.put("key", "value2"));
+        assertEquals("value2", map.get("key"));
+    }
+
+    @Test
+    public void testSetWithTtl_isNotCoalesced() {
+        IMap<String, String> map = client.getMap(randomMapName());
+
+        map.set("key", "value", 1, SECONDS);
+
+        assertEquals("value", map.get("key"));
+        assertTrueEventually(() -> assertNull(map.get("key")));
+    }
+
+    @Test
+    public void testPutTransient_doesNotWriteThrough() throws Exception {
+        IMap<Integer, Integer> map = client.getMap("storeMap");
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                int offset = t * KEYS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + KEYS_PER_THREAD; i++) {
+                        // a negative TTL means the default TTL of the map, like set(key, value)
+                        map.putTransient(i, i, -1, SECONDS);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREAD_COUNT * KEYS_PER_THREAD, map.size());
+        assertEquals(0, mapStore.storeCount.get());
+
+        // while set() writes through
+        map.set(-1, -1);
+        assertEquals(1, mapStore.storeCount.get());
+    }
+
+    @Test
+    public void testConcurrentSetsAndGets() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                int offset = t * KEYS_PER_THREAD;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + KEYS_PER_THREAD; i++) {
+                        map.set(i, i);
+                        assertEquals(i, (int) map.get(i));
+                        assertNull(map.get(-i - 1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        IMap<Integer, Integer> memberMap = member1.getMap(map.getName());
+        assertEquals(THREAD_COUNT * KEYS_PER_THREAD, memberMap.size());
+        for (int i = 0; i < THREAD_COUNT * KEYS_PER_THREAD; i++) {
+            assertEquals(i, (int) memberMap.get(i));
+        }
+    }
+
+    private static class CountingMapStore extends MapStoreAdapter<Integer, Integer> {
+
+        final AtomicInteger storeCount = new AtomicInteger();
+
+        @Override
+        public void store(Integer key, Integer value) {
+            storeCount.incrementAndGet();
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            storeCount.addAndGet(map.size());
+        }
+    }
+}
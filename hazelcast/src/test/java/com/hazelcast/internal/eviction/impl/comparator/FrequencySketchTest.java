@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.impl.comparator.FrequencySketch.MAX_FREQUENCY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    @Test
+    public void testIncrement() {
+        sketch.ensureCapacity(512);
+
+        for (int i = 1; i <= 5; i++) {
+            sketch.increment(42);
+            assertEquals(i, sketch.frequency(42));
+        }
+        assertEquals(0, sketch.frequency(43));
+    }
+
+    @Test
+    public void testFrequencySaturates() {
+        sketch.ensureCapacity(512);
+
+        for (int i = 0; i < 2 * MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void testAging() {
+        sketch.ensureCapacity(64);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(42);
+        }
+        assertEquals(10, sketch.frequency(42));
+
+        // enough distinct additions to trigger the halving of all counters
+        for (int i = 0; i < 64 * 20; i++) {
+            sketch.increment(1000 + i);
+        }
+
+        assertTrue(sketch.frequency(42) < 10);
+    }
+
+    @Test
+    public void testEnsureCapacityDiscardsFrequencies() {
+        sketch.increment(42);
+        assertEquals(1, sketch.frequency(42));
+
+        sketch.ensureCapacity(1024);
+        assertEquals(0, sketch.frequency(42));
+
+        sketch.increment(42);
+        // the sketch never shrinks
+        sketch.ensureCapacity(16);
+        assertEquals(1, sketch.frequency(42));
+    }
+
+    @Test
+    public void testHeavyHittersStandOut() {
+        sketch.ensureCapacity(1024);
+
+        for (int i = 0; i < 10_000; i++) {
+            sketch.increment(i % 10 == 0 ? i % 100 : 1000 + i);
+        }
+
+        for (int i = 0; i < 100; i += 10) {
+            assertTrue(sketch.frequency(i) > sketch.frequency(5000 + i));
+        }
+    }
+}
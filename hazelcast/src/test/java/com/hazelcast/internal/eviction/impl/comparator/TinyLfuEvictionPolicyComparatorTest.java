@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLfuEvictionPolicyComparatorTest {
+
+    private final TinyLfuEvictionPolicyComparator comparator = new TinyLfuEvictionPolicyComparator();
+
+    @Test
+    public void testLessFrequentEntryIsEvictedFirst() {
+        comparator.ensureCapacity(1024);
+        recordAccesses("popular", 5);
+        recordAccesses("unpopular", 1);
+
+        TestEntryView popular = new TestEntryView("popular", 0);
+        TestEntryView unpopular = new TestEntryView("unpopular", 10);
+
+        assertTrue(comparator.compare(unpopular, popular) < 0);
+        assertTrue(comparator.compare(popular, unpopular) > 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedFirst_whenFrequenciesAreEqual() {
+        comparator.ensureCapacity(1024);
+        recordAccesses("a", 2);
+        recordAccesses("b", 2);
+
+        TestEntryView older = new TestEntryView("a", 5);
+        TestEntryView newer = new TestEntryView("b", 10);
+
+        assertTrue(comparator.compare(older, newer) < 0);
+    }
+
+    @Test
+    public void testAdmission() {
+        comparator.ensureCapacity(1024);
+        recordAccesses("popular", 5);
+        recordAccesses("unpopular", 1);
+
+        assertTrue(comparator.admit("popular", "unpopular"));
+        assertFalse(comparator.admit("unpopular", "popular"));
+        // a candidate has to beat the victim, a tie is not enough
+        assertFalse(comparator.admit("unpopular", "unpopular"));
+    }
+
+    @Test
+    public void testScanDoesNotDisplacePopularEntry() {
+        comparator.ensureCapacity(1024);
+        recordAccesses("popular", 5);
+
+        for (int i = 0; i < 1000; i++) {
+            String scanned = "scanned-" + i;
+            comparator.recordAccess(scanned);
+            assertFalse(comparator.admit(scanned, "popular"));
+        }
+    }
+
+    @Test
+    public void testSerializedComparatorStartsAfresh() {
+        recordAccesses("popular", 5);
+
+        TinyLfuEvictionPolicyComparator copy = serializeAndDeserialize(comparator);
+
+        assertFalse(copy.admit("popular", "other"));
+        assertSame(TinyLfuEvictionPolicyComparator.class, copy.getClass());
+    }
+
+    private void recordAccesses(Object key, int count) {
+        for (int i = 0; i < count; i++) {
+            comparator.recordAccess(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T serializeAndDeserialize(T object) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(object);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (T) in.readObject();
+            }
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private record TestEntryView(Object key, long lastAccessTime) implements EvictableEntryView<Object, Object> {
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return 0;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public long getHits() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArenaMemoryAllocatorTest {
+
+    private static final int PAGE_SIZE = 1024;
+
+    private ArenaMemoryAllocator malloc;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UNSAFE_AVAILABLE);
+        malloc = new ArenaMemoryAllocator(PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        if (malloc != null) {
+            malloc.dispose();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenPageSizeNotPowerOfTwo() {
+        new ArenaMemoryAllocator(1000);
+    }
+
+    @Test
+    public void testAllocate_returnsZeroedBlock() {
+        long address = malloc.allocate(24);
+
+        assertNotEquals(NULL_ADDRESS, address);
+        for (int i = 0; i < 24; i++) {
+            assertEquals(0, MEM.getByte(address + i));
+        }
+        assertEquals(32, malloc.getUsedMemory());
+        assertEquals(PAGE_SIZE, malloc.getCommittedMemory());
+    }
+
+    @Test
+    public void testFree_blockIsReused() {
+        long address = malloc.allocate(16);
+        MEM.putLong(address, 42L);
+        malloc.free(address, 16);
+
+        assertEquals(0, malloc.getUsedMemory());
+        assertEquals(address, malloc.allocate(16));
+        assertEquals(0L, MEM.getLong(address));
+    }
+
+    @Test
+    public void testAllocate_largeBlock() {
+        long address = malloc.allocate(PAGE_SIZE * 4);
+
+        assertEquals(PAGE_SIZE * 4, malloc.getUsedMemory());
+        assertEquals(PAGE_SIZE * 4, malloc.getCommittedMemory());
+
+        malloc.free(address, PAGE_SIZE * 4);
+
+        assertEquals(0, malloc.getUsedMemory());
+        assertEquals(0, malloc.getCommittedMemory());
+    }
+
+    @Test
+    public void testReallocate_withinSameSizeClass_keepsAddress() {
+        long address = malloc.allocate(20);
+        MEM.putInt(address, 7);
+
+        assertEquals(address, malloc.reallocate(address, 20, 30));
+        assertEquals(7, MEM.getInt(address));
+    }
+
+    @Test
+    public void testReallocate_copiesContents() {
+        long address = malloc.allocate(16);
+        MEM.putLong(address, 42L);
+
+        long newAddress = malloc.reallocate(address, 16, 100);
+
+        assertEquals(42L, MEM.getLong(newAddress));
+        assertEquals(128, malloc.getUsedMemory());
+    }
+
+    @Test
+    public void testNewPage_whenPageExhausted() {
+        for (int i = 0; i < PAGE_SIZE / 64 + 1; i++) {
+            malloc.allocate(64);
+        }
+
+        assertEquals(2 * PAGE_SIZE, malloc.getCommittedMemory());
+    }
+
+    @Test
+    public void testDispose_arenaIsReusable() {
+        malloc.allocate(64);
+        malloc.allocate(PAGE_SIZE * 2);
+
+        malloc.dispose();
+
+        assertEquals(0, malloc.getUsedMemory());
+        assertEquals(0, malloc.getCommittedMemory());
+        assertNotEquals(NULL_ADDRESS, malloc.allocate(64));
+    }
+
+    @Test
+    public void testBudget_reservedPerPageAndLargeBlock() {
+        NativeMemoryBudget budget = new NativeMemoryBudget(PAGE_SIZE * 8);
+        ArenaMemoryAllocator arena = new ArenaMemoryAllocator(PAGE_SIZE, budget);
+        try {
+            arena.allocate(64);
+            arena.allocate(64);
+            assertEquals(PAGE_SIZE, budget.getReserved());
+
+            long largeBlock = arena.allocate(PAGE_SIZE * 2);
+            assertEquals(PAGE_SIZE * 3, budget.getReserved());
+
+            arena.free(largeBlock, PAGE_SIZE * 2);
+            assertEquals(PAGE_SIZE, budget.getReserved());
+        } finally {
+            arena.dispose();
+        }
+        assertEquals(0, budget.getReserved());
+    }
+
+    @Test
+    public void testBudget_sharedBetweenArenas() {
+        NativeMemoryBudget budget = new NativeMemoryBudget(PAGE_SIZE * 2);
+        ArenaMemoryAllocator arena1 = new ArenaMemoryAllocator(PAGE_SIZE, budget);
+        ArenaMemoryAllocator arena2 = new ArenaMemoryAllocator(PAGE_SIZE, budget);
+        try {
+            arena1.allocate(PAGE_SIZE);
+            arena2.allocate(PAGE_SIZE);
+
+            assertThrows(NativeOutOfMemoryError.class, () -> arena1.allocate(PAGE_SIZE));
+            assertEquals(PAGE_SIZE * 2, budget.getReserved());
+
+            arena2.dispose();
+            assertNotEquals(NULL_ADDRESS, arena1.allocate(PAGE_SIZE));
+        } finally {
+            arena1.dispose();
+            arena2.dispose();
+        }
+        assertEquals(0, budget.getReserved());
+    }
+
+    @Test
+    public void testBudget_exceeded_arenaStaysUsable() {
+        NativeMemoryBudget budget = new NativeMemoryBudget(PAGE_SIZE);
+        ArenaMemoryAllocator arena = new ArenaMemoryAllocator(PAGE_SIZE, budget);
+        try {
+            assertThrows(NativeOutOfMemoryError.class, () -> arena.allocate(PAGE_SIZE * 2));
+            assertEquals(0, arena.getCommittedMemory());
+
+            assertNotEquals(NULL_ADDRESS, arena.allocate(64));
+            assertEquals(PAGE_SIZE, budget.getReserved());
+        } finally {
+            arena.dispose();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.record.HeapNearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.record.OffHeapNearCacheValueStorage;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheCompactRecordStore;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Collection;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCacheCompactRecordStoreTest extends NearCacheRecordStoreTestSupport {
+
+    private static final int LARGE_VALUE_LENGTH = 10000;
+
+    @Parameters(name = "offHeap:{0}, compressionThreshold:{1}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {false, 0},
+                {false, 1},
+                {true, 0},
+                {true, 1},
+        });
+    }
+
+    @Parameter
+    public boolean offHeap;
+
+    @Parameter(1)
+    public int compressionThreshold;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    private long maxReservedBytes;
+
+    @Override
+    <K, V> NearCacheRecordStore<K, V> createNearCacheRecordStore(NearCacheConfig nearCacheConfig,
+                                                                InMemoryFormat inMemoryFormat) {
+        NearCacheValueStorage valueStorage = offHeap
+                ? new OffHeapNearCacheValueStorage(compressionThreshold)
+                : new HeapNearCacheValueStorage(compressionThreshold);
+        NearCacheRecordStore<K, V> recordStore = new NearCacheCompactRecordStore<>(DEFAULT_NEAR_CACHE_NAME,
+                nearCacheConfig, ss, null, valueStorage, maxReservedBytes);
+        recordStore.initialize();
+        return recordStore;
+    }
+
+    @Test
+    public void putAndGetRecord() {
+        putAndGetRecord(BINARY);
+    }
+
+    @Test
+    public void putAndRemoveRecord() {
+        putAndRemoveRecord(BINARY);
+    }
+
+    @Test
+    public void clearRecords() {
+        clearRecordsOrDestroyStore(BINARY, false);
+    }
+
+    @Test
+    public void destroyStore() {
+        clearRecordsOrDestroyStore(BINARY, true);
+    }
+
+    @Test
+    public void statsCalculated() {
+        assertTrueEventually(() -> statsCalculated(BINARY));
+    }
+
+    @Test
+    public void ttlEvaluated() {
+        ttlEvaluated(BINARY);
+    }
+
+    @Test
+    public void expiredRecordsCleanedUpSuccessfullyBecauseOfTTL() {
+        expiredRecordsCleanedUpSuccessfully(BINARY, false);
+    }
+
+    @Test
+    public void largeValuesStoredAndUpdated() {
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, BINARY);
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, BINARY);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.put(i, null, largeValue(i), null);
+        }
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i += 2) {
+            nearCacheRecordStore.put(i, null, largeValue(-i), null);
+        }
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            assertEquals(largeValue(i % 2 == 0 ? -i : i), nearCacheRecordStore.get(i));
+        }
+
+        nearCacheRecordStore.clear();
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            assertNull(nearCacheRecordStore.get(i));
+        }
+        assertEquals(0, nearCacheRecordStore.getNearCacheStats().getOwnedEntryMemoryCost());
+    }
+
+    @Test
+    public void recordsEvictedWhenValueStorageReservesTooMuch() {
+        maxReservedBytes = 1;
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, BINARY);
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, BINARY);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.doEviction(false);
+            nearCacheRecordStore.put(i, null, largeValue(i), null);
+        }
+
+        // every put evicted the record stored before it
+        assertEquals(1, nearCacheRecordStore.size());
+        assertEquals(largeValue(DEFAULT_RECORD_COUNT - 1), nearCacheRecordStore.get(DEFAULT_RECORD_COUNT - 1));
+    }
+
+    private static String largeValue(int i) {
+        return String.valueOf(i).repeat(LARGE_VALUE_LENGTH);
+    }
+}
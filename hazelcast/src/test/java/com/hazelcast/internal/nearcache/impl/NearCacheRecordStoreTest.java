@@ -21,6 +21,7 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
@@ -36,6 +37,8 @@ import org.junit.runners.Parameterized.UseParametersRunnerFactory;
 import java.util.Collection;
 
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParametrizedRunner.class)
@@ -144,6 +147,40 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, null);
     }
 
+    @Test
+    public void tinyLfuAdmissionKeepsPopularEntries() {
+        int maxSize = 10;
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(maxSize)
+                .setComparatorClassName(TinyLfuEvictionPolicyComparator.class.getName());
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, inMemoryFormat);
+
+        for (int i = 0; i < maxSize; i++) {
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < maxSize; i++) {
+                assertEquals("Record-" + i, nearCacheRecordStore.get(i));
+            }
+        }
+
+        // a scan of keys accessed only once must not displace the popular ones
+        for (int i = maxSize; i < 10 * maxSize; i++) {
+            assertNull(nearCacheRecordStore.get(i));
+            if (nearCacheRecordStore.admit(i)) {
+                nearCacheRecordStore.doEviction(false);
+                nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            }
+        }
+
+        for (int i = 0; i < maxSize; i++) {
+            assertEquals("Record-" + i, nearCacheRecordStore.get(i));
+        }
+    }
+
     private void doEvictionWithEntryCountMaxSizePolicy(InMemoryFormat inMemoryFormat, EvictionPolicy evictionPolicy) {
         int maxSize = DEFAULT_RECORD_COUNT / 2;
 
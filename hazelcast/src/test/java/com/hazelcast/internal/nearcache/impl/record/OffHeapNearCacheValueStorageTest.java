@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.nearcache.impl.record.OffHeapNearCacheValueStorage.MIN_CHUNK_SIZE;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapNearCacheValueStorageTest {
+
+    private static final int SLAB_SIZE = 1024;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testStoreAndLoad() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+
+        List<Object> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(storage.store(ss.toData("value-" + i)));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value-" + i, ss.toObject(storage.load(tokens.get(i))));
+        }
+        assertNull(storage.store(null));
+        assertNull(storage.load(null));
+    }
+
+    @Test
+    public void testCompressedValues() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 64);
+        Data value = ss.toData("x".repeat(10 * SLAB_SIZE));
+
+        Object token = storage.store(value);
+
+        assertTrue(storage.getFootprint(token) < value.totalSize());
+        assertTrue(storage.getReservedBytes() <= SLAB_SIZE);
+        assertEquals(value, storage.load(token));
+    }
+
+    @Test
+    public void testReleasedSlabIsRecycled() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+
+        List<Object> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(storage.store(ss.toData("value-" + i)));
+        }
+        long reservedBytes = storage.getReservedBytes();
+        assertTrue(reservedBytes > SLAB_SIZE);
+
+        for (Object token : tokens) {
+            storage.release(token);
+        }
+        for (Object token : tokens) {
+            // the slabs were recycled, their old tokens don't resolve anymore
+            assertNull(storage.load(token));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            storage.store(ss.toData("value-" + i));
+        }
+        assertEquals(reservedBytes, storage.getReservedBytes());
+    }
+
+    @Test
+    public void testReleasedChunkIsReusedWhileSlabIsLive() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+        int chunksPerSlab = SLAB_SIZE / MIN_CHUNK_SIZE;
+
+        List<Object> tokens = new ArrayList<>();
+        for (int i = 0; i < chunksPerSlab; i++) {
+            tokens.add(storage.store(ss.toData("value-" + i)));
+        }
+        assertEquals(SLAB_SIZE, storage.getReservedBytes());
+
+        // a single live value doesn't keep the rest of its slab reserved
+        for (int i = 1; i < chunksPerSlab; i++) {
+            storage.release(tokens.get(i));
+        }
+        for (int i = 1; i < chunksPerSlab; i++) {
+            assertEquals("other-" + i, ss.toObject(storage.load(storage.store(ss.toData("other-" + i)))));
+            assertNull(storage.load(tokens.get(i)));
+        }
+        assertEquals(SLAB_SIZE, storage.getReservedBytes());
+        assertEquals("value-0", ss.toObject(storage.load(tokens.get(0))));
+    }
+
+    @Test
+    public void testFootprintCountsWholeChunk() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+        Data smallValue = ss.toData("x");
+        Data largerValue = ss.toData("x".repeat(MIN_CHUNK_SIZE / 2));
+
+        Object smallToken = storage.store(smallValue);
+        Object largerToken = storage.store(largerValue);
+
+        assertTrue(storage.getFootprint(smallToken) > MIN_CHUNK_SIZE);
+        assertEquals(storage.getFootprint(smallToken), storage.getFootprint(largerToken));
+    }
+
+    @Test
+    public void testConcurrentStoreLoadAndRelease() throws Exception {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                String prefix = "thread-" + t + "-";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        Data value = ss.toData(prefix + "x".repeat(i % 300));
+                        Object token = storage.store(value);
+                        assertEquals(value, storage.load(token));
+                        storage.release(token);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLargeValueGetsDedicatedSlab() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+        Data value = ss.toData("x".repeat(2 * SLAB_SIZE));
+
+        Object token = storage.store(value);
+        assertEquals(value.totalSize(), storage.getReservedBytes());
+        assertEquals(value, storage.load(token));
+
+        storage.release(token);
+        assertEquals(0, storage.getReservedBytes());
+        assertNull(storage.load(token));
+    }
+
+    @Test
+    public void testDispose() {
+        OffHeapNearCacheValueStorage storage = new OffHeapNearCacheValueStorage(SLAB_SIZE, 0);
+        Object token = storage.store(ss.toData("value"));
+
+        storage.dispose();
+
+        assertNull(storage.load(token));
+        assertEquals(0, storage.getReservedBytes());
+        // releasing a disposed token is a no-op
+        storage.release(token);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ByteBufferPoolTest {
+
+    private final ByteBufferPool pool = new ByteBufferPool(1000);
+
+    @Test
+    public void acquire_whenEmpty_thenAllocated() {
+        ByteBuffer buffer = pool.acquire(100, true);
+
+        assertEquals(100, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(100, buffer.limit());
+        assertTrue(buffer.isDirect());
+    }
+
+    @Test
+    public void acquire_whenReleased_thenReusedAndCleared() {
+        ByteBuffer buffer = pool.acquire(100, false);
+        buffer.putInt(1).flip();
+        pool.release(buffer);
+
+        assertEquals(1, pool.pooledBuffers());
+        assertEquals(100, pool.pooledBytes());
+
+        ByteBuffer reused = pool.acquire(100, false);
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(100, reused.limit());
+        assertEquals(0, pool.pooledBuffers());
+        assertEquals(0, pool.pooledBytes());
+    }
+
+    @Test
+    public void acquire_whenDifferentSizeOrKindReleased_thenNotReused() {
+        ByteBuffer heap = ByteBuffer.allocate(100);
+        ByteBuffer direct = ByteBuffer.allocateDirect(200);
+        pool.release(heap);
+        pool.release(direct);
+
+        assertNotSame(heap, pool.acquire(100, true));
+        assertNotSame(direct, pool.acquire(100, true));
+        assertNotSame(heap, pool.acquire(200, false));
+        assertSame(direct, pool.acquire(200, true));
+        assertSame(heap, pool.acquire(100, false));
+    }
+
+    @Test
+    public void release_whenPoolFull_thenDiscarded() {
+        for (int i = 0; i < 3; i++) {
+            pool.release(ByteBuffer.allocate(400));
+        }
+
+        assertEquals(2, pool.pooledBuffers());
+        assertEquals(800, pool.pooledBytes());
+    }
+}
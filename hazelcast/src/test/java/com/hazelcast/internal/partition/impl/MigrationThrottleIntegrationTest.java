@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.SlowTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(SlowTest.class)
+public class MigrationThrottleIntegrationTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "map";
+    private static final int ENTRY_COUNT = 800;
+    private static final int VALUE_SIZE = 10_000;
+    private static final long MAX_BYTES_PER_SECOND = MEGABYTES.toBytes(2);
+
+    @Test
+    public void migrationsStayWithinMemberShareOfBudget() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(createConfig());
+        warmUpPartitions(hz1);
+
+        IMap<Integer, byte[]> map = hz1.getMap(MAP_NAME);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new byte[VALUE_SIZE]);
+        }
+
+        long startNanos = System.nanoTime();
+        HazelcastInstance hz2 = factory.newHazelcastInstance(createConfig());
+        waitAllForSafeState(hz1, hz2);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // hz1 is the source of all migrations and gets half of the budget
+        long memberBytesPerSecond = MAX_BYTES_PER_SECOND / 2;
+        long migratedBytes = hz2.getMap(MAP_NAME).getLocalMapStats().getOwnedEntryCount() * VALUE_SIZE;
+        assertTrue("No data was migrated", migratedBytes > 0);
+
+        double bytesPerSecond = (double) migratedBytes / elapsedNanos * SECONDS.toNanos(1);
+        assertTrue("Migrated " + migratedBytes + " bytes at " + (long) bytesPerSecond
+                        + " bytes per second, expected at most " + memberBytesPerSecond,
+                bytesPerSecond <= memberBytesPerSecond * 4 / 3);
+    }
+
+    private Config createConfig() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "23")
+                .setProperty(ClusterProperty.PARTITION_MIGRATION_MAX_BYTES_PER_SECOND.getName(),
+                        String.valueOf(MAX_BYTES_PER_SECOND));
+        config.getMapConfig(MAP_NAME).setBackupCount(0);
+        return config;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.partition.impl.MigrationThrottle.MIN_FRAGMENT_SIZE_IN_BYTES;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MigrationThrottleTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private final AtomicInteger dataMemberCount = new AtomicInteger(4);
+
+    @Test
+    public void test_disabled_whenBudgetIsZero() {
+        MigrationThrottle throttle = newThrottle(0);
+
+        assertFalse(throttle.isEnabled());
+        assertEquals(0, throttle.reserve(Integer.MAX_VALUE));
+        assertEquals(100, throttle.capFragmentSize(100));
+    }
+
+    @Test
+    public void test_budgetIsSplitBetweenDataMembers() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(400));
+
+        assertTrue(throttle.isEnabled());
+        assertEquals(MEGABYTES.toBytes(100), throttle.getMemberBytesPerSecond());
+
+        dataMemberCount.set(8);
+        assertEquals(MEGABYTES.toBytes(50), throttle.getMemberBytesPerSecond());
+    }
+
+    @Test
+    public void test_fragmentSize_cappedToOneSecondOfMemberBudget() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        assertEquals(MEGABYTES.toBytes(10), throttle.capFragmentSize((int) MEGABYTES.toBytes(250)));
+        assertEquals(MEGABYTES.toBytes(5), throttle.capFragmentSize((int) MEGABYTES.toBytes(5)));
+    }
+
+    @Test
+    public void test_fragmentSize_notCappedBelowMinimum() {
+        MigrationThrottle throttle = newThrottle(4);
+
+        assertEquals(MIN_FRAGMENT_SIZE_IN_BYTES, throttle.capFragmentSize((int) MEGABYTES.toBytes(250)));
+    }
+
+    @Test
+    public void test_firstReservation_isNotDelayed() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        assertEquals(0, throttle.reserve(MEGABYTES.toBytes(5)));
+        assertEquals(MILLISECONDS.toNanos(500), throttle.reserve(MEGABYTES.toBytes(5)));
+    }
+
+    @Test
+    public void test_parallelReservations_areSpreadOverTime() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        assertEquals(0, throttle.reserve(MEGABYTES.toBytes(10)));
+        assertEquals(SECONDS.toNanos(1), throttle.reserve(MEGABYTES.toBytes(10)));
+        assertEquals(SECONDS.toNanos(2), throttle.reserve(MEGABYTES.toBytes(10)));
+
+        nanoClock.addAndGet(MILLISECONDS.toNanos(1500));
+        assertEquals(MILLISECONDS.toNanos(1500), throttle.reserve(MEGABYTES.toBytes(10)));
+    }
+
+    @Test
+    public void test_settle_givesBackUnusedBudget() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        throttle.reserve(MEGABYTES.toBytes(10));
+        throttle.settle(MEGABYTES.toBytes(10), MEGABYTES.toBytes(5));
+
+        assertEquals(MILLISECONDS.toNanos(500), throttle.reserve(MEGABYTES.toBytes(10)));
+    }
+
+    @Test
+    public void test_settle_chargesExcessBytes() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        throttle.reserve(MEGABYTES.toBytes(10));
+        throttle.settle(MEGABYTES.toBytes(10), MEGABYTES.toBytes(30));
+
+        assertEquals(SECONDS.toNanos(3), throttle.reserve(MEGABYTES.toBytes(10)));
+    }
+
+    @Test
+    public void test_idleTime_doesNotAccumulateIntoBursts() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        throttle.reserve(MEGABYTES.toBytes(10));
+        nanoClock.addAndGet(SECONDS.toNanos(60));
+        throttle.settle(MEGABYTES.toBytes(10), 0);
+
+        assertEquals(0, throttle.reserve(MEGABYTES.toBytes(10)));
+        assertEquals(SECONDS.toNanos(1), throttle.reserve(MEGABYTES.toBytes(10)));
+    }
+
+    @Test
+    public void test_settle_failedFragments_doNotHoldBackOthers() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        for (int i = 0; i < 10; i++) {
+            long reserved = MEGABYTES.toBytes(10);
+            throttle.reserve(reserved);
+            throttle.settle(reserved, 0);
+        }
+
+        assertEquals(0, throttle.reserve(MEGABYTES.toBytes(10)));
+    }
+
+    @Test
+    public void test_emptyReservation_waitsForEarlierReservations() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+
+        assertEquals(0, throttle.reserve(0));
+        throttle.reserve(MEGABYTES.toBytes(10));
+        assertEquals(SECONDS.toNanos(1), throttle.reserve(0));
+        assertEquals(SECONDS.toNanos(1), throttle.reserve(0));
+    }
+
+    @Test
+    public void test_expectedFragmentSize_followsSentFragments() {
+        MigrationThrottle throttle = newThrottle(MEGABYTES.toBytes(40));
+        int maxFragmentSize = (int) MEGABYTES.toBytes(250);
+
+        assertEquals(MEGABYTES.toBytes(10), throttle.expectedFragmentSize(maxFragmentSize));
+
+        throttle.settle(MEGABYTES.toBytes(10), MEGABYTES.toBytes(2));
+        assertEquals(MEGABYTES.toBytes(2), throttle.expectedFragmentSize(maxFragmentSize));
+
+        throttle.settle(MEGABYTES.toBytes(2), MEGABYTES.toBytes(6));
+        assertEquals(MEGABYTES.toBytes(3), throttle.expectedFragmentSize(maxFragmentSize));
+
+        // fragments of the ready-check and reservations that were not used are not counted
+        throttle.settle(0, 100);
+        throttle.settle(MEGABYTES.toBytes(3), 0);
+        assertEquals(MEGABYTES.toBytes(3), throttle.expectedFragmentSize(maxFragmentSize));
+
+        throttle.settle(MEGABYTES.toBytes(3), MEGABYTES.toBytes(100));
+        assertEquals(MEGABYTES.toBytes(10), throttle.expectedFragmentSize(maxFragmentSize));
+    }
+
+    private MigrationThrottle newThrottle(long maxBytesPerSecond) {
+        return new MigrationThrottle(maxBytesPerSecond, dataMemberCount::get, nanoClock::get);
+    }
+}
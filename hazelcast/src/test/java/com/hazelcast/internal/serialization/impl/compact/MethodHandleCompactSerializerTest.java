@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Objects;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MethodHandleCompactSerializerTest {
+
+    private final SerializationService serializationService = createSerializationService();
+
+    @Test
+    public void testPrimitiveAndObjectFields() {
+        Inner inner = new Inner();
+        inner.s = "inner";
+        AllFields expected = new AllFields();
+        expected.b = 1;
+        expected.c = 'c';
+        expected.sh = 2;
+        expected.i = 3;
+        expected.l = 4L;
+        expected.f = 5.5f;
+        expected.d = 6.5d;
+        expected.bool = true;
+        expected.str = "str";
+        expected.boxed = 7;
+        expected.inner = inner;
+        expected.parentField = 8;
+
+        Data data = serializationService.toData(expected);
+        AllFields actual = serializationService.toObject(data);
+
+        assertEquals(expected, actual);
+        assertEquals(expected, serializationService.toObject(serializationService.toData(actual)));
+    }
+
+    @Test
+    public void testNullObjectFields() {
+        AllFields expected = new AllFields();
+
+        AllFields actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testFallsBackToReflection_whenNoArgConstructorIsMissing() {
+        NoDefaultConstructor expected = new NoDefaultConstructor(42, "foo");
+
+        NoDefaultConstructor actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(expected, actual);
+    }
+
+    static class Parent {
+        int parentField;
+    }
+
+    @SuppressWarnings("checkstyle:VisibilityModifier")
+    static class AllFields extends Parent {
+        byte b;
+        char c;
+        short sh;
+        int i;
+        long l;
+        float f;
+        double d;
+        boolean bool;
+        String str;
+        Integer boxed;
+        Inner inner;
+        transient int ignored;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            AllFields that = (AllFields) o;
+            return b == that.b && c == that.c && sh == that.sh && i == that.i && l == that.l
+                    && Float.compare(that.f, f) == 0 && Double.compare(that.d, d) == 0 && bool == that.bool
+                    && parentField == that.parentField && Objects.equals(str, that.str)
+                    && Objects.equals(boxed, that.boxed) && Objects.equals(inner, that.inner);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(b, c, sh, i, l, f, d, bool, str, boxed, inner, parentField);
+        }
+    }
+
+    static class Inner {
+        String s;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Inner && Objects.equals(s, ((Inner) o).s);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(s);
+        }
+    }
+
+    static class NoDefaultConstructor {
+        final int i;
+        final String s;
+
+        NoDefaultConstructor(int i, String s) {
+            this.i = i;
+            this.s = s;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NoDefaultConstructor)) {
+                return false;
+            }
+            NoDefaultConstructor that = (NoDefaultConstructor) o;
+            return i == that.i && Objects.equals(s, that.s);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(i, s);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringBuffers;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
@@ -30,7 +31,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
@@ -38,6 +42,10 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +98,148 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGatheringDisabled_thenNoGatheringDst() {
+        encoder.dst(ByteBuffer.allocate(1000).flip());
+
+        encoder.setGathering(true);
+
+        assertNull(encoder.gatheringDst());
+    }
+
+    @Test
+    public void whenGathering_thenLargePayloadNotCopied() throws IOException {
+        Packet small = new Packet(serializationService.toBytes("foobar"));
+        Packet large = new Packet(serializationService.toBytes(new byte[2 * PacketEncoder.GATHERING_WRITE_THRESHOLD]));
+        Packet last = new Packet(serializationService.toBytes("barfoo"));
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small);
+        src.queue.add(large);
+        src.queue.add(last);
+
+        encoder = new PacketEncoder(true);
+        encoder.dst(ByteBuffer.allocate(1000).flip());
+        encoder.src(src);
+        encoder.setGathering(true);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        GatheringBuffers gatheringDst = encoder.gatheringDst();
+        assertNotNull(gatheringDst);
+        // the dst buffer holds only the small packets and the header of the large one
+        int largeHeaderLength = large.getFrameLength() - large.totalSize();
+        assertEquals(small.getFrameLength() + largeHeaderLength + last.getFrameLength(), encoder.dst().position());
+
+        ByteBuffer written = writeFully(gatheringDst);
+        assertFalse(gatheringDst.hasRemaining());
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(small, reader.readFrom(written));
+        assertEquals(large, reader.readFrom(written));
+        assertEquals(last, reader.readFrom(written));
+    }
+
+    @Test
+    public void whenGatheringAndNotEnoughSpace_thenDirtyAndResumed() throws IOException {
+        PacketSupplier src = new PacketSupplier();
+        for (int i = 0; i < 100; i++) {
+            src.queue.add(new Packet(serializationService.toBytes(new byte[i * 100])));
+        }
+        Queue<Packet> expected = new LinkedBlockingQueue<>(src.queue);
+
+        encoder = new PacketEncoder(true);
+        encoder.dst(ByteBuffer.allocate(1000).flip());
+        encoder.src(src);
+        encoder.setGathering(true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HandlerStatus result;
+        do {
+            result = encoder.onWrite();
+            ByteBuffer written = writeFully(encoder.gatheringDst());
+            out.write(written.array(), 0, written.limit());
+        } while (result == DIRTY);
+
+        ByteBuffer written = ByteBuffer.wrap(out.toByteArray());
+        PacketIOHelper reader = new PacketIOHelper();
+        for (Packet packet : expected) {
+            assertEquals(packet, reader.readFrom(written));
+        }
+        assertFalse(written.hasRemaining());
+    }
+
+    @Test
+    public void whenGathering_thenPayloadBufferSharesPacketBytes() throws IOException {
+        Packet large = new Packet(serializationService.toBytes(new byte[2 * PacketEncoder.GATHERING_WRITE_THRESHOLD]));
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(large);
+        CapturingChannel channel = new CapturingChannel();
+
+        encoder = new PacketEncoder(true);
+        encoder.dst(ByteBuffer.allocate(1000).flip());
+        encoder.src(src);
+        encoder.setGathering(true);
+        encoder.onWrite();
+        encoder.gatheringDst().writeTo(channel);
+
+        assertEquals(2, channel.lastBuffers.length);
+        assertSame(large.toByteArray(), channel.lastBuffers[1].array());
+    }
+
+    private static ByteBuffer writeFully(GatheringBuffers buffers) throws IOException {
+        CapturingChannel channel = new CapturingChannel();
+        while (buffers.hasRemaining()) {
+            buffers.writeTo(channel);
+        }
+        return ByteBuffer.wrap(channel.out.toByteArray());
+    }
+
+    /**
+     * A channel writing at most 1000 bytes at a time, to simulate partial writes.
+     */
+    static class CapturingChannel implements GatheringByteChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer[] lastBuffers;
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            lastBuffers = new ByteBuffer[length];
+            System.arraycopy(srcs, offset, lastBuffers, 0, length);
+            long written = 0;
+            for (int i = offset; i < offset + length && written < 1000; i++) {
+                written += write(srcs[i], (int) (1000 - written));
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return write(src, 1000);
+        }
+
+        private int write(ByteBuffer src, int max) {
+            int count = Math.min(src.remaining(), max);
+            byte[] bytes = new byte[count];
+            src.get(bytes);
+            out.write(bytes, 0, count);
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<>();
 
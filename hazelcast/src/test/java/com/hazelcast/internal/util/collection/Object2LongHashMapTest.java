@@ -75,6 +75,35 @@ public class Object2LongHashMapTest {
         assertEquals(1L, map.put("1", 2L));
     }
 
+    @Test
+    public void putIfAbsentShouldInsertAbsentKey() {
+        assertEquals(MISSING_VALUE, map.putIfAbsent("1", 1L));
+
+        assertEquals(1L, map.getValue("1"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void putIfAbsentShouldReturnCurrentValueOfPresentKey() {
+        map.put("1", 1L);
+
+        assertEquals(1L, map.putIfAbsent("1", 2L));
+        assertEquals(1L, map.getValue("1"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void putIfAbsentShouldResize() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(MISSING_VALUE, map.putIfAbsent(Integer.toString(i), i));
+        }
+
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.getValue(Integer.toString(i)));
+        }
+    }
+
     @Test
     public void clearShouldResetSize() {
         map.put("1", 1L);
@@ -24,8 +24,17 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
 import static com.hazelcast.logging.Logger.getLogger;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -55,6 +64,84 @@ public class StripedExecutorTest extends HazelcastTestSupport {
         assertEquals(maximumQueueCapacity, calculateWorkersTotalQueueCapacity(executor));
     }
 
+    @Test
+    public void drainExecutor_executesTasksOfStripeInOrder() throws Exception {
+        ExecutorService drainExecutor = Executors.newCachedThreadPool();
+        StripedExecutor executor = new StripedExecutor(getLogger(getClass()), "", 4, 100000, drainExecutor);
+        try {
+            int stripeCount = 8;
+            int taskCount = 1000;
+            List<List<Integer>> executed = new ArrayList<>();
+            for (int stripe = 0; stripe < stripeCount; stripe++) {
+                executed.add(Collections.synchronizedList(new ArrayList<>()));
+            }
+            CountDownLatch completed = new CountDownLatch(stripeCount * taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                for (int stripe = 0; stripe < stripeCount; stripe++) {
+                    executor.execute(new OrderedTask(stripe, i, executed.get(stripe), completed));
+                }
+            }
+
+            assertOpenEventually(completed);
+            for (List<Integer> stripeTasks : executed) {
+                assertEquals(taskCount, stripeTasks.size());
+                for (int i = 0; i < taskCount; i++) {
+                    assertEquals(i, (int) stripeTasks.get(i));
+                }
+            }
+            assertEquals(0, executor.getWorkQueueSize());
+            assertFalse(executor.getWorkers()[0].isAlive());
+        } finally {
+            executor.shutdown();
+            drainExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void drainExecutor_whenQueueFull_thenRejected() {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService drainExecutor = Executors.newSingleThreadExecutor();
+        StripedExecutor executor = new StripedExecutor(getLogger(getClass()), "", 1, 1, drainExecutor);
+        try {
+            // occupies the drain task
+            executor.execute(() -> assertOpenEventually(release));
+            assertTrueEventually(() -> assertEquals(0, executor.getWorkQueueSize()));
+            executor.execute(() -> { });
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            drainExecutor.shutdownNow();
+        }
+    }
+
+    private static final class OrderedTask implements StripedRunnable {
+
+        private final int stripe;
+        private final int sequence;
+        private final List<Integer> executed;
+        private final CountDownLatch completed;
+
+        private OrderedTask(int stripe, int sequence, List<Integer> executed, CountDownLatch completed) {
+            this.stripe = stripe;
+            this.sequence = sequence;
+            this.executed = executed;
+            this.completed = completed;
+        }
+
+        @Override
+        public int getKey() {
+            return stripe;
+        }
+
+        @Override
+        public void run() {
+            executed.add(sequence);
+            completed.countDown();
+        }
+    }
+
     private static int calculateWorkersTotalQueueCapacity(StripedExecutor executor) {
         int totalQueueCapacity = 0;
         StripedExecutor.Worker[] workers = executor.getWorkers();
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.config;
+
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.version.Version;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class EdgeConfigTest {
+
+    private static final int TRAILING_INT = 42;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void when_serializedAtCurrentVersion_then_compressionPreserved() throws IOException {
+        EdgeConfig config = newConfig().setCompression(EdgeCompression.LZ4);
+
+        EdgeConfig deserialized = roundTrip(config, Versions.V6_0);
+
+        assertEquals(config, deserialized);
+        assertEquals(EdgeCompression.LZ4, deserialized.getCompression());
+    }
+
+    @Test
+    public void when_serializedForPreviousVersion_then_compressionNotWritten() throws IOException {
+        EdgeConfig config = newConfig().setCompression(EdgeCompression.LZ4);
+
+        EdgeConfig deserialized = roundTrip(config, Versions.V5_5);
+
+        assertEquals(EdgeCompression.NONE, deserialized.getCompression());
+        assertEquals(config.getQueueSize(), deserialized.getQueueSize());
+        assertEquals(config.getReceiveWindowMultiplier(), deserialized.getReceiveWindowMultiplier());
+        assertEquals(config.getPacketSizeLimit(), deserialized.getPacketSizeLimit());
+    }
+
+    @Test
+    public void when_readingPreviousVersionFormat_then_followingDataIntact() throws IOException {
+        // the format written by 5.5 members and clients
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeInt(256);
+        out.writeInt(5);
+        out.writeInt(8192);
+        out.writeInt(TRAILING_INT);
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        in.setVersion(Versions.V5_5);
+        EdgeConfig config = new EdgeConfig();
+        config.readData(in);
+
+        assertEquals(256, config.getQueueSize());
+        assertEquals(5, config.getReceiveWindowMultiplier());
+        assertEquals(8192, config.getPacketSizeLimit());
+        assertEquals(EdgeCompression.NONE, config.getCompression());
+        assertEquals(TRAILING_INT, in.readInt());
+    }
+
+    private EdgeConfig roundTrip(EdgeConfig config, Version version) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.setVersion(version);
+        config.writeData(out);
+        out.writeInt(TRAILING_INT);
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        in.setVersion(version);
+        EdgeConfig deserialized = new EdgeConfig();
+        deserialized.readData(in);
+        assertEquals(TRAILING_INT, in.readInt());
+        return deserialized;
+    }
+
+    private static EdgeConfig newConfig() {
+        return new EdgeConfig()
+                .setQueueSize(256)
+                .setReceiveWindowMultiplier(5)
+                .setPacketSizeLimit(8192);
+    }
+}
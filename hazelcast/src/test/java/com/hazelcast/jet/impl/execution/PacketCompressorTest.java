@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.config.EdgeCompression;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressorTest {
+
+    @Test
+    public void when_compressionNone_then_disabled() {
+        assertFalse(new PacketCompressor(EdgeCompression.NONE).isEnabled());
+        assertTrue(new PacketCompressor(EdgeCompression.LZ4).isEnabled());
+    }
+
+    @Test
+    public void when_lz4_then_compressibleDataRoundTrips() {
+        assertCompressesAndRoundTrips(EdgeCompression.LZ4);
+    }
+
+    @Test
+    public void when_deflate_then_compressibleDataRoundTrips() {
+        assertCompressesAndRoundTrips(EdgeCompression.DEFLATE);
+    }
+
+    @Test
+    public void when_lz4_then_incompressibleDataRoundTrips() {
+        assertIncompressibleRoundTrips(EdgeCompression.LZ4);
+    }
+
+    @Test
+    public void when_deflate_then_incompressibleDataRoundTrips() {
+        assertIncompressibleRoundTrips(EdgeCompression.DEFLATE);
+    }
+
+    private static void assertCompressesAndRoundTrips(EdgeCompression compression) {
+        byte[] packet = new byte[PACKET_HEADER_SIZE + 16384];
+        for (int i = 0; i < packet.length; i++) {
+            packet[i] = (byte) ("item-" + i / 64).charAt(i % 5);
+        }
+        PacketCompressor compressor = new PacketCompressor(compression);
+
+        byte[] compressed = compressor.compress(packet, PACKET_HEADER_SIZE);
+
+        assertTrue("compressed length: " + compressed.length, compressed.length < packet.length / 2);
+        assertArrayEquals(Arrays.copyOf(packet, PACKET_HEADER_SIZE), Arrays.copyOf(compressed, PACKET_HEADER_SIZE));
+        assertDataEquals(packet, compressor.decompress(compressed, PACKET_HEADER_SIZE));
+        compressor.close();
+    }
+
+    private static void assertIncompressibleRoundTrips(EdgeCompression compression) {
+        byte[] packet = new byte[PACKET_HEADER_SIZE + 4096];
+        new Random().nextBytes(packet);
+        PacketCompressor compressor = new PacketCompressor(compression);
+
+        byte[] compressed = compressor.compress(packet, PACKET_HEADER_SIZE);
+
+        // stored uncompressed, with the codec and the length
+        assertEquals(packet.length + 5, compressed.length);
+        assertDataEquals(packet, compressor.decompress(compressed, PACKET_HEADER_SIZE));
+        compressor.close();
+    }
+
+    private static void assertDataEquals(byte[] expected, byte[] actual) {
+        assertEquals(expected.length, actual.length);
+        assertArrayEquals(Arrays.copyOfRange(expected, PACKET_HEADER_SIZE, expected.length),
+                Arrays.copyOfRange(actual, PACKET_HEADER_SIZE, actual.length));
+    }
+}
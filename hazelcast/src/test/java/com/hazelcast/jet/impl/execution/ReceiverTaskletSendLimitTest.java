@@ -19,6 +19,7 @@ package com.hazelcast.jet.impl.execution;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.config.EdgeCompression;
 import com.hazelcast.logging.impl.LoggingServiceImpl;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -55,7 +56,7 @@ public class ReceiverTaskletSendLimitTest {
                 new DefaultSerializationServiceBuilder().build(),
                 RWIN_MULTIPLIER, FLOW_CONTROL_PERIOD_MS,
                 new LoggingServiceImpl(null, null, BuildInfoProvider.getBuildInfo(), false, false, null),
-                new Address(), 0, "", null, "");
+                new Address(), 0, "", null, "", EdgeCompression.NONE);
     }
 
     @Test
@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.config.EdgeCompression;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -51,7 +52,7 @@ public class ReceiverTaskletTest {
         collector = new MockOutboundCollector(2);
         serService = new DefaultSerializationServiceBuilder().build();
         t = new ReceiverTasklet(collector, serService, 3, 100, mock(LoggingService.class),
-                new Address(), 0, "", null, "");
+                new Address(), 0, "", null, "", EdgeCompression.NONE);
         t.initIncomingQueue(queue);
     }
 
@@ -49,6 +49,7 @@ import static com.hazelcast.function.Functions.wholeItem;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
 import static com.hazelcast.jet.core.JobAssertions.assertThat;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
 import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -69,11 +70,12 @@ public class MemoryManagementTest extends SimpleTestInClusterSupport {
                             .aggregate(AggregateOperations.toList())
                             .writeTo(assertOrdered(singletonList(list(itemCount))))
                 ),
-                test("Grouping", (pipeline, itemCount) ->
+                // the grouping spills to disk instead of failing
+                test("Grouping", false, (pipeline, itemCount) ->
                     pipeline.readFrom(TestSources.items(list(itemCount)))
                             .groupingKey(wholeItem())
                             .aggregate(counting())
-                            .writeTo(assertOrdered(cardinalities(itemCount)))
+                            .writeTo(assertAnyOrder(cardinalities(itemCount)))
                 ),
                 test("Sorting", (pipeline, itemCount) ->
                     pipeline.readFrom(TestSources.items(list(itemCount)))
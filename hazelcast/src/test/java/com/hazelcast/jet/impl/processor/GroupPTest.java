@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.impl.processor.SpillingProcessorTester.createContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GroupPTest extends SimpleTestInClusterSupport {
+
+    @BeforeClass
+    public static void setUp() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_limitReachedWithoutSpilling_then_fail() throws Exception {
+        new SpillingProcessorTester(createCountingP(false), createContext(instance(), 3))
+                .assertLimitExceeded(0, List.of(0, 1, 2, 3));
+    }
+
+    @Test
+    public void when_limitReachedWithSpilling_then_allGroupsEmitted() throws Exception {
+        int keyCount = 1000;
+        List<Integer> input = new ArrayList<>();
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = i % keyCount;
+            input.add(key);
+            expected.merge(key, 1L, Long::sum);
+        }
+
+        List<Entry<Integer, Long>> output = new SpillingProcessorTester(createCountingP(true),
+                createContext(instance(), keyCount / 10))
+                .process(0, input)
+                .complete();
+
+        assertCounts(expected, output);
+    }
+
+    @Test
+    public void when_spilledPartitionExceedsLimit_then_splitAndAllGroupsEmitted() throws Exception {
+        // far more keys per partition than the limit
+        int keyCount = 10_000;
+        List<Integer> input = new ArrayList<>();
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 3 * keyCount; i++) {
+            int key = i % keyCount;
+            input.add(key);
+            expected.merge(key, 1L, Long::sum);
+        }
+
+        List<Entry<Integer, Long>> output = new SpillingProcessorTester(createCountingP(true),
+                createContext(instance(), 20))
+                .process(0, input)
+                .complete();
+
+        assertCounts(expected, output);
+    }
+
+    @Test
+    public void when_keysWithSameHashExceedLimit_then_fail() throws Exception {
+        // "Aa" and "BB" have the same hash code, so have all their combinations
+        List<String> input = new ArrayList<>();
+        input.add("");
+        for (int i = 0; i < 7; i++) {
+            List<String> longer = new ArrayList<>();
+            for (String s : input) {
+                longer.add(s + "Aa");
+                longer.add(s + "BB");
+            }
+            input = longer;
+        }
+
+        SpillingProcessorTester tester = new SpillingProcessorTester(createCountingP(true), createContext(instance(), 20))
+                .process(0, input);
+        assertThrows(AccumulationLimitExceededException.class, tester::complete);
+    }
+
+    @Test
+    public void when_spillingEnabled_then_notCooperative() {
+        assertTrue(createCountingP(false).isCooperative());
+        assertFalse(createCountingP(true).isCooperative());
+    }
+
+    private static <K> GroupP<K, ?, Long, Entry<K, Long>> createCountingP(boolean spillEnabled) {
+        List<FunctionEx<?, ? extends K>> keyFns = List.of(FunctionEx.identity());
+        return new GroupP<>(keyFns, counting(), Util::entry, spillEnabled);
+    }
+
+    private static <K> void assertCounts(Map<K, Long> expected, List<Entry<K, Long>> output) {
+        Map<K, Long> actual = new HashMap<>();
+        for (Entry<K, Long> e : output) {
+            assertNull(actual.put(e.getKey(), e.getValue()));
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.core.test.TestProcessorSupplierContext;
+import com.hazelcast.jet.impl.aggregate.LongSumAggregateOperation;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.aggregate.AggregateOperations.summingLong;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LongSumGroupPTest {
+
+    @Test
+    public void when_counting_then_countPerKey() throws Exception {
+        List<String> input = new ArrayList<>();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = "key-" + i % 1234;
+            input.add(key);
+            expected.merge(key, 1L, Long::sum);
+        }
+
+        LongSumGroupP<String, Long, Entry<String, Long>> p = new LongSumGroupP<>(
+                FunctionEx.<String>identity(), longSum(counting()), Util::entry);
+
+        assertEquals(expected, toMap(run(p, input, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void when_summingWithNullKey_then_sumPerKey() throws Exception {
+        List<Integer> input = List.of(1, 2, 3, 4, 5, 6);
+        FunctionEx<Integer, Integer> keyFn = i -> i % 3 == 0 ? null : i % 3;
+
+        LongSumGroupP<Integer, Long, Entry<Integer, Long>> p = new LongSumGroupP<>(
+                keyFn, longSum(summingLong(Integer::longValue)), Util::entry);
+
+        Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 5L);
+        expected.put(2, 7L);
+        expected.put(null, 9L);
+        assertEquals(expected, toMap(run(p, input, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void when_finishTransformed_then_applied() throws Exception {
+        LongSumGroupP<String, String, Entry<String, String>> p = new LongSumGroupP<>(
+                FunctionEx.<String>identity(),
+                longSum(AggregateOperations.<String>counting().andThen(count -> "count=" + count)),
+                Util::entry);
+
+        assertThat(run(p, List.of("a", "b", "a"), Long.MAX_VALUE))
+                .containsExactlyInAnyOrder(Util.entry("a", "count=2"), Util.entry("b", "count=1"));
+    }
+
+    @Test
+    public void when_limitReached_then_fail() {
+        LongSumGroupP<String, Long, Entry<String, Long>> p = new LongSumGroupP<>(
+                FunctionEx.<String>identity(), longSum(counting()), Util::entry);
+
+        assertThrows(AccumulationLimitExceededException.class, () -> run(p, List.of("a", "b", "a", "c"), 2));
+    }
+
+    @Test
+    public void when_noLimit_then_spillingSupplierCreatesLongSumGroupP() throws Exception {
+        assertThat(createBySpillingSupplier(Long.MAX_VALUE)).isInstanceOf(LongSumGroupP.class);
+        assertThat(createBySpillingSupplier(10)).isInstanceOf(GroupP.class);
+    }
+
+    private static Processor createBySpillingSupplier(long maxItems) throws Exception {
+        ProcessorSupplier supplier = GroupP.spillingSupplier(
+                singletonList(FunctionEx.identity()), counting(), Util::entry);
+        TestProcessorSupplierContext context = new TestProcessorSupplierContext();
+        context.setMaxProcessorAccumulatedRecords(maxItems);
+        supplier.init(context);
+        return supplier.get(1).iterator().next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> LongSumAggregateOperation<T, R> longSum(Object aggrOp) {
+        return (LongSumAggregateOperation<T, R>) aggrOp;
+    }
+
+    private static <T, OUT> List<OUT> run(Processor p, List<T> input, long maxItems) throws Exception {
+        TestOutbox outbox = new TestOutbox(128);
+        TestProcessorContext context = new TestProcessorContext();
+        context.setMaxProcessorAccumulatedRecords(maxItems);
+        p.init(outbox, context);
+        p.process(0, new TestInbox(input));
+
+        List<OUT> output = new ArrayList<>();
+        boolean done;
+        do {
+            done = p.complete();
+            outbox.drainQueueAndReset(0, output, false);
+        } while (!done);
+        return output;
+    }
+
+    private static <K, V> Map<K, V> toMap(List<Entry<K, V>> entries) {
+        Map<K, V> map = new HashMap<>();
+        for (Entry<K, V> e : entries) {
+            assertNull(map.put(e.getKey(), e.getValue()));
+        }
+        return map;
+    }
+}
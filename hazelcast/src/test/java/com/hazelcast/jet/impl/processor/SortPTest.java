@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.jet.impl.processor.SpillingProcessorTester.createContext;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortPTest extends SimpleTestInClusterSupport {
+
+    @BeforeClass
+    public static void setUp() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_limitReachedWithoutSpilling_then_fail() throws Exception {
+        new SpillingProcessorTester(new SortP<>(null), createContext(instance(), 3))
+                .assertLimitExceeded(0, List.of(3, 2, 1, 0));
+    }
+
+    @Test
+    public void when_limitReachedWithSpilling_then_sortedOutput() throws Exception {
+        List<Integer> input = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < 1000; i++) {
+            input.add(random.nextInt(100));
+        }
+
+        List<Integer> output = sort(new SortP<>(null, true), input, 64);
+
+        assertThat(output).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(output).containsExactlyInAnyOrderElementsOf(input);
+    }
+
+    @Test
+    public void when_limitReachedWithSpillingAndComparator_then_sortedOutput() throws Exception {
+        List<String> input = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            input.add("item-" + i);
+        }
+        Comparator<String> comparator = Comparator.reverseOrder();
+
+        List<String> output = sort(new SortP<>(comparator, true), input, 7);
+
+        assertThat(output).isSortedAccordingTo(comparator);
+        assertThat(output).containsExactlyInAnyOrderElementsOf(input);
+    }
+
+    @Test
+    public void when_moreRunsThanMergeFanIn_then_mergedInPasses() throws Exception {
+        List<Integer> input = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < 2000; i++) {
+            input.add(random.nextInt());
+        }
+
+        // 200 runs
+        List<Integer> output = sort(new SortP<>(null, true), input, 10);
+
+        assertThat(output).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(output).containsExactlyInAnyOrderElementsOf(input);
+    }
+
+    @Test
+    public void when_spillingEnabled_then_notCooperative() {
+        assertTrue(new SortP<>(null).isCooperative());
+        assertFalse(new SortP<>(null, true).isCooperative());
+    }
+
+    private static <T> List<T> sort(SortP<T> p, List<T> input, long maxItems) throws Exception {
+        return new SpillingProcessorTester(p, createContext(instance(), maxItems))
+                .process(0, input)
+                .complete();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Runs a batch processor with a limit of accumulated records, for the tests
+ * of the processors that spill to disk when they reach the limit.
+ */
+public final class SpillingProcessorTester {
+
+    private final Processor processor;
+    private final TestOutbox outbox = new TestOutbox(128);
+    private final List<Object> output = new ArrayList<>();
+
+    public SpillingProcessorTester(Processor processor, TestProcessorContext context) throws Exception {
+        this.processor = processor;
+        processor.init(outbox, context);
+    }
+
+    /**
+     * Returns the context of a processor limited to {@code maxItems}
+     * accumulated records.
+     */
+    public static TestProcessorContext createContext(HazelcastInstance instance, long maxItems) {
+        TestProcessorContext context = new TestProcessorContext().setHazelcastInstance(instance);
+        context.setMaxProcessorAccumulatedRecords(maxItems);
+        return context;
+    }
+
+    /**
+     * Processes all the items on the given ordinal.
+     */
+    public SpillingProcessorTester process(int ordinal, List<?> items) {
+        TestInbox inbox = new TestInbox(items);
+        while (!inbox.isEmpty()) {
+            processor.process(ordinal, inbox);
+            outbox.drainQueueAndReset(0, output, false);
+        }
+        return this;
+    }
+
+    /**
+     * Asserts that processing the items on the given ordinal fails at the
+     * accumulation limit.
+     */
+    public void assertLimitExceeded(int ordinal, List<?> items) {
+        assertThrows(AccumulationLimitExceededException.class, () -> process(ordinal, items));
+    }
+
+    /**
+     * Completes and closes the processor, returns all its output.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> complete() throws Exception {
+        boolean done;
+        do {
+            done = processor.complete();
+            outbox.drainQueueAndReset(0, output, false);
+        } while (!done);
+        processor.close();
+        return (List<T>) output;
+    }
+}
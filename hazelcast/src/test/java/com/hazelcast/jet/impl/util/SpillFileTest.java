@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.impl.util.SpillFile.BUFFER_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void when_recordsWritten_then_readInSameOrder() {
+        // records filling up the buffer exactly, not fitting in its remaining space, as large as it and larger
+        List<byte[]> records = List.of(record(0), record(10), record(BUFFER_SIZE - 22), record(BUFFER_SIZE / 2),
+                record(BUFFER_SIZE / 2), record(BUFFER_SIZE), record(3 * BUFFER_SIZE + 1), record(1));
+
+        try (SpillFile spillFile = new SpillFile(temporaryFolder.getRoot().toPath(), "test-")) {
+            records.forEach(spillFile::write);
+            spillFile.finishWriting();
+
+            for (byte[] record : records) {
+                assertArrayEquals(record, spillFile.read());
+            }
+            assertNull(spillFile.read());
+            assertNull(spillFile.read());
+            assertEquals(records.size(), spillFile.recordCount());
+        }
+    }
+
+    @Test
+    public void when_nothingWritten_then_nothingRead() {
+        try (SpillFile spillFile = new SpillFile(temporaryFolder.getRoot().toPath(), "test-")) {
+            spillFile.finishWriting();
+
+            assertNull(spillFile.read());
+        }
+    }
+
+    @Test
+    public void when_directoryGiven_then_createdAndFileDeletedOnClose() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("spill");
+
+        SpillFile spillFile = new SpillFile(directory, "test-");
+        assertEquals(1, fileCount(directory));
+
+        spillFile.close();
+        assertEquals(0, fileCount(directory));
+    }
+
+    private static long fileCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] record(int length) {
+        byte[] record = new byte[length];
+        for (int i = 0; i < length; i++) {
+            record[i] = (byte) (i * 31 + length);
+        }
+        return record;
+    }
+}
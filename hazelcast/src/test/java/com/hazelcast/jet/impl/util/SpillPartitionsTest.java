@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.impl.util.SpillPartitions.MAX_LEVEL;
+import static com.hazelcast.jet.impl.util.SpillPartitions.PARTITION_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillPartitionsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SpillPartitions partitions;
+
+    @After
+    public void tearDown() {
+        if (partitions != null) {
+            partitions.close();
+        }
+    }
+
+    @Test
+    public void when_spillLargest_then_partitionWithMostKeysSpilled() {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 0; key < 10 * PARTITION_COUNT; key++) {
+            keys.add(key);
+        }
+        partitions = new SpillPartitions(temporaryFolder.getRoot().toPath(), "test-", keys);
+        // make the partition of key 0 the largest one
+        for (int i = 0; i < 100; i++) {
+            partitions.onAdded(0);
+        }
+
+        SpillFile spillFile = partitions.spillLargest();
+
+        assertSame(spillFile, partitions.spillFile(0));
+        int spilledKeys = 0;
+        for (Integer key : keys) {
+            if (partitions.spillFile(key) != null) {
+                spilledKeys++;
+            }
+        }
+        assertNotEquals(0, spilledKeys);
+        assertNotEquals(keys.size(), spilledKeys);
+    }
+
+    @Test
+    public void when_partitionsSpilled_then_loadedOneByOne() {
+        partitions = new SpillPartitions(temporaryFolder.getRoot().toPath(), "test-", List.of(1));
+        SpillFile spillFile = partitions.spillLargest();
+        SpillFile probeFile = partitions.probeFile(1);
+        assertSame(probeFile, partitions.probeFile(1));
+
+        int partition = partitions.nextSpilled();
+        assertSame(spillFile, partitions.takeSpillFile(partition));
+        assertSame(probeFile, partitions.takeProbeFile(partition));
+        assertNull(partitions.spillFile(1));
+        assertEquals(-1, partitions.nextSpilled());
+
+        spillFile.close();
+        probeFile.close();
+    }
+
+    @Test
+    public void when_probeFileNotUsed_then_null() {
+        partitions = new SpillPartitions(temporaryFolder.getRoot().toPath(), "test-", List.of(1));
+        partitions.spillLargest();
+
+        int partition = partitions.nextSpilled();
+        SpillFile spillFile = partitions.takeSpillFile(partition);
+        assertNotNull(spillFile);
+        assertNull(partitions.takeProbeFile(partition));
+        spillFile.close();
+    }
+
+    @Test
+    public void when_split_then_keysOfPartitionSpreadOverNewPartitions() {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 0; key < 10 * PARTITION_COUNT * PARTITION_COUNT; key++) {
+            keys.add(key);
+        }
+        partitions = new SpillPartitions(temporaryFolder.getRoot().toPath(), "test-", keys);
+        partitions.spillLargest();
+        List<Integer> spilledKeys = new ArrayList<>();
+        for (Integer key : keys) {
+            if (partitions.spillFile(key) != null) {
+                spilledKeys.add(key);
+            }
+        }
+
+        SpillPartitions split = partitions.split(spilledKeys);
+        try {
+            split.spillLargest();
+            int spilledAgain = 0;
+            for (Integer key : spilledKeys) {
+                if (split.spillFile(key) != null) {
+                    spilledAgain++;
+                }
+            }
+            assertNotEquals(0, spilledAgain);
+            assertNotEquals(spilledKeys.size(), spilledAgain);
+        } finally {
+            split.close();
+        }
+    }
+
+    @Test
+    public void when_splitMoreThanMaxLevel_then_fail() {
+        partitions = new SpillPartitions(temporaryFolder.getRoot().toPath(), "test-", List.of(1));
+        SpillPartitions split = partitions;
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            split = split.split(List.of(1));
+        }
+
+        SpillPartitions lastSplit = split;
+        assertThrows(AccumulationLimitExceededException.class, () -> lastSplit.split(List.of(1)));
+    }
+}
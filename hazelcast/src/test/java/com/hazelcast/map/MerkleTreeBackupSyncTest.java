@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.partition.LocalReplicationStats;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.test.backup.BackupAccessor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.PacketFiltersUtil.dropOperationsFrom;
+import static com.hazelcast.test.PacketFiltersUtil.resetPacketFiltersFrom;
+import static com.hazelcast.test.backup.TestBackupUtils.assertBackupEntryEqualsEventually;
+import static com.hazelcast.test.backup.TestBackupUtils.assertBackupEntryNullEventually;
+import static com.hazelcast.test.backup.TestBackupUtils.assertBackupSizeEventually;
+import static com.hazelcast.test.backup.TestBackupUtils.newMapAccessor;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MerkleTreeBackupSyncTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private String mapName;
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setUp() {
+        mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_BACKUP_SYNC_INTERVAL.getName(), "1");
+        // async backups, so that dropping them doesn't block the puts
+        config.getMapConfig(mapName)
+                .setBackupCount(0)
+                .setAsyncBackupCount(1)
+                .getMerkleTreeConfig().setEnabled(true).setDepth(8);
+
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+        warmUpPartitions(instances);
+    }
+
+    @Test
+    public void staleBackup_isSyncedDifferentially() {
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.set(i, i);
+        }
+        waitAllForSafeState(instances);
+
+        for (HazelcastInstance instance : instances) {
+            dropOperationsFrom(instance, SpiDataSerializerHook.F_ID, singletonList(SpiDataSerializerHook.BACKUP));
+        }
+        map.set(0, -1);
+        map.remove(1);
+        map.set(ENTRY_COUNT, ENTRY_COUNT);
+        for (HazelcastInstance instance : instances) {
+            resetPacketFiltersFrom(instance);
+        }
+
+        BackupAccessor<Integer, Integer> backupAccessor = newMapAccessor(instances, mapName);
+        assertBackupEntryEqualsEventually(0, -1, backupAccessor);
+        assertBackupEntryNullEventually(1, backupAccessor);
+        assertBackupEntryEqualsEventually(ENTRY_COUNT, ENTRY_COUNT, backupAccessor);
+        assertBackupSizeEventually(ENTRY_COUNT, backupAccessor);
+        for (int i = 2; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) backupAccessor.get(i));
+        }
+
+        long diffReplications = 0;
+        long diffReplicatedRecords = 0;
+        for (HazelcastInstance instance : instances) {
+            LocalReplicationStats stats = instance.getMap(mapName).getLocalMapStats().getReplicationStats();
+            diffReplications += stats.getDifferentialPartitionReplicationCount();
+            diffReplicatedRecords += stats.getDifferentialReplicationRecordCount();
+        }
+        assertTrue("Expected differential replications", diffReplications > 0);
+        assertTrue("Expected only the differing leaves to be replicated, replicated records: " + diffReplicatedRecords,
+                diffReplicatedRecords < ENTRY_COUNT / 2);
+    }
+}
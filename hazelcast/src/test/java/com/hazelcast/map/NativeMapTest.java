@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.query.LocalIndexStats;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+    private static final int ENTRY_COUNT = 1000;
+
+    @Parameter
+    public boolean globalIndexEnabled;
+
+    @Parameters(name = "globalIndexEnabled:{0}")
+    public static Iterable<Object[]> parameters() {
+        return Arrays.asList(new Object[]{Boolean.TRUE}, new Object[]{Boolean.FALSE});
+    }
+
+    @Before
+    public void setUp() {
+        assumeTrue(UNSAFE_AVAILABLE);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        IMap<Integer, Person> map = createMap(MemoryUnit.MEGABYTES.toBytes(64), EvictionPolicy.NONE);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertNull(map.put(i, new Person("name-" + i, i % 100)));
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(new Person("name-" + i, i % 100), map.get(i));
+        }
+
+        assertEquals(new Person("name-7", 7), map.put(7, new Person("renamed", 7)));
+        assertEquals(new Person("renamed", 7), map.get(7));
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.remove(i);
+        }
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        assertNull(map.get(0));
+        assertEquals(new Person("name-1", 1), map.get(1));
+    }
+
+    @Test
+    public void testIteration() {
+        IMap<Integer, Person> map = createMap(MemoryUnit.MEGABYTES.toBytes(64), EvictionPolicy.NONE);
+        Map<Integer, Person> expected = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Person person = new Person("name-" + i, i % 100);
+            map.put(i, person);
+            expected.put(i, person);
+        }
+
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected.entrySet(), map.entrySet());
+
+        Set<Integer> iterated = new HashSet<>();
+        for (Map.Entry<Integer, Person> entry : map) {
+            assertTrue(iterated.add(entry.getKey()));
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+        }
+        assertEquals(expected.keySet(), iterated);
+    }
+
+    @Test
+    public void testIndexes() {
+        IMap<Integer, Person> map = createMap(MemoryUnit.MEGABYTES.toBytes(64), EvictionPolicy.NONE);
+        map.addIndex(IndexType.SORTED, "age");
+        map.addIndex(IndexType.HASH, "name");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person("name-" + i, i % 100));
+        }
+
+        assertEquals(ENTRY_COUNT / 10, map.values(Predicates.between("age", 10, 19)).size());
+        assertEquals(Set.of(42), map.keySet(Predicates.equal("name", "name-42")));
+
+        map.put(42, new Person("changed", 42));
+        map.remove(43);
+
+        assertEquals(Set.of(), map.keySet(Predicates.equal("name", "name-42")));
+        assertEquals(Set.of(42), map.keySet(Predicates.equal("name", "changed")));
+        assertEquals(ENTRY_COUNT / 100 - 1, map.values(Predicates.equal("age", 43)).size());
+
+        long queryCount = map.getLocalMapStats().getIndexStats().values().stream()
+                .mapToLong(LocalIndexStats::getQueryCount).sum();
+        assertTrue("Expected the queries to use the indexes", queryCount > 0);
+    }
+
+    @Test
+    public void testCapacityExceeded_withEviction_thenEntriesForciblyEvicted() {
+        long capacity = MemoryUnit.MEGABYTES.toBytes(4);
+        IMap<Integer, String> map = createMap(capacity, EvictionPolicy.LRU);
+        String value = "x".repeat(1024);
+
+        for (int i = 0; i < 10_000; i++) {
+            map.set(i, value);
+        }
+
+        assertTrue(map.size() < 10_000);
+        NativeMemoryBudget budget = getMapServiceContext(map).getNativeMemoryBudget();
+        assertTrue(budget.getReserved() <= capacity);
+    }
+
+    @Test
+    public void testCapacityExceeded_withoutEviction_thenNativeOutOfMemoryError() {
+        long capacity = MemoryUnit.MEGABYTES.toBytes(4);
+        IMap<Integer, String> map = createMap(capacity, EvictionPolicy.NONE);
+        String value = "x".repeat(1024);
+
+        assertThrows(NativeOutOfMemoryError.class, () -> {
+            for (int i = 0; i < 10_000; i++) {
+                map.set(i, value);
+            }
+        });
+        NativeMemoryBudget budget = getMapServiceContext(map).getNativeMemoryBudget();
+        assertTrue(budget.getReserved() <= capacity);
+    }
+
+    private <K, V> IMap<K, V> createMap(long capacityInBytes, EvictionPolicy evictionPolicy) {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), String.valueOf(PARTITION_COUNT))
+                .setProperty(ClusterProperty.GLOBAL_HD_INDEX_ENABLED.getName(), String.valueOf(globalIndexEnabled));
+        config.setNativeMemoryConfig(new NativeMemoryConfig()
+                .setEnabled(true)
+                .setCapacity(new Capacity(capacityInBytes, MemoryUnit.BYTES)));
+        MapConfig mapConfig = new MapConfig(mapName)
+                .setInMemoryFormat(InMemoryFormat.NATIVE)
+                .setBackupCount(0);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(evictionPolicy)
+                .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                .setSize(Integer.MAX_VALUE);
+        config.addMapConfig(mapConfig);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        return instance.getMap(mapName);
+    }
+
+    private static MapServiceContext getMapServiceContext(IMap<?, ?> map) {
+        MapService mapService = ((MapProxyImpl<?, ?>) map).getService();
+        return mapService.getMapServiceContext();
+    }
+
+    public static class Person implements Serializable {
+
+        private String name;
+        private int age;
+
+        public Person() {
+        }
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Person person)) {
+                return false;
+            }
+            return age == person.age && name.equals(person.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + age;
+        }
+
+        @Override
+        public String toString() {
+            return "Person{name='" + name + "', age=" + age + '}';
+        }
+    }
+}
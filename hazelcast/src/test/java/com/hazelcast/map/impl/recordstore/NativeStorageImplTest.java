@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.NativeMemoryBudget;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeStorageImplTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    private NativeMemoryBudget budget;
+    private NativeRecordFactory recordFactory;
+    private NativeStorageImpl storage;
+
+    @Before
+    public void setUp() {
+        assumeTrue(UNSAFE_AVAILABLE);
+        budget = new NativeMemoryBudget(MEGABYTES.toBytes(16));
+        recordFactory = new NativeRecordFactory(ss, budget);
+        storage = new NativeStorageImpl(recordFactory, mock(ExpirySystem.class), ss);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.destroy(false);
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        putEntries(ENTRY_COUNT);
+
+        assertEquals(ENTRY_COUNT, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            NativeRecord record = storage.get(key(i));
+            assertNotNull(record);
+            assertEquals(key(i), record.getKey());
+            assertEquals("value-" + i, ss.toObject(record.getValue()));
+        }
+        assertNull(storage.get(key(ENTRY_COUNT)));
+        assertFalse(storage.containsKey(key(ENTRY_COUNT)));
+    }
+
+    @Test
+    public void testPut_replacesExistingEntry() {
+        putEntries(10);
+
+        storage.put(key(3), recordFactory.newRecord(key(3), "replaced"));
+        storage.disposeDeferredBlocks();
+
+        assertEquals(10, storage.size());
+        assertEquals("replaced", ss.toObject(storage.get(key(3)).getValue()));
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        putEntries(10);
+
+        Record record = storage.get(key(5));
+        storage.updateRecordValue(key(5), record, "a much longer value than the original one");
+        storage.disposeDeferredBlocks();
+
+        assertEquals("a much longer value than the original one", ss.toObject(storage.get(key(5)).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        putEntries(ENTRY_COUNT);
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            storage.removeRecord(key(i), storage.get(key(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(key(i)));
+        }
+    }
+
+    @Test
+    public void testIterator_visitsAllEntries() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Data> keys = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(keys.add(entry.getKey()));
+        }
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void testIterator_toleratesRemovalOfCurrentEntry() {
+        putEntries(ENTRY_COUNT);
+
+        int visited = 0;
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            visited++;
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, visited);
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testFetchKeys_returnsEveryKeyOnce() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Data> keys = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(0, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 100);
+            for (Data key : cursor.getBatch()) {
+                assertTrue(keys.add(key));
+            }
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        putEntries(ENTRY_COUNT);
+
+        Set<Data> sampledKeys = new HashSet<>();
+        for (EntryView entryView : storage.getRandomSamples(15)) {
+            sampledKeys.add(storage.extractDataKeyFromLazy(entryView));
+        }
+
+        assertTrue(sampledKeys.size() >= 15);
+        for (Data key : sampledKeys) {
+            assertTrue(storage.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testClear_releasesNativeMemory() {
+        putEntries(ENTRY_COUNT);
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > 0);
+
+        storage.clear(false);
+
+        assertEquals(0, storage.size());
+        assertNull(storage.get(key(0)));
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+
+        // the storage can be reused after clear
+        putEntries(10);
+        assertEquals(10, storage.size());
+    }
+
+    @Test
+    public void testDestroy_givesMemoryBackToBudget() {
+        putEntries(ENTRY_COUNT);
+        assertTrue(budget.getReserved() > 0);
+
+        storage.destroy(false);
+        storage = null;
+
+        assertEquals(0, budget.getReserved());
+    }
+
+    @Test
+    public void testPut_whenBudgetExhausted_thenNativeOutOfMemoryError() {
+        storage.destroy(false);
+        budget = new NativeMemoryBudget(MEGABYTES.toBytes(1));
+        recordFactory = new NativeRecordFactory(ss, budget);
+        storage = new NativeStorageImpl(recordFactory, mock(ExpirySystem.class), ss);
+        String value = "x".repeat(1024);
+
+        assertThrows(NativeOutOfMemoryError.class, () -> {
+            for (int i = 0; i < 2048; i++) {
+                storage.put(key(i), recordFactory.newRecord(key(i), value));
+            }
+        });
+        assertTrue(budget.getReserved() <= budget.getCapacity());
+    }
+
+    private void putEntries(int count) {
+        for (int i = 0; i < count; i++) {
+            storage.put(key(i), recordFactory.newRecord(key(i), "value-" + i));
+        }
+    }
+
+    private Data key(int i) {
+        return ss.toData("key-" + i);
+    }
+}
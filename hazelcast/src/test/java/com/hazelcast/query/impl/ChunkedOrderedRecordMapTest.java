@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class ChunkedOrderedRecordMapTest {
+
+    private final ChunkedOrderedRecordMap map = new ChunkedOrderedRecordMap();
+    private final TreeMap<Comparable, NavigableMap<Data, QueryableEntry>> expected =
+            new TreeMap<>(SPECIAL_AWARE_COMPARATOR);
+
+    @Test
+    public void testEmpty() {
+        assertNull(map.get(1L));
+        assertFalse(map.entries(false).hasNext());
+        assertFalse(map.entries(true).hasNext());
+        assertFalse(map.entries(NULL, false, POSITIVE_INFINITY, true, false).hasNext());
+    }
+
+    @Test
+    public void testMixedIntegralKeys() {
+        NavigableMap<Data, QueryableEntry> records = records();
+        map.put(1, records);
+
+        assertSame(records, map.get(1L));
+        assertSame(records, map.get((short) 1));
+        assertNull(map.get(1.5));
+
+        map.remove(1L);
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testNullKey() {
+        for (long i = 0; i < 10; i++) {
+            put(i);
+        }
+        put(NULL);
+
+        assertEntries(NULL, true, POSITIVE_INFINITY, true);
+        assertEntries(NULL, false, 5L, true);
+    }
+
+    @Test
+    public void testLongKeys() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                remove(key);
+            } else {
+                put(key);
+            }
+        }
+        assertAll(random, () -> (long) random.nextInt(2_000));
+    }
+
+    @Test
+    public void testMixedNumericKeys() {
+        Random random = new Random(2);
+        for (int i = 0; i < 20_000; i++) {
+            Comparable key = randomNumber(random);
+            if (random.nextInt(3) == 0) {
+                remove(key);
+            } else {
+                put(key);
+            }
+        }
+        assertAll(random, () -> randomNumber(random));
+    }
+
+    @Test
+    public void testRemoveAll() {
+        for (long i = 0; i < 1_000; i++) {
+            put(i);
+        }
+        for (long i = 0; i < 1_000; i += 2) {
+            remove(i);
+        }
+        assertEntries(NULL, false, POSITIVE_INFINITY, true);
+        for (long i = 1; i < 1_000; i += 2) {
+            remove(i);
+        }
+        assertFalse(map.entries(false).hasNext());
+    }
+
+    @Test
+    public void testClear() {
+        for (long i = 0; i < 1_000; i++) {
+            put(i);
+        }
+        map.clear();
+        assertNull(map.get(1L));
+        assertFalse(map.entries(true).hasNext());
+    }
+
+    @Test
+    public void testIteratorIsNotAffectedBySplit() {
+        for (long i = 0; i < ChunkedOrderedRecordMap.MAX_CHUNK_SIZE; i++) {
+            put(i * 2);
+        }
+        Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> iterator = map.entries(false);
+        for (long i = 0; i < ChunkedOrderedRecordMap.MAX_CHUNK_SIZE; i++) {
+            put(i * 2 + 1);
+        }
+
+        long count = 0;
+        long previous = -1;
+        while (iterator.hasNext()) {
+            long key = (Long) iterator.next().getKey();
+            assertTrue(key > previous);
+            previous = key;
+            count++;
+        }
+        assertTrue(count >= ChunkedOrderedRecordMap.MAX_CHUNK_SIZE);
+    }
+
+    private void assertAll(Random random, KeySupplier keys) {
+        assertEntries(map.entries(false), expected);
+        assertEntries(map.entries(true), expected.descendingMap());
+        for (int i = 0; i < 1_000; i++) {
+            Comparable key = keys.next();
+            assertSame(expected.get(key), map.get(key));
+
+            Comparable other = keys.next();
+            Comparable from = SPECIAL_AWARE_COMPARATOR.compare(key, other) <= 0 ? key : other;
+            Comparable to = from == key ? other : key;
+            if (SPECIAL_AWARE_COMPARATOR.compare(from, to) != 0) {
+                assertEntries(from, random.nextBoolean(), to, random.nextBoolean());
+            }
+        }
+    }
+
+    private void assertEntries(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        NavigableMap<Comparable, NavigableMap<Data, QueryableEntry>> subMap =
+                expected.subMap(from, fromInclusive, to, toInclusive);
+        assertEntries(map.entries(from, fromInclusive, to, toInclusive, false), subMap);
+        assertEntries(map.entries(from, fromInclusive, to, toInclusive, true), subMap.descendingMap());
+    }
+
+    private static void assertEntries(Iterator<Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>>> actual,
+                                      Map<Comparable, NavigableMap<Data, QueryableEntry>> expected) {
+        for (Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>> entry : expected.entrySet()) {
+            assertTrue(actual.hasNext());
+            Map.Entry<Comparable, NavigableMap<Data, QueryableEntry>> actualEntry = actual.next();
+            assertEquals(0, SPECIAL_AWARE_COMPARATOR.compare(entry.getKey(), actualEntry.getKey()));
+            assertSame(entry.getValue(), actualEntry.getValue());
+        }
+        assertFalse(actual.hasNext());
+    }
+
+    private void put(Comparable key) {
+        NavigableMap<Data, QueryableEntry> records = records();
+        expected.put(key, records);
+        map.put(key, records);
+    }
+
+    private void remove(Comparable key) {
+        expected.remove(key);
+        map.remove(key);
+    }
+
+    private static Comparable randomNumber(Random random) {
+        int value = random.nextInt(2_000);
+        switch (random.nextInt(4)) {
+            case 0:
+                return value;
+            case 1:
+                return (long) value;
+            case 2:
+                return (double) value;
+            default:
+                return value + 0.5;
+        }
+    }
+
+    private static NavigableMap<Data, QueryableEntry> records() {
+        return new TreeMap<>(DATA_COMPARATOR);
+    }
+
+    private interface KeySupplier {
+        Comparable next();
+    }
+}
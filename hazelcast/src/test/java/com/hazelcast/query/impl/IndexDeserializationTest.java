@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.InMemoryFormat;
@@ -27,6 +28,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.query.LocalIndexStats;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -121,6 +123,19 @@ public class IndexDeserializationTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testCountAggregationOverBitmapIndex() {
+        IMap<Integer, Record> map = createHazelcastInstance().getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Record(i));
+        }
+
+        Record.deserializationCount.set(0);
+        long count = map.aggregate(Aggregators.count(), Predicates.greaterEqual("v3", 5 * 1002));
+        assertEquals(ENTRY_COUNT - 5, count);
+        assertEquals(0, Record.deserializationCount.get());
+    }
+
     static class Record implements DataSerializable {
 
         static final AtomicInteger deserializationCount = new AtomicInteger();
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class PrimitiveUnorderedRecordMapTest {
+
+    @Test
+    public void testSingleRecordIsStoredInline() {
+        PrimitiveUnorderedRecordMap map = new PrimitiveUnorderedRecordMap(false);
+        QueryableEntry first = entry(1);
+        QueryableEntry second = entry(2);
+
+        assertNull(map.put(42, first));
+        assertEquals(Map.of(first.getKeyData(), first), map.get(42));
+
+        assertNull(map.put(42, second));
+        assertEquals(Map.of(first.getKeyData(), first, second.getKeyData(), second), map.get(42));
+
+        assertSame(first, map.remove(42, first.getKeyData()));
+        assertEquals(Map.of(second.getKeyData(), second), map.get(42));
+
+        assertSame(second, map.remove(42, second.getKeyData()));
+        assertNull(map.get(42));
+    }
+
+    @Test
+    public void testReplaceInlineRecord() {
+        PrimitiveUnorderedRecordMap map = new PrimitiveUnorderedRecordMap(false);
+        QueryableEntry first = entry(1);
+        QueryableEntry replacement = entry(1);
+
+        map.put("key", first);
+        assertSame(first, map.put("key", replacement));
+        assertSame(replacement, map.get("key").get(first.getKeyData()));
+        assertNull(map.remove("key", entry(2).getKeyData()));
+    }
+
+    @Test
+    public void testLongAndIntegerKeysAreTheSame() {
+        PrimitiveUnorderedRecordMap map = new PrimitiveUnorderedRecordMap(false);
+        QueryableEntry entry = entry(1);
+
+        map.put(Long.MAX_VALUE, entry);
+        map.put(7, entry);
+        assertSame(entry, map.get(7L).get(entry.getKeyData()));
+        assertSame(entry, map.get(Long.MAX_VALUE).get(entry.getKeyData()));
+        assertNull(map.get(8));
+    }
+
+    @Test
+    public void testRandomOperations_copyOnRead() {
+        testRandomOperations(false);
+    }
+
+    @Test
+    public void testRandomOperations_copyOnWrite() {
+        testRandomOperations(true);
+    }
+
+    @Test
+    public void testClear() {
+        PrimitiveUnorderedRecordMap map = new PrimitiveUnorderedRecordMap(false);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, entry(i));
+            map.put("key" + i, entry(i));
+        }
+        map.clear();
+
+        assertNull(map.get(1));
+        assertNull(map.get("key1"));
+        assertFalse(map.entries().hasNext());
+    }
+
+    private static void testRandomOperations(boolean copyOnWrite) {
+        PrimitiveUnorderedRecordMap map = new PrimitiveUnorderedRecordMap(copyOnWrite);
+        Map<Comparable, Map<Data, QueryableEntry>> expected = new HashMap<>();
+        QueryableEntry[] entries = new QueryableEntry[4];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = entry(i);
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            Comparable key = random.nextInt(3) == 0 ? "key" + random.nextInt(500) : (Comparable) (long) random.nextInt(2_000);
+            QueryableEntry entry = entries[random.nextInt(entries.length)];
+            if (random.nextInt(3) == 0) {
+                Map<Data, QueryableEntry> records = expected.get(key);
+                Object oldValue = records == null ? null : records.remove(entry.getKeyData());
+                if (records != null && records.isEmpty()) {
+                    expected.remove(key);
+                }
+                assertSame(oldValue, map.remove(key, entry.getKeyData()));
+            } else {
+                Object oldValue = expected.computeIfAbsent(key, k -> new HashMap<>()).put(entry.getKeyData(), entry);
+                assertSame(oldValue, map.put(key, entry));
+            }
+            assertEquals(expected.get(key), map.get(key));
+        }
+
+        Map<Comparable, Map<Data, QueryableEntry>> actual = new HashMap<>();
+        Iterator<Map.Entry<Comparable, Map<Data, QueryableEntry>>> iterator = map.entries();
+        while (iterator.hasNext()) {
+            Map.Entry<Comparable, Map<Data, QueryableEntry>> entry = iterator.next();
+            Comparable key = entry.getKey() instanceof Number number ? (Comparable) number.longValue() : entry.getKey();
+            assertNull(actual.put(key, new HashMap<>(entry.getValue())));
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static QueryableEntry entry(int key) {
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getKeyData()).thenReturn(new HeapData(ByteBuffer.allocate(12).putInt(8, key).array()));
+        return entry;
+    }
+}
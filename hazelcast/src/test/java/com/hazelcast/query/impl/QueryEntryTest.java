@@ -16,13 +16,19 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.InMemorySchemaService;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
 import com.hazelcast.query.QueryConstants;
 import com.hazelcast.query.SampleTestObjects;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -36,7 +42,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.mock;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -114,6 +122,26 @@ public class QueryEntryTest extends HazelcastTestSupport {
         assertEquals(0, value.serializationCount);
     }
 
+    @Test
+    public void getAttribute_whenValueIsCompactData_thenNoDeserialization() {
+        CompactPersonSerializer serializer = new CompactPersonSerializer();
+        useCompactSerializationService(serializer);
+        Data key = serializationService.toData("indexedKey");
+        Data value = serializationService.toData(new CompactPerson(30, "peter"));
+        QueryableEntry queryEntry = createEntry(key, value, newExtractor());
+
+        assertEquals(30, queryEntry.getAttributeValue("age"));
+        assertEquals("peter", queryEntry.getAttributeValue("name"));
+        assertEquals(30, queryEntry.getAttributeValue("age"));
+
+        Data otherValue = serializationService.toData(new CompactPerson(40, "paul"));
+        initEntry(queryEntry, serializationService, key, otherValue, newExtractor());
+
+        assertEquals(40, queryEntry.getAttributeValue("age"));
+        assertEquals("paul", queryEntry.getAttributeValue("name"));
+        assertEquals(0, serializer.readCount.get());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testInit_whenKeyIsNull_thenThrowIllegalArgumentException() {
         createEntry(null, new SerializableObject(), newExtractor());
@@ -239,6 +267,57 @@ public class QueryEntryTest extends HazelcastTestSupport {
         }
     }
 
+    private static class CompactPerson {
+
+        private final int age;
+        private final String name;
+
+        CompactPerson(int age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+    }
+
+    private static class CompactPersonSerializer implements CompactSerializer<CompactPerson> {
+
+        private final AtomicInteger readCount = new AtomicInteger();
+
+        @Nonnull
+        @Override
+        public CompactPerson read(@Nonnull CompactReader reader) {
+            readCount.incrementAndGet();
+            return new CompactPerson(reader.readInt32("age"), reader.readString("name"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull CompactPerson object) {
+            writer.writeInt32("age", object.age);
+            writer.writeString("name", object.name);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "person";
+        }
+
+        @Nonnull
+        @Override
+        public Class<CompactPerson> getCompactClass() {
+            return CompactPerson.class;
+        }
+    }
+
+    private void useCompactSerializationService(CompactSerializer<?> serializer) {
+        serializationService.dispose();
+        SerializationConfig config = new SerializationConfig();
+        config.setCompactSerializationConfig(new CompactSerializationConfig().addSerializer(serializer));
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(new InMemorySchemaService())
+                .setConfig(config)
+                .build();
+    }
+
     protected QueryableEntry createEntry(String key, String value) {
         return createEntry(serializationService.toData(key),
                 serializationService.toData(value),
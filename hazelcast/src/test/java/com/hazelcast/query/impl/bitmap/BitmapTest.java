@@ -20,6 +20,7 @@ import com.hazelcast.internal.monitor.impl.GlobalIndexOperationStats;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -34,8 +35,11 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.notEqual;
 import static com.hazelcast.query.Predicates.or;
@@ -52,7 +56,7 @@ public class BitmapTest {
     private static final Predicate[] actualQueries;
 
     static {
-        actualQueries = new Predicate[10];
+        actualQueries = new Predicate[14];
         actualQueries[0] = notEqual("a", "0");
         actualQueries[1] = equal("a", 1L);
         actualQueries[2] = equal("a", 2);
@@ -69,12 +73,18 @@ public class BitmapTest {
         // single-predicate and/or
         actualQueries[8] = or(equal("a", 1.0D));
         actualQueries[9] = and(equal("a", 1.0F));
+
+        // ranges
+        actualQueries[10] = greaterThan("a", 60L);
+        actualQueries[11] = between("a", 2, 3);
+        actualQueries[12] = not(lessEqual("a", 0));
+        actualQueries[13] = and(new BoundedRangePredicate("a", 1, false, 5, false), notEqual("a", 3));
     }
 
     private final ExpectedQuery[] expectedQueries;
 
     {
-        expectedQueries = new ExpectedQuery[10];
+        expectedQueries = new ExpectedQuery[14];
         expectedQueries[0] = new ExpectedQuery(value -> !bit(0, value));
         expectedQueries[1] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[2] = new ExpectedQuery(value -> bit(2, value));
@@ -87,6 +97,11 @@ public class BitmapTest {
                 value -> !(!bit(0, value) && (bit(1, value) || bit(2, value)) && !(bit(3, value) || bit(4, value))));
         expectedQueries[8] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[9] = new ExpectedQuery(value -> bit(1, value));
+        expectedQueries[10] = new ExpectedQuery(value -> bit(61, value) || bit(62, value) || bit(63, value));
+        expectedQueries[11] = new ExpectedQuery(value -> bit(2, value) || bit(3, value));
+        expectedQueries[12] = new ExpectedQuery(value -> !bit(0, value));
+        expectedQueries[13] = new ExpectedQuery(
+                value -> (bit(2, value) || bit(3, value) || bit(4, value)) && !bit(3, value));
     }
 
     private final Bitmap<String> bitmap = new Bitmap<>();
@@ -185,6 +200,7 @@ public class BitmapTest {
 
             Iterator<String> actualResult = bitmap.evaluate(actualQuery, INTEGER_CONVERTER);
             expectedQuery.verify(actualResult);
+            assertEquals(expectedQuery.result.size(), bitmap.count(actualQuery, INTEGER_CONVERTER));
         }
     }
 
@@ -38,7 +38,9 @@ import java.util.Set;
 
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
 import static com.hazelcast.query.Predicates.like;
 import static com.hazelcast.query.Predicates.not;
@@ -194,6 +196,32 @@ public class EvaluateVisitorTest {
                 and(or(eval(equal("a", 1), "a"), eval(equal("b", 2), "b")), eval(and(equal("a", 3), equal("a", 4)), "a")));
     }
 
+    @Test
+    public void testRangePredicates() {
+        InternalIndex bitmapR = mock(InternalIndex.class);
+        when(bitmapR.getConverter()).thenReturn(TypeConverters.INTEGER_CONVERTER);
+        when(bitmapR.getName()).thenReturn("r");
+        when(indexes.matchIndex(eq("r"), any(), eq(IndexMatchHint.PREFER_ORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(bitmapR);
+
+        InternalIndex bitmapS = mock(InternalIndex.class);
+        when(bitmapS.getConverter()).thenReturn(TypeConverters.INTEGER_CONVERTER);
+        when(bitmapS.getName()).thenReturn("s");
+        when(indexes.matchIndex(eq("s"), any(), eq(IndexMatchHint.PREFER_ORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(bitmapS);
+        InternalIndex sortedS = mock(InternalIndex.class);
+        when(sortedS.isOrdered()).thenReturn(true);
+        when(indexes.matchIndex(eq("s"), eq(IndexMatchHint.PREFER_ORDERED), eq(SKIP_PARTITIONS_COUNT_CHECK)))
+                .thenReturn(sortedS);
+
+        assertOptimization(greaterThan("r", 1), eval(greaterThan("r", 1), "r"));
+        assertOptimization(between("r", 1, 2), eval(between("r", 1, 2), "r"));
+
+        // the sorted index on "s" is preferred over the bitmap one
+        assertNoOptimization(greaterThan("s", 1));
+        assertNoOptimization(between("s", 1, 2));
+    }
+
     private void assertNoOptimization(Predicate original) {
         Predicate actual = optimize(original);
         assertSame(original, actual);
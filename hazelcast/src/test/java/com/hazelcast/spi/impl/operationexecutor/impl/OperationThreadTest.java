@@ -16,8 +16,11 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import com.hazelcast.cluster.Address;
 import com.hazelcast.instance.impl.OutOfMemoryErrorDispatcher;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.ServerConnectionManager;
+import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
@@ -30,11 +33,21 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -117,6 +130,101 @@ public class OperationThreadTest extends OperationExecutorImpl_AbstractTest {
         testExecute_withInvalid_partitionId(packet);
     }
 
+    @Test
+    public void drainPass_runsTasksGroupedByPartition() {
+        OperationQueue queue = new OperationQueueImpl();
+        List<String> executed = new ArrayList<>();
+        PartitionOperationThread operationThread = createNewOperationThread(queue, executed, 3,
+                ConcurrencyDetection.createDisabled());
+
+        queue.add(new RecordingTask(0, "p0-1", executed), false);
+        queue.add(new RecordingTask(1, "p1-1", executed), false);
+        queue.add(new RecordingTask(0, "p0-2", executed), false);
+        queue.add(new RecordingTask(2, "p2-1", executed), false);
+        queue.add((Runnable) () -> executed.add("barrier"), false);
+        queue.add(new RecordingTask(1, "p1-2", executed), false);
+        queue.add(new RecordingTask(0, "p0-3", executed), false);
+        queue.add(new RecordingTask(1, "p1-3", executed), false);
+
+        operationThread.drainPass(0);
+
+        assertEquals(asList("p0-1", "p0-2", "p1-1", "p2-1", "barrier", "p1-2", "p1-3", "p0-3"), executed);
+        assertEquals(1, operationThread.drainedBatchCount());
+        assertEquals(8, operationThread.drainedTaskCount());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void drainPass_detectsConcurrencyOncePerPass() {
+        OperationQueue queue = new OperationQueueImpl();
+        List<String> executed = new ArrayList<>();
+        ConcurrencyDetection concurrencyDetection = mock(ConcurrencyDetection.class);
+        PartitionOperationThread operationThread = createNewOperationThread(queue, executed, 4, concurrencyDetection);
+
+        for (int k = 0; k < 10; k++) {
+            queue.add(new RecordingTask(k % 4, "task-" + k, executed), false);
+        }
+
+        operationThread.drainPass(0);
+
+        assertEquals(10, executed.size());
+        verify(concurrencyDetection, times(1)).onDetected();
+    }
+
+    @Test
+    public void drainPass_whenBacklogExceedsMaxBatchSize_thenRemainderLeftInQueue() {
+        OperationQueue queue = new OperationQueueImpl();
+        List<String> executed = new ArrayList<>();
+        PartitionOperationThread operationThread = createNewOperationThread(queue, executed, 1,
+                ConcurrencyDetection.createDisabled());
+
+        for (int k = 0; k < PartitionOperationThread.MAX_BATCH_SIZE + 5; k++) {
+            queue.add(new RecordingTask(0, "task-" + k, executed), false);
+        }
+
+        operationThread.drainPass(0);
+
+        assertEquals(PartitionOperationThread.MAX_BATCH_SIZE, executed.size());
+        assertEquals(5, queue.normalSize());
+    }
+
+    @Test
+    public void drainPass_transmitsDeferredResponsesAfterPass() throws Exception {
+        OperationQueue queue = new OperationQueueImpl();
+        List<String> executed = new ArrayList<>();
+        PartitionOperationThread operationThread = createNewOperationThread(queue, executed, 2,
+                ConcurrencyDetection.createDisabled());
+        ServerConnectionManager connectionManager = mock(ServerConnectionManager.class);
+        AtomicInteger transmitted = new AtomicInteger();
+        when(connectionManager.transmit(any(), any(), anyInt())).thenAnswer(invocation -> transmitted.incrementAndGet() > 0);
+        Address target = new Address("127.0.0.1", 5701);
+        Packet response = new Packet();
+
+        assertFalse(operationThread.deferResponse(connectionManager, target, response, 0));
+
+        AtomicInteger transmittedDuringPass = new AtomicInteger(-1);
+        queue.add(new RecordingTask(0, "respond", executed) {
+            @Override
+            public void run() {
+                super.run();
+                operationThread.deferResponse(connectionManager, target, response, 0);
+            }
+        }, false);
+        queue.add(new RecordingTask(1, "check", executed) {
+            @Override
+            public void run() {
+                super.run();
+                transmittedDuringPass.set(transmitted.get());
+            }
+        }, false);
+
+        operationThread.drainPass(0);
+
+        assertEquals(asList("respond", "check"), executed);
+        assertEquals(0, transmittedDuringPass.get());
+        verify(connectionManager, times(1)).transmit(response, target, 0);
+    }
+
     private void testExecute_withInvalid_partitionId(Object task) {
         handlerFactory = mock(OperationRunnerFactory.class);
         OperationRunner handler = mock(OperationRunner.class);
@@ -142,9 +250,70 @@ public class OperationThreadTest extends OperationExecutorImpl_AbstractTest {
         assertTrueEventually(() -> assertEquals(0, executor.getPriorityQueueSize()));
     }
 
+    private PartitionOperationThread createNewOperationThread(OperationQueue queue, List<String> executed, int partitionCount,
+                                                              ConcurrencyDetection concurrencyDetection) {
+        ILogger mockLogger = mock(ILogger.class);
+        OperationRunner[] runners = new OperationRunner[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            runners[partitionId] = new RunnableOnlyOperationRunner(partitionId);
+        }
+        return new PartitionOperationThread("threadName", 0, queue, mockLogger, nodeExtension, runners,
+                Thread.currentThread().getContextClassLoader(), concurrencyDetection);
+    }
+
     private PartitionOperationThread createNewOperationThread(OperationQueue mockOperationQueue) {
         ILogger mockLogger = mock(ILogger.class);
         OperationRunner[] runners = new OperationRunner[0];
         return new PartitionOperationThread("threadName", 0, mockOperationQueue, mockLogger, nodeExtension, runners, Thread.currentThread().getContextClassLoader());
     }
+
+    private static class RecordingTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final String name;
+        private final List<String> executed;
+
+        RecordingTask(int partitionId, String name, List<String> executed) {
+            this.partitionId = partitionId;
+            this.name = name;
+            this.executed = executed;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            executed.add(name);
+        }
+    }
+
+    private static class RunnableOnlyOperationRunner extends OperationRunner {
+
+        RunnableOnlyOperationRunner(int partitionId) {
+            super(partitionId);
+        }
+
+        @Override
+        public long executedOperationsCount() {
+            return 0;
+        }
+
+        @Override
+        public void run(Packet packet) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void run(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void run(Operation task) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
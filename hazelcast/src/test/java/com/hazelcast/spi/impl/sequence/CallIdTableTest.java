@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.sequence;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CallIdTableTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 16;
+
+    private final CallIdTable<Call> table = new CallIdTable<>(CAPACITY, call -> call.callId);
+
+    @Test
+    public void capacityFor() {
+        assertEquals(CallIdTable.DEFAULT_CAPACITY, CallIdTable.capacityFor(Integer.MAX_VALUE));
+        assertEquals(200, CallIdTable.capacityFor(100));
+        assertEquals(CallIdTable.MAX_CAPACITY, CallIdTable.capacityFor(Integer.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void putAndGet() {
+        Call call = new Call(1);
+        table.put(1, call);
+
+        assertSame(call, table.get(1));
+        assertNull(table.get(2));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void put_whenAlreadyRegistered_thenReplaced() {
+        Call call = new Call(1);
+        table.put(1, call);
+        table.put(1, call);
+
+        assertSame(call, table.get(1));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void get_whenSlotReusedByOtherCall_thenNull() {
+        table.put(1, new Call(1));
+
+        assertNull(table.get(1 + CAPACITY));
+    }
+
+    @Test
+    public void remove() {
+        Call call = new Call(1);
+        table.put(1, call);
+
+        assertSame(call, table.remove(1));
+        assertNull(table.remove(1));
+        assertNull(table.get(1));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void whenSlotOccupiedByPendingCall_thenOverflow() {
+        Call pending = new Call(1);
+        table.put(1, pending);
+        // wraps around the ring to the slot of the still pending call
+        Call wrapped = new Call(1 + CAPACITY);
+        table.put(wrapped.callId, wrapped);
+
+        assertSame(pending, table.get(1));
+        assertSame(wrapped, table.get(wrapped.callId));
+        assertEquals(2, table.size());
+
+        assertSame(pending, table.remove(1));
+        assertSame(wrapped, table.get(wrapped.callId));
+        assertSame(wrapped, table.remove(wrapped.callId));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void whenManyConsecutiveCalls_thenAllFound() {
+        for (long callId = 1; callId <= 10 * CAPACITY; callId++) {
+            table.put(callId, new Call(callId));
+        }
+
+        assertEquals(10 * CAPACITY, table.size());
+        for (long callId = 1; callId <= 10 * CAPACITY; callId++) {
+            assertEquals(callId, table.get(callId).callId);
+        }
+        for (long callId = 1; callId <= 10 * CAPACITY; callId++) {
+            assertEquals(callId, table.remove(callId).callId);
+        }
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void iterator() {
+        Set<Long> expected = new HashSet<>();
+        for (long callId = 1; callId <= 2 * CAPACITY; callId++) {
+            table.put(callId, new Call(callId));
+            expected.add(callId);
+        }
+
+        Set<Long> found = new HashSet<>();
+        for (Call call : table) {
+            found.add(call.callId);
+        }
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void iterator_remove() {
+        for (long callId = 1; callId <= 2 * CAPACITY; callId++) {
+            table.put(callId, new Call(callId));
+        }
+
+        Iterator<Call> iterator = table.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(0, table.size());
+        assertFalse(table.iterator().hasNext());
+    }
+
+    private static final class Call {
+
+        private final long callId;
+
+        private Call(long callId) {
+            this.callId = callId;
+        }
+    }
+}